@@ -1,33 +1,304 @@
 package com.mycalendar;
 
 import com.mycalendar.evenements.*;
+import com.mycalendar.index.CacheOccurrences;
+import com.mycalendar.planification.Conflit;
+import com.mycalendar.planification.ConflitException;
+import com.mycalendar.planification.CreneauLibre;
+import com.mycalendar.planification.DetecteurConflits;
+import com.mycalendar.planification.ModeConflit;
+import com.mycalendar.planification.PlanificateurCreneaux;
+import com.mycalendar.persistance.JournalEvenements;
+import com.mycalendar.recherche.IndexRecherche;
 import com.mycalendar.valueobjects.*;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Gestionnaire de calendrier utilisant du polymorphisme pour le comportement variant
  */
 public class CalendarManager {
-    private final List<Evenement> evenements;
-
+    private EtatCalendrier etat;
+    private final CacheOccurrences cacheOccurrences;
+    private final IndexRecherche indexRecherche;
+    private volatile ModeConflit modeConflit;
+    private final JournalEvenements journal;
+    private final List<EcouteurCalendrier> ecouteurs = new CopyOnWriteArrayList<>();
+    // Changements enregistrés pendant les modifications, donc dans leur ordre, en attente de diffusion
+    private final Queue<ChangementEnAttente> aDiffuser = new ConcurrentLinkedQueue<>();
+    private final Object verrouDiffusion = new Object();
+    // Numéro du dernier changement enregistré ; n'est lu et écrit que pendant une modification
+    private long dernierChangement;
+    
     /**
-     * Constructeur du gestionnaire de calendrier
+     * Constructeur du gestionnaire de calendrier, dont l'état reste en mémoire
      */
     public CalendarManager() {
-        this.evenements = new ArrayList<>();
+        this(JournalEvenements.enMemoire());
+    }
+    
+    /**
+     * Constructeur du gestionnaire de calendrier adossé à un journal
+     * Le journal est rejoué pour reconstruire l'état, puis chaque ajout
+     * et chaque suppression y est consigné avant de rendre la main.
+     * Une modification que le journal n'a pas pu rendre durable est annulée
+     * en mémoire, n'est pas signalée aux écouteurs, et son exception est levée
+     *
+     * @param journal Journal des modifications
+     * @throws IllegalArgumentException si le journal est null
+     */
+    public CalendarManager(JournalEvenements journal) {
+        if (journal == null) {
+            throw new IllegalArgumentException("Le journal ne peut pas être null");
+        }
+        
+        this.etat = new EtatCalendrier();
+        this.cacheOccurrences = new CacheOccurrences();
+        this.modeConflit = ModeConflit.IGNORER;
+        this.journal = journal;
+        // L'instantané est indexé d'un bloc ; seule la fin du journal est rejouée opération par opération
+        journal.rejouer(etat::charger, etat::ajouter, etat::supprimer);
+        
+        // L'index de recherche suit les changements diffusés, avant tout autre écouteur
+        this.indexRecherche = new IndexRecherche();
+        indexRecherche.ajouterTous(etat.valeurs());
+        ecouteurs.add(changement -> indexRecherche.modifier(changement.getSupprimes(), changement.getAjoutes()));
+    }
+    
+    /**
+     * Remplace le journal déjà écrit par un instantané de l'état courant
+     * L'instantané est écrit en arrière-plan ; les modifications peuvent reprendre aussitôt
+     */
+    public void compacter() {
+        modifier(e -> {
+            journal.compacter(e.valeurs());
+            return null;
+        });
+    }
+    
+    /**
+     * Rend durables les dernières modifications et ferme le journal
+     */
+    public void fermer() {
+        journal.close();
+    }
+    
+    /**
+     * Obtient le comportement appliqué aux conflits lors de l'ajout
+     * d'un rendez-vous ou d'une réunion
+     *
+     * @return Mode de gestion des conflits
+     */
+    public ModeConflit getModeConflit() {
+        return modeConflit;
+    }
+    
+    /**
+     * Définit le comportement appliqué aux conflits lors de l'ajout
+     * d'un rendez-vous ou d'une réunion
+     *
+     * @param modeConflit Mode de gestion des conflits
+     * @throws IllegalArgumentException si le mode est null
+     */
+    public void setModeConflit(ModeConflit modeConflit) {
+        if (modeConflit == null) {
+            throw new IllegalArgumentException("Le mode de gestion des conflits ne peut pas être null");
+        }
+        this.modeConflit = modeConflit;
     }
 
+    /**
+     * Obtient l'état sur lequel portent les lectures
+     *
+     * @return L'état courant
+     */
+    EtatCalendrier lire() {
+        return etat;
+    }
+
+    /**
+     * Applique une modification à une copie de l'état, qui ne remplace l'état courant
+     * qu'une fois la modification réussie : une modification rejetée le laisse intact
+     *
+     * @param modification La modification à appliquer
+     * @return Le résultat de la modification
+     */
+    <T> T modifier(Function<EtatCalendrier, T> modification) {
+        EtatCalendrier copie = etat.copier();
+        T resultat = modification.apply(copie);
+        etat = copie;
+        return resultat;
+    }
+
+    /**
+     * Abonne un écouteur aux ajouts et aux suppressions d'événements
+     * 
+     * @param ecouteur L'écouteur
+     * @throws IllegalArgumentException si l'écouteur est null
+     */
+    public void ajouterEcouteur(EcouteurCalendrier ecouteur) {
+        if (ecouteur == null) {
+            throw new IllegalArgumentException("L'écouteur ne peut pas être null");
+        }
+        ecouteurs.add(ecouteur);
+    }
+    
+    /**
+     * Désabonne un écouteur
+     * 
+     * @param ecouteur L'écouteur
+     * @return true si l'écouteur était abonné
+     */
+    public boolean retirerEcouteur(EcouteurCalendrier ecouteur) {
+        return ecouteurs.remove(ecouteur);
+    }
+    
+    /**
+     * Enregistre un changement pendant la modification qui le produit,
+     * pour qu'il soit diffusé dans l'ordre des modifications
+     * 
+     * @param changement Le changement
+     * @return Le changement numéroté, à rendre durable puis à diffuser
+     */
+    private ChangementEnAttente enregistrer(ChangementCalendrier changement) {
+        ChangementEnAttente enAttente = new ChangementEnAttente(++dernierChangement, changement);
+        if (!ecouteurs.isEmpty()) {
+            aDiffuser.add(enAttente);
+        }
+        return enAttente;
+    }
+    
+    /**
+     * Attend que le journal rende un changement durable
+     * En cas d'échec, le changement est retiré de la file de diffusion puis annulé
+     * dans l'état : les ajouts sont retirés, les suppressions rétablies
+     * 
+     * @param enAttente Le changement
+     * @throws RuntimeException l'erreur du journal, une fois le changement annulé
+     */
+    private void rendreDurable(ChangementEnAttente enAttente) {
+        try {
+            journal.synchroniser();
+        } catch (RuntimeException erreur) {
+            synchronized (verrouDiffusion) {
+                aDiffuser.remove(enAttente);
+            }
+            ChangementCalendrier changement = enAttente.changement;
+            modifier(e -> {
+                for (Evenement evenement : changement.getAjoutes()) {
+                    // Seul l'événement ajouté par ce changement est retiré, pas un homonyme ajouté depuis
+                    if (e.evenement(evenement.getId()) == evenement) {
+                        e.supprimer(evenement.getId());
+                    }
+                }
+                for (Evenement evenement : changement.getSupprimes()) {
+                    if (e.evenement(evenement.getId()) == null) {
+                        e.ajouter(evenement);
+                    }
+                }
+                return null;
+            });
+            for (Evenement evenement : changement.getAjoutes()) {
+                cacheOccurrences.invalider(evenement.getId());
+            }
+            throw erreur;
+        }
+    }
+    
+    /**
+     * Diffuse aux écouteurs les changements en attente jusqu'à un changement durable
+     * Le journal rend les opérations durables dans l'ordre où elles sont consignées :
+     * les changements qui précèdent le changement donné le sont aussi, ceux qui le
+     * suivent sont laissés au fil qui les a produits. Une modification ne se termine
+     * qu'après la publication de toutes celles qui la précèdent : le fil qui diffuse
+     * ne signale jamais un changement encore invisible.
+     * Un seul fil diffuse à la fois, ce qui conserve l'ordre des changements ; l'exception
+     * d'un écouteur n'empêche pas les autres d'être prévenus et est levée ensuite
+     * 
+     * @param jusquA Le dernier changement à diffuser
+     */
+    private void diffuser(ChangementEnAttente jusquA) {
+        RuntimeException erreur = null;
+        synchronized (verrouDiffusion) {
+            ChangementEnAttente enAttente;
+            while ((enAttente = aDiffuser.peek()) != null && enAttente.numero <= jusquA.numero) {
+                aDiffuser.poll();
+                for (EcouteurCalendrier ecouteur : ecouteurs) {
+                    try {
+                        ecouteur.calendrierModifie(enAttente.changement);
+                    } catch (RuntimeException e) {
+                        erreur = erreur == null ? e : erreur;
+                    }
+                }
+            }
+        }
+        if (erreur != null) {
+            throw erreur;
+        }
+    }
+    
     /**
      * Ajoute un événement au calendrier
      * 
      * @param evenement L'événement à ajouter
+     * @throws IllegalArgumentException si un événement de même identifiant existe déjà,
+     *         ou si l'événement est trop volumineux pour être consigné dans le journal
      */
     public void ajouterEvenement(Evenement evenement) {
-        evenements.add(evenement);
+        journal.verifierConsignable(evenement);
+        ChangementEnAttente changement = modifier(e -> {
+            compacterSiNecessaire(e);
+            e.ajouter(evenement);
+            journal.consignerAjout(evenement);
+            return enregistrer(ChangementCalendrier.ajout(List.of(evenement)));
+        });
+        rendreDurable(changement);
+        diffuser(changement);
+    }
+    
+    /**
+     * Ajoute un lot d'événements en une seule modification de l'état
+     * Le lot est validé en entier, puis trié une fois par date de début pour
+     * construire les index en une passe ; c'est la voie à préférer pour les imports
+     * et les jeux de données de test. Le lot est consigné d'un seul tenant avant une
+     * unique attente de durabilité ; pour {@link CalendarManagerConcurrent}, l'instantané
+     * n'est publié qu'une fois.
+     * Le mode de gestion des conflits ne s'applique pas aux lots
+     * 
+     * @param evenements Les événements à ajouter
+     * @throws IllegalArgumentException si un identifiant existe déjà ou figure deux fois dans le lot,
+     *         ou si un événement est trop volumineux pour être consigné ; aucun événement du lot n'est alors ajouté
+     */
+    public void ajouterEvenements(Collection<Evenement> evenements) {
+        if (evenements.isEmpty()) {
+            return;
+        }
+        for (Evenement evenement : evenements) {
+            // Un élément null est refusé par l'état, avec le reste du lot
+            if (evenement != null) {
+                journal.verifierConsignable(evenement);
+            }
+        }
+
+        ChangementEnAttente changement = modifier(e -> {
+            compacterSiNecessaire(e);
+            e.ajouterTous(evenements);
+            journal.consignerAjouts(evenements);
+            return enregistrer(ChangementCalendrier.ajout(evenements));
+        });
+        rendreDurable(changement);
+        diffuser(changement);
     }
     
     /**
@@ -38,11 +309,13 @@ public class CalendarManager {
      * @param date Date du rendez-vous
      * @param heureDebut Heure de début
      * @param duree Durée du rendez-vous
+     * @return Les conflits provoqués par le rendez-vous, vide si le mode est {@link ModeConflit#IGNORER}
+     * @throws ConflitException si le mode est {@link ModeConflit#REJETER} et que le rendez-vous provoque un conflit
      */
-    public void ajouterRendezVousPersonnel(TitreEvenement titre, Utilisateur proprietaire, 
+    public List<Conflit> ajouterRendezVousPersonnel(TitreEvenement titre, Utilisateur proprietaire, 
                                          DateEvenement date, HeureDebut heureDebut, DureeEvenement duree) {
         RendezVousPersonnel rdv = new RendezVousPersonnel(titre, proprietaire, date, heureDebut, duree);
-        ajouterEvenement(rdv);
+        return ajouterEnVerifiant(rdv);
     }
     
     /**
@@ -55,12 +328,60 @@ public class CalendarManager {
      * @param duree Durée de la réunion
      * @param lieu Lieu de la réunion
      * @param participants Participants à la réunion
+     * @return Les conflits provoqués par la réunion, vide si le mode est {@link ModeConflit#IGNORER}
+     * @throws ConflitException si le mode est {@link ModeConflit#REJETER} et que la réunion provoque un conflit
      */
-    public void ajouterReunion(TitreEvenement titre, Utilisateur proprietaire, 
+    public List<Conflit> ajouterReunion(TitreEvenement titre, Utilisateur proprietaire, 
                              DateEvenement date, HeureDebut heureDebut, DureeEvenement duree,
                              LieuEvenement lieu, ParticipantsEvenement participants) {
         Reunion reunion = new Reunion(titre, proprietaire, date, heureDebut, duree, lieu, participants);
-        ajouterEvenement(reunion);
+        return ajouterEnVerifiant(reunion);
+    }
+    
+    /**
+     * Ajoute un événement en appliquant le mode de gestion des conflits
+     * La vérification et l'ajout forment une seule modification de l'état
+     * 
+     * @param evenement L'événement à ajouter
+     * @return Les conflits provoqués par l'événement
+     * @throws ConflitException si le mode est {@link ModeConflit#REJETER} et qu'il y a conflit
+     */
+    private List<Conflit> ajouterEnVerifiant(Evenement evenement) {
+        ModeConflit mode = modeConflit;
+        if (mode == ModeConflit.IGNORER) {
+            ajouterEvenement(evenement);
+            return new ArrayList<>();
+        }
+        
+        journal.verifierConsignable(evenement);
+        List<Conflit> conflits = new ArrayList<>();
+        ChangementEnAttente changement = modifier(e -> {
+            List<Conflit> trouves = e.conflitsAvec(evenement);
+            if (mode == ModeConflit.REJETER && !trouves.isEmpty()) {
+                throw new ConflitException(evenement, trouves);
+            }
+            compacterSiNecessaire(e);
+            e.ajouter(evenement);
+            journal.consignerAjout(evenement);
+            conflits.addAll(trouves);
+            return enregistrer(ChangementCalendrier.ajout(List.of(evenement)));
+        });
+        rendreDurable(changement);
+        diffuser(changement);
+        return conflits;
+    }
+    
+    /**
+     * Compacte le journal quand il le demande, au début d'une modification
+     * L'état reçu reflète alors exactement les opérations déjà consignées ; si la
+     * compaction échoue, la modification n'a encore rien consigné
+     * 
+     * @param etat L'état en cours de modification
+     */
+    private void compacterSiNecessaire(EtatCalendrier etat) {
+        if (journal.compactionNecessaire()) {
+            journal.compacter(etat.valeurs());
+        }
     }
     
     /**
@@ -106,16 +427,23 @@ public class CalendarManager {
             return false;
         }
         
-        Iterator<Evenement> iterator = evenements.iterator();
-        while (iterator.hasNext()) {
-            Evenement evenement = iterator.next();
-            if (evenement.getId().equals(eventId)) {
-                iterator.remove();
-                return true;
+        ChangementEnAttente changement = modifier(e -> {
+            if (e.evenement(eventId) == null) {
+                return null;
             }
+            compacterSiNecessaire(e);
+            Evenement supprime = e.supprimer(eventId);
+            journal.consignerSuppression(eventId);
+            return enregistrer(ChangementCalendrier.suppression(List.of(supprime)));
+        });
+        if (changement == null) {
+            return false;
         }
         
-        return false;
+        rendreDurable(changement);
+        cacheOccurrences.invalider(eventId);
+        diffuser(changement);
+        return true;
     }
     
     /**
@@ -129,11 +457,27 @@ public class CalendarManager {
             return 0;
         }
         
-        int countBefore = evenements.size();
+        ChangementEnAttente changement = modifier(e -> {
+            if (e.proprietaireDe(utilisateur).isEmpty()) {
+                return null;
+            }
+            compacterSiNecessaire(e);
+            List<Evenement> retires = e.supprimerDe(utilisateur);
+            journal.consignerSuppressions(retires.stream().map(Evenement::getId).collect(Collectors.toList()));
+            return enregistrer(ChangementCalendrier.suppression(retires));
+        });
+        if (changement == null) {
+            return 0;
+        }
         
-        evenements.removeIf(e -> e.getProprietaire().equals(utilisateur));
+        rendreDurable(changement);
+        List<Evenement> supprimes = changement.changement.getSupprimes();
+        for (Evenement evenement : supprimes) {
+            cacheOccurrences.invalider(evenement.getId());
+        }
+        diffuser(changement);
         
-        return countBefore - evenements.size();
+        return supprimes.size();
     }
 
     /**
@@ -141,14 +485,63 @@ public class CalendarManager {
      * 
      * @param debut Début de la période
      * @param fin Fin de la période
-     * @return Liste des événements dans la période
+     * @return Liste des événements dans la période, triés par date de début (la première
+     *         occurrence pour un événement périodique) ; à début égal, les événements ponctuels
+     *         précèdent les périodiques, et chaque groupe garde l'ordre d'ajout
      */
     public List<Evenement> eventsDansPeriode(LocalDateTime debut, LocalDateTime fin) {
-        return evenements.stream()
-                .filter(e -> e.aLieuPendant(debut, fin))
-                .collect(Collectors.toList());
+        return lire().rechercher(debut, fin);
+    }
+
+    /**
+     * Développe les occurrences des événements ayant lieu dans une période
+     * Un événement périodique produit une occurrence par répétition dans la période,
+     * les autres événements au plus une
+     * 
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Flux paresseux des occurrences, regroupées par événement dans l'ordre de {@link #eventsDansPeriode}
+     */
+    public Stream<Occurrence> occurrences(LocalDateTime debut, LocalDateTime fin) {
+        return lire().rechercher(debut, fin).stream()
+                .flatMap(e -> cacheOccurrences.occurrences(e, debut, fin)
+                        .map(occurrence -> new Occurrence(e, occurrence)));
     }
 
+    /**
+     * Parcourt les événements ayant lieu dans une période sans les copier dans une liste,
+     * pour traiter un très grand calendrier en mémoire bornée
+     * Le flux porte sur l'état du moment de l'appel : les modifications suivantes ne l'affectent pas
+     * 
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Flux paresseux des événements ; un événement périodique y figure une fois, sans être développé
+     */
+    public Stream<Evenement> parcourirPeriode(LocalDateTime debut, LocalDateTime fin) {
+        return lire().parcourir(debut, fin);
+    }
+    
+    /**
+     * Parcourt l'agenda personnel d'un utilisateur sans le copier dans une liste,
+     * avec les mêmes garanties que {@link #parcourirPeriode}
+     * 
+     * @param utilisateur L'utilisateur dont on veut l'agenda
+     * @return Flux paresseux des événements où l'utilisateur est impliqué
+     */
+    public Stream<Evenement> parcourirAgendaPersonnel(Utilisateur utilisateur) {
+        return lire().impliquant(utilisateur).stream();
+    }
+    
+    /**
+     * Parcourt tous les événements du calendrier sans les copier dans une liste,
+     * avec les mêmes garanties que {@link #parcourirPeriode}
+     * 
+     * @return Flux paresseux des événements, dans l'ordre d'ajout
+     */
+    public Stream<Evenement> parcourirEvenements() {
+        return lire().valeurs().stream();
+    }
+    
     /**
      * Vérifie s'il y a un conflit entre deux événements
      * 
@@ -159,12 +552,122 @@ public class CalendarManager {
     public boolean conflit(Evenement e1, Evenement e2) {
         return e1.estEnConflitAvec(e2);
     }
+    
+    /**
+     * Trouve tous les conflits de l'agenda d'un utilisateur
+     * (événements dont il est propriétaire ou participant)
+     *
+     * @param utilisateur L'utilisateur dont on vérifie l'agenda
+     * @return Les paires d'événements bloquants qui se chevauchent
+     */
+    public List<Conflit> detecterConflits(Utilisateur utilisateur) {
+        return DetecteurConflits.detecter(lire().impliquant(utilisateur));
+    }
+    
+    /**
+     * Trouve tous les conflits entre les événements ayant lieu dans une période
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Les paires d'événements bloquants qui se chevauchent
+     */
+    public List<Conflit> detecterConflits(LocalDateTime debut, LocalDateTime fin) {
+        return DetecteurConflits.detecter(lire().rechercher(debut, fin));
+    }
 
+    /**
+     * Trouve les premières plages d'une fenêtre où tous les participants sont libres
+     * 
+     * @param participants Les participants, organisateur compris
+     * @param duree Durée de la réunion à placer
+     * @param debut Début de la fenêtre de recherche
+     * @param fin Fin de la fenêtre de recherche (exclue)
+     * @param nombre Nombre maximal de plages à retourner
+     * @return Les plages libres d'au moins la durée demandée, dans l'ordre chronologique
+     * @throws IllegalArgumentException si un argument est null, si la fenêtre est vide ou si le nombre n'est pas strictement positif
+     */
+    public List<CreneauLibre> trouverCreneauxLibres(ParticipantsEvenement participants, DureeEvenement duree,
+                                                    LocalDateTime debut, LocalDateTime fin, int nombre) {
+        return planificateur(participants, duree, debut, fin).trouver(duree.getMinutes(), nombre);
+    }
+    
+    /**
+     * Trouve les premières plages d'une fenêtre où tous les participants sont libres,
+     * en ne retenant chaque jour que les heures d'ouverture
+     * 
+     * @param participants Les participants, organisateur compris
+     * @param duree Durée de la réunion à placer
+     * @param debut Début de la fenêtre de recherche
+     * @param fin Fin de la fenêtre de recherche (exclue)
+     * @param ouverture Heure à partir de laquelle une réunion peut commencer
+     * @param fermeture Heure à laquelle toute réunion doit être finie
+     * @param nombre Nombre maximal de plages à retourner
+     * @return Les plages libres d'au moins la durée demandée, dans l'ordre chronologique
+     * @throws IllegalArgumentException si un argument est null, si la fenêtre ou les horaires sont vides
+     *         ou si le nombre n'est pas strictement positif
+     */
+    public List<CreneauLibre> trouverCreneauxLibres(ParticipantsEvenement participants, DureeEvenement duree,
+                                                    LocalDateTime debut, LocalDateTime fin,
+                                                    LocalTime ouverture, LocalTime fermeture, int nombre) {
+        PlanificateurCreneaux planificateur = planificateur(participants, duree, debut, fin);
+        planificateur.horaires(ouverture, fermeture);
+        return planificateur.trouver(duree.getMinutes(), nombre);
+    }
+    
+    /**
+     * Accumule les périodes occupées des participants pendant une fenêtre :
+     * leurs événements bloquants, tirés de l'index des créneaux de chacun,
+     * et les occurrences des événements périodiques qui les impliquent, tirés
+     * de l'index par utilisateur sans parcourir les séries des autres
+     */
+    private PlanificateurCreneaux planificateur(ParticipantsEvenement participants, DureeEvenement duree,
+                                                LocalDateTime debut, LocalDateTime fin) {
+        if (participants == null || duree == null || debut == null || fin == null) {
+            throw new IllegalArgumentException("Les participants, la durée et la fenêtre sont obligatoires");
+        }
+        
+        long premiereMinute = MinutesEpoch.plafond(debut);
+        long derniereMinute = MinutesEpoch.plancher(fin);
+        PlanificateurCreneaux planificateur = new PlanificateurCreneaux(premiereMinute, derniereMinute);
+        EtatCalendrier etatLu = lire();
+        // Une série qui implique plusieurs participants ne doit être développée qu'une fois
+        Set<Evenement> series = new LinkedHashSet<>();
+        for (Utilisateur participant : participants.getUtilisateurs()) {
+            for (Evenement evenement : etatLu.chevauchant(participant, premiereMinute, derniereMinute)) {
+                planificateur.occuper(evenement.getDebutEpochMinutes(), evenement.getFinEpochMinutes());
+            }
+            series.addAll(etatLu.periodiquesPendant(participant, debut, fin));
+        }
+        
+        for (Evenement evenement : series) {
+            long minutes = evenement.getDuree().getMinutes();
+            cacheOccurrences.occurrences(evenement, debut, fin).forEach(occurrence -> {
+                long minute = MinutesEpoch.plancher(occurrence);
+                planificateur.occuper(minute, minute + minutes);
+            });
+        }
+        return planificateur;
+    }
+    
+    /**
+     * Recherche les événements dont le titre, le lieu, le propriétaire ou les participants
+     * contiennent tous les mots d'une requête, sans tenir compte des accents ni des majuscules
+     * Le dernier mot peut n'être que le début d'un terme
+     * 
+     * @param requete Les mots recherchés
+     * @param nombre Nombre maximal de résultats
+     * @return Les événements trouvés, du plus pertinent au moins pertinent
+     * @throws IllegalArgumentException si la requête est null ou si le nombre n'est pas strictement positif
+     */
+    public List<Evenement> rechercher(String requete, int nombre) {
+        return indexRecherche.rechercher(requete, nombre);
+    }
+    
     /**
      * Affiche tous les événements du calendrier
      */
     public void afficherEvenements() {
-        for (Evenement e : evenements) {
+        for (Evenement e : lire().valeurs()) {
             System.out.println(e.description());
         }
     }
@@ -175,7 +678,7 @@ public class CalendarManager {
      * @return Liste des événements
      */
     public List<Evenement> getEvenements() {
-        return new ArrayList<>(evenements);
+        return new ArrayList<>(lire().valeurs());
     }
     
     /**
@@ -185,9 +688,7 @@ public class CalendarManager {
      * @return Liste des événements appartenant à l'utilisateur
      */
     public List<Evenement> evenementsDeLUtilisateur(Utilisateur utilisateur) {
-        return evenements.stream()
-                .filter(e -> e.getProprietaire().equals(utilisateur))
-                .collect(Collectors.toList());
+        return new ArrayList<>(lire().proprietaireDe(utilisateur));
     }
     
     /**
@@ -198,9 +699,7 @@ public class CalendarManager {
      * @return Liste des événements où l'utilisateur est impliqué
      */
     public List<Evenement> agendaPersonnel(Utilisateur utilisateur) {
-        return evenements.stream()
-                .filter(e -> estImplique(e, utilisateur))
-                .collect(Collectors.toList());
+        return new ArrayList<>(lire().impliquant(utilisateur));
     }
     
     /**
@@ -220,33 +719,21 @@ public class CalendarManager {
             dateFin.getAnnee(), dateFin.getMois(), dateFin.getJour(), 23, 59, 59
         );
         
-        return evenements.stream()
-                .filter(e -> estImplique(e, utilisateur))
+        return lire().impliquant(utilisateur).stream()
                 .filter(e -> e.aLieuPendant(debut, fin))
                 .collect(Collectors.toList());
     }
-    
+
     /**
-     * Détermine si un utilisateur est impliqué dans un événement
-     * (en tant que propriétaire ou participant)
-     * 
-     * @param evenement L'événement à vérifier
-     * @param utilisateur L'utilisateur dont on vérifie l'implication
-     * @return true si l'utilisateur est impliqué, false sinon
+     * Changement en attente de durabilité puis de diffusion, numéroté dans l'ordre des modifications
      */
-    private boolean estImplique(Evenement evenement, Utilisateur utilisateur) {
-        // L'utilisateur est le propriétaire
-        if (evenement.getProprietaire().equals(utilisateur)) {
-            return true;
-        }
-        
-        // Pour une réunion, vérifier si l'utilisateur est dans les participants
-        if (evenement instanceof Reunion) {
-            Reunion reunion = (Reunion) evenement;
-            return reunion.estParticipant(utilisateur);
+    private static final class ChangementEnAttente {
+        private final long numero;
+        private final ChangementCalendrier changement;
+
+        private ChangementEnAttente(long numero, ChangementCalendrier changement) {
+            this.numero = numero;
+            this.changement = changement;
         }
-        
-        // Pour les autres types d'événements, seul le propriétaire est impliqué
-        return false;
     }
-}
\ No newline at end of file
+}
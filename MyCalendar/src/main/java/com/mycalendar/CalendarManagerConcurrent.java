@@ -0,0 +1,61 @@
+package com.mycalendar;
+
+import com.mycalendar.persistance.JournalEvenements;
+import java.util.function.Function;
+
+/**
+ * Gestionnaire de calendrier partageable entre plusieurs sessions
+ *
+ * Les lectures portent sur un instantané immuable publié par une référence
+ * volatile : elles ne prennent aucun verrou et ne bloquent jamais les écritures.
+ * Les écritures sont sérialisées ; chacune modifie une copie de l'état puis
+ * la publie en une seule affectation. Chaque opération est ainsi linéarisable :
+ * une lecture voit l'état d'avant ou d'après une écriture, jamais un état
+ * intermédiaire.
+ *
+ * L'état est fait de structures persistantes : la copie ne coûte qu'une
+ * affectation par structure, et l'écriture O(log n), les parties inchangées
+ * restant partagées avec l'instantané précédent.
+ */
+public class CalendarManagerConcurrent extends CalendarManager {
+    private final Object verrouEcriture = new Object();
+    private volatile EtatCalendrier instantane;
+
+    /**
+     * Constructeur du gestionnaire de calendrier concurrent, dont l'état reste en mémoire
+     */
+    public CalendarManagerConcurrent() {
+        this(JournalEvenements.enMemoire());
+    }
+
+    /**
+     * Constructeur du gestionnaire de calendrier concurrent adossé à un journal
+     * Les opérations sont consignées sous le verrou d'écriture, donc dans l'ordre
+     * de publication ; l'attente de durabilité se fait hors du verrou, ce qui permet
+     * au journal de regrouper les écritures de plusieurs sessions
+     *
+     * @param journal Journal des modifications
+     * @throws IllegalArgumentException si le journal est null
+     */
+    public CalendarManagerConcurrent(JournalEvenements journal) {
+        super(journal);
+        // L'état reconstruit par le rejeu devient le premier instantané publié
+        this.instantane = super.lire();
+    }
+
+    @Override
+    EtatCalendrier lire() {
+        return instantane;
+    }
+
+    @Override
+    <T> T modifier(Function<EtatCalendrier, T> modification) {
+        synchronized (verrouEcriture) {
+            EtatCalendrier copie = instantane.copier();
+            // Une modification rejetée lève une exception avant la publication : l'état reste intact
+            T resultat = modification.apply(copie);
+            instantane = copie;
+            return resultat;
+        }
+    }
+}
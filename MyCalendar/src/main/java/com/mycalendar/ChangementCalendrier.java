@@ -0,0 +1,64 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.Evenement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Modification d'un calendrier, telle qu'elle est signalée à ses écouteurs :
+ * les événements ajoutés et les événements supprimés par une même opération
+ */
+public final class ChangementCalendrier {
+    private final List<Evenement> ajoutes;
+    private final List<Evenement> supprimes;
+
+    private ChangementCalendrier(Collection<Evenement> ajoutes, Collection<Evenement> supprimes) {
+        this.ajoutes = Collections.unmodifiableList(new ArrayList<>(ajoutes));
+        this.supprimes = Collections.unmodifiableList(new ArrayList<>(supprimes));
+    }
+
+    /**
+     * Crée le changement d'un ajout
+     *
+     * @param ajoutes Les événements ajoutés
+     * @return Le changement
+     */
+    static ChangementCalendrier ajout(Collection<Evenement> ajoutes) {
+        return new ChangementCalendrier(ajoutes, Collections.emptyList());
+    }
+
+    /**
+     * Crée le changement d'une suppression
+     *
+     * @param supprimes Les événements supprimés
+     * @return Le changement
+     */
+    static ChangementCalendrier suppression(Collection<Evenement> supprimes) {
+        return new ChangementCalendrier(Collections.emptyList(), supprimes);
+    }
+
+    /**
+     * Obtient les événements ajoutés
+     *
+     * @return Liste non modifiable, vide pour une suppression
+     */
+    public List<Evenement> getAjoutes() {
+        return ajoutes;
+    }
+
+    /**
+     * Obtient les événements supprimés
+     *
+     * @return Liste non modifiable, vide pour un ajout
+     */
+    public List<Evenement> getSupprimes() {
+        return supprimes;
+    }
+
+    @Override
+    public String toString() {
+        return ajoutes.size() + " ajout(s), " + supprimes.size() + " suppression(s)";
+    }
+}
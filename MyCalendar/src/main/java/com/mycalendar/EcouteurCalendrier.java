@@ -0,0 +1,20 @@
+package com.mycalendar;
+
+/**
+ * Écouteur des modifications d'un calendrier, pour tenir une vue à jour sans
+ * relire tout le calendrier après chaque ajout ou suppression
+ *
+ * @see CalendarManager#ajouterEcouteur
+ */
+@FunctionalInterface
+public interface EcouteurCalendrier {
+
+    /**
+     * Appelé une fois la modification visible par les lectures du calendrier et consignée au journal
+     * L'appel a lieu sur le fil qui a modifié le calendrier : un écouteur d'interface
+     * graphique doit transmettre le changement à son propre fil
+     *
+     * @param changement Les événements ajoutés ou supprimés
+     */
+    void calendrierModifie(ChangementCalendrier changement);
+}
@@ -0,0 +1,385 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.index.ArbrePersistant;
+import com.mycalendar.index.IndexCreneaux;
+import com.mycalendar.index.IndexTemporel;
+import com.mycalendar.index.IndexUtilisateurs;
+import com.mycalendar.index.TablePersistante;
+import com.mycalendar.planification.Conflit;
+import com.mycalendar.valueobjects.EventId;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Contenu d'un calendrier : les événements et leurs index, tenus cohérents
+ *
+ * Un état peut être copié pour être modifié à l'écart puis publié en bloc,
+ * ce qui permet à {@link CalendarManagerConcurrent} de servir ses lecteurs
+ * sans jamais les bloquer. Toutes ses structures sont persistantes : la copie
+ * ne coûte qu'une affectation par structure, et chaque modification de la copie
+ * O(log n), les parties inchangées restant partagées avec l'original.
+ *
+ * Chaque événement reçoit un numéro d'ajout croissant, qui le range dans l'ordre
+ * d'ajout et départage, dans les index, les événements de même clé.
+ */
+final class EtatCalendrier {
+    // Taille de lot à partir de laquelle la validation se répartit entre les cœurs
+    static final int SEUIL_PARALLELE = 10_000;
+
+    // Numéro d'ajout de chaque événement, par identifiant
+    private TablePersistante<EventId, Long> numeros;
+    // Événements par numéro d'ajout : la suppression ne décale aucun élément
+    private ArbrePersistant<Evenement> parAjout;
+    private long prochainNumero;
+    private final IndexTemporel indexTemporel;
+    private final IndexUtilisateurs indexUtilisateurs;
+    private final IndexCreneaux indexCreneaux;
+
+    /**
+     * Crée un état vide
+     */
+    EtatCalendrier() {
+        this.numeros = TablePersistante.vide();
+        this.parAjout = ArbrePersistant.vide();
+        this.prochainNumero = 0;
+        this.indexTemporel = new IndexTemporel();
+        this.indexUtilisateurs = new IndexUtilisateurs();
+        this.indexCreneaux = new IndexCreneaux();
+    }
+
+    private EtatCalendrier(EtatCalendrier source) {
+        this.numeros = source.numeros;
+        this.parAjout = source.parAjout;
+        this.prochainNumero = source.prochainNumero;
+        this.indexTemporel = source.indexTemporel.copier();
+        this.indexUtilisateurs = source.indexUtilisateurs.copier();
+        this.indexCreneaux = source.indexCreneaux.copier();
+    }
+
+    /**
+     * Copie l'état en O(1) ; les modifications de la copie n'affectent pas l'original
+     *
+     * @return Une copie indépendante de l'état
+     */
+    EtatCalendrier copier() {
+        return new EtatCalendrier(this);
+    }
+
+    /**
+     * Ajoute un événement et l'indexe
+     *
+     * @param evenement L'événement à ajouter
+     * @throws IllegalArgumentException si un événement de même identifiant existe déjà
+     */
+    void ajouter(Evenement evenement) {
+        if (numeros.valeur(evenement.getId()) != null) {
+            throw new IllegalArgumentException("Un événement avec l'identifiant " + evenement.getId() + " existe déjà");
+        }
+        long numero = prochainNumero++;
+        numeros = numeros.ajouter(evenement.getId(), numero);
+        parAjout = parAjout.ajouter(numero, 0, evenement);
+        indexTemporel.ajouter(evenement, numero);
+        indexUtilisateurs.ajouter(evenement, numero);
+        indexCreneaux.ajouter(evenement, numero);
+    }
+
+    /**
+     * Ajoute un lot d'événements et construit leurs index en une passe
+     *
+     * Le lot est d'abord validé en entier, en parallèle au-delà de {@link #SEUIL_PARALLELE}
+     * événements : un lot refusé laisse l'état intact. Il est ensuite trié une fois par
+     * date de début, pour que les index arborescents le reçoivent dans leur ordre.
+     * Le tri est stable : à début égal, l'ordre du lot est conservé, comme par des
+     * ajouts successifs, qui auraient donné les mêmes numéros.
+     *
+     * @param lot Les événements à ajouter
+     * @throws IllegalArgumentException si un événement est null, si un identifiant existe déjà
+     *         ou s'il figure deux fois dans le lot
+     */
+    void ajouterTous(Collection<Evenement> lot) {
+        valider(lot);
+
+        Evenement[] enOrdre = lot.toArray(new Evenement[0]);
+        Integer[] positions = new Integer[enOrdre.length];
+        Arrays.setAll(positions, i -> i);
+        Arrays.parallelSort(positions, Comparator.comparingLong(i -> enOrdre[i].getDebutEpochMinutes()));
+        Evenement[] tries = new Evenement[enOrdre.length];
+        long[] numerosTries = new long[enOrdre.length];
+        for (int i = 0; i < positions.length; i++) {
+            tries[i] = enOrdre[positions[i]];
+            numerosTries[i] = prochainNumero + positions[i];
+        }
+        indexer(enOrdre, Arrays.asList(tries), numerosTries);
+    }
+
+    /**
+     * Charge en bloc des événements déjà triés par date de début, comme les restitue un instantané
+     * Le lot est validé comme par {@link #ajouterTous}, mais n'est pas retrié : les index
+     * le reçoivent directement. Les événements reçoivent leurs numéros dans l'ordre d'ajout,
+     * comme s'ils avaient été ajoutés un à un dans cet ordre.
+     *
+     * @param parDebut Les événements, triés par minute de début ; à début égal, dans l'ordre d'ajout
+     * @param ordreAjout Position dans parDebut de chaque événement, dans l'ordre d'ajout
+     * @throws IllegalArgumentException si les deux tableaux ne correspondent pas, si un événement
+     *         est null, si un identifiant existe déjà ou s'il figure deux fois dans le lot
+     */
+    void charger(List<Evenement> parDebut, int[] ordreAjout) {
+        if (ordreAjout.length != parDebut.size()) {
+            throw new IllegalArgumentException("L'ordre d'ajout ne couvre pas tous les événements");
+        }
+        Evenement[] enOrdre = new Evenement[ordreAjout.length];
+        long[] numerosTries = new long[ordreAjout.length];
+        for (int i = 0; i < ordreAjout.length; i++) {
+            enOrdre[i] = parDebut.get(ordreAjout[i]);
+            numerosTries[ordreAjout[i]] = prochainNumero + i;
+        }
+        List<Evenement> lot = Arrays.asList(enOrdre);
+        valider(lot);
+
+        // Un ordre qui ne respecterait pas (début, numéro) corromprait les arbres : le lot est alors retrié
+        for (int i = 1; i < numerosTries.length; i++) {
+            long debutPrecedent = parDebut.get(i - 1).getDebutEpochMinutes();
+            long debut = parDebut.get(i).getDebutEpochMinutes();
+            if (debut < debutPrecedent || (debut == debutPrecedent && numerosTries[i] < numerosTries[i - 1])) {
+                ajouterTous(lot);
+                return;
+            }
+        }
+        indexer(enOrdre, parDebut, numerosTries);
+    }
+
+    /**
+     * Valide un lot en entier, en parallèle au-delà de {@link #SEUIL_PARALLELE} événements
+     */
+    private void valider(Collection<Evenement> lot) {
+        // La validation ne fait que lire la table des événements : elle peut être partagée entre threads
+        Set<EventId> identifiants = ConcurrentHashMap.newKeySet(lot.size());
+        Stream<Evenement> flux = lot.size() >= SEUIL_PARALLELE ? lot.parallelStream() : lot.stream();
+        Optional<String> refus = flux.map(e -> refus(e, identifiants)).filter(Objects::nonNull).findAny();
+        if (refus.isPresent()) {
+            throw new IllegalArgumentException(refus.get());
+        }
+    }
+
+    /**
+     * Numérote et indexe un lot validé
+     *
+     * @param enOrdre Les événements, dans l'ordre d'ajout
+     * @param parDebut Les mêmes, triés par (minute de début, numéro)
+     * @param numerosTries Numéros des événements de parDebut, dans le même ordre
+     */
+    private void indexer(Evenement[] enOrdre, List<Evenement> parDebut, long[] numerosTries) {
+        long[] numerosDuLot = new long[enOrdre.length];
+        for (int i = 0; i < enOrdre.length; i++) {
+            numerosDuLot[i] = prochainNumero + i;
+            numeros = numeros.ajouter(enOrdre[i].getId(), numerosDuLot[i]);
+        }
+        prochainNumero += enOrdre.length;
+        parAjout = parAjout.ajouterTous(numerosDuLot, new long[enOrdre.length], Arrays.asList(enOrdre));
+
+        indexTemporel.ajouterTous(parDebut, numerosTries);
+        indexUtilisateurs.ajouterTous(Arrays.asList(enOrdre), numerosDuLot);
+        indexCreneaux.ajouterTous(parDebut, numerosTries);
+    }
+
+    /**
+     * @param evenement Un événement du lot à valider
+     * @param identifiants Les identifiants du lot déjà rencontrés
+     * @return La raison du refus de l'événement, ou null s'il peut être ajouté
+     */
+    private String refus(Evenement evenement, Set<EventId> identifiants) {
+        if (evenement == null) {
+            return "Un lot ne peut pas contenir d'événement null";
+        }
+        if (numeros.valeur(evenement.getId()) != null || !identifiants.add(evenement.getId())) {
+            return "Un événement avec l'identifiant " + evenement.getId() + " existe déjà";
+        }
+        return null;
+    }
+
+    /**
+     * Obtient un événement par son identifiant
+     *
+     * @param eventId Identifiant de l'événement
+     * @return L'événement, ou null s'il n'existe pas
+     */
+    Evenement evenement(EventId eventId) {
+        Long numero = numeros.valeur(eventId);
+        return numero == null ? null : parAjout.valeur(numero, 0);
+    }
+
+    /**
+     * Supprime un événement et le retire des index
+     *
+     * @param eventId Identifiant de l'événement
+     * @return L'événement supprimé, ou null s'il n'existait pas
+     */
+    Evenement supprimer(EventId eventId) {
+        Long numero = numeros.valeur(eventId);
+        if (numero == null) {
+            return null;
+        }
+
+        Evenement evenement = parAjout.valeur(numero, 0);
+        numeros = numeros.retirer(eventId);
+        parAjout = parAjout.retirer(numero, 0);
+        indexTemporel.retirer(evenement, numero);
+        indexUtilisateurs.retirer(evenement, numero);
+        indexCreneaux.retirer(evenement, numero);
+        return evenement;
+    }
+
+    /**
+     * Supprime tous les événements dont un utilisateur est propriétaire
+     *
+     * @param utilisateur Le propriétaire
+     * @return Les événements supprimés, dans l'ordre d'ajout
+     */
+    List<Evenement> supprimerDe(Utilisateur utilisateur) {
+        List<Evenement> aSupprimer = new ArrayList<>(indexUtilisateurs.proprietaireDe(utilisateur));
+        for (Evenement evenement : aSupprimer) {
+            supprimer(evenement.getId());
+        }
+        return aSupprimer;
+    }
+
+    /**
+     * Trouve les conflits qu'ajouterait un événement avec les événements
+     * de son propriétaire et de ses participants
+     *
+     * @param evenement L'événement à vérifier
+     * @return Les conflits, triés par début de l'événement existant
+     */
+    List<Conflit> conflitsAvec(Evenement evenement) {
+        List<Conflit> conflits = new ArrayList<>();
+        if (!evenement.bloqueLeCalendrier()) {
+            return conflits;
+        }
+
+        long debut = evenement.getDebutEpochMinutes();
+        long fin = evenement.getFinEpochMinutes();
+        // Un même événement peut figurer dans l'agenda de plusieurs participants
+        Set<Evenement> existants = new LinkedHashSet<>(indexCreneaux.chevauchant(evenement.getProprietaire(), debut, fin));
+        for (Utilisateur participant : evenement.getParticipants().getUtilisateurs()) {
+            existants.addAll(indexCreneaux.chevauchant(participant, debut, fin));
+        }
+
+        List<Evenement> tries = new ArrayList<>(existants);
+        tries.sort(Comparator.comparingLong(Evenement::getDebutEpochMinutes));
+        for (Evenement existant : tries) {
+            if (existant.getDebutEpochMinutes() <= debut) {
+                conflits.add(new Conflit(existant, evenement));
+            } else {
+                conflits.add(new Conflit(evenement, existant));
+            }
+        }
+        return conflits;
+    }
+
+    /**
+     * Trouve les événements bloquants d'un utilisateur qui chevauchent un créneau
+     *
+     * @param utilisateur L'utilisateur, propriétaire ou participant
+     * @param debut Début du créneau, en minutes depuis l'époque
+     * @param fin Fin du créneau (exclue), en minutes depuis l'époque
+     * @return Les événements, triés par début
+     */
+    List<Evenement> chevauchant(Utilisateur utilisateur, long debut, long fin) {
+        return indexCreneaux.chevauchant(utilisateur, debut, fin);
+    }
+
+    /**
+     * Trouve les événements périodiques ayant lieu pendant une période
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Liste des événements périodiques
+     */
+    List<Evenement> periodiquesPendant(LocalDateTime debut, LocalDateTime fin) {
+        return indexTemporel.periodiquesPendant(debut, fin);
+    }
+
+    /**
+     * Trouve les événements périodiques impliquant un utilisateur qui ont lieu pendant une période
+     *
+     * @param utilisateur L'utilisateur, propriétaire ou participant
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Liste des événements périodiques, triés par date de première occurrence
+     */
+    List<Evenement> periodiquesPendant(Utilisateur utilisateur, LocalDateTime debut, LocalDateTime fin) {
+        return indexUtilisateurs.periodiquesPendant(utilisateur, debut, fin);
+    }
+
+    /**
+     * Trouve les événements ayant lieu pendant une période
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Liste des événements, triés par date de début ; à début égal,
+     *         les ponctuels précèdent les périodiques
+     */
+    List<Evenement> rechercher(LocalDateTime debut, LocalDateTime fin) {
+        return indexTemporel.rechercher(debut, fin);
+    }
+
+    /**
+     * Parcourt les événements ayant lieu pendant une période, sans les copier
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Flux paresseux des événements
+     */
+    Stream<Evenement> parcourir(LocalDateTime debut, LocalDateTime fin) {
+        return indexTemporel.parcourir(debut, fin);
+    }
+
+    /**
+     * @param utilisateur L'utilisateur
+     * @return Vue non modifiable des événements dont il est propriétaire
+     */
+    Set<Evenement> proprietaireDe(Utilisateur utilisateur) {
+        return indexUtilisateurs.proprietaireDe(utilisateur);
+    }
+
+    /**
+     * @param utilisateur L'utilisateur
+     * @return Vue non modifiable des événements où il est impliqué
+     */
+    Set<Evenement> impliquant(Utilisateur utilisateur) {
+        return indexUtilisateurs.impliquant(utilisateur);
+    }
+
+    /**
+     * @return Vue non modifiable de tous les événements, dans l'ordre d'ajout,
+     *         figée à l'état du moment de l'appel
+     */
+    Collection<Evenement> valeurs() {
+        ArbrePersistant<Evenement> evenements = parAjout;
+        return new AbstractCollection<Evenement>() {
+            @Override
+            public Iterator<Evenement> iterator() {
+                return evenements.iterator();
+            }
+
+            @Override
+            public int size() {
+                return evenements.taille();
+            }
+        };
+    }
+}
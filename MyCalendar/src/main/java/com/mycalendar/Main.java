@@ -6,10 +6,17 @@ import com.mycalendar.menu.ajouter.AjouterEvenementPeriodiqueAction;
 import com.mycalendar.menu.ajouter.AjouterRendezVousPersonnelAction;
 import com.mycalendar.menu.ajouter.AjouterReunionAction;
 import com.mycalendar.menu.ajouter.AjouterTacheAction;
+import com.mycalendar.menu.ajouter.ImporterICalendarAction;
 import com.mycalendar.menu.compte.ConnexionAction;
 import com.mycalendar.menu.compte.CreationCompteAction;
 import com.mycalendar.menu.compte.DeconnexionAction;
+import com.mycalendar.menu.exporter.ExporterICalendarAction;
+import com.mycalendar.menu.rechercher.RechercherEvenementsAction;
 import com.mycalendar.menu.supprimer.SupprimerEvenementAction;
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.persistance.JournalEvenements;
+import com.mycalendar.planification.ModeConflit;
+import com.mycalendar.valueobjects.Utilisateur;
 
 import java.util.Scanner;
 
@@ -20,8 +27,9 @@ import java.util.Scanner;
 public class Main {
     public static void main(String[] args) {
         // Création des objets principaux
-        CalendarManager calendar = new CalendarManager();
-        UserManager userManager = new UserManager();
+        CalendarManager calendar = new CalendarManager(JournalEvenements.depuisConfiguration());
+        calendar.setModeConflit(ModeConflit.AVERTIR);
+        UserManager userManager = new UserManager(DepotComptes.depuisConfiguration(), UserManager.capaciteConfiguree());
         Scanner scanner = new Scanner(System.in);
         
         // Création du contexte
@@ -38,16 +46,23 @@ public class Main {
             afficherLogo();
             
             // Sélection du menu approprié selon l'état de connexion
-            MenuRegistry menuActuel = context.estConnecte() ? menuConnecte : menuNonConnecte;
+            Utilisateur connecte = context.getUtilisateurConnecte();
+            MenuRegistry menuActuel = connecte != null ? menuConnecte : menuNonConnecte;
             
             // Titre du menu en fonction de l'état de connexion
-            String titre = context.estConnecte() 
-                ? "Menu Gestionnaire d'Événements - " + context.getUtilisateurConnecte().getIdentifiant()
+            String titre = connecte != null
+                ? "Menu Gestionnaire d'Événements - " + connecte.getIdentifiant()
                 : "Menu Principal";
             
             // Affichage du menu et récupération de l'action choisie
             MenuAction actionChoisie = menuActuel.afficherMenu(context, titre);
             
+            // La session a pu expirer pendant que le menu attendait un choix
+            if (connecte != null && !context.estConnecte()) {
+                System.out.println("Session expirée, veuillez vous reconnecter.");
+                continue;
+            }
+            
             // Exécution de l'action si une action a été choisie
             if (actionChoisie != null) {
                 continuer = actionChoisie.executer(context);
@@ -55,6 +70,7 @@ public class Main {
         }
         
         scanner.close();
+        calendar.fermer();
         System.out.println("Au revoir !");
     }
     
@@ -78,10 +94,13 @@ public class Main {
     private static MenuRegistry creerMenuConnecte() {
         MenuRegistry registry = new MenuRegistry();
         registry.ajouterAction(new AfficherEvenementsAction());
+        registry.ajouterAction(new RechercherEvenementsAction());
         registry.ajouterAction(new AjouterRendezVousPersonnelAction());
         registry.ajouterAction(new AjouterReunionAction());
         registry.ajouterAction(new AjouterEvenementPeriodiqueAction());
         registry.ajouterAction(new AjouterTacheAction());
+        registry.ajouterAction(new ImporterICalendarAction());
+        registry.ajouterAction(new ExporterICalendarAction());
         registry.ajouterAction(new SupprimerEvenementAction());
         registry.ajouterAction(new DeconnexionAction());
         return registry;
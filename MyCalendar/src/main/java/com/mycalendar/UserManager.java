@@ -1,21 +1,132 @@
 package com.mycalendar;
 
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.recherche.IndexPrefixes;
+import com.mycalendar.recherche.TexteRecherche;
+import com.mycalendar.securite.Compte;
+import com.mycalendar.securite.VerificateurMotsDePasse;
+import com.mycalendar.session.GestionnaireSessions;
+import com.mycalendar.session.JetonSession;
+import com.mycalendar.valueobjects.ParticipantsEvenement;
+import com.mycalendar.valueobjects.RegistreUtilisateurs;
 import com.mycalendar.valueobjects.Utilisateur;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Gestionnaire des comptes utilisateurs
+ *
+ * Les comptes sont indexés par identifiant : la connexion, la recherche et le
+ * contrôle des doublons à la création se font en temps constant, quel que soit
+ * le nombre de comptes. L'ordre de création est conservé pour l'enregistrement.
+ * Des comptes peuvent être créés et des utilisateurs connectés depuis plusieurs
+ * fils à la fois : un identifiant n'est attribué qu'une fois, au premier qui le
+ * réclame une fois son empreinte calculée.
+ *
+ * Les mots de passe ne sont pas conservés, seulement leur empreinte. Leur calcul
+ * et leur vérification, volontairement coûteux, passent par un
+ * {@link VerificateurMotsDePasse} qui borne le nombre de calculs simultanés.
+ * Une connexion réussie ouvre une session : son jeton identifie ensuite
+ * l'utilisateur sans nouvelle vérification, et plusieurs sessions peuvent être
+ * ouvertes en même temps.
+ *
+ * Les identifiants des comptes sont aussi rangés par ordre alphabétique, ce qui
+ * permet de compléter un nom en cours de saisie.
+ */
 public class UserManager {
     
+    /**
+     * Capacité par défaut, à laquelle l'application a toujours été limitée
+     */
     public static final int CAPACITE_MAX = 99;
     
-    private final List<Utilisateur> utilisateurs;
+    /**
+     * Propriété système fixant la capacité de l'application
+     */
+    public static final String PROPRIETE_CAPACITE = "mycalendar.comptes.capacite";
     
+    private final Map<String, Compte> comptes;
+    // Réservations qui bornent le nombre de comptes
+    private final AtomicInteger nombreComptes = new AtomicInteger();
+    private final DepotComptes depot;
+    private final int capacite;
+    private final VerificateurMotsDePasse verificateur;
+    private final GestionnaireSessions sessions = new GestionnaireSessions();
+    // Une seule instance par identifiant, titulaires de comptes et simples participants
+    private final RegistreUtilisateurs registre = new RegistreUtilisateurs();
+    private final IndexPrefixes identifiants = new IndexPrefixes();
+    
+    /**
+     * Constructeur du gestionnaire d'utilisateurs, dont les comptes restent en mémoire
+     */
     public UserManager() {
-        utilisateurs = new ArrayList<>();
+        this(DepotComptes.enMemoire());
+    }
+    
+    /**
+     * Constructeur du gestionnaire d'utilisateurs adossé à un dépôt de comptes,
+     * limité à {@value #CAPACITE_MAX} comptes
+     * 
+     * @param depot Dépôt des comptes
+     * @throws IllegalArgumentException si le dépôt est null
+     */
+    public UserManager(DepotComptes depot) {
+        this(depot, CAPACITE_MAX);
+    }
+    
+    /**
+     * Constructeur du gestionnaire d'utilisateurs adossé à un dépôt de comptes,
+     * dont les mots de passe sont vérifiés selon la configuration de l'application
+     * 
+     * @param depot Dépôt des comptes
+     * @param capacite Nombre de comptes au-delà duquel la création est refusée
+     * @throws IllegalArgumentException si le dépôt est null ou si la capacité n'est pas strictement positive
+     */
+    public UserManager(DepotComptes depot, int capacite) {
+        this(depot, capacite, VerificateurMotsDePasse.depuisConfiguration());
+    }
+    
+    /**
+     * Constructeur du gestionnaire d'utilisateurs adossé à un dépôt de comptes
+     * Les utilisateurs prédéfinis ne sont créés que si le dépôt est vide ; les comptes
+     * déjà enregistrés sont tous chargés, même s'ils dépassent la capacité
+     * 
+     * @param depot Dépôt des comptes
+     * @param capacite Nombre de comptes au-delà duquel la création est refusée
+     * @param verificateur Calcul et vérification des empreintes de mots de passe
+     * @throws IllegalArgumentException si le dépôt ou le vérificateur est null, ou si la capacité n'est pas strictement positive
+     */
+    public UserManager(DepotComptes depot, int capacite, VerificateurMotsDePasse verificateur) {
+        if (depot == null) {
+            throw new IllegalArgumentException("Le dépôt de comptes ne peut pas être null");
+        }
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive");
+        }
+        if (verificateur == null) {
+            throw new IllegalArgumentException("Le vérificateur de mots de passe ne peut pas être null");
+        }
         
-        // Ajouter les utilisateurs prédéfinis
-        creerCompte("Roger", "Chat");
-        creerCompte("Pierre", "KiRouhl");
+        this.depot = depot;
+        this.capacite = capacite;
+        this.verificateur = verificateur;
+        List<Compte> charges = depot.charger();
+        // Dimensionnée pour ne pas redimensionner la table au chargement
+        comptes = new ConcurrentHashMap<>(Math.max(16, (int) (charges.size() / 0.75f) + 1));
+        for (Compte compte : charges) {
+            registre.enregistrer(compte.getUtilisateur());
+            comptes.put(compte.getUtilisateur().getIdentifiant(), compte);
+            identifiants.ajouter(compte.getUtilisateur().getIdentifiant());
+        }
+        nombreComptes.set(comptes.size());
+        
+        if (comptes.isEmpty()) {
+            // Ajouter les utilisateurs prédéfinis
+            creerCompte("Roger", "Chat");
+            creerCompte("Pierre", "KiRouhl");
+        }
     }
     
     /**
@@ -24,28 +135,55 @@ public class UserManager {
      * @param nomUtilisateur Nom d'utilisateur
      * @param motDePasse Mot de passe
      * @return true si le compte a été créé, false si le nom d'utilisateur existe déjà ou si la limite est atteinte
+     * @throws IllegalStateException si trop de calculs d'empreinte sont déjà en attente
      */
     public boolean creerCompte(String nomUtilisateur, String motDePasse) {
-        // Vérifier si l'utilisateur existe déjà
-        for (Utilisateur utilisateur : utilisateurs) {
-            if (utilisateur.getIdentifiant().equals(nomUtilisateur)) {
-                return false; // L'utilisateur existe déjà
-            }
+        // L'identifiant est comparé une fois nettoyé de ses espaces, comme il sera enregistré
+        String identifiant = nomUtilisateur == null ? "" : nomUtilisateur.trim();
+        if (identifiant.isEmpty()) {
+            return false; // Données d'utilisateur invalides
+        }
+        if (motDePasse == null || motDePasse.isEmpty()) {
+            return false; // Mot de passe invalide
+        }
+        
+        if (comptes.containsKey(identifiant)) {
+            return false; // L'utilisateur existe déjà
         }
         
-        // Vérifier si la limite d'utilisateurs est atteinte
-        if (utilisateurs.size() >= CAPACITE_MAX) {
+        // La place est réservée avant le calcul de l'empreinte, et rendue si la création échoue
+        if (nombreComptes.incrementAndGet() > capacite) {
+            nombreComptes.decrementAndGet();
             return false; // Limite d'utilisateurs atteinte
         }
         
-        // Créer le compte
+        Compte compte;
         try {
-            Utilisateur nouvelUtilisateur = new Utilisateur(nomUtilisateur, motDePasse);
-            utilisateurs.add(nouvelUtilisateur);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false; // Données d'utilisateur invalides
+            // Le titulaire reprend l'instance déjà partagée s'il participait à une réunion
+            Utilisateur nouvelUtilisateur = registre.resoudre(identifiant);
+            compte = new Compte(nouvelUtilisateur, verificateur.calculer(motDePasse));
+        } catch (RuntimeException e) {
+            nombreComptes.decrementAndGet();
+            throw e;
+        }
+        
+        // Deux créations simultanées du même identifiant : seule la première à finir l'obtient
+        if (comptes.putIfAbsent(identifiant, compte) != null) {
+            nombreComptes.decrementAndGet();
+            return false;
         }
+        // Le titulaire est désormais conservé par le registre, au contraire d'un simple participant
+        registre.enregistrer(compte.getUtilisateur());
+        identifiants.ajouter(identifiant);
+        depot.ajouter(compte);
+        return true;
+    }
+    
+    /**
+     * Trouve le compte d'un identifiant, nettoyé de ses espaces comme à la création
+     */
+    private Compte compte(String identifiant) {
+        return identifiant == null ? null : comptes.get(identifiant.trim());
     }
     
     /**
@@ -54,15 +192,58 @@ public class UserManager {
      * @param nomUtilisateur Nom d'utilisateur
      * @param motDePasse Mot de passe
      * @return true si l'authentification est réussie, false sinon
+     * @throws IllegalStateException si trop de vérifications sont déjà en attente
      */
     public boolean verifierAuthentification(String nomUtilisateur, String motDePasse) {
-        for (Utilisateur utilisateur : utilisateurs) {
-            if (utilisateur.getIdentifiant().equals(nomUtilisateur) && 
-                utilisateur.verifierMotDePasse(motDePasse)) {
-                return true;
-            }
+        Compte compte = compte(nomUtilisateur);
+        // Un identifiant inconnu est vérifié aussi longuement qu'un autre
+        return verificateur.verifier(compte == null ? null : compte.getEmpreinte(), motDePasse);
+    }
+    
+    /**
+     * Vérifie les identifiants et ouvre une session en cas de succès
+     * 
+     * @param nomUtilisateur Nom d'utilisateur
+     * @param motDePasse Mot de passe
+     * @return Le jeton de la nouvelle session, ou null si l'authentification a échoué
+     * @throws IllegalStateException si trop de vérifications sont déjà en attente
+     */
+    public JetonSession connecter(String nomUtilisateur, String motDePasse) {
+        Compte compte = compte(nomUtilisateur);
+        if (!verificateur.verifier(compte == null ? null : compte.getEmpreinte(), motDePasse)) {
+            return null;
         }
-        return false;
+        return sessions.ouvrir(compte.getUtilisateur());
+    }
+    
+    /**
+     * Ouvre une session pour un utilisateur qui vient de s'authentifier, par exemple en créant son compte
+     * 
+     * @param identifiant Identifiant de l'utilisateur
+     * @return Le jeton de la nouvelle session, ou null si aucun compte ne correspond
+     */
+    public JetonSession ouvrirSession(String identifiant) {
+        Compte compte = compte(identifiant);
+        return compte == null ? null : sessions.ouvrir(compte.getUtilisateur());
+    }
+    
+    /**
+     * Reconnaît le titulaire d'une session, sans vérifier de nouveau son mot de passe
+     * 
+     * @param jeton Jeton de la session
+     * @return L'utilisateur, ou null si la session n'existe pas ou a expiré
+     */
+    public Utilisateur utilisateurSession(JetonSession jeton) {
+        return sessions.utilisateur(jeton);
+    }
+    
+    /**
+     * Ferme une session
+     * 
+     * @param jeton Jeton de la session
+     */
+    public void deconnecter(JetonSession jeton) {
+        sessions.fermer(jeton);
     }
     
     /**
@@ -72,20 +253,125 @@ public class UserManager {
      * @return L'utilisateur trouvé ou null si aucun utilisateur ne correspond
      */
     public Utilisateur rechercherUtilisateur(String identifiant) {
-        for (Utilisateur utilisateur : utilisateurs) {
-            if (utilisateur.getIdentifiant().equals(identifiant)) {
-                return utilisateur;
-            }
+        Compte compte = compte(identifiant);
+        return compte == null ? null : compte.getUtilisateur();
+    }
+    
+    /**
+     * Propose les identifiants de comptes commençant par une saisie,
+     * sans tenir compte des accents ni des majuscules
+     * 
+     * @param debut Le début saisi
+     * @param nombre Nombre maximal de propositions
+     * @return Les identifiants proposés, dans l'ordre alphabétique
+     * @throws IllegalArgumentException si le nombre n'est pas strictement positif
+     */
+    public List<String> completer(String debut, int nombre) {
+        return identifiants.completer(debut, nombre);
+    }
+    
+    /**
+     * Trouve le titulaire de compte désigné par une saisie : celui dont c'est l'identifiant,
+     * à défaut le seul dont c'est l'identifiant aux accents et aux majuscules près,
+     * ou enfin le seul dont l'identifiant commence par la saisie
+     * 
+     * @param saisie Identifiant complet ou début d'identifiant
+     * @return Le titulaire, ou null si aucun compte ou plusieurs comptes correspondent
+     */
+    public Utilisateur resoudreCompte(String saisie) {
+        if (saisie == null) {
+            return null;
+        }
+        Utilisateur exact = rechercherUtilisateur(saisie.trim());
+        if (exact != null) {
+            return exact;
+        }
+        
+        // Un identifiant égal à la saisie vient en tête des propositions
+        List<String> propositions = completer(saisie, 2);
+        String normalisee = TexteRecherche.normaliser(saisie.trim());
+        if (propositions.size() == 1 || (propositions.size() == 2
+                && TexteRecherche.normaliser(propositions.get(0)).equals(normalisee)
+                && !TexteRecherche.normaliser(propositions.get(1)).equals(normalisee))) {
+            return rechercherUtilisateur(propositions.get(0));
         }
         return null;
     }
     
+    /**
+     * Obtient l'instance partagée d'un utilisateur, titulaire d'un compte ou non
+     * 
+     * @param identifiant Identifiant de l'utilisateur
+     * @return L'utilisateur
+     * @throws IllegalArgumentException si l'identifiant est null ou vide
+     */
+    public Utilisateur resoudre(String identifiant) {
+        return registre.resoudre(identifiant);
+    }
+    
+    /**
+     * Crée les participants d'une réunion en résolvant chaque nom par le registre
+     * 
+     * @param chaineParticipants Chaîne au format "nom1, nom2, nom3"
+     * @return Les participants
+     */
+    public ParticipantsEvenement participants(String chaineParticipants) {
+        return ParticipantsEvenement.fromString(chaineParticipants, registre);
+    }
+    
     /**
      * Retourne le nombre d'utilisateurs enregistrés
      * 
      * @return Nombre d'utilisateurs
      */
     public int getNombreUtilisateurs() {
-        return utilisateurs.size();
+        return comptes.size();
+    }
+    
+    /**
+     * Lit la propriété système {@value #PROPRIETE_CAPACITE}
+     * 
+     * @return La capacité configurée, ou {@value #CAPACITE_MAX} si elle n'est pas définie, illisible ou pas strictement positive
+     */
+    public static int capaciteConfiguree() {
+        int capacite = Integer.getInteger(PROPRIETE_CAPACITE, CAPACITE_MAX);
+        return capacite > 0 ? capacite : CAPACITE_MAX;
+    }
+    
+    /**
+     * Retourne le nombre de comptes au-delà duquel la création est refusée
+     * 
+     * @return Capacité du gestionnaire
+     */
+    public int getCapacite() {
+        return capacite;
+    }
+    
+    /**
+     * Obtient le vérificateur des mots de passe, dont les métriques renseignent
+     * sur la latence des connexions et la profondeur de leur file d'attente
+     * 
+     * @return Le vérificateur
+     */
+    public VerificateurMotsDePasse getVerificateur() {
+        return verificateur;
+    }
+    
+    /**
+     * Obtient les sessions ouvertes
+     * 
+     * @return Le gestionnaire des sessions
+     */
+    public GestionnaireSessions getSessions() {
+        return sessions;
+    }
+    
+    /**
+     * Obtient le registre des instances partagées des utilisateurs
+     * 
+     * @return Le registre
+     */
+    public RegistreUtilisateurs getRegistre() {
+        return registre;
     }
-}
\ No newline at end of file
+}
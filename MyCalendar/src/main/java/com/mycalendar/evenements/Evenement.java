@@ -2,6 +2,7 @@ package com.mycalendar.evenements;
 
 import com.mycalendar.valueobjects.*;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 /**
  * Interface représentant un événement dans le calendrier
@@ -85,6 +86,28 @@ public interface Evenement {
      */
     LocalDateTime getDateDebut();
     
+    /**
+     * Obtient le début de l'événement en minutes depuis le 1er janvier 1970
+     * 
+     * @return Début en minutes depuis l'époque
+     */
+    long getDebutEpochMinutes();
+    
+    /**
+     * Obtient la fin de l'événement en minutes depuis le 1er janvier 1970
+     * 
+     * @return Fin en minutes depuis l'époque
+     */
+    long getFinEpochMinutes();
+    
+    /**
+     * Indique si l'événement occupe le calendrier de son propriétaire,
+     * c'est-à-dire s'il peut entrer en conflit avec un autre événement
+     * 
+     * @return true si l'événement bloque le calendrier, false sinon
+     */
+    boolean bloqueLeCalendrier();
+    
     /**
      * Vérifie si cet événement est en conflit avec un autre événement
      * 
@@ -102,6 +125,16 @@ public interface Evenement {
      */
     boolean aLieuPendant(LocalDateTime debut, LocalDateTime fin);
     
+    /**
+     * Obtient, dans l'ordre chronologique, les dates de début des occurrences
+     * de l'événement ayant lieu pendant une période donnée
+     * 
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Flux paresseux des débuts d'occurrences
+     */
+    Stream<LocalDateTime> occurrencesPendant(LocalDateTime debut, LocalDateTime fin);
+    
     /**
      * Génère une description de l'événement
      * 
@@ -2,6 +2,7 @@ package com.mycalendar.evenements;
 
 import com.mycalendar.valueobjects.*;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 /**
  * Classe abstraite fournissant l'implémentation commune à tous les types d'événements
@@ -17,6 +18,9 @@ public abstract class EvenementAbstrait implements Evenement {
     private final LieuEvenement lieu;
     private final ParticipantsEvenement participants;
     private final FrequenceEvenement frequence;
+    // Bornes précalculées : le filtrage et la détection de conflits ne comparent que des entiers
+    private final long debutEpochMinutes;
+    private final long finEpochMinutes;
     
     /**
      * Constructeur pour un événement abstrait
@@ -43,6 +47,8 @@ public abstract class EvenementAbstrait implements Evenement {
         this.lieu = lieu;
         this.participants = participants;
         this.frequence = frequence;
+        this.debutEpochMinutes = MinutesEpoch.depuis(date, heureDebut);
+        this.finEpochMinutes = debutEpochMinutes + duree.getMinutes();
     }
     
     @Override
@@ -92,28 +98,48 @@ public abstract class EvenementAbstrait implements Evenement {
     
     @Override
     public LocalDateTime getDateDebut() {
-        return LocalDateTime.of(
-            date.toLocalDate(),
-            heureDebut.toLocalTime()
-        );
+        return MinutesEpoch.versDateHeure(debutEpochMinutes);
+    }
+    
+    @Override
+    public long getDebutEpochMinutes() {
+        return debutEpochMinutes;
+    }
+    
+    @Override
+    public long getFinEpochMinutes() {
+        return finEpochMinutes;
+    }
+    
+    @Override
+    public boolean bloqueLeCalendrier() {
+        return true;
     }
     
     @Override
     public boolean estEnConflitAvec(Evenement autreEvenement) {
-        // L'implémentation par défaut est que deux événements sont en conflit
+        // Un événement qui bloque le calendrier est en conflit avec un autre
         // s'ils se chevauchent temporellement
-        LocalDateTime fin = getDateDebut().plusMinutes(getDuree().getMinutes());
-        LocalDateTime autreDebut = autreEvenement.getDateDebut();
-        LocalDateTime autreFin = autreDebut.plusMinutes(autreEvenement.getDuree().getMinutes());
+        if (!bloqueLeCalendrier()) {
+            return false;
+        }
         
-        return getDateDebut().isBefore(autreFin) && fin.isAfter(autreDebut);
+        return debutEpochMinutes < autreEvenement.getFinEpochMinutes()
+                && finEpochMinutes > autreEvenement.getDebutEpochMinutes();
     }
     
     @Override
     public boolean aLieuPendant(LocalDateTime debut, LocalDateTime fin) {
         // L'implémentation par défaut est qu'un événement a lieu pendant une période
         // si sa date de début est comprise dans cette période
-        return !getDateDebut().isBefore(debut) && !getDateDebut().isAfter(fin);
+        return debutEpochMinutes >= MinutesEpoch.plafond(debut)
+                && debutEpochMinutes <= MinutesEpoch.plancher(fin);
+    }
+    
+    @Override
+    public Stream<LocalDateTime> occurrencesPendant(LocalDateTime debut, LocalDateTime fin) {
+        // Un événement non périodique a au plus une occurrence
+        return aLieuPendant(debut, fin) ? Stream.of(getDateDebut()) : Stream.empty();
     }
     
     /**
@@ -2,6 +2,7 @@ package com.mycalendar.evenements;
 
 import com.mycalendar.valueobjects.*;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 /**
  * Classe représentant un événement périodique
@@ -57,7 +58,7 @@ public class EvenementPeriodique extends EvenementAbstrait {
     }
     
     @Override
-    public boolean estEnConflitAvec(Evenement autreEvenement) {
+    public boolean bloqueLeCalendrier() {
         // Les événements périodiques ne sont jamais en conflit
         return false;
     }
@@ -65,17 +66,33 @@ public class EvenementPeriodique extends EvenementAbstrait {
     @Override
     public boolean aLieuPendant(LocalDateTime debut, LocalDateTime fin) {
         // Un événement périodique a lieu pendant une période si au moins une
-        // de ses occurrences est comprise dans cette période
-        LocalDateTime occurrence = getDateDebut();
+        // de ses occurrences est comprise dans [debut, fin[
+        return premiereOccurrence(debut) < MinutesEpoch.plafond(fin);
+    }
+    
+    @Override
+    public Stream<LocalDateTime> occurrencesPendant(LocalDateTime debut, LocalDateTime fin) {
+        LocalDateTime premiere = MinutesEpoch.versDateHeure(premiereOccurrence(debut));
+        long jours = getFrequence().getJoursEntrePeriodes();
         
-        while (occurrence.isBefore(fin)) {
-            if (!occurrence.isBefore(debut)) {
-                return true;
-            }
-            occurrence = occurrence.plusDays(getFrequence().getJoursEntrePeriodes());
-        }
+        return Stream.iterate(premiere, occurrence -> occurrence.isBefore(fin), occurrence -> occurrence.plusDays(jours));
+    }
+    
+    /**
+     * Calcule la première occurrence à partir d'une date, directement en minutes
+     * depuis l'époque, sans parcourir les occurrences passées
+     * 
+     * @param debut Date à partir de laquelle chercher (incluse)
+     * @return Début de la première occurrence, en minutes depuis l'époque
+     */
+    private long premiereOccurrence(LocalDateTime debut) {
+        long periode = getFrequence().getJoursEntrePeriodes() * MinutesEpoch.MINUTES_PAR_JOUR;
+        long origine = getDebutEpochMinutes();
         
-        return false;
+        long ecart = MinutesEpoch.plafond(debut) - origine;
+        long rang = ecart <= 0 ? 0 : (ecart + periode - 1) / periode;
+        
+        return origine + rang * periode;
     }
     
     @Override
@@ -0,0 +1,64 @@
+package com.mycalendar.evenements;
+
+import com.mycalendar.valueobjects.DateEvenement;
+import com.mycalendar.valueobjects.HeureDebut;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions entre dates-heures et minutes depuis le 1er janvier 1970
+ *
+ * Les événements commencent toujours à une minute entière : une fois les bornes
+ * d'une période converties, leur filtrage ne compare que des entiers.
+ */
+public final class MinutesEpoch {
+    public static final long MINUTES_PAR_JOUR = 1_440L;
+
+    private MinutesEpoch() {
+    }
+
+    /**
+     * Convertit la date et l'heure de début d'un événement
+     *
+     * @param date Date de l'événement
+     * @param heureDebut Heure de début
+     * @return Minutes depuis l'époque
+     */
+    public static long depuis(DateEvenement date, HeureDebut heureDebut) {
+        return date.toLocalDate().toEpochDay() * MINUTES_PAR_JOUR
+                + heureDebut.getHeure() * 60L + heureDebut.getMinute();
+    }
+
+    /**
+     * Obtient la première minute entière qui n'est pas avant une date-heure
+     *
+     * @param dateHeure La date-heure
+     * @return La plus petite minute m telle que m ≥ dateHeure
+     */
+    public static long plafond(LocalDateTime dateHeure) {
+        long secondes = dateHeure.toEpochSecond(ZoneOffset.UTC);
+        long minutes = Math.floorDiv(secondes, 60L);
+        boolean exacte = Math.floorMod(secondes, 60L) == 0 && dateHeure.getNano() == 0;
+        return exacte ? minutes : minutes + 1;
+    }
+
+    /**
+     * Obtient la dernière minute entière qui n'est pas après une date-heure
+     *
+     * @param dateHeure La date-heure
+     * @return La plus grande minute m telle que m ≤ dateHeure
+     */
+    public static long plancher(LocalDateTime dateHeure) {
+        return Math.floorDiv(dateHeure.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    /**
+     * Convertit des minutes depuis l'époque en date-heure
+     *
+     * @param minutes Minutes depuis l'époque
+     * @return La date-heure correspondante
+     */
+    public static LocalDateTime versDateHeure(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC);
+    }
+}
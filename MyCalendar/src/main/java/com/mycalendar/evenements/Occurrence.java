@@ -0,0 +1,95 @@
+package com.mycalendar.evenements;
+
+import com.mycalendar.valueobjects.DateEvenement;
+import com.mycalendar.valueobjects.HeureDebut;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Occurrence concrète d'un événement : l'événement et le début de cette occurrence
+ * Un événement non périodique n'a qu'une occurrence, un événement périodique en a une par période
+ */
+public final class Occurrence {
+    private final Evenement evenement;
+    private final LocalDateTime debut;
+    
+    /**
+     * Crée une occurrence
+     * 
+     * @param evenement L'événement dont c'est une occurrence
+     * @param debut Date et heure de début de l'occurrence
+     * @throws IllegalArgumentException si l'événement ou le début est null
+     */
+    public Occurrence(Evenement evenement, LocalDateTime debut) {
+        if (evenement == null || debut == null) {
+            throw new IllegalArgumentException("Une occurrence doit avoir un événement et un début");
+        }
+        
+        this.evenement = evenement;
+        this.debut = debut;
+    }
+    
+    /**
+     * Crée l'occurrence correspondant au premier début d'un événement
+     * 
+     * @param evenement L'événement
+     * @return La première occurrence de l'événement
+     */
+    public static Occurrence premiere(Evenement evenement) {
+        return new Occurrence(evenement, evenement.getDateDebut());
+    }
+    
+    /**
+     * Obtient l'événement
+     * 
+     * @return L'événement
+     */
+    public Evenement getEvenement() {
+        return evenement;
+    }
+    
+    /**
+     * Obtient la date et l'heure de début de l'occurrence
+     * 
+     * @return Début de l'occurrence
+     */
+    public LocalDateTime getDebut() {
+        return debut;
+    }
+    
+    /**
+     * Obtient la date de l'occurrence
+     * 
+     * @return Date de l'occurrence
+     */
+    public DateEvenement getDate() {
+        return DateEvenement.fromLocalDate(debut.toLocalDate());
+    }
+    
+    /**
+     * Obtient l'heure de début de l'occurrence
+     * 
+     * @return Heure de début de l'occurrence
+     */
+    public HeureDebut getHeureDebut() {
+        return HeureDebut.fromLocalTime(debut.toLocalTime());
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Occurrence that = (Occurrence) o;
+        return evenement.equals(that.evenement) && debut.equals(that.debut);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(evenement, debut);
+    }
+    
+    @Override
+    public String toString() {
+        return evenement.getTitre() + " le " + getDate() + " à " + getHeureDebut();
+    }
+}
@@ -69,14 +69,9 @@ public class Tache extends EvenementAbstrait {
     }
     
     @Override
-    public boolean estEnConflitAvec(Evenement autreEvenement) {
+    public boolean bloqueLeCalendrier() {
         // Les tâches de basse priorité ne bloquent pas le calendrier
-        if (this.priorite == PrioriteTache.BASSE) {
-            return false;
-        }
-        
-        // Pour les autres priorités, utiliser le comportement par défaut
-        return super.estEnConflitAvec(autreEvenement);
+        return this.priorite != PrioriteTache.BASSE;
     }
     
     @Override
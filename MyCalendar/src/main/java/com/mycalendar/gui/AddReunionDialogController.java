@@ -1,6 +1,9 @@
 package com.mycalendar.gui;
 
 import com.mycalendar.CalendarManager;
+import com.mycalendar.UserManager;
+import com.mycalendar.planification.CreneauLibre;
+import com.mycalendar.planification.PlanificateurCreneaux;
 import com.mycalendar.valueobjects.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -11,6 +14,7 @@ import javafx.stage.Stage;
 import javafx.util.StringConverter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,11 +33,13 @@ public class AddReunionDialogController extends EventDialogController {
     @FXML private Label errorLabel;
     
     private ObservableList<String> participants = FXCollections.observableArrayList();
+    private UserManager userManager;
     
     @Override
     public void initialize(CalendarManager calendarManager, Utilisateur utilisateur) {
         super.initialize(calendarManager, utilisateur);
-        
+        this.userManager = CalendarApp.getUserManager();
+
         // Initialiser la date avec aujourd'hui
         datePicker.setValue(LocalDate.now());
         
@@ -74,20 +80,36 @@ public class AddReunionDialogController extends EventDialogController {
         // Ajouter l'utilisateur actuel comme participant par défaut
         participants.add(utilisateur.getIdentifiant());
         participantsList.setItems(participants);
+        
+        // Les noms saisis sont complétés parmi les comptes existants
+        new CompletionChamp(participantField, userManager::completer, this::ajouterParticipant);
     }
     
     @FXML
     private void handleAddParticipant(ActionEvent event) {
-        String participant = participantField.getText().trim();
+        String saisie = participantField.getText().trim();
         
-        if (participant.isEmpty()) {
+        if (saisie.isEmpty()) {
             showError("Veuillez saisir un nom de participant");
             return;
         }
         
-        if (!participants.contains(participant)) {
-            participants.add(participant);
+        // Seuls les titulaires d'un compte peuvent être invités ; un début de nom suffit s'il est sans ambiguïté
+        Utilisateur compte = userManager.resoudreCompte(saisie);
+        if (compte == null) {
+            showError(userManager.completer(saisie, 2).isEmpty()
+                ? "Aucun compte ne correspond à « " + saisie + " »"
+                : "Plusieurs comptes correspondent à « " + saisie + " », choisissez-en un dans la liste");
+            return;
+        }
+        ajouterParticipant(compte.getIdentifiant());
+    }
+    
+    private void ajouterParticipant(String identifiant) {
+        if (!participants.contains(identifiant)) {
+            participants.add(identifiant);
             participantField.clear();
+            errorLabel.setVisible(false);
         } else {
             showError("Ce participant est déjà dans la liste");
         }
@@ -111,6 +133,47 @@ public class AddReunionDialogController extends EventDialogController {
         participants.remove(selected);
     }
     
+    @FXML
+    private void handleFindSlot(ActionEvent event) {
+        if (datePicker.getValue() == null || durationSpinner.getValue() == null) {
+            showError("Choisissez une date et une durée avant de chercher un créneau");
+            return;
+        }
+        
+        // La recherche part du jour choisi, ou de maintenant si ce jour est aujourd'hui
+        LocalDateTime debut = datePicker.getValue().atStartOfDay();
+        LocalDateTime maintenant = LocalDateTime.now().withSecond(0).withNano(0).plusMinutes(1);
+        if (debut.isBefore(maintenant)) {
+            debut = maintenant;
+        }
+        
+        List<CreneauLibre> creneaux = calendarManager.trouverCreneauxLibres(
+            participantsEvenement(), new DureeEvenement(durationSpinner.getValue()),
+            debut, debut.plus(PlanificateurCreneaux.HORIZON_DEFAUT),
+            PlanificateurCreneaux.OUVERTURE_DEFAUT, PlanificateurCreneaux.FERMETURE_DEFAUT, 1);
+        if (creneaux.isEmpty()) {
+            showError("Aucun créneau libre pour tous les participants dans les trois prochains mois");
+            return;
+        }
+        
+        LocalDateTime propose = creneaux.get(0).getDebut();
+        datePicker.setValue(propose.toLocalDate());
+        hourComboBox.setValue(propose.getHour());
+        minuteComboBox.setValue(propose.getMinute());
+        errorLabel.setVisible(false);
+    }
+    
+    /**
+     * Résout les noms saisis vers les utilisateurs partagés du gestionnaire de comptes
+     */
+    private ParticipantsEvenement participantsEvenement() {
+        List<Utilisateur> participantsUtilisateurs = new ArrayList<>();
+        for (String participantName : participants) {
+            participantsUtilisateurs.add(userManager.resoudre(participantName));
+        }
+        return ParticipantsEvenement.avecUtilisateurs(participantsUtilisateurs);
+    }
+    
     @FXML
     private void handleAdd(ActionEvent event) {
         try {
@@ -160,12 +223,7 @@ public class AddReunionDialogController extends EventDialogController {
             LieuEvenement lieu = new LieuEvenement(locationField.getText().trim());
             
             // Convertir les noms de participants en objets Utilisateur
-            List<Utilisateur> participantsUtilisateurs = new ArrayList<>();
-            for (String participantName : participants) {
-                participantsUtilisateurs.add(new Utilisateur(participantName, "—PLACEHOLDER—"));
-            }
-            ParticipantsEvenement participantsEvenement = 
-                ParticipantsEvenement.avecUtilisateurs(participantsUtilisateurs);
+            ParticipantsEvenement participantsEvenement = participantsEvenement();
             
             // Ajout de la réunion au calendrier
             calendarManager.ajouterReunion(
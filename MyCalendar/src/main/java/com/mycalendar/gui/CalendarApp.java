@@ -1,7 +1,10 @@
 package com.mycalendar.gui;
 
 import com.mycalendar.CalendarManager;
+import com.mycalendar.CalendarManagerConcurrent;
 import com.mycalendar.UserManager;
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.persistance.JournalEvenements;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -16,8 +19,9 @@ public class CalendarApp extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
         // Initialiser les managers
-        calendarManager = new CalendarManager();
-        userManager = new UserManager();
+        // Les événements sont lus hors du fil JavaFX : les lectures portent sur un instantané
+        calendarManager = new CalendarManagerConcurrent(JournalEvenements.depuisConfiguration());
+        userManager = new UserManager(DepotComptes.depuisConfiguration(), UserManager.capaciteConfiguree());
         
         // Charger la vue de connexion
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Login.fxml"));
@@ -34,6 +38,13 @@ public class CalendarApp extends Application {
         primaryStage.show();
     }
     
+    @Override
+    public void stop() {
+        if (calendarManager != null) {
+            calendarManager.fermer();
+        }
+    }
+    
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,67 @@
+package com.mycalendar.gui;
+
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Propose sous un champ de saisie les complétions de ce qui y est tapé,
+ * recalculées à chaque frappe ; choisir une proposition la transmet au contrôleur
+ */
+final class CompletionChamp {
+    // Nombre maximal de propositions affichées
+    static final int PROPOSITIONS = 8;
+    
+    private final TextField champ;
+    private final BiFunction<String, Integer, List<String>> source;
+    private final Consumer<String> choix;
+    private final ContextMenu menu = new ContextMenu();
+    
+    /**
+     * Attache les propositions à un champ
+     * 
+     * @param champ Le champ de saisie
+     * @param source Donne au plus le nombre demandé de complétions d'une saisie
+     * @param choix Reçoit la proposition choisie
+     */
+    CompletionChamp(TextField champ, BiFunction<String, Integer, List<String>> source, Consumer<String> choix) {
+        this.champ = champ;
+        this.source = source;
+        this.choix = choix;
+        
+        champ.textProperty().addListener((obs, ancien, texte) -> proposer(texte));
+        champ.focusedProperty().addListener((obs, ancien, focus) -> {
+            if (!focus) {
+                menu.hide();
+            }
+        });
+    }
+    
+    private void proposer(String texte) {
+        List<String> propositions = texte == null ? List.of() : source.apply(texte, PROPOSITIONS);
+        if (propositions.isEmpty() || champ.getScene() == null) {
+            menu.hide();
+            return;
+        }
+        
+        List<MenuItem> elements = new ArrayList<>(propositions.size());
+        for (String proposition : propositions) {
+            MenuItem element = new MenuItem(proposition);
+            element.setOnAction(e -> {
+                menu.hide();
+                choix.accept(proposition);
+            });
+            elements.add(element);
+        }
+        menu.getItems().setAll(elements);
+        if (!menu.isShowing()) {
+            menu.show(champ, Side.BOTTOM, 0, 0);
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.mycalendar.gui;
 
 import com.mycalendar.CalendarManager;
 import com.mycalendar.UserManager;
-import com.mycalendar.valueobjects.Utilisateur;
+import com.mycalendar.session.JetonSession;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -56,11 +56,16 @@ public class CreateAccountController {
         }
         
         // Création du compte
-        boolean success = userManager.creerCompte(username, password);
+        boolean success;
+        try {
+            success = userManager.creerCompte(username, password);
+        } catch (IllegalStateException e) {
+            showError(e.getMessage());
+            return;
+        }
         
         if (success) {
-            Utilisateur utilisateur = userManager.rechercherUtilisateur(username);
-            openMainView(utilisateur);
+            openMainView(userManager.ouvrirSession(username));
         } else {
             showError("Impossible de créer le compte. Ce nom d'utilisateur existe peut-être déjà.");
         }
@@ -92,13 +97,13 @@ public class CreateAccountController {
         }
     }
     
-    private void openMainView(Utilisateur utilisateur) {
+    private void openMainView(JetonSession session) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainView.fxml"));
             Parent root = loader.load();
             
             MainViewController controller = loader.getController();
-            controller.initialize(calendarManager, userManager, utilisateur, primaryStage);
+            controller.initialize(calendarManager, userManager, session, primaryStage);
             
             Scene scene = new Scene(root, 1024, 768);
             primaryStage.setScene(scene);
@@ -0,0 +1,99 @@
+package com.mycalendar.gui;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.Occurrence;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Liste observable des occurrences affichées, tenue dans l'ordre chronologique
+ *
+ * Un nouveau résultat de requête n'efface pas la liste pour la remplir de nouveau :
+ * les deux listes, triées dans le même ordre, sont fusionnées et seules les lignes
+ * retirées et ajoutées sont signalées, en une seule notification. La table ne
+ * redessine que ces lignes et garde la sélection des autres. La fusion est en
+ * O(n + m), la nouvelle liste remplaçant l'ancienne d'un bloc.
+ */
+final class ListeOccurrences extends ObservableListBase<Occurrence> {
+    static final Comparator<Occurrence> ORDRE = Comparator.comparing(Occurrence::getDebut)
+            .thenComparing(occurrence -> occurrence.getEvenement().getId().getValeur());
+
+    private List<Occurrence> elements = new ArrayList<>();
+
+    /**
+     * Remplace le contenu de la liste par un résultat de requête
+     *
+     * @param triees Les nouvelles occurrences, triées selon {@link #ORDRE}
+     * @return Le nombre de lignes retirées ou ajoutées
+     */
+    int appliquer(List<Occurrence> triees) {
+        List<Occurrence> anciennes = elements;
+        int modifications = 0;
+        beginChange();
+        try {
+            // Les changements sont signalés comme s'ils étaient appliqués dans l'ordre :
+            // à l'indice j, la liste vaut triees[0, j[ suivie de anciennes[i, fin[
+            int i = 0;
+            int j = 0;
+            while (i < anciennes.size() || j < triees.size()) {
+                if (i < anciennes.size() && j < triees.size() && anciennes.get(i).equals(triees.get(j))) {
+                    i++;
+                    j++;
+                } else if (j == triees.size()
+                        || (i < anciennes.size() && ORDRE.compare(anciennes.get(i), triees.get(j)) <= 0)) {
+                    nextRemove(j, anciennes.get(i++));
+                    modifications++;
+                } else {
+                    nextAdd(j, j + 1);
+                    j++;
+                    modifications++;
+                }
+            }
+            elements = new ArrayList<>(triees);
+        } finally {
+            endChange();
+        }
+        return modifications;
+    }
+
+    /**
+     * Retire les occurrences d'événements supprimés et insère de nouvelles occurrences,
+     * sans relire le calendrier ; les changements sont signalés comme pour {@link #appliquer}
+     *
+     * @param supprimes Les événements dont les occurrences disparaissent
+     * @param ajoutees Les occurrences à insérer, triées selon {@link #ORDRE}
+     * @return Le nombre de lignes retirées ou ajoutées
+     */
+    int modifier(Collection<Evenement> supprimes, List<Occurrence> ajoutees) {
+        Set<Evenement> retires = new HashSet<>(supprimes);
+        List<Occurrence> resultat = new ArrayList<>(elements.size() + ajoutees.size());
+        int j = 0;
+        for (Occurrence occurrence : elements) {
+            if (retires.contains(occurrence.getEvenement())) {
+                continue;
+            }
+            while (j < ajoutees.size() && ORDRE.compare(ajoutees.get(j), occurrence) < 0) {
+                resultat.add(ajoutees.get(j++));
+            }
+            resultat.add(occurrence);
+        }
+        resultat.addAll(ajoutees.subList(j, ajoutees.size()));
+        return appliquer(resultat);
+    }
+
+    @Override
+    public Occurrence get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+}
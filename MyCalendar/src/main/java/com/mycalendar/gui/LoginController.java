@@ -2,7 +2,7 @@ package com.mycalendar.gui;
 
 import com.mycalendar.CalendarManager;
 import com.mycalendar.UserManager;
-import com.mycalendar.valueobjects.Utilisateur;
+import com.mycalendar.session.JetonSession;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -42,11 +42,16 @@ public class LoginController {
             return;
         }
         
-        if (userManager.verifierAuthentification(username, password)) {
-            Utilisateur utilisateur = userManager.rechercherUtilisateur(username);
-            openMainView(utilisateur);
-        } else {
-            showError("Nom d'utilisateur ou mot de passe incorrect");
+        try {
+            // Une seule recherche du compte ; la session évite ensuite toute nouvelle vérification
+            JetonSession session = userManager.connecter(username, password);
+            if (session != null) {
+                openMainView(session);
+            } else {
+                showError("Nom d'utilisateur ou mot de passe incorrect");
+            }
+        } catch (IllegalStateException e) {
+            showError(e.getMessage());
         }
     }
     
@@ -67,13 +72,13 @@ public class LoginController {
         }
     }
     
-    private void openMainView(Utilisateur utilisateur) {
+    private void openMainView(JetonSession session) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainView.fxml"));
             Parent root = loader.load();
             
             MainViewController controller = loader.getController();
-            controller.initialize(calendarManager, userManager, utilisateur, primaryStage);
+            controller.initialize(calendarManager, userManager, session, primaryStage);
             
             Scene scene = new Scene(root, 1024, 768);
             primaryStage.setScene(scene);
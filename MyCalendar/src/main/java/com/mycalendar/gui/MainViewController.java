@@ -1,12 +1,17 @@
 package com.mycalendar.gui;
 
 import com.mycalendar.CalendarManager;
+import com.mycalendar.ChangementCalendrier;
+import com.mycalendar.EcouteurCalendrier;
 import com.mycalendar.UserManager;
 import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.Occurrence;
+import com.mycalendar.session.JetonSession;
 import com.mycalendar.valueobjects.*;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -19,45 +24,78 @@ import javafx.stage.Stage;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 public class MainViewController {
+    // Les requêtes sont exécutées hors du fil JavaFX, une à la fois
+    private static final ExecutorService CHARGEMENTS = Executors.newSingleThreadExecutor(tache -> {
+        Thread fil = new Thread(tache, "chargement-evenements");
+        fil.setDaemon(true);
+        return fil;
+    });
+    // Nombre d'occurrences lues entre deux vérifications de l'annulation
+    private static final int LOT_ANNULATION = 256;
+    // Nombre maximal d'événements affichés pour une recherche, les plus pertinents
+    private static final int RESULTATS_RECHERCHE = 200;
     
     @FXML private Label welcomeLabel;
     @FXML private Label statusLabel;
-    @FXML private TableView<Evenement> eventsTable;
-    @FXML private TableColumn<Evenement, String> typeColumn;
-    @FXML private TableColumn<Evenement, String> titleColumn;
-    @FXML private TableColumn<Evenement, String> dateColumn;
-    @FXML private TableColumn<Evenement, String> timeColumn;
-    @FXML private TableColumn<Evenement, String> durationColumn;
-    @FXML private TableColumn<Evenement, String> locationColumn;
-    @FXML private TableColumn<Evenement, String> detailsColumn;
+    @FXML private TableView<Occurrence> eventsTable;
+    @FXML private TableColumn<Occurrence, String> typeColumn;
+    @FXML private TableColumn<Occurrence, String> titleColumn;
+    @FXML private TableColumn<Occurrence, String> dateColumn;
+    @FXML private TableColumn<Occurrence, String> timeColumn;
+    @FXML private TableColumn<Occurrence, String> durationColumn;
+    @FXML private TableColumn<Occurrence, String> locationColumn;
+    @FXML private TableColumn<Occurrence, String> detailsColumn;
     @FXML private RadioButton allEventsRadio;
     @FXML private RadioButton todayEventsRadio;
     @FXML private RadioButton weekEventsRadio;
     @FXML private RadioButton monthEventsRadio;
+    @FXML private TextField searchField;
     
     private CalendarManager calendarManager;
     private UserManager userManager;
+    private JetonSession session;
     private Utilisateur utilisateur;
     private Stage primaryStage;
-    private ObservableList<Evenement> eventsData = FXCollections.observableArrayList();
+    private final ListeOccurrences eventsData = new ListeOccurrences();
+    private Task<List<Occurrence>> chargement;
+    // Période du filtre affiché ; null pour tous les événements de l'utilisateur
+    private LocalDateTime debutFiltre;
+    private LocalDateTime finFiltre;
+    // Recherche affichée à la place du filtre ; null sans recherche
+    private String requete;
+    // Les modifications du calendrier sont reportées sur le fil JavaFX, sans relire le calendrier
+    private final EcouteurCalendrier ecouteur = changement -> {
+        if (Platform.isFxApplicationThread()) {
+            appliquerChangement(changement);
+        } else {
+            Platform.runLater(() -> appliquerChangement(changement));
+        }
+    };
     
-    public void initialize(CalendarManager calendarManager, UserManager userManager, Utilisateur utilisateur, Stage primaryStage) {
+    public void initialize(CalendarManager calendarManager, UserManager userManager, JetonSession session, Stage primaryStage) {
         this.calendarManager = calendarManager;
         this.userManager = userManager;
-        this.utilisateur = utilisateur;
+        this.session = session;
+        this.utilisateur = userManager.utilisateurSession(session);
         this.primaryStage = primaryStage;
         
         welcomeLabel.setText("Bienvenue, " + utilisateur.getIdentifiant() + "!");
         
         // Configuration des colonnes de la table
+        // Une ligne par occurrence : la date et l'heure sont celles de l'occurrence
         typeColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getType().getLibelle()));
+            new SimpleStringProperty(cellData.getValue().getEvenement().getType().getLibelle()));
             
         titleColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getTitre().getValeur()));
+            new SimpleStringProperty(cellData.getValue().getEvenement().getTitre().getValeur()));
             
         dateColumn.setCellValueFactory(cellData -> 
             new SimpleStringProperty(cellData.getValue().getDate().toString()));
@@ -66,17 +104,22 @@ public class MainViewController {
             new SimpleStringProperty(cellData.getValue().getHeureDebut().toString()));
             
         durationColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getDuree().toString()));
+            new SimpleStringProperty(cellData.getValue().getEvenement().getDuree().toString()));
             
         locationColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getLieu().getValeur()));
+            new SimpleStringProperty(cellData.getValue().getEvenement().getLieu().getValeur()));
             
         detailsColumn.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().description()));
+            new SimpleStringProperty(cellData.getValue().getEvenement().description()));
         
         // Configuration de la sélection
         eventsTable.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
         
+        // La table trie une vue de la liste, qui reste dans l'ordre chronologique pour être fusionnée
+        SortedList<Occurrence> triees = new SortedList<>(eventsData);
+        triees.comparatorProperty().bind(eventsTable.comparatorProperty());
+        eventsTable.setItems(triees);
+        
         // Listeners pour les filtres de date
         allEventsRadio.selectedProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal) refreshEvents();
@@ -94,50 +137,189 @@ public class MainViewController {
             if (newVal) refreshEvents();
         });
         
-        // Charger les événements initiaux
+        // La recherche est relancée à chaque frappe ; la précédente est annulée
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> refreshEvents());
+        
+        // Charger les événements initiaux, puis suivre les modifications
+        calendarManager.ajouterEcouteur(ecouteur);
         refreshEvents();
     }
     
+    /**
+     * Relance en arrière-plan la recherche saisie, ou à défaut la requête du filtre choisi
+     * La requête précédente, si elle n'est pas finie, est annulée : seul le dernier filtre choisi s'affiche
+     */
     private void refreshEvents() {
-        eventsData.clear();
-        List<Evenement> events;
+        if (chargement != null) {
+            chargement.cancel();
+        }
         
+        String texte = searchField.getText() == null ? "" : searchField.getText().trim();
+        if (!texte.isEmpty()) {
+            rechercher(texte);
+            return;
+        }
+        requete = null;
+
+        // Les filtres sont lus ici, sur le fil JavaFX
         LocalDateTime now = LocalDateTime.now();
+        LocalDateTime debut;
+        LocalDateTime fin;
         
         if (todayEventsRadio.isSelected()) {
-            // Événements d'aujourd'hui
-            LocalDateTime startOfDay = LocalDateTime.of(now.toLocalDate(), LocalTime.MIN);
-            LocalDateTime endOfDay = LocalDateTime.of(now.toLocalDate(), LocalTime.MAX);
-            events = calendarManager.eventsDansPeriode(startOfDay, endOfDay);
+            // Occurrences d'aujourd'hui
+            debut = LocalDateTime.of(now.toLocalDate(), LocalTime.MIN);
+            fin = LocalDateTime.of(now.toLocalDate(), LocalTime.MAX);
         } else if (weekEventsRadio.isSelected()) {
-            // Événements de cette semaine
+            // Occurrences de cette semaine
             LocalDate startOfWeek = now.toLocalDate().minusDays(now.getDayOfWeek().getValue() - 1);
-            LocalDate endOfWeek = startOfWeek.plusDays(6);
-            events = calendarManager.eventsDansPeriode(
-                LocalDateTime.of(startOfWeek, LocalTime.MIN),
-                LocalDateTime.of(endOfWeek, LocalTime.MAX)
-            );
+            debut = LocalDateTime.of(startOfWeek, LocalTime.MIN);
+            fin = LocalDateTime.of(startOfWeek.plusDays(6), LocalTime.MAX);
         } else if (monthEventsRadio.isSelected()) {
-            // Événements de ce mois
+            // Occurrences de ce mois
             LocalDate startOfMonth = now.toLocalDate().withDayOfMonth(1);
-            LocalDate endOfMonth = startOfMonth.plusMonths(1).minusDays(1);
-            events = calendarManager.eventsDansPeriode(
-                LocalDateTime.of(startOfMonth, LocalTime.MIN),
-                LocalDateTime.of(endOfMonth, LocalTime.MAX)
-            );
+            debut = LocalDateTime.of(startOfMonth, LocalTime.MIN);
+            fin = LocalDateTime.of(startOfMonth.plusMonths(1).minusDays(1), LocalTime.MAX);
         } else {
-            // Tous les événements
-            events = calendarManager.agendaPersonnel(utilisateur);
+            // Tous les événements, une ligne par série
+            debut = null;
+            fin = null;
         }
+        debutFiltre = debut;
+        finFiltre = fin;
         
-        eventsData.addAll(events);
-        eventsTable.setItems(eventsData);
+        Task<List<Occurrence>> tache = new Task<List<Occurrence>>() {
+            @Override
+            protected List<Occurrence> call() {
+                Stream<Occurrence> occurrences = debut == null
+                    ? calendarManager.parcourirAgendaPersonnel(utilisateur).map(Occurrence::premiere)
+                    : calendarManager.occurrences(debut, fin);
+                return collecter(this, occurrences);
+            }
+        };
+        tache.setOnSucceeded(e -> {
+            // Un résultat arrivé après le choix d'un autre filtre est ignoré
+            if (tache != chargement) {
+                return;
+            }
+            List<Occurrence> occurrences = tache.getValue();
+            eventsData.appliquer(occurrences);
+            statusLabel.setText(occurrences.size() + " événement(s) trouvé(s)");
+        });
+        tache.setOnFailed(e -> {
+            if (tache == chargement) {
+                showError("Erreur lors du chargement des événements: " + tache.getException().getMessage());
+            }
+        });
         
-        statusLabel.setText(events.size() + " événement(s) trouvé(s)");
+        chargement = tache;
+        statusLabel.setText("Chargement des événements...");
+        CHARGEMENTS.execute(tache);
+    }
+    
+    /**
+     * Lance une recherche en arrière-plan ; les résultats, limités aux plus pertinents,
+     * sont affichés dans l'ordre chronologique de la table, qui reste triable par colonne
+     */
+    private void rechercher(String texte) {
+        requete = texte;
+        Task<List<Occurrence>> tache = new Task<List<Occurrence>>() {
+            @Override
+            protected List<Occurrence> call() {
+                return collecter(this, calendarManager.rechercher(texte, RESULTATS_RECHERCHE).stream()
+                    .map(Occurrence::premiere));
+            }
+        };
+        tache.setOnSucceeded(e -> {
+            if (tache != chargement) {
+                return;
+            }
+            List<Occurrence> occurrences = tache.getValue();
+            eventsData.appliquer(occurrences);
+            statusLabel.setText(occurrences.size() + " résultat(s) pour « " + texte + " »");
+        });
+        tache.setOnFailed(e -> {
+            if (tache == chargement) {
+                showError("Erreur lors de la recherche: " + tache.getException().getMessage());
+            }
+        });
+        
+        chargement = tache;
+        statusLabel.setText("Recherche en cours...");
+        CHARGEMENTS.execute(tache);
+    }
+    
+    /**
+     * Reporte un ajout ou une suppression sur la table sans relire le calendrier :
+     * seules les occurrences des événements concernés sont calculées
+     */
+    private void appliquerChangement(ChangementCalendrier changement) {
+        // Un chargement en cours a pu lire le calendrier avant ou après ce changement : il est relancé
+        // Une recherche l'est aussi : le classement dépend de tous les événements indexés
+        if ((chargement != null && !chargement.isDone()) || requete != null) {
+            refreshEvents();
+            return;
+        }
+        
+        List<Occurrence> ajoutees = new ArrayList<>();
+        for (Evenement evenement : changement.getAjoutes()) {
+            if (debutFiltre == null) {
+                if (evenement.getProprietaire().equals(utilisateur)
+                        || evenement.getParticipants().contientUtilisateur(utilisateur)) {
+                    ajoutees.add(Occurrence.premiere(evenement));
+                }
+            } else if (evenement.aLieuPendant(debutFiltre, finFiltre)) {
+                evenement.occurrencesPendant(debutFiltre, finFiltre)
+                    .forEach(debut -> ajoutees.add(new Occurrence(evenement, debut)));
+            }
+        }
+        ajoutees.sort(ListeOccurrences.ORDRE);
+        
+        eventsData.modifier(changement.getSupprimes(), ajoutees);
+        statusLabel.setText(eventsData.size() + " événement(s) trouvé(s)");
+    }
+    
+    /**
+     * Lit les occurrences en s'arrêtant dès que la tâche est annulée, puis les trie
+     * dans l'ordre de la liste affichée
+     */
+    private static List<Occurrence> collecter(Task<?> tache, Stream<Occurrence> occurrences) {
+        List<Occurrence> resultat = new ArrayList<>();
+        Iterator<Occurrence> iterateur = occurrences.iterator();
+        while (iterateur.hasNext()) {
+            if (resultat.size() % LOT_ANNULATION == 0 && tache.isCancelled()) {
+                return resultat;
+            }
+            resultat.add(iterateur.next());
+        }
+        resultat.sort(ListeOccurrences.ORDRE);
+        return resultat;
     }
     
     @FXML
     private void handleLogout(ActionEvent event) {
+        userManager.deconnecter(session);
+        returnToLogin();
+    }
+    
+    /**
+     * Vérifie que la session n'a pas expiré, ce qui la prolonge ; sinon, retourne à l'écran de connexion
+     */
+    private boolean sessionActive() {
+        if (userManager.utilisateurSession(session) != null) {
+            return true;
+        }
+        showAlert(Alert.AlertType.INFORMATION, "Session expirée",
+                  "Votre session a expiré", "Veuillez vous reconnecter.");
+        returnToLogin();
+        return false;
+    }
+    
+    private void returnToLogin() {
+        calendarManager.retirerEcouteur(ecouteur);
+        if (chargement != null) {
+            chargement.cancel();
+        }
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Login.fxml"));
             Parent root = loader.load();
@@ -175,15 +357,19 @@ public class MainViewController {
     
     @FXML
     private void handleDeleteEvent(ActionEvent event) {
-        Evenement selectedEvent = eventsTable.getSelectionModel().getSelectedItem();
+        if (!sessionActive()) {
+            return;
+        }
+        Occurrence selectedOccurrence = eventsTable.getSelectionModel().getSelectedItem();
         
-        if (selectedEvent == null) {
+        if (selectedOccurrence == null) {
             showAlert(Alert.AlertType.WARNING, "Suppression", 
                       "Aucun événement sélectionné", 
                       "Veuillez sélectionner un événement à supprimer.");
             return;
         }
         
+        Evenement selectedEvent = selectedOccurrence.getEvenement();
         Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
         confirmDialog.setTitle("Confirmation de suppression");
         confirmDialog.setHeaderText("Supprimer l'événement");
@@ -195,7 +381,7 @@ public class MainViewController {
                 boolean success = calendarManager.supprimerEvenement(selectedEvent.getId());
                 
                 if (success) {
-                    refreshEvents();
+                    // La table a été mise à jour par l'écouteur du calendrier
                     statusLabel.setText("Événement supprimé avec succès");
                 } else {
                     showAlert(Alert.AlertType.ERROR, "Erreur", 
@@ -207,6 +393,9 @@ public class MainViewController {
     }
     
     private void openDialog(String fxmlPath, String title) {
+        if (!sessionActive()) {
+            return;
+        }
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
             Parent dialogRoot = loader.load();
@@ -225,9 +414,6 @@ public class MainViewController {
             Scene scene = new Scene(dialogRoot);
             dialogStage.setScene(scene);
             
-            // Après la fermeture du dialogue, rafraîchir les événements
-            dialogStage.setOnHidden(e -> refreshEvents());
-            
             // Afficher le dialogue et attendre sa fermeture
             dialogStage.showAndWait();
             
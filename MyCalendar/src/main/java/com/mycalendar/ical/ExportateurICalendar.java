@@ -0,0 +1,253 @@
+package com.mycalendar.ical;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.Tache;
+import com.mycalendar.valueobjects.FrequenceEvenement;
+import com.mycalendar.valueobjects.HeureDebut;
+import com.mycalendar.valueobjects.PrioriteTache;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporte des événements au format iCalendar (RFC 5545), au fil de leur lecture
+ *
+ * Chaque événement est écrit dès qu'il est lu : la mémoire utilisée ne dépend pas
+ * du nombre d'événements exportés, pourvu que le flux fourni soit lui-même paresseux,
+ * comme ceux de {@link com.mycalendar.CalendarManager#parcourirPeriode}.
+ *
+ * Un événement périodique est écrit une seule fois, avec une règle RRULE tirée de
+ * sa fréquence. Une tâche devient un VTODO portant sa priorité, les autres
+ * événements des VEVENT. Sans fuseau, les heures sont écrites en heure locale
+ * flottante, telles que le calendrier les conserve.
+ *
+ * Un exportateur réutilise ses tampons : il ne doit pas servir à deux exports simultanés.
+ */
+public final class ExportateurICalendar {
+    private static final String FIN_LIGNE = "\r\n";
+    // Longueur maximale d'une ligne, retour à la ligne exclu (RFC 5545, section 3.1)
+    private static final int OCTETS_PAR_LIGNE = 75;
+    private static final String URN_UTILISATEUR = "urn:mycalendar:utilisateur:";
+
+    private final ZoneId fuseau;
+    // Tampons réutilisés d'une ligne à l'autre : seule la ligne en cours est en mémoire
+    private final StringBuilder contenu = new StringBuilder();
+    private final StringBuilder ligne = new StringBuilder();
+    private char[] caracteres = new char[OCTETS_PAR_LIGNE * 2];
+
+    /**
+     * Crée un exportateur écrivant les heures en heure locale flottante
+     */
+    public ExportateurICalendar() {
+        this.fuseau = null;
+    }
+
+    /**
+     * Crée un exportateur écrivant les heures en UTC
+     *
+     * @param fuseau Fuseau dans lequel les heures du calendrier sont exprimées
+     * @throws IllegalArgumentException si le fuseau est null
+     */
+    public ExportateurICalendar(ZoneId fuseau) {
+        if (fuseau == null) {
+            throw new IllegalArgumentException("Le fuseau ne peut pas être null");
+        }
+        this.fuseau = fuseau;
+    }
+
+    /**
+     * Écrit un calendrier iCalendar complet ; la sortie est vidée mais pas fermée
+     *
+     * @param evenements Les événements à exporter
+     * @param sortie La destination
+     * @return Le nombre d'événements exportés
+     * @throws UncheckedIOException si l'écriture échoue
+     */
+    public int exporter(Stream<Evenement> evenements, Writer sortie) {
+        LocalDateTime horodatage = LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        int nombre = 0;
+        try {
+            ecrire(sortie, propriete("BEGIN:VCALENDAR"));
+            ecrire(sortie, propriete("VERSION:2.0"));
+            ecrire(sortie, propriete("PRODID:-//MyCalendar//MyCalendar//FR"));
+            ecrire(sortie, propriete("CALSCALE:GREGORIAN"));
+            Iterator<Evenement> iterateur = evenements.iterator();
+            while (iterateur.hasNext()) {
+                ecrireEvenement(sortie, iterateur.next(), horodatage);
+                nombre++;
+            }
+            ecrire(sortie, propriete("END:VCALENDAR"));
+            sortie.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'écrire le calendrier", e);
+        }
+        return nombre;
+    }
+
+    /**
+     * Écrit un calendrier iCalendar complet dans un canal, encodé en UTF-8 ; le canal n'est pas fermé
+     *
+     * @param evenements Les événements à exporter
+     * @param canal La destination
+     * @return Le nombre d'événements exportés
+     * @throws UncheckedIOException si l'écriture échoue
+     */
+    public int exporter(Stream<Evenement> evenements, WritableByteChannel canal) {
+        // Le tampon d'encodage du Writer est vidé par exporter ; le canal reste à l'appelant
+        return exporter(evenements, Channels.newWriter(canal, StandardCharsets.UTF_8));
+    }
+
+    private void ecrireEvenement(Writer sortie, Evenement evenement, LocalDateTime horodatage) throws IOException {
+        String composant = evenement instanceof Tache ? "VTODO" : "VEVENT";
+        ecrire(sortie, propriete("BEGIN:").append(composant));
+        ecrire(sortie, propriete("UID:").append(evenement.getId().getValeur()));
+        ecrire(sortie, dateHeure(propriete("DTSTAMP:"), horodatage.toLocalDate(), horodatage.getHour(),
+            horodatage.getMinute(), horodatage.getSecond()).append('Z'));
+        ecrire(sortie, debut(propriete("DTSTART:"), evenement));
+        ecrire(sortie, texte(propriete("SUMMARY:"), evenement.getTitre().getValeur()));
+
+        FrequenceEvenement frequence = evenement.getFrequence();
+        if (frequence.estPeriodique()) {
+            ecrire(sortie, regle(propriete("RRULE:"), frequence.getJoursEntrePeriodes()));
+        } else {
+            ecrire(sortie, propriete("DURATION:PT").append(evenement.getDuree().getMinutes()).append('M'));
+        }
+        if (!evenement.getLieu().estVide()) {
+            ecrire(sortie, texte(propriete("LOCATION:"), evenement.getLieu().getValeur()));
+        }
+        if (!evenement.getParticipants().estVide()) {
+            ecrire(sortie, adresse(propriete("ORGANIZER"), evenement.getProprietaire()));
+            for (Utilisateur participant : evenement.getParticipants().getUtilisateurs()) {
+                ecrire(sortie, adresse(propriete("ATTENDEE"), participant));
+            }
+        }
+        if (evenement instanceof Tache) {
+            ecrire(sortie, propriete("PRIORITY:").append(priorite(((Tache) evenement).getPriorite())));
+        }
+        ecrire(sortie, propriete("END:").append(composant));
+    }
+
+    /**
+     * Commence une ligne de contenu dans le tampon réutilisé
+     */
+    private StringBuilder propriete(String debut) {
+        contenu.setLength(0);
+        return contenu.append(debut);
+    }
+
+    private StringBuilder debut(StringBuilder valeur, Evenement evenement) {
+        HeureDebut heure = evenement.getHeureDebut();
+        if (fuseau == null) {
+            return dateHeure(valeur, evenement.getDate().toLocalDate(), heure.getHeure(), heure.getMinute(), 0);
+        }
+
+        LocalDateTime utc = LocalDateTime.of(evenement.getDate().toLocalDate(), heure.toLocalTime())
+            .atZone(fuseau).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        return dateHeure(valeur, utc.toLocalDate(), utc.getHour(), utc.getMinute(), 0).append('Z');
+    }
+
+    /**
+     * Écrit une date-heure au format de base AAAAMMJJTHHMMSS, sans passer par un formateur
+     */
+    private static StringBuilder dateHeure(StringBuilder valeur, LocalDate date, int heure, int minute, int seconde) {
+        int annee = date.getYear();
+        deuxChiffres(deuxChiffres(valeur, annee / 100), annee % 100);
+        deuxChiffres(deuxChiffres(valeur, date.getMonthValue()), date.getDayOfMonth()).append('T');
+        return deuxChiffres(deuxChiffres(deuxChiffres(valeur, heure), minute), seconde);
+    }
+
+    private static StringBuilder deuxChiffres(StringBuilder valeur, int nombre) {
+        return valeur.append((char) ('0' + nombre / 10)).append((char) ('0' + nombre % 10));
+    }
+
+    /**
+     * Un intervalle multiple de sept jours s'écrit en semaines, les autres en jours
+     */
+    private static StringBuilder regle(StringBuilder valeur, int jours) {
+        if (jours % 7 == 0) {
+            valeur.append("FREQ=WEEKLY");
+            return jours == 7 ? valeur : valeur.append(";INTERVAL=").append(jours / 7);
+        }
+        valeur.append("FREQ=DAILY");
+        return jours == 1 ? valeur : valeur.append(";INTERVAL=").append(jours);
+    }
+
+    /**
+     * Les utilisateurs n'ont pas d'adresse électronique : ils sont désignés par
+     * leur nom commun et par une URN construite sur leur identifiant
+     */
+    private static StringBuilder adresse(StringBuilder valeur, Utilisateur utilisateur) {
+        String identifiant = utilisateur.getIdentifiant();
+        return valeur.append(";CN=\"").append(identifiant.replace('"', '\'')).append("\":")
+            .append(URN_UTILISATEUR).append(URLEncoder.encode(identifiant, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Échelle PRIORITY : 1 la plus haute, 5 moyenne, 9 la plus basse (RFC 5545, section 3.8.1.9)
+     */
+    private static int priorite(PrioriteTache priorite) {
+        switch (priorite) {
+            case HAUTE:
+                return 1;
+            case MOYENNE:
+                return 5;
+            default:
+                return 9;
+        }
+    }
+
+    private static StringBuilder texte(StringBuilder valeur, String texte) {
+        for (int i = 0; i < texte.length(); i++) {
+            char c = texte.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                valeur.append('\\').append(c);
+            } else if (c == '\n') {
+                valeur.append("\\n");
+            } else if (c != '\r') {
+                valeur.append(c);
+            }
+        }
+        return valeur;
+    }
+
+    /**
+     * Écrit une ligne de contenu, pliée tous les 75 octets UTF-8 sans couper un caractère
+     */
+    private void ecrire(Writer sortie, StringBuilder contenu) throws IOException {
+        ligne.setLength(0);
+        int octets = 0;
+        for (int i = 0; i < contenu.length(); ) {
+            int point = Character.codePointAt(contenu, i);
+            int longueur = Character.charCount(point);
+            int taille = point < 0x80 ? 1 : point < 0x800 ? 2 : point < 0x10000 ? 3 : 4;
+            if (octets + taille > OCTETS_PAR_LIGNE) {
+                // La ligne de continuation commence par une espace, qui compte pour un octet
+                ligne.append(FIN_LIGNE).append(' ');
+                octets = 1;
+            }
+            ligne.append(contenu, i, i + longueur);
+            octets += taille;
+            i += longueur;
+        }
+        ligne.append(FIN_LIGNE);
+
+        // Writer.append(CharSequence) copierait la ligne dans une chaîne intermédiaire
+        if (caracteres.length < ligne.length()) {
+            caracteres = new char[ligne.length() * 2];
+        }
+        ligne.getChars(0, ligne.length(), caracteres, 0);
+        sortie.write(caracteres, 0, ligne.length());
+    }
+}
@@ -0,0 +1,197 @@
+package com.mycalendar.ical;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.RegistreUtilisateurs;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importe un fichier iCalendar (RFC 5545) dans un calendrier, au fil de la lecture
+ *
+ * Le fichier est lu ligne à ligne : seul le VEVENT en cours et le lot en attente
+ * sont gardés en mémoire, quelle que soit la taille du fichier. Les événements
+ * sont ajoutés par lots avec {@link CalendarManager#ajouterEvenements}, ce qui
+ * ne demande qu'une modification de l'état et une attente de durabilité par lot.
+ *
+ * Seuls les VEVENT sont importés : chaque VTODO, comme les tâches écrites par
+ * {@link ExportateurICalendar}, est compté parmi les éléments ignorés.
+ *
+ * Le UID d'un VEVENT devient l'identifiant de l'événement : un événement déjà
+ * présent dans le calendrier est ignoré, ce qui rend un second import sans effet.
+ */
+public final class ImportateurICalendar {
+    public static final int TAILLE_LOT_DEFAUT = 1_000;
+
+    private final CalendarManager calendarManager;
+    private final Utilisateur proprietaire;
+    private final ZoneId fuseau;
+    private final int tailleLot;
+
+    /**
+     * Crée un importateur exprimant les heures dans le fuseau du système
+     *
+     * @param calendarManager Calendrier de destination
+     * @param proprietaire Propriétaire des événements importés
+     */
+    public ImportateurICalendar(CalendarManager calendarManager, Utilisateur proprietaire) {
+        this(calendarManager, proprietaire, ZoneId.systemDefault(), TAILLE_LOT_DEFAUT);
+    }
+
+    /**
+     * Crée un importateur
+     *
+     * @param calendarManager Calendrier de destination
+     * @param proprietaire Propriétaire des événements importés
+     * @param fuseau Fuseau dans lequel exprimer les heures UTC ou rattachées à un TZID
+     * @param tailleLot Nombre d'événements ajoutés au calendrier à la fois
+     * @throws IllegalArgumentException si un argument est null ou si la taille de lot n'est pas strictement positive
+     */
+    public ImportateurICalendar(CalendarManager calendarManager, Utilisateur proprietaire,
+                                ZoneId fuseau, int tailleLot) {
+        if (calendarManager == null || proprietaire == null || fuseau == null) {
+            throw new IllegalArgumentException("Le calendrier, le propriétaire et le fuseau sont obligatoires");
+        }
+        if (tailleLot <= 0) {
+            throw new IllegalArgumentException("La taille de lot doit être strictement positive");
+        }
+
+        this.calendarManager = calendarManager;
+        this.proprietaire = proprietaire;
+        this.fuseau = fuseau;
+        this.tailleLot = tailleLot;
+    }
+
+    /**
+     * Importe un fichier .ics encodé en UTF-8
+     *
+     * @param fichier Le fichier à importer
+     * @return Le bilan de l'import
+     * @throws UncheckedIOException si le fichier ne peut pas être lu ; les lots déjà ajoutés le restent
+     */
+    public RapportImport importer(Path fichier) {
+        try (BufferedReader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            return importer(lecteur);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de lire " + fichier, e);
+        }
+    }
+
+    /**
+     * Importe un flux iCalendar ; le flux n'est pas fermé
+     *
+     * @param source Le flux à importer
+     * @return Le bilan de l'import
+     * @throws UncheckedIOException si le flux ne peut pas être lu ; les lots déjà ajoutés le restent
+     */
+    public RapportImport importer(Reader source) {
+        BufferedReader lecteur = source instanceof BufferedReader
+            ? (BufferedReader) source : new BufferedReader(source);
+        RapportImport rapport = new RapportImport();
+        List<Evenement> lot = new ArrayList<>(tailleLot);
+        List<Integer> lignesLot = new ArrayList<>(tailleLot);
+
+        ProprietesVEvent courant = null;
+        // Un participant présent dans plusieurs événements n'est créé qu'une fois
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        registre.enregistrer(proprietaire);
+        // Composants imbriqués dans le VEVENT courant, comme VALARM, dont les propriétés sont ignorées
+        int imbrication = 0;
+
+        try {
+            int numero = 0;
+            String suivante = lecteur.readLine();
+            while (suivante != null) {
+                int ligne = ++numero;
+                // Une ligne commençant par une espace ou une tabulation prolonge la précédente
+                StringBuilder depliee = new StringBuilder(suivante);
+                while ((suivante = lecteur.readLine()) != null
+                        && !suivante.isEmpty() && (suivante.charAt(0) == ' ' || suivante.charAt(0) == '\t')) {
+                    depliee.append(suivante, 1, suivante.length());
+                    numero++;
+                }
+                if (depliee.length() == 0) {
+                    continue;
+                }
+
+                LigneContenu propriete;
+                try {
+                    propriete = LigneContenu.analyser(depliee.toString());
+                } catch (IllegalArgumentException e) {
+                    if (courant != null) {
+                        courant.refuser("Ligne " + ligne + " illisible");
+                    }
+                    continue;
+                }
+
+                String nom = propriete.getNom();
+                String composant = propriete.getValeur().trim();
+                if (courant == null) {
+                    if ("BEGIN".equals(nom) && "VEVENT".equalsIgnoreCase(composant)) {
+                        courant = new ProprietesVEvent(ligne, fuseau, registre);
+                    } else if ("BEGIN".equals(nom) && "VTODO".equalsIgnoreCase(composant)) {
+                        // Les tâches exportées en VTODO ne sont pas relues : le bilan le signale
+                        rapport.ignorer(ligne, "Tâche (VTODO) non prise en charge");
+                    }
+                } else if ("BEGIN".equals(nom)) {
+                    imbrication++;
+                } else if ("END".equals(nom) && imbrication > 0) {
+                    imbrication--;
+                } else if ("END".equals(nom)) {
+                    try {
+                        lot.add(courant.versEvenement(proprietaire));
+                        lignesLot.add(courant.getLigne());
+                    } catch (IllegalArgumentException e) {
+                        rapport.ignorer(courant.getLigne(), e.getMessage());
+                    }
+                    courant = null;
+                    if (lot.size() == tailleLot) {
+                        deposer(lot, lignesLot, rapport);
+                    }
+                } else if (imbrication == 0) {
+                    courant.accepter(propriete);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de lire le flux iCalendar", e);
+        }
+
+        if (courant != null) {
+            rapport.ignorer(courant.getLigne(), "VEVENT non terminé");
+        }
+        deposer(lot, lignesLot, rapport);
+        return rapport;
+    }
+
+    /**
+     * Ajoute le lot au calendrier puis le vide
+     * Un lot refusé, parce qu'un de ses événements existe déjà, est repris
+     * événement par événement pour n'écarter que les doublons
+     */
+    private void deposer(List<Evenement> lot, List<Integer> lignesLot, RapportImport rapport) {
+        try {
+            calendarManager.ajouterEvenements(lot);
+            rapport.compterImportes(lot.size());
+        } catch (IllegalArgumentException refus) {
+            for (int i = 0; i < lot.size(); i++) {
+                try {
+                    calendarManager.ajouterEvenement(lot.get(i));
+                    rapport.compterImportes(1);
+                } catch (IllegalArgumentException e) {
+                    rapport.ignorer(lignesLot.get(i), e.getMessage());
+                }
+            }
+        }
+        lot.clear();
+        lignesLot.clear();
+    }
+}
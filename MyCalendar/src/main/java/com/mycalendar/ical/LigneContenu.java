@@ -0,0 +1,111 @@
+package com.mycalendar.ical;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ligne de contenu iCalendar dépliée : nom, paramètres et valeur
+ *
+ * Format (RFC 5545, section 3.1) : NOM;PARAM=valeur;PARAM="valeur:citée":VALEUR.
+ * Les noms de propriétés et de paramètres sont insensibles à la casse et
+ * sont ramenés en majuscules.
+ */
+final class LigneContenu {
+    private final String nom;
+    private final Map<String, String> parametres;
+    private final String valeur;
+
+    private LigneContenu(String nom, Map<String, String> parametres, String valeur) {
+        this.nom = nom;
+        this.parametres = parametres;
+        this.valeur = valeur;
+    }
+
+    /**
+     * Découpe une ligne dépliée
+     *
+     * @param ligne La ligne, sans son retour à la ligne
+     * @return La ligne découpée
+     * @throws IllegalArgumentException si la ligne n'a pas de valeur
+     */
+    static LigneContenu analyser(String ligne) {
+        int position = 0;
+        while (position < ligne.length() && ligne.charAt(position) != ';' && ligne.charAt(position) != ':') {
+            position++;
+        }
+        String nom = ligne.substring(0, position).toUpperCase(Locale.ROOT);
+
+        Map<String, String> parametres = new HashMap<>();
+        while (position < ligne.length() && ligne.charAt(position) == ';') {
+            int debut = ++position;
+            while (position < ligne.length() && ligne.charAt(position) != '=') {
+                position++;
+            }
+            String parametre = ligne.substring(debut, position).toUpperCase(Locale.ROOT);
+
+            // Les deux-points et points-virgules d'une valeur citée ne délimitent rien
+            StringBuilder valeur = new StringBuilder();
+            boolean cite = false;
+            for (position++; position < ligne.length(); position++) {
+                char c = ligne.charAt(position);
+                if (c == '"') {
+                    cite = !cite;
+                } else if (!cite && (c == ';' || c == ':')) {
+                    break;
+                } else {
+                    valeur.append(c);
+                }
+            }
+            parametres.put(parametre, valeur.toString());
+        }
+
+        if (position >= ligne.length() || ligne.charAt(position) != ':') {
+            throw new IllegalArgumentException("Ligne sans valeur : " + ligne);
+        }
+        return new LigneContenu(nom, parametres, ligne.substring(position + 1));
+    }
+
+    /**
+     * @return Le nom de la propriété, en majuscules
+     */
+    String getNom() {
+        return nom;
+    }
+
+    /**
+     * @param parametre Nom du paramètre, en majuscules
+     * @return La valeur du paramètre sans ses guillemets, ou null s'il est absent
+     */
+    String getParametre(String parametre) {
+        return parametres.get(parametre);
+    }
+
+    /**
+     * @return La valeur brute, encore échappée
+     */
+    String getValeur() {
+        return valeur;
+    }
+
+    /**
+     * @return La valeur d'une propriété de type TEXT, déséchappée
+     */
+    String getTexte() {
+        if (valeur.indexOf('\\') < 0) {
+            return valeur;
+        }
+
+        StringBuilder texte = new StringBuilder(valeur.length());
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            if (c == '\\' && i + 1 < valeur.length()) {
+                char suivant = valeur.charAt(++i);
+                texte.append(suivant == 'n' || suivant == 'N' ? '\n' : suivant);
+            } else {
+                texte.append(c);
+            }
+        }
+        return texte.toString();
+    }
+}
@@ -0,0 +1,326 @@
+package com.mycalendar.ical;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.EvenementPeriodique;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.evenements.Reunion;
+import com.mycalendar.valueobjects.*;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Propriétés d'un composant VEVENT en cours de lecture, et leur traduction en événement
+ *
+ * Un VEVENT avec une règle RRULE devient un {@link EvenementPeriodique}, un VEVENT
+ * avec des participants (ATTENDEE) une {@link Reunion}, tout autre VEVENT un
+ * {@link RendezVousPersonnel}. Les règles qu'un intervalle fixe en jours ne peut
+ * pas représenter fidèlement sont refusées plutôt qu'approchées.
+ */
+final class ProprietesVEvent {
+    private static final String TITRE_PAR_DEFAUT = "Sans titre";
+    private static final DateTimeFormatter DATE_HEURE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    // Codes des jours de BYDAY, dans l'ordre de DayOfWeek
+    private static final String JOURS = "MOTUWETHFRSASU";
+
+    private final int ligne;
+    private final ZoneId fuseau;
+    private String uid;
+    private String resume;
+    private LocalDateTime debut;
+    // Jour de DTSTART dans son propre fuseau, celui où la règle RRULE s'applique
+    private DayOfWeek jourDebut;
+    private boolean journeeEntiere;
+    private LocalDateTime fin;
+    private Duration duree;
+    private String lieu;
+    private String regle;
+    private final List<Utilisateur> participants;
+    private final RegistreUtilisateurs registre;
+    private String refus;
+
+    /**
+     * @param ligne Numéro de la ligne BEGIN:VEVENT, pour le bilan
+     * @param fuseau Fuseau dans lequel exprimer les heures UTC ou rattachées à un TZID
+     * @param registre Registre résolvant les participants, partagé par tout l'import
+     */
+    ProprietesVEvent(int ligne, ZoneId fuseau, RegistreUtilisateurs registre) {
+        this.ligne = ligne;
+        this.fuseau = fuseau;
+        this.registre = registre;
+        this.participants = new ArrayList<>();
+    }
+
+    int getLigne() {
+        return ligne;
+    }
+
+    /**
+     * Retient une propriété du composant ; les propriétés inutiles au calendrier sont ignorées
+     * Une valeur illisible n'interrompt pas la lecture : l'événement sera refusé à la fin du composant
+     *
+     * @param propriete La propriété lue
+     */
+    void accepter(LigneContenu propriete) {
+        try {
+            switch (propriete.getNom()) {
+                case "UID":
+                    uid = propriete.getValeur();
+                    break;
+                case "SUMMARY":
+                    resume = propriete.getTexte();
+                    break;
+                case "DTSTART":
+                    journeeEntiere = "DATE".equals(propriete.getParametre("VALUE"));
+                    debut = dateHeure(propriete);
+                    jourDebut = LocalDate.parse(propriete.getValeur().trim().substring(0, 8), DATE).getDayOfWeek();
+                    break;
+                case "DTEND":
+                    fin = dateHeure(propriete);
+                    break;
+                case "DURATION":
+                    duree = duree(propriete.getValeur());
+                    break;
+                case "LOCATION":
+                    lieu = propriete.getTexte();
+                    break;
+                case "ATTENDEE":
+                    participants.add(participant(propriete));
+                    break;
+                case "RRULE":
+                    regle = propriete.getValeur();
+                    break;
+                case "RDATE":
+                case "EXDATE":
+                    refuser("Dates de répétition explicites non prises en charge");
+                    break;
+                case "RECURRENCE-ID":
+                    refuser("Occurrence modifiée d'un événement répété non prise en charge");
+                    break;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            refuser(e.getMessage());
+        }
+    }
+
+    /**
+     * Marque le composant comme non importable ; seule la première raison est retenue
+     *
+     * @param raison La raison du refus
+     */
+    void refuser(String raison) {
+        if (refus == null) {
+            refus = raison;
+        }
+    }
+
+    /**
+     * Traduit le composant en événement
+     *
+     * @param proprietaire Propriétaire des événements importés
+     * @return L'événement correspondant
+     * @throws IllegalArgumentException si le composant n'est pas importable
+     */
+    Evenement versEvenement(Utilisateur proprietaire) {
+        if (refus != null) {
+            throw new IllegalArgumentException(refus);
+        }
+        if (debut == null) {
+            throw new IllegalArgumentException("DTSTART manquant");
+        }
+
+        EventId id = uid == null || uid.trim().isEmpty() ? EventId.generate() : new EventId(uid);
+        TitreEvenement titre = new TitreEvenement(
+            resume == null || resume.trim().isEmpty() ? TITRE_PAR_DEFAUT : resume);
+        DateEvenement date = DateEvenement.fromLocalDate(debut.toLocalDate());
+        HeureDebut heure = new HeureDebut(debut.getHour(), debut.getMinute());
+
+        FrequenceEvenement frequence = frequence();
+        if (frequence.estPeriodique()) {
+            return new EvenementPeriodique(id, titre, proprietaire, date, heure, frequence);
+        }
+        if (!participants.isEmpty()) {
+            return new Reunion(id, titre, proprietaire, date, heure, dureeEnMinutes(),
+                new LieuEvenement(lieu), ParticipantsEvenement.avecUtilisateurs(participants));
+        }
+        return new RendezVousPersonnel(id, titre, proprietaire, date, heure, dureeEnMinutes());
+    }
+
+    /**
+     * La durée vient de DTEND ou de DURATION ; à défaut, une journée entière
+     * dure un jour et un instant ne dure rien (RFC 5545, section 3.6.1)
+     */
+    private DureeEvenement dureeEnMinutes() {
+        Duration effective;
+        if (fin != null) {
+            effective = Duration.between(debut, fin);
+        } else if (duree != null) {
+            effective = duree;
+        } else {
+            effective = journeeEntiere ? Duration.ofDays(1) : Duration.ZERO;
+        }
+
+        long minutes = effective.toMinutes();
+        if (minutes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Durée trop longue : " + effective);
+        }
+        return new DureeEvenement((int) minutes);
+    }
+
+    /**
+     * Traduit la règle RRULE en intervalle fixe en jours
+     * Seules les répétitions quotidiennes et hebdomadaires sans fin s'y ramènent ;
+     * une règle limitée à une occurrence (COUNT=1) décrit un événement ponctuel
+     */
+    private FrequenceEvenement frequence() {
+        if (regle == null) {
+            return FrequenceEvenement.NON_PERIODIQUE;
+        }
+
+        String type = null;
+        int intervalle = 1;
+        String jours = null;
+        for (String partie : regle.split(";")) {
+            int egal = partie.indexOf('=');
+            String cle = egal < 0 ? partie : partie.substring(0, egal).toUpperCase(Locale.ROOT);
+            String valeur = egal < 0 ? "" : partie.substring(egal + 1).toUpperCase(Locale.ROOT);
+            switch (cle) {
+                case "FREQ":
+                    type = valeur;
+                    break;
+                case "INTERVAL":
+                    intervalle = entier(valeur, "INTERVAL");
+                    break;
+                case "COUNT":
+                    if (!"1".equals(valeur)) {
+                        throw new IllegalArgumentException("Répétition limitée non prise en charge : " + regle);
+                    }
+                    return FrequenceEvenement.NON_PERIODIQUE;
+                case "UNTIL":
+                    throw new IllegalArgumentException("Répétition limitée non prise en charge : " + regle);
+                case "WKST":
+                    break;
+                case "BYDAY":
+                    jours = valeur;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Règle de répétition non prise en charge : " + regle);
+            }
+        }
+
+        if (jours != null) {
+            verifierJours(jours, type);
+        }
+        if ("DAILY".equals(type)) {
+            return new FrequenceEvenement(intervalle);
+        }
+        if ("WEEKLY".equals(type) && intervalle <= Integer.MAX_VALUE / 7) {
+            return new FrequenceEvenement(intervalle * 7);
+        }
+        throw new IllegalArgumentException("Fréquence de répétition non prise en charge : " + type);
+    }
+
+    /**
+     * Un seul jour, celui du début, ne change rien à une répétition hebdomadaire ;
+     * tout autre BYDAY ajoute ou déplace des occurrences, que l'intervalle fixe ne représente pas
+     * Vérifiée après lecture de toute la règle, quel que soit l'ordre de ses parties
+     */
+    private void verifierJours(String jours, String type) {
+        int position = jours.length() == 2 ? JOURS.indexOf(jours) : -1;
+        if (!"WEEKLY".equals(type) || position < 0 || position % 2 != 0) {
+            throw new IllegalArgumentException("Règle de répétition non prise en charge : " + regle);
+        }
+        DayOfWeek jour = DayOfWeek.of(position / 2 + 1);
+        if (jour != jourDebut) {
+            throw new IllegalArgumentException("BYDAY=" + jours + " ne correspond pas au jour de DTSTART ("
+                + jourDebut + ") : " + regle);
+        }
+    }
+
+    /**
+     * Lit une date ou une date-heure, locale, UTC (suffixe Z) ou rattachée à un TZID
+     * Un TZID inconnu, comme les noms de fuseaux Windows, est traité comme une heure locale
+     */
+    private LocalDateTime dateHeure(LigneContenu propriete) {
+        String valeur = propriete.getValeur().trim();
+        try {
+            if (valeur.length() == 8) {
+                return LocalDate.parse(valeur, DATE).atStartOfDay();
+            }
+            if (valeur.endsWith("Z")) {
+                return LocalDateTime.parse(valeur.substring(0, valeur.length() - 1), DATE_HEURE)
+                    .atOffset(ZoneOffset.UTC).atZoneSameInstant(fuseau).toLocalDateTime();
+            }
+
+            LocalDateTime locale = LocalDateTime.parse(valeur, DATE_HEURE);
+            String tzid = propriete.getParametre("TZID");
+            if (tzid == null) {
+                return locale;
+            }
+            try {
+                return locale.atZone(ZoneId.of(tzid)).withZoneSameInstant(fuseau).toLocalDateTime();
+            } catch (DateTimeException e) {
+                return locale;
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date illisible pour " + propriete.getNom() + " : " + valeur);
+        }
+    }
+
+    /**
+     * Lit une durée ISO 8601 ; les semaines (P2W), absentes de {@link Duration#parse}, sont converties en jours
+     */
+    private static Duration duree(String valeur) {
+        String texte = valeur.trim();
+        try {
+            int semaine = texte.indexOf('W');
+            if (semaine > 0) {
+                boolean negative = texte.startsWith("-");
+                int debut = texte.indexOf('P') + 1;
+                Duration semaines = Duration.ofDays(7L * Long.parseLong(texte.substring(debut, semaine)));
+                return negative ? semaines.negated() : semaines;
+            }
+            return Duration.parse(texte);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Durée illisible : " + valeur);
+        }
+    }
+
+    /**
+     * Le participant est désigné par son nom commun (CN), à défaut par son adresse
+     */
+    private Utilisateur participant(LigneContenu propriete) {
+        String nom = propriete.getParametre("CN");
+        if (nom == null || nom.trim().isEmpty()) {
+            nom = propriete.getValeur();
+            if (nom.regionMatches(true, 0, "mailto:", 0, 7)) {
+                nom = nom.substring(7);
+            }
+        }
+        return registre.resoudre(nom);
+    }
+
+    private static int entier(String valeur, String cle) {
+        try {
+            int entier = Integer.parseInt(valeur);
+            if (entier <= 0) {
+                throw new IllegalArgumentException(cle + " doit être strictement positif : " + valeur);
+            }
+            return entier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(cle + " illisible : " + valeur);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycalendar.ical;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan d'un import iCalendar : événements importés, événements ignorés et
+ * raisons des premiers rejets
+ *
+ * Le nombre d'avertissements conservés est borné, pour que le bilan d'un
+ * fichier arbitrairement grand tienne en mémoire.
+ */
+public final class RapportImport {
+    static final int AVERTISSEMENTS_MAX = 100;
+
+    private int importes;
+    private int ignores;
+    private final List<String> avertissements;
+
+    RapportImport() {
+        this.avertissements = new ArrayList<>();
+    }
+
+    void compterImportes(int nombre) {
+        importes += nombre;
+    }
+
+    void ignorer(int ligne, String raison) {
+        ignores++;
+        if (avertissements.size() < AVERTISSEMENTS_MAX) {
+            avertissements.add("Ligne " + ligne + " : " + raison);
+        }
+    }
+
+    /**
+     * Obtient le nombre d'événements ajoutés au calendrier
+     *
+     * @return Nombre d'événements importés
+     */
+    public int getImportes() {
+        return importes;
+    }
+
+    /**
+     * Obtient le nombre d'événements et de tâches (VTODO) du fichier qui n'ont pas été importés
+     *
+     * @return Nombre d'événements ignorés
+     */
+    public int getIgnores() {
+        return ignores;
+    }
+
+    /**
+     * Obtient les raisons des premiers rejets, au plus {@value #AVERTISSEMENTS_MAX}
+     *
+     * @return Liste non modifiable des avertissements, dans l'ordre du fichier
+     */
+    public List<String> getAvertissements() {
+        return Collections.unmodifiableList(avertissements);
+    }
+
+    @Override
+    public String toString() {
+        return importes + " événement(s) importé(s), " + ignores + " ignoré(s)";
+    }
+}
@@ -0,0 +1,503 @@
+package com.mycalendar.index;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Arbre AVL persistant de valeurs rangées par (clé, rang)
+ *
+ * Un arbre n'est jamais modifié : ajouter ou retirer une entrée rend un nouvel
+ * arbre qui ne recrée que les O(log n) nœuds du chemin parcouru et partage tous
+ * les autres avec l'ancien. Copier un index revient ainsi à copier une référence,
+ * et un parcours en cours n'est jamais affecté par les modifications suivantes.
+ *
+ * Le rang départage les entrées de même clé ; les index y placent le numéro
+ * d'ajout de l'événement, ce qui conserve l'ordre d'ajout à clé égale.
+ *
+ * Une entrée peut aussi porter une fin, qui fait d'elle l'intervalle [clé, fin[.
+ * Chaque nœud connaît la plus grande fin de son sous-arbre : la recherche des
+ * intervalles qui chevauchent un créneau écarte ainsi tout sous-arbre qui se
+ * termine avant lui, et ne coûte que O((k + 1) log n) pour k intervalles trouvés,
+ * quelle que soit la longueur des autres.
+ *
+ * @param <V> Type des valeurs
+ */
+public final class ArbrePersistant<V> implements Iterable<V> {
+    private static final ArbrePersistant<?> VIDE = new ArbrePersistant<>(null);
+
+    // Fin des entrées qui ne sont pas des intervalles
+    static final long SANS_FIN = Long.MIN_VALUE;
+
+    // En deçà de cette proportion, un lot est inséré entrée par entrée plutôt que fusionné
+    private static final int RATIO_FUSION = 16;
+
+    private final Noeud<V> racine;
+
+    private ArbrePersistant(Noeud<V> racine) {
+        this.racine = racine;
+    }
+
+    /**
+     * @param <V> Type des valeurs
+     * @return L'arbre vide
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> ArbrePersistant<V> vide() {
+        return (ArbrePersistant<V>) VIDE;
+    }
+
+    /**
+     * @return Nombre d'entrées de l'arbre
+     */
+    public int taille() {
+        return taille(racine);
+    }
+
+    /**
+     * @return true si l'arbre ne contient aucune entrée
+     */
+    public boolean estVide() {
+        return racine == null;
+    }
+
+    /**
+     * Obtient la valeur d'une entrée
+     *
+     * @param cle Clé de l'entrée
+     * @param rang Rang de l'entrée
+     * @return La valeur, ou null si l'entrée n'existe pas
+     */
+    public V valeur(long cle, long rang) {
+        Noeud<V> noeud = racine;
+        while (noeud != null) {
+            int comparaison = comparer(cle, rang, noeud);
+            if (comparaison == 0) {
+                return noeud.valeur;
+            }
+            noeud = comparaison < 0 ? noeud.gauche : noeud.droite;
+        }
+        return null;
+    }
+
+    /**
+     * @return La plus grande clé de l'arbre
+     * @throws NoSuchElementException si l'arbre est vide
+     */
+    public long cleMaximale() {
+        if (racine == null) {
+            throw new NoSuchElementException("L'arbre est vide");
+        }
+        Noeud<V> noeud = racine;
+        while (noeud.droite != null) {
+            noeud = noeud.droite;
+        }
+        return noeud.cle;
+    }
+
+    /**
+     * Ajoute une entrée, ou remplace la valeur d'une entrée existante
+     *
+     * @param cle Clé de l'entrée
+     * @param rang Rang de l'entrée
+     * @param valeur Valeur de l'entrée, non null
+     * @return Le nouvel arbre
+     */
+    public ArbrePersistant<V> ajouter(long cle, long rang, V valeur) {
+        return ajouter(cle, rang, SANS_FIN, valeur);
+    }
+
+    /**
+     * Ajoute un intervalle [cle, fin[, ou remplace la valeur d'une entrée existante
+     *
+     * @param cle Début de l'intervalle
+     * @param rang Rang de l'entrée
+     * @param fin Fin de l'intervalle (exclue)
+     * @param valeur Valeur de l'entrée, non null
+     * @return Le nouvel arbre
+     */
+    public ArbrePersistant<V> ajouter(long cle, long rang, long fin, V valeur) {
+        return new ArbrePersistant<>(ajouter(racine, new Noeud<>(cle, rang, fin, valeur, null, null)));
+    }
+
+    /**
+     * Ajoute un lot d'entrées triées par (clé, rang) croissants, qui ne sont pas des intervalles
+     *
+     * @param cles Clés des entrées
+     * @param rangs Rangs des entrées
+     * @param valeurs Valeurs des entrées, non null
+     * @return Le nouvel arbre
+     */
+    public ArbrePersistant<V> ajouterTous(long[] cles, long[] rangs, List<V> valeurs) {
+        return ajouterTous(cles, rangs, null, valeurs);
+    }
+
+    /**
+     * Ajoute un lot d'entrées triées par (clé, rang) croissants
+     * Un lot important est fusionné avec l'arbre en O(n + m), puis l'arbre est reconstruit
+     * équilibré ; un petit lot est inséré entrée par entrée en O(m log n)
+     *
+     * @param cles Clés des entrées
+     * @param rangs Rangs des entrées
+     * @param fins Fins des intervalles, ou null si les entrées n'en sont pas
+     * @param valeurs Valeurs des entrées, non null
+     * @return Le nouvel arbre
+     */
+    public ArbrePersistant<V> ajouterTous(long[] cles, long[] rangs, long[] fins, List<V> valeurs) {
+        int nombre = valeurs.size();
+        if (nombre == 0) {
+            return this;
+        }
+        if ((long) nombre * RATIO_FUSION < taille()) {
+            Noeud<V> noeud = racine;
+            for (int i = 0; i < nombre; i++) {
+                noeud = ajouter(noeud, new Noeud<>(cles[i], rangs[i], fin(fins, i), valeurs.get(i), null, null));
+            }
+            return new ArbrePersistant<>(noeud);
+        }
+
+        // Les entrées existantes sont aplaties dans l'ordre, puis fusionnées avec le lot
+        Entrees<V> existantes = new Entrees<>(taille());
+        aplatir(racine, existantes);
+        Entrees<V> fusion = new Entrees<>(existantes.nombre + nombre);
+        int i = 0;
+        int j = 0;
+        while (i < existantes.nombre || j < nombre) {
+            int comparaison;
+            if (i == existantes.nombre) {
+                comparaison = 1;
+            } else if (j == nombre) {
+                comparaison = -1;
+            } else {
+                comparaison = comparer(existantes.cles[i], existantes.rangs[i], cles[j], rangs[j]);
+            }
+
+            if (comparaison < 0) {
+                fusion.ajouter(existantes.cles[i], existantes.rangs[i], existantes.fins[i], existantes.valeurs[i]);
+                i++;
+            } else {
+                // À entrée égale, la valeur du lot remplace l'ancienne
+                fusion.ajouter(cles[j], rangs[j], fin(fins, j), valeurs.get(j));
+                i += comparaison == 0 ? 1 : 0;
+                j++;
+            }
+        }
+        return new ArbrePersistant<>(construire(fusion, 0, fusion.nombre));
+    }
+
+    /**
+     * Retire une entrée
+     *
+     * @param cle Clé de l'entrée
+     * @param rang Rang de l'entrée
+     * @return Le nouvel arbre, ou cet arbre lui-même si l'entrée n'existait pas
+     */
+    public ArbrePersistant<V> retirer(long cle, long rang) {
+        Noeud<V> nouvelleRacine = retirer(racine, cle, rang);
+        return nouvelleRacine == racine ? this : new ArbrePersistant<>(nouvelleRacine);
+    }
+
+    /**
+     * Applique une action aux valeurs dont la clé est dans [cleMin, cleMax], dans l'ordre
+     *
+     * @param cleMin Plus petite clé retenue
+     * @param cleMax Plus grande clé retenue
+     * @param action L'action à appliquer
+     */
+    public void parcourir(long cleMin, long cleMax, Consumer<? super V> action) {
+        parcourir(racine, cleMin, cleMax, action);
+    }
+
+    /**
+     * Parcourt paresseusement les valeurs dont la clé est dans [cleMin, cleMax], dans l'ordre
+     *
+     * @param cleMin Plus petite clé retenue
+     * @param cleMax Plus grande clé retenue
+     * @return Itérateur des valeurs
+     */
+    public Iterator<V> iterateur(long cleMin, long cleMax) {
+        return new Parcours<>(racine, cleMin, cleMax);
+    }
+
+    /**
+     * Applique une action aux intervalles qui chevauchent [debut, fin[, par clé croissante
+     * Les entrées sans fin ne chevauchent aucun créneau
+     *
+     * @param debut Début du créneau
+     * @param fin Fin du créneau (exclue)
+     * @param action L'action à appliquer
+     */
+    public void parcourirChevauchant(long debut, long fin, Consumer<? super V> action) {
+        parcourir(racine, Long.MIN_VALUE, fin - 1, debut, action);
+    }
+
+    /**
+     * Applique une action, dans l'ordre, aux entrées dont la clé est dans [cleMin, cleMax]
+     * et dont la fin dépasse strictement un plancher ; les sous-arbres qui n'ont aucune
+     * fin au-delà du plancher ne sont pas visités
+     *
+     * @param cleMin Plus petite clé retenue
+     * @param cleMax Plus grande clé retenue
+     * @param finPlancher Valeur que la fin d'une entrée retenue doit dépasser
+     * @param action L'action à appliquer
+     */
+    public void parcourir(long cleMin, long cleMax, long finPlancher, Consumer<? super V> action) {
+        parcourir(racine, cleMin, cleMax, finPlancher, action);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return iterateur(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static <V> Noeud<V> ajouter(Noeud<V> noeud, Noeud<V> feuille) {
+        if (noeud == null) {
+            return feuille;
+        }
+        int comparaison = comparer(feuille.cle, feuille.rang, noeud);
+        if (comparaison < 0) {
+            return equilibrer(noeud, ajouter(noeud.gauche, feuille), noeud.droite);
+        }
+        if (comparaison > 0) {
+            return equilibrer(noeud, noeud.gauche, ajouter(noeud.droite, feuille));
+        }
+        return new Noeud<>(feuille, noeud.gauche, noeud.droite);
+    }
+
+    private static <V> Noeud<V> retirer(Noeud<V> noeud, long cle, long rang) {
+        if (noeud == null) {
+            return null;
+        }
+        int comparaison = comparer(cle, rang, noeud);
+        if (comparaison < 0) {
+            Noeud<V> gauche = retirer(noeud.gauche, cle, rang);
+            return gauche == noeud.gauche ? noeud : equilibrer(noeud, gauche, noeud.droite);
+        }
+        if (comparaison > 0) {
+            Noeud<V> droite = retirer(noeud.droite, cle, rang);
+            return droite == noeud.droite ? noeud : equilibrer(noeud, noeud.gauche, droite);
+        }
+
+        if (noeud.gauche == null) {
+            return noeud.droite;
+        }
+        if (noeud.droite == null) {
+            return noeud.gauche;
+        }
+        // Le successeur prend la place du nœud retiré
+        Noeud<V> successeur = noeud.droite;
+        while (successeur.gauche != null) {
+            successeur = successeur.gauche;
+        }
+        return equilibrer(successeur, noeud.gauche, retirerMinimum(noeud.droite));
+    }
+
+    private static <V> Noeud<V> retirerMinimum(Noeud<V> noeud) {
+        if (noeud.gauche == null) {
+            return noeud.droite;
+        }
+        return equilibrer(noeud, retirerMinimum(noeud.gauche), noeud.droite);
+    }
+
+    /**
+     * Crée un nœud portant l'entrée d'un modèle à partir de deux sous-arbres dont les
+     * hauteurs diffèrent d'au plus deux, en effectuant la rotation nécessaire
+     */
+    private static <V> Noeud<V> equilibrer(Noeud<V> entree, Noeud<V> gauche, Noeud<V> droite) {
+        int hauteurGauche = hauteur(gauche);
+        int hauteurDroite = hauteur(droite);
+        if (hauteurGauche > hauteurDroite + 1) {
+            if (hauteur(gauche.gauche) >= hauteur(gauche.droite)) {
+                return new Noeud<>(gauche, gauche.gauche, new Noeud<>(entree, gauche.droite, droite));
+            }
+            Noeud<V> pivot = gauche.droite;
+            return new Noeud<>(pivot,
+                new Noeud<>(gauche, gauche.gauche, pivot.gauche),
+                new Noeud<>(entree, pivot.droite, droite));
+        }
+        if (hauteurDroite > hauteurGauche + 1) {
+            if (hauteur(droite.droite) >= hauteur(droite.gauche)) {
+                return new Noeud<>(droite, new Noeud<>(entree, gauche, droite.gauche), droite.droite);
+            }
+            Noeud<V> pivot = droite.gauche;
+            return new Noeud<>(pivot,
+                new Noeud<>(entree, gauche, pivot.gauche),
+                new Noeud<>(droite, pivot.droite, droite.droite));
+        }
+        return new Noeud<>(entree, gauche, droite);
+    }
+
+    private static <V> void parcourir(Noeud<V> noeud, long cleMin, long cleMax, Consumer<? super V> action) {
+        while (noeud != null) {
+            // À clé égale, des entrées de rangs différents peuvent se trouver des deux côtés
+            if (noeud.cle >= cleMin) {
+                parcourir(noeud.gauche, cleMin, cleMax, action);
+            }
+            if (noeud.cle > cleMax) {
+                return;
+            }
+            if (noeud.cle >= cleMin) {
+                action.accept(noeud.valeur);
+            }
+            noeud = noeud.droite;
+        }
+    }
+
+    private static <V> void parcourir(Noeud<V> noeud, long cleMin, long cleMax, long finPlancher,
+                                      Consumer<? super V> action) {
+        // Un sous-arbre dont aucune fin ne dépasse le plancher n'a rien à offrir
+        while (noeud != null && noeud.finMax > finPlancher) {
+            if (noeud.cle >= cleMin) {
+                parcourir(noeud.gauche, cleMin, cleMax, finPlancher, action);
+            }
+            if (noeud.cle > cleMax) {
+                return;
+            }
+            if (noeud.cle >= cleMin && noeud.fin > finPlancher) {
+                action.accept(noeud.valeur);
+            }
+            noeud = noeud.droite;
+        }
+    }
+
+    private static <V> void aplatir(Noeud<V> noeud, Entrees<V> entrees) {
+        while (noeud != null) {
+            aplatir(noeud.gauche, entrees);
+            entrees.ajouter(noeud.cle, noeud.rang, noeud.fin, noeud.valeur);
+            noeud = noeud.droite;
+        }
+    }
+
+    private static <V> Noeud<V> construire(Entrees<V> entrees, int debut, int fin) {
+        if (debut >= fin) {
+            return null;
+        }
+        int milieu = (debut + fin) >>> 1;
+        return new Noeud<>(entrees.cles[milieu], entrees.rangs[milieu], entrees.fins[milieu], entrees.valeurs[milieu],
+            construire(entrees, debut, milieu), construire(entrees, milieu + 1, fin));
+    }
+
+    private static long fin(long[] fins, int position) {
+        return fins == null ? SANS_FIN : fins[position];
+    }
+
+    private static int comparer(long cle, long rang, Noeud<?> noeud) {
+        return comparer(cle, rang, noeud.cle, noeud.rang);
+    }
+
+    private static int comparer(long cle, long rang, long autreCle, long autreRang) {
+        int comparaison = Long.compare(cle, autreCle);
+        return comparaison != 0 ? comparaison : Long.compare(rang, autreRang);
+    }
+
+    private static int hauteur(Noeud<?> noeud) {
+        return noeud == null ? 0 : noeud.hauteur;
+    }
+
+    private static int taille(Noeud<?> noeud) {
+        return noeud == null ? 0 : noeud.taille;
+    }
+
+    private static long finMax(Noeud<?> noeud) {
+        return noeud == null ? SANS_FIN : noeud.finMax;
+    }
+
+    /**
+     * Nœud immuable, partagé entre toutes les versions de l'arbre qui le contiennent
+     */
+    private static final class Noeud<V> {
+        private final long cle;
+        private final long rang;
+        private final long fin;
+        private final V valeur;
+        private final Noeud<V> gauche;
+        private final Noeud<V> droite;
+        private final int hauteur;
+        private final int taille;
+        // Plus grande fin du sous-arbre
+        private final long finMax;
+
+        private Noeud(long cle, long rang, long fin, V valeur, Noeud<V> gauche, Noeud<V> droite) {
+            this.cle = cle;
+            this.rang = rang;
+            this.fin = fin;
+            this.valeur = valeur;
+            this.gauche = gauche;
+            this.droite = droite;
+            this.hauteur = Math.max(hauteur(gauche), hauteur(droite)) + 1;
+            this.taille = taille(gauche) + taille(droite) + 1;
+            this.finMax = Math.max(fin, Math.max(finMax(gauche), finMax(droite)));
+        }
+
+        private Noeud(Noeud<V> entree, Noeud<V> gauche, Noeud<V> droite) {
+            this(entree.cle, entree.rang, entree.fin, entree.valeur, gauche, droite);
+        }
+    }
+
+    /**
+     * Entrées aplaties d'un arbre, en tableaux parallèles
+     */
+    private static final class Entrees<V> {
+        private final long[] cles;
+        private final long[] rangs;
+        private final long[] fins;
+        private final V[] valeurs;
+        private int nombre;
+
+        @SuppressWarnings("unchecked")
+        private Entrees(int capacite) {
+            this.cles = new long[capacite];
+            this.rangs = new long[capacite];
+            this.fins = new long[capacite];
+            this.valeurs = (V[]) new Object[capacite];
+        }
+
+        private void ajouter(long cle, long rang, long fin, V valeur) {
+            cles[nombre] = cle;
+            rangs[nombre] = rang;
+            fins[nombre] = fin;
+            valeurs[nombre] = valeur;
+            nombre++;
+        }
+    }
+
+    /**
+     * Parcours infixe d'un intervalle de clés, avec la pile des nœuds restant à visiter
+     */
+    private static final class Parcours<V> implements Iterator<V> {
+        private final ArrayDeque<Noeud<V>> pile = new ArrayDeque<>();
+        private final long cleMax;
+
+        private Parcours(Noeud<V> racine, long cleMin, long cleMax) {
+            this.cleMax = cleMax;
+            Noeud<V> noeud = racine;
+            while (noeud != null) {
+                if (noeud.cle < cleMin) {
+                    noeud = noeud.droite;
+                } else {
+                    pile.push(noeud);
+                    noeud = noeud.gauche;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pile.isEmpty() && pile.peek().cle <= cleMax;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Noeud<V> noeud = pile.pop();
+            for (Noeud<V> suivant = noeud.droite; suivant != null; suivant = suivant.gauche) {
+                pile.push(suivant);
+            }
+            return noeud.valeur;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.EventId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cache borné des occurrences développées des événements périodiques
+ *
+ * Les entrées sont indexées par série et par période, et les moins récemment
+ * utilisées sont évincées au-delà de la capacité, ou quand le nombre total
+ * d'occurrences retenues dépasse sa borne. Le développement d'une période plus
+ * longue que cette borne est rendu sans être conservé. Les événements non
+ * périodiques n'ont qu'une occurrence et ne passent pas par le cache.
+ *
+ * Le cache peut être partagé entre plusieurs threads. Chaque entrée retient
+ * l'événement qu'elle développe : une entrée laissée par une série supprimée
+ * puis réajoutée sous le même identifiant n'est jamais servie.
+ */
+public class CacheOccurrences {
+    public static final int CAPACITE_PAR_DEFAUT = 1_024;
+    public static final int OCCURRENCES_MAX_PAR_DEFAUT = 100_000;
+
+    private final Map<Cle, Developpement> entrees;
+    private final int capacite;
+    private final int occurrencesMax;
+    private int occurrences;
+
+    /**
+     * Crée un cache avec la capacité par défaut
+     */
+    public CacheOccurrences() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Crée un cache d'une capacité donnée
+     *
+     * @param capacite Nombre maximal de couples (série, période) conservés
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive
+     */
+    public CacheOccurrences(int capacite) {
+        this(capacite, OCCURRENCES_MAX_PAR_DEFAUT);
+    }
+
+    /**
+     * Crée un cache d'une capacité et d'un nombre total d'occurrences donnés
+     *
+     * @param capacite Nombre maximal de couples (série, période) conservés
+     * @param occurrencesMax Nombre maximal d'occurrences retenues, toutes entrées confondues
+     * @throws IllegalArgumentException si une borne n'est pas strictement positive
+     */
+    public CacheOccurrences(int capacite, int occurrencesMax) {
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité du cache doit être strictement positive");
+        }
+        if (occurrencesMax <= 0) {
+            throw new IllegalArgumentException("Le nombre maximal d'occurrences doit être strictement positif");
+        }
+
+        this.capacite = capacite;
+        this.occurrencesMax = occurrencesMax;
+        this.entrees = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Obtient les débuts d'occurrences d'un événement pendant une période
+     *
+     * @param evenement L'événement à développer
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Flux des débuts d'occurrences, dans l'ordre chronologique
+     */
+    public Stream<LocalDateTime> occurrences(Evenement evenement, LocalDateTime debut, LocalDateTime fin) {
+        if (!evenement.getFrequence().estPeriodique()) {
+            return evenement.occurrencesPendant(debut, fin);
+        }
+
+        Cle cle = new Cle(evenement.getId(), debut, fin);
+        synchronized (entrees) {
+            Developpement connu = entrees.get(cle);
+            if (connu != null && connu.evenement == evenement) {
+                return connu.debuts.stream();
+            }
+        }
+
+        // Développé hors du verrou : deux lecteurs concurrents calculent au pire la même liste
+        Iterator<LocalDateTime> developpement = evenement.occurrencesPendant(debut, fin).iterator();
+        List<LocalDateTime> debuts = new ArrayList<>();
+        while (developpement.hasNext() && debuts.size() < occurrencesMax) {
+            debuts.add(developpement.next());
+        }
+        if (developpement.hasNext()) {
+            // Trop long pour être conservé : la suite est développée à la demande, sans reprendre le début
+            Stream<LocalDateTime> suite = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(developpement, Spliterator.ORDERED | Spliterator.NONNULL), false);
+            return Stream.concat(debuts.stream(), suite);
+        }
+
+        List<LocalDateTime> conserves = Collections.unmodifiableList(debuts);
+        synchronized (entrees) {
+            conserver(cle, new Developpement(evenement, conserves));
+        }
+        return conserves.stream();
+    }
+
+    /**
+     * Ajoute une entrée puis évince les moins récemment utilisées jusqu'à respecter les deux bornes
+     * Appelée sous le verrou ; l'entrée ajoutée, la plus récente, n'est jamais évincée
+     */
+    private void conserver(Cle cle, Developpement developpement) {
+        Developpement remplace = entrees.put(cle, developpement);
+        if (remplace != null) {
+            occurrences -= remplace.debuts.size();
+        }
+        occurrences += developpement.debuts.size();
+
+        Iterator<Developpement> plusAnciens = entrees.values().iterator();
+        while (entrees.size() > capacite || occurrences > occurrencesMax) {
+            occurrences -= plusAnciens.next().debuts.size();
+            plusAnciens.remove();
+        }
+    }
+
+    /**
+     * Retire du cache toutes les périodes développées d'une série
+     *
+     * @param eventId Identifiant de la série
+     */
+    public void invalider(EventId eventId) {
+        synchronized (entrees) {
+            Iterator<Map.Entry<Cle, Developpement>> iterateur = entrees.entrySet().iterator();
+            while (iterateur.hasNext()) {
+                Map.Entry<Cle, Developpement> entree = iterateur.next();
+                if (entree.getKey().eventId.equals(eventId)) {
+                    occurrences -= entree.getValue().debuts.size();
+                    iterateur.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtient le nombre d'occurrences retenues par le cache
+     *
+     * @return Nombre total d'occurrences conservées, toutes entrées confondues
+     */
+    public int getNombreOccurrences() {
+        synchronized (entrees) {
+            return occurrences;
+        }
+    }
+
+    /**
+     * Obtient le nombre d'entrées du cache
+     *
+     * @return Nombre de couples (série, période) conservés
+     */
+    public int getTaille() {
+        synchronized (entrees) {
+            return entrees.size();
+        }
+    }
+
+    /**
+     * Occurrences développées d'un événement précis
+     */
+    private static final class Developpement {
+        private final Evenement evenement;
+        private final List<LocalDateTime> debuts;
+
+        private Developpement(Evenement evenement, List<LocalDateTime> debuts) {
+            this.evenement = evenement;
+            this.debuts = debuts;
+        }
+    }
+
+    /**
+     * Clé d'une entrée : une série et une période
+     */
+    private static final class Cle {
+        private final EventId eventId;
+        private final LocalDateTime debut;
+        private final LocalDateTime fin;
+
+        private Cle(EventId eventId, LocalDateTime debut, LocalDateTime fin) {
+            this.eventId = eventId;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Cle that = (Cle) o;
+            return eventId.equals(that.eventId) && debut.equals(that.debut) && fin.equals(that.fin);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, debut, fin);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index, pour chaque utilisateur, des créneaux occupés par les événements qui
+ * bloquent son calendrier (dont il est propriétaire ou participant)
+ *
+ * Chaque agenda est un arbre d'intervalles [début, fin[ rangés par minute de début,
+ * dont chaque nœud connaît la plus grande fin de son sous-arbre. La recherche
+ * des événements qui chevauchent [debut, fin[ écarte tout sous-arbre qui se termine
+ * avant debut : elle coûte O((k + 1) log n) pour k événements trouvés, même quand
+ * un événement très long précède le créneau.
+ *
+ * Les agendas sont persistants et rangés dans une table persistante : une copie de
+ * l'index ne coûte qu'une affectation, et chaque modification de la copie O(log n).
+ */
+public class IndexCreneaux {
+    private TablePersistante<Utilisateur, ArbrePersistant<Evenement>> agendas;
+
+    /**
+     * Crée un index vide
+     */
+    public IndexCreneaux() {
+        this.agendas = TablePersistante.vide();
+    }
+
+    /**
+     * Crée une copie d'un index, qui partage ses agendas avec la source
+     *
+     * @param source L'index à copier
+     */
+    private IndexCreneaux(IndexCreneaux source) {
+        this.agendas = source.agendas;
+    }
+
+    /**
+     * Copie l'index en O(1) ; les modifications de la copie n'affectent pas l'original
+     *
+     * @return Une copie indépendante de l'index
+     */
+    public IndexCreneaux copier() {
+        return new IndexCreneaux(this);
+    }
+
+    /**
+     * Ajoute un événement à l'agenda de son propriétaire et de ses participants
+     * Un événement qui ne bloque pas le calendrier n'est pas indexé
+     *
+     * @param evenement L'événement à indexer
+     * @param numero Numéro d'ajout de l'événement, qui le range parmi ceux de même début
+     */
+    public void ajouter(Evenement evenement, long numero) {
+        if (!evenement.bloqueLeCalendrier()) {
+            return;
+        }
+
+        for (Utilisateur utilisateur : concernes(evenement)) {
+            agendas = agendas.ajouter(utilisateur, agenda(utilisateur).ajouter(
+                evenement.getDebutEpochMinutes(), numero, evenement.getFinEpochMinutes(), evenement));
+        }
+    }
+
+    /**
+     * Ajoute un lot d'événements triés par date de début
+     * Les événements sont regroupés par utilisateur, et chaque agenda reçoit les siens
+     * en une fois, dans l'ordre de son arbre
+     *
+     * @param triesParDebut Les événements à indexer, triés par (minute de début, numéro) croissants
+     * @param numeros Numéros d'ajout des événements, dans le même ordre
+     */
+    public void ajouterTous(List<Evenement> triesParDebut, long[] numeros) {
+        Map<Utilisateur, LotEntrees<Evenement>> lots = new HashMap<>();
+        for (int i = 0; i < triesParDebut.size(); i++) {
+            Evenement evenement = triesParDebut.get(i);
+            if (!evenement.bloqueLeCalendrier()) {
+                continue;
+            }
+
+            for (Utilisateur utilisateur : concernes(evenement)) {
+                lots.computeIfAbsent(utilisateur, k -> new LotEntrees<>()).ajouter(
+                    evenement.getDebutEpochMinutes(), numeros[i], evenement.getFinEpochMinutes(), evenement);
+            }
+        }
+        for (Map.Entry<Utilisateur, LotEntrees<Evenement>> lot : lots.entrySet()) {
+            agendas = agendas.ajouter(lot.getKey(), lot.getValue().verser(agenda(lot.getKey())));
+        }
+    }
+
+    /**
+     * Retire un événement de l'agenda de son propriétaire et de ses participants
+     *
+     * @param evenement L'événement à retirer
+     * @param numero Numéro d'ajout de l'événement
+     */
+    public void retirer(Evenement evenement, long numero) {
+        if (!evenement.bloqueLeCalendrier()) {
+            return;
+        }
+
+        for (Utilisateur utilisateur : concernes(evenement)) {
+            ArbrePersistant<Evenement> agenda = agendas.valeur(utilisateur);
+            if (agenda == null) {
+                continue;
+            }
+            ArbrePersistant<Evenement> restant = agenda.retirer(evenement.getDebutEpochMinutes(), numero);
+            if (restant.estVide()) {
+                agendas = agendas.retirer(utilisateur);
+            } else if (restant != agenda) {
+                agendas = agendas.ajouter(utilisateur, restant);
+            }
+        }
+    }
+
+    /**
+     * Trouve les événements d'un utilisateur qui chevauchent un créneau
+     *
+     * @param utilisateur L'utilisateur
+     * @param debut Début du créneau, en minutes depuis l'époque
+     * @param fin Fin du créneau (exclue), en minutes depuis l'époque
+     * @return Les événements bloquants qui chevauchent le créneau, triés par début
+     */
+    public List<Evenement> chevauchant(Utilisateur utilisateur, long debut, long fin) {
+        List<Evenement> resultat = new ArrayList<>();
+        ArbrePersistant<Evenement> agenda = agendas.valeur(utilisateur);
+        if (agenda != null) {
+            agenda.parcourirChevauchant(debut, fin, resultat::add);
+        }
+        return resultat;
+    }
+
+    private ArbrePersistant<Evenement> agenda(Utilisateur utilisateur) {
+        ArbrePersistant<Evenement> agenda = agendas.valeur(utilisateur);
+        return agenda == null ? ArbrePersistant.vide() : agenda;
+    }
+
+    private static Set<Utilisateur> concernes(Evenement evenement) {
+        Set<Utilisateur> utilisateurs = new LinkedHashSet<>();
+        utilisateurs.add(evenement.getProprietaire());
+        utilisateurs.addAll(evenement.getParticipants().getUtilisateurs());
+        return utilisateurs;
+    }
+}
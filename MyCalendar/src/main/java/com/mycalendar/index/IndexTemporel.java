@@ -0,0 +1,232 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.MinutesEpoch;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Index des événements trié par date de début, en minutes depuis l'époque
+ *
+ * Les événements ponctuels sont rangés par date de début, ce qui permet de
+ * répondre à une requête de période en O(log n + k). Les événements périodiques
+ * sont rangés à part, par période et par phase (voir {@link SeriesPeriodiques}) :
+ * une requête ne vérifie pas chaque série, elle ne coûte que O(F log n + k log n)
+ * pour F périodes distinctes. Les deux résultats sont fusionnés par date de début.
+ *
+ * Les structures sont persistantes et rangées par (début, numéro d'ajout) :
+ * une copie de l'index ne coûte qu'une affectation, et chaque modification
+ * de la copie O(log n).
+ */
+public class IndexTemporel {
+    private ArbrePersistant<Evenement> ponctuels;
+    private SeriesPeriodiques periodiques;
+
+    /**
+     * Crée un index vide
+     */
+    public IndexTemporel() {
+        this.ponctuels = ArbrePersistant.vide();
+        this.periodiques = SeriesPeriodiques.VIDE;
+    }
+
+    /**
+     * Crée une copie d'un index, qui partage ses structures avec la source
+     *
+     * @param source L'index à copier
+     */
+    private IndexTemporel(IndexTemporel source) {
+        this.ponctuels = source.ponctuels;
+        this.periodiques = source.periodiques;
+    }
+
+    /**
+     * Copie l'index en O(1) ; les modifications de la copie n'affectent pas l'original
+     *
+     * @return Une copie indépendante de l'index
+     */
+    public IndexTemporel copier() {
+        return new IndexTemporel(this);
+    }
+
+    /**
+     * Ajoute un événement à l'index
+     *
+     * @param evenement L'événement à indexer
+     * @param numero Numéro d'ajout de l'événement, qui le range parmi ceux de même début
+     */
+    public void ajouter(Evenement evenement, long numero) {
+        if (evenement.getFrequence().estPeriodique()) {
+            periodiques = periodiques.ajouter(evenement, numero);
+        } else {
+            ponctuels = ponctuels.ajouter(evenement.getDebutEpochMinutes(), numero, evenement);
+        }
+    }
+
+    /**
+     * Ajoute un lot d'événements triés par date de début
+     * Les événements ponctuels, de loin les plus nombreux, sont fusionnés dans leur arbre
+     * en une passe au lieu d'être insérés un par un
+     *
+     * @param triesParDebut Les événements à indexer, triés par (minute de début, numéro) croissants
+     * @param numeros Numéros d'ajout des événements, dans le même ordre
+     */
+    public void ajouterTous(List<Evenement> triesParDebut, long[] numeros) {
+        LotEntrees<Evenement> ponctuelsDuLot = new LotEntrees<>(triesParDebut.size());
+        for (int i = 0; i < triesParDebut.size(); i++) {
+            Evenement evenement = triesParDebut.get(i);
+            if (evenement.getFrequence().estPeriodique()) {
+                periodiques = periodiques.ajouter(evenement, numeros[i]);
+            } else {
+                ponctuelsDuLot.ajouter(evenement.getDebutEpochMinutes(), numeros[i], evenement);
+            }
+        }
+        ponctuels = ponctuelsDuLot.verser(ponctuels);
+    }
+
+    /**
+     * Retire un événement de l'index
+     *
+     * @param evenement L'événement à retirer
+     * @param numero Numéro d'ajout de l'événement
+     * @return true si l'événement était indexé, false sinon
+     */
+    public boolean retirer(Evenement evenement, long numero) {
+        if (evenement.getFrequence().estPeriodique()) {
+            SeriesPeriodiques restantes = periodiques.retirer(evenement, numero);
+            boolean retire = restantes != periodiques;
+            periodiques = restantes;
+            return retire;
+        }
+        ArbrePersistant<Evenement> restants = ponctuels.retirer(evenement.getDebutEpochMinutes(), numero);
+        boolean retire = restants != ponctuels;
+        ponctuels = restants;
+        return retire;
+    }
+
+    /**
+     * Trouve les événements ayant lieu pendant une période,
+     * avec la même sémantique que {@link Evenement#aLieuPendant}
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Liste des événements de la période, triés par date de début ;
+     *         à début égal, les événements ponctuels précèdent les périodiques
+     */
+    public List<Evenement> rechercher(LocalDateTime debut, LocalDateTime fin) {
+        if (debut.isAfter(fin)) {
+            return new ArrayList<>();
+        }
+
+        // Les bornes sont converties une fois ; un événement commence toujours à une minute entière
+        long premiereMinute = MinutesEpoch.plafond(debut);
+        long derniereMinute = MinutesEpoch.plancher(fin);
+        List<Evenement> enPeriode = new ArrayList<>();
+        if (premiereMinute <= derniereMinute) {
+            ponctuels.parcourir(premiereMinute, derniereMinute, enPeriode::add);
+        }
+
+        List<Evenement> repetes = periodiquesPendant(debut, fin);
+        if (repetes.isEmpty()) {
+            return enPeriode;
+        }
+        List<Evenement> resultat = new ArrayList<>(enPeriode.size() + repetes.size());
+        new Fusion(enPeriode.iterator(), repetes.iterator()).forEachRemaining(resultat::add);
+        return resultat;
+    }
+
+    /**
+     * Trouve les seuls événements périodiques ayant au moins une occurrence pendant une période
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Liste des événements périodiques de la période, triés par date de première occurrence
+     */
+    public List<Evenement> periodiquesPendant(LocalDateTime debut, LocalDateTime fin) {
+        if (debut.isAfter(fin)) {
+            return new ArrayList<>();
+        }
+        return periodiques.pendant(MinutesEpoch.plafond(debut), MinutesEpoch.plafond(fin));
+    }
+
+    /**
+     * Parcourt paresseusement les événements ayant lieu pendant une période,
+     * avec la même sémantique que {@link #rechercher}, sans les copier dans une liste
+     * Le flux lit les structures de l'index au moment de l'appel : les modifications suivantes ne l'affectent pas
+     *
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Flux des événements triés par date de début, dans le même ordre que {@link #rechercher}
+     */
+    public Stream<Evenement> parcourir(LocalDateTime debut, LocalDateTime fin) {
+        if (debut.isAfter(fin)) {
+            return Stream.empty();
+        }
+
+        long premiereMinute = MinutesEpoch.plafond(debut);
+        long derniereMinute = MinutesEpoch.plancher(fin);
+        Iterator<Evenement> enPeriode = premiereMinute <= derniereMinute
+                ? ponctuels.iterateur(premiereMinute, derniereMinute)
+                : Collections.<Evenement>emptyIterator();
+        // Les séries retenues sont peu nombreuses : seules elles sont matérialisées
+        Iterator<Evenement> repetes = periodiquesPendant(debut, fin).iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new Fusion(enPeriode, repetes), Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Obtient le nombre d'événements indexés
+     *
+     * @return Nombre d'événements
+     */
+    public int getTaille() {
+        return ponctuels.taille() + periodiques.taille();
+    }
+
+    /**
+     * Fusion de deux suites triées par date de début ; à début égal, la première passe en tête
+     */
+    private static final class Fusion implements Iterator<Evenement> {
+        private final Iterator<Evenement> premiers;
+        private final Iterator<Evenement> seconds;
+        private Evenement premier;
+        private Evenement second;
+
+        private Fusion(Iterator<Evenement> premiers, Iterator<Evenement> seconds) {
+            this.premiers = premiers;
+            this.seconds = seconds;
+            this.premier = premiers.hasNext() ? premiers.next() : null;
+            this.second = seconds.hasNext() ? seconds.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return premier != null || second != null;
+        }
+
+        @Override
+        public Evenement next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Evenement suivant;
+            if (second == null
+                    || (premier != null && premier.getDebutEpochMinutes() <= second.getDebutEpochMinutes())) {
+                suivant = premier;
+                premier = premiers.hasNext() ? premiers.next() : null;
+            } else {
+                suivant = second;
+                second = seconds.hasNext() ? seconds.next() : null;
+            }
+            return suivant;
+        }
+    }
+}
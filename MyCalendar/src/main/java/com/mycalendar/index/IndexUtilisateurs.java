@@ -0,0 +1,257 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.MinutesEpoch;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.time.LocalDateTime;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index des événements par utilisateur
+ *
+ * Conserve, pour chaque utilisateur, les événements dont il est propriétaire
+ * et ceux dans lesquels il est impliqué (propriétaire ou participant), dans
+ * l'ordre d'ajout. Une requête ne coûte ainsi que le nombre d'événements
+ * de l'utilisateur concerné. Les événements périodiques où il est impliqué sont
+ * en outre rangés par période et par phase, pour trouver ceux d'une fenêtre
+ * sans parcourir les séries des autres utilisateurs.
+ *
+ * Les événements de chaque utilisateur forment un arbre persistant rangé par
+ * numéro d'ajout, dans une table persistante : une copie de l'index ne coûte
+ * qu'une affectation, et chaque modification de la copie O(log n).
+ */
+public class IndexUtilisateurs {
+    private TablePersistante<Utilisateur, ArbrePersistant<Evenement>> parProprietaire;
+    private TablePersistante<Utilisateur, ArbrePersistant<Evenement>> parImplique;
+    private TablePersistante<Utilisateur, SeriesPeriodiques> periodiquesParImplique;
+
+    /**
+     * Crée un index vide
+     */
+    public IndexUtilisateurs() {
+        this.parProprietaire = TablePersistante.vide();
+        this.parImplique = TablePersistante.vide();
+        this.periodiquesParImplique = TablePersistante.vide();
+    }
+
+    /**
+     * Crée une copie d'un index, qui partage ses tables avec la source
+     *
+     * @param source L'index à copier
+     */
+    private IndexUtilisateurs(IndexUtilisateurs source) {
+        this.parProprietaire = source.parProprietaire;
+        this.parImplique = source.parImplique;
+        this.periodiquesParImplique = source.periodiquesParImplique;
+    }
+
+    /**
+     * Copie l'index en O(1) ; les modifications de la copie n'affectent pas l'original
+     *
+     * @return Une copie indépendante de l'index
+     */
+    public IndexUtilisateurs copier() {
+        return new IndexUtilisateurs(this);
+    }
+
+    /**
+     * Ajoute un événement à l'index de son propriétaire et de ses participants
+     *
+     * @param evenement L'événement à indexer
+     * @param numero Numéro d'ajout de l'événement
+     */
+    public void ajouter(Evenement evenement, long numero) {
+        parProprietaire = ajouterA(parProprietaire, evenement.getProprietaire(), evenement, numero);
+        parImplique = ajouterA(parImplique, evenement.getProprietaire(), evenement, numero);
+        for (Utilisateur participant : evenement.getParticipants().getUtilisateurs()) {
+            parImplique = ajouterA(parImplique, participant, evenement, numero);
+        }
+        ajouterPeriodique(evenement, numero);
+    }
+
+    /**
+     * Ajoute un lot d'événements, regroupés par utilisateur pour que chaque arbre
+     * ne soit mis à jour qu'une fois
+     *
+     * @param lot Les événements à indexer, par numéro d'ajout croissant
+     * @param numeros Numéros d'ajout des événements, dans le même ordre
+     */
+    public void ajouterTous(List<Evenement> lot, long[] numeros) {
+        Map<Utilisateur, LotEntrees<Evenement>> proprietaires = new HashMap<>();
+        Map<Utilisateur, LotEntrees<Evenement>> impliques = new HashMap<>();
+        for (int i = 0; i < lot.size(); i++) {
+            Evenement evenement = lot.get(i);
+            proprietaires.computeIfAbsent(evenement.getProprietaire(), k -> new LotEntrees<>())
+                .ajouter(numeros[i], 0, evenement);
+            impliques.computeIfAbsent(evenement.getProprietaire(), k -> new LotEntrees<>())
+                .ajouter(numeros[i], 0, evenement);
+            for (Utilisateur participant : evenement.getParticipants().getUtilisateurs()) {
+                impliques.computeIfAbsent(participant, k -> new LotEntrees<>()).ajouter(numeros[i], 0, evenement);
+            }
+            // Les séries sont peu nombreuses : elles sont rangées une à une
+            ajouterPeriodique(evenement, numeros[i]);
+        }
+        parProprietaire = verser(parProprietaire, proprietaires);
+        parImplique = verser(parImplique, impliques);
+    }
+
+    /**
+     * Retire un événement de l'index de son propriétaire et de ses participants
+     *
+     * @param evenement L'événement à retirer
+     * @param numero Numéro d'ajout de l'événement
+     */
+    public void retirer(Evenement evenement, long numero) {
+        parProprietaire = retirerDe(parProprietaire, evenement.getProprietaire(), numero);
+        parImplique = retirerDe(parImplique, evenement.getProprietaire(), numero);
+        for (Utilisateur participant : evenement.getParticipants().getUtilisateurs()) {
+            parImplique = retirerDe(parImplique, participant, numero);
+        }
+        if (evenement.getFrequence().estPeriodique()) {
+            for (Utilisateur utilisateur : impliques(evenement)) {
+                SeriesPeriodiques series = periodiquesParImplique.valeur(utilisateur);
+                if (series == null) {
+                    continue;
+                }
+                SeriesPeriodiques restantes = series.retirer(evenement, numero);
+                periodiquesParImplique = restantes.taille() == 0
+                    ? periodiquesParImplique.retirer(utilisateur)
+                    : periodiquesParImplique.ajouter(utilisateur, restantes);
+            }
+        }
+    }
+
+    /**
+     * Obtient les événements dont l'utilisateur est propriétaire
+     *
+     * @param utilisateur L'utilisateur
+     * @return Vue non modifiable des événements, dans l'ordre d'ajout
+     */
+    public Set<Evenement> proprietaireDe(Utilisateur utilisateur) {
+        return lire(parProprietaire, utilisateur);
+    }
+
+    /**
+     * Obtient les événements dans lesquels l'utilisateur est impliqué
+     * (en tant que propriétaire ou participant)
+     *
+     * @param utilisateur L'utilisateur
+     * @return Vue non modifiable des événements, dans l'ordre d'ajout
+     */
+    public Set<Evenement> impliquant(Utilisateur utilisateur) {
+        return lire(parImplique, utilisateur);
+    }
+
+    /**
+     * Trouve les événements périodiques impliquant l'utilisateur qui ont au moins
+     * une occurrence pendant une période
+     *
+     * @param utilisateur L'utilisateur, propriétaire ou participant
+     * @param debut Début de la période
+     * @param fin Fin de la période
+     * @return Liste des événements périodiques, triés par date de première occurrence
+     */
+    public List<Evenement> periodiquesPendant(Utilisateur utilisateur, LocalDateTime debut, LocalDateTime fin) {
+        SeriesPeriodiques series = periodiquesParImplique.valeur(utilisateur);
+        if (series == null || debut.isAfter(fin)) {
+            return new ArrayList<>();
+        }
+        return series.pendant(MinutesEpoch.plafond(debut), MinutesEpoch.plafond(fin));
+    }
+
+    private void ajouterPeriodique(Evenement evenement, long numero) {
+        if (!evenement.getFrequence().estPeriodique()) {
+            return;
+        }
+        for (Utilisateur utilisateur : impliques(evenement)) {
+            SeriesPeriodiques series = periodiquesParImplique.valeur(utilisateur);
+            periodiquesParImplique = periodiquesParImplique.ajouter(utilisateur,
+                (series == null ? SeriesPeriodiques.VIDE : series).ajouter(evenement, numero));
+        }
+    }
+
+    private static Set<Utilisateur> impliques(Evenement evenement) {
+        Set<Utilisateur> utilisateurs = new LinkedHashSet<>();
+        utilisateurs.add(evenement.getProprietaire());
+        utilisateurs.addAll(evenement.getParticipants().getUtilisateurs());
+        return utilisateurs;
+    }
+
+    private static TablePersistante<Utilisateur, ArbrePersistant<Evenement>> ajouterA(
+            TablePersistante<Utilisateur, ArbrePersistant<Evenement>> index,
+            Utilisateur utilisateur, Evenement evenement, long numero) {
+        ArbrePersistant<Evenement> evenements = index.valeur(utilisateur);
+        if (evenements == null) {
+            evenements = ArbrePersistant.vide();
+        }
+        return index.ajouter(utilisateur, evenements.ajouter(numero, 0, evenement));
+    }
+
+    private static TablePersistante<Utilisateur, ArbrePersistant<Evenement>> verser(
+            TablePersistante<Utilisateur, ArbrePersistant<Evenement>> index,
+            Map<Utilisateur, LotEntrees<Evenement>> lots) {
+        for (Map.Entry<Utilisateur, LotEntrees<Evenement>> entree : lots.entrySet()) {
+            ArbrePersistant<Evenement> evenements = index.valeur(entree.getKey());
+            if (evenements == null) {
+                evenements = ArbrePersistant.vide();
+            }
+            index = index.ajouter(entree.getKey(), entree.getValue().verser(evenements));
+        }
+        return index;
+    }
+
+    private static TablePersistante<Utilisateur, ArbrePersistant<Evenement>> retirerDe(
+            TablePersistante<Utilisateur, ArbrePersistant<Evenement>> index, Utilisateur utilisateur, long numero) {
+        ArbrePersistant<Evenement> evenements = index.valeur(utilisateur);
+        if (evenements == null) {
+            return index;
+        }
+
+        ArbrePersistant<Evenement> restants = evenements.retirer(numero, 0);
+        if (restants == evenements) {
+            return index;
+        }
+        return restants.estVide() ? index.retirer(utilisateur) : index.ajouter(utilisateur, restants);
+    }
+
+    private static Set<Evenement> lire(
+            TablePersistante<Utilisateur, ArbrePersistant<Evenement>> index, Utilisateur utilisateur) {
+        ArbrePersistant<Evenement> evenements = index.valeur(utilisateur);
+        return evenements == null ? Collections.emptySet() : new Vue(evenements);
+    }
+
+    /**
+     * Vue non modifiable des événements d'un utilisateur, figée à la version de l'arbre lue
+     * Un événement n'apparaît qu'une fois par arbre : la vue est bien un ensemble
+     */
+    private static final class Vue extends AbstractSet<Evenement> {
+        private final ArbrePersistant<Evenement> evenements;
+
+        private Vue(ArbrePersistant<Evenement> evenements) {
+            this.evenements = evenements;
+        }
+
+        @Override
+        public Iterator<Evenement> iterator() {
+            return evenements.iterator();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("Vue non modifiable");
+        }
+
+        @Override
+        public int size() {
+            return evenements.taille();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycalendar.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entrées destinées à un même {@link ArbrePersistant}, accumulées dans l'ordre
+ * (clé, rang) avant d'y être versées en une fois
+ *
+ * @param <V> Type des valeurs
+ */
+final class LotEntrees<V> {
+    private final List<V> valeurs;
+    private long[] cles;
+    private long[] rangs;
+    private long[] fins;
+
+    LotEntrees() {
+        this(8);
+    }
+
+    LotEntrees(int capacite) {
+        this.valeurs = new ArrayList<>(capacite);
+        this.cles = new long[Math.max(capacite, 8)];
+        this.rangs = new long[cles.length];
+        this.fins = new long[cles.length];
+    }
+
+    void ajouter(long cle, long rang, V valeur) {
+        ajouter(cle, rang, ArbrePersistant.SANS_FIN, valeur);
+    }
+
+    void ajouter(long cle, long rang, long fin, V valeur) {
+        int position = valeurs.size();
+        if (position == cles.length) {
+            cles = Arrays.copyOf(cles, position * 2);
+            rangs = Arrays.copyOf(rangs, position * 2);
+            fins = Arrays.copyOf(fins, position * 2);
+        }
+        cles[position] = cle;
+        rangs[position] = rang;
+        fins[position] = fin;
+        valeurs.add(valeur);
+    }
+
+    /**
+     * @return Les valeurs du lot, dans l'ordre
+     */
+    List<V> valeurs() {
+        return valeurs;
+    }
+
+    /**
+     * @param arbre L'arbre qui reçoit le lot
+     * @return Le nouvel arbre
+     */
+    ArbrePersistant<V> verser(ArbrePersistant<V> arbre) {
+        return arbre.ajouterTous(cles, rangs, fins, valeurs);
+    }
+}
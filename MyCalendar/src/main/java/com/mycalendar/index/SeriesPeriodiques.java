@@ -0,0 +1,163 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.MinutesEpoch;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ensemble persistant d'événements périodiques, rangés par période puis par phase
+ *
+ * Une série d'origine o et de période P a lieu dans [a, b[ s'il existe k ≥ 0 tel que
+ * a ≤ o + kP &lt; b. Quand b - a ≥ P, toute série commencée avant b convient, ce
+ * qu'une recherche par origine trouve directement. Sinon, une série commencée avant b
+ * convient si et seulement si sa phase o mod P tombe dans la fenêtre [a mod P, b mod P[,
+ * éventuellement à cheval sur 0 : l'arbre des phases, dont chaque nœud connaît la plus
+ * petite origine de son sous-arbre, répond sans examiner les séries qui ne conviennent pas.
+ *
+ * Une recherche coûte ainsi O(F log n + k log n), où F est le nombre de périodes
+ * distinctes (quotidienne, hebdomadaire, ...), au lieu de vérifier chaque série.
+ */
+final class SeriesPeriodiques {
+    static final SeriesPeriodiques VIDE = new SeriesPeriodiques(ArbrePersistant.vide(), 0);
+
+    private static final Comparator<Serie> PAR_DEBUT = Comparator
+        .comparingLong((Serie serie) -> serie.evenement.getDebutEpochMinutes())
+        .thenComparingLong(serie -> serie.numero);
+
+    // Séries de chaque période, indexées par la période en minutes
+    private final ArbrePersistant<Compartiment> parPeriode;
+    private final int taille;
+
+    private SeriesPeriodiques(ArbrePersistant<Compartiment> parPeriode, int taille) {
+        this.parPeriode = parPeriode;
+        this.taille = taille;
+    }
+
+    int taille() {
+        return taille;
+    }
+
+    /**
+     * @param evenement L'événement périodique à ajouter
+     * @param numero Numéro d'ajout de l'événement
+     * @return Le nouvel ensemble, ou celui-ci si l'événement y figurait déjà
+     */
+    SeriesPeriodiques ajouter(Evenement evenement, long numero) {
+        long periode = periode(evenement);
+        Compartiment compartiment = compartiment(periode);
+        if (compartiment.parOrigine.valeur(evenement.getDebutEpochMinutes(), numero) != null) {
+            return this;
+        }
+        return new SeriesPeriodiques(
+            parPeriode.ajouter(periode, 0, compartiment.ajouter(new Serie(evenement, numero))), taille + 1);
+    }
+
+    /**
+     * @param evenement L'événement périodique à retirer
+     * @param numero Numéro d'ajout de l'événement
+     * @return Le nouvel ensemble, ou celui-ci si l'événement n'y figurait pas
+     */
+    SeriesPeriodiques retirer(Evenement evenement, long numero) {
+        long periode = periode(evenement);
+        Compartiment compartiment = parPeriode.valeur(periode, 0);
+        if (compartiment == null || compartiment.parOrigine.valeur(evenement.getDebutEpochMinutes(), numero) == null) {
+            return this;
+        }
+        Compartiment restant = compartiment.retirer(evenement, numero);
+        return new SeriesPeriodiques(restant.parOrigine.estVide()
+            ? parPeriode.retirer(periode, 0)
+            : parPeriode.ajouter(periode, 0, restant), taille - 1);
+    }
+
+    /**
+     * Trouve les séries ayant au moins une occurrence dans [a, b[
+     *
+     * @param a Début de la fenêtre, en minutes depuis l'époque
+     * @param b Fin de la fenêtre (exclue), en minutes depuis l'époque
+     * @return Les événements, triés par (début, numéro d'ajout)
+     */
+    List<Evenement> pendant(long a, long b) {
+        List<Serie> series = new ArrayList<>();
+        if (a >= b) {
+            return new ArrayList<>();
+        }
+
+        for (Compartiment compartiment : parPeriode) {
+            long periode = compartiment.periode;
+            if (b - a >= periode) {
+                compartiment.parOrigine.parcourir(Long.MIN_VALUE, b - 1, series::add);
+                continue;
+            }
+
+            // Les fins de l'arbre des phases sont les origines opposées : fin > -b équivaut à origine < b
+            long phaseDebut = Math.floorMod(a, periode);
+            long phaseFin = phaseDebut + (b - a) - 1;
+            if (phaseFin < periode) {
+                compartiment.parPhase.parcourir(phaseDebut, phaseFin, -b, series::add);
+            } else {
+                compartiment.parPhase.parcourir(phaseDebut, periode - 1, -b, series::add);
+                compartiment.parPhase.parcourir(0, phaseFin - periode, -b, series::add);
+            }
+        }
+
+        series.sort(PAR_DEBUT);
+        List<Evenement> resultat = new ArrayList<>(series.size());
+        for (Serie serie : series) {
+            resultat.add(serie.evenement);
+        }
+        return resultat;
+    }
+
+    private Compartiment compartiment(long periode) {
+        Compartiment compartiment = parPeriode.valeur(periode, 0);
+        return compartiment == null ? new Compartiment(periode, ArbrePersistant.vide(), ArbrePersistant.vide()) : compartiment;
+    }
+
+    private static long periode(Evenement evenement) {
+        return evenement.getFrequence().getJoursEntrePeriodes() * MinutesEpoch.MINUTES_PAR_JOUR;
+    }
+
+    /**
+     * Événement périodique et son numéro d'ajout, qui départage les séries de même début
+     */
+    private static final class Serie {
+        private final Evenement evenement;
+        private final long numero;
+
+        private Serie(Evenement evenement, long numero) {
+            this.evenement = evenement;
+            this.numero = numero;
+        }
+    }
+
+    /**
+     * Séries d'une même période, par origine et par phase
+     */
+    private static final class Compartiment {
+        private final long periode;
+        private final ArbrePersistant<Serie> parOrigine;
+        private final ArbrePersistant<Serie> parPhase;
+
+        private Compartiment(long periode, ArbrePersistant<Serie> parOrigine, ArbrePersistant<Serie> parPhase) {
+            this.periode = periode;
+            this.parOrigine = parOrigine;
+            this.parPhase = parPhase;
+        }
+
+        private Compartiment ajouter(Serie serie) {
+            long origine = serie.evenement.getDebutEpochMinutes();
+            return new Compartiment(periode,
+                parOrigine.ajouter(origine, serie.numero, serie),
+                parPhase.ajouter(Math.floorMod(origine, periode), serie.numero, -origine, serie));
+        }
+
+        private Compartiment retirer(Evenement evenement, long numero) {
+            long origine = evenement.getDebutEpochMinutes();
+            return new Compartiment(periode,
+                parOrigine.retirer(origine, numero),
+                parPhase.retirer(Math.floorMod(origine, periode), numero));
+        }
+    }
+}
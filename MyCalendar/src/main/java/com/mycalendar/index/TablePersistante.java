@@ -0,0 +1,129 @@
+package com.mycalendar.index;
+
+import java.util.Objects;
+
+/**
+ * Table associative persistante, adossée à un {@link ArbrePersistant} rangé par code de hachage
+ *
+ * Comme l'arbre, une table n'est jamais modifiée : chaque ajout ou retrait rend
+ * une nouvelle table en O(log n), qui partage le reste de sa structure avec
+ * l'ancienne. Les clés de même code de hachage sont chaînées dans une même entrée.
+ *
+ * @param <K> Type des clés
+ * @param <V> Type des valeurs
+ */
+public final class TablePersistante<K, V> {
+    private static final TablePersistante<?, ?> VIDE = new TablePersistante<>(ArbrePersistant.vide(), 0);
+
+    private final ArbrePersistant<Maillon<K, V>> arbre;
+    private final int taille;
+
+    private TablePersistante(ArbrePersistant<Maillon<K, V>> arbre, int taille) {
+        this.arbre = arbre;
+        this.taille = taille;
+    }
+
+    /**
+     * @param <K> Type des clés
+     * @param <V> Type des valeurs
+     * @return La table vide
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> TablePersistante<K, V> vide() {
+        return (TablePersistante<K, V>) VIDE;
+    }
+
+    /**
+     * @return Nombre de clés de la table
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Obtient la valeur associée à une clé
+     *
+     * @param cle La clé
+     * @return La valeur, ou null si la clé est absente
+     */
+    public V valeur(Object cle) {
+        for (Maillon<K, V> maillon = arbre.valeur(hachage(cle), 0); maillon != null; maillon = maillon.suivant) {
+            if (Objects.equals(maillon.cle, cle)) {
+                return maillon.valeur;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associe une valeur à une clé, en remplaçant l'ancienne le cas échéant
+     *
+     * @param cle La clé
+     * @param valeur La valeur, non null
+     * @return La nouvelle table
+     */
+    public TablePersistante<K, V> ajouter(K cle, V valeur) {
+        long hachage = hachage(cle);
+        Maillon<K, V> chaine = arbre.valeur(hachage, 0);
+        boolean present = contient(chaine, cle);
+        Maillon<K, V> nouvelleChaine = new Maillon<>(cle, valeur, present ? sans(chaine, cle) : chaine);
+        return new TablePersistante<>(arbre.ajouter(hachage, 0, nouvelleChaine), present ? taille : taille + 1);
+    }
+
+    /**
+     * Retire une clé
+     *
+     * @param cle La clé
+     * @return La nouvelle table, ou cette table elle-même si la clé était absente
+     */
+    public TablePersistante<K, V> retirer(Object cle) {
+        long hachage = hachage(cle);
+        Maillon<K, V> chaine = arbre.valeur(hachage, 0);
+        if (!contient(chaine, cle)) {
+            return this;
+        }
+        Maillon<K, V> reste = sans(chaine, cle);
+        ArbrePersistant<Maillon<K, V>> nouvelArbre = reste == null
+            ? arbre.retirer(hachage, 0)
+            : arbre.ajouter(hachage, 0, reste);
+        return new TablePersistante<>(nouvelArbre, taille - 1);
+    }
+
+    private static long hachage(Object cle) {
+        return Objects.hashCode(cle);
+    }
+
+    private static boolean contient(Maillon<?, ?> chaine, Object cle) {
+        for (Maillon<?, ?> maillon = chaine; maillon != null; maillon = maillon.suivant) {
+            if (Objects.equals(maillon.cle, cle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recopie la chaîne privée de la clé ; les maillons qui suivent la clé sont partagés
+     */
+    private static <K, V> Maillon<K, V> sans(Maillon<K, V> chaine, Object cle) {
+        if (Objects.equals(chaine.cle, cle)) {
+            return chaine.suivant;
+        }
+        return new Maillon<>(chaine.cle, chaine.valeur, sans(chaine.suivant, cle));
+    }
+
+    /**
+     * Maillon immuable d'une chaîne de clés de même code de hachage
+     */
+    private static final class Maillon<K, V> {
+        private final K cle;
+        private final V valeur;
+        private final Maillon<K, V> suivant;
+
+        private Maillon(K cle, V valeur, Maillon<K, V> suivant) {
+            this.cle = cle;
+            this.valeur = valeur;
+            this.suivant = suivant;
+        }
+    }
+}
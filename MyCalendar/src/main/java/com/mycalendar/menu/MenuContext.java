@@ -4,6 +4,7 @@ import java.util.Scanner;
 
 import com.mycalendar.CalendarManager;
 import com.mycalendar.UserManager;
+import com.mycalendar.session.JetonSession;
 import com.mycalendar.valueobjects.Utilisateur;
 
 /**
@@ -13,7 +14,8 @@ public class MenuContext {
     private final CalendarManager calendarManager;
     private final UserManager userManager;
     private final Scanner scanner;
-    private Utilisateur utilisateurConnecte;
+    // Session de l'utilisateur connecté : elle peut expirer entre deux actions
+    private JetonSession session;
     
     /**
      * Crée un contexte de menu
@@ -26,7 +28,7 @@ public class MenuContext {
         this.calendarManager = calendarManager;
         this.userManager = userManager;
         this.scanner = scanner;
-        this.utilisateurConnecte = null;
+        this.session = null;
     }
     
     /**
@@ -57,29 +59,50 @@ public class MenuContext {
     }
     
     /**
-     * Obtient l'utilisateur actuellement connecté
+     * Obtient l'utilisateur actuellement connecté ; chaque appel prolonge sa session
      * 
-     * @return L'utilisateur connecté ou null si aucun utilisateur n'est connecté
+     * @return L'utilisateur connecté ou null si aucun utilisateur n'est connecté ou si sa session a expiré
      */
     public Utilisateur getUtilisateurConnecte() {
-        return utilisateurConnecte;
+        return session == null ? null : userManager.utilisateurSession(session);
     }
     
     /**
-     * Définit l'utilisateur connecté
+     * Définit l'utilisateur connecté, déjà authentifié, en lui ouvrant une session
      * 
-     * @param utilisateur L'utilisateur connecté
+     * @param utilisateur L'utilisateur connecté, ou null pour fermer la session en cours
      */
     public void setUtilisateurConnecte(Utilisateur utilisateur) {
-        this.utilisateurConnecte = utilisateur;
+        setSession(utilisateur == null ? null : userManager.getSessions().ouvrir(utilisateur));
+    }
+    
+    /**
+     * Obtient la session en cours
+     * 
+     * @return Le jeton de la session, ou null si aucun utilisateur ne s'est connecté
+     */
+    public JetonSession getSession() {
+        return session;
+    }
+    
+    /**
+     * Remplace la session en cours, qui est fermée
+     * 
+     * @param session Le jeton de la nouvelle session, ou null pour se déconnecter
+     */
+    public void setSession(JetonSession session) {
+        if (this.session != null && !this.session.equals(session)) {
+            userManager.deconnecter(this.session);
+        }
+        this.session = session;
     }
     
     /**
      * Vérifie si un utilisateur est connecté
      * 
-     * @return true si un utilisateur est connecté, false sinon
+     * @return true si un utilisateur est connecté et que sa session n'a pas expiré, false sinon
      */
     public boolean estConnecte() {
-        return utilisateurConnecte != null;
+        return getUtilisateurConnecte() != null;
     }
 }
@@ -2,11 +2,14 @@ package com.mycalendar.menu.ajouter;
 
 import com.mycalendar.menu.MenuAction;
 import com.mycalendar.menu.MenuContext;
+import com.mycalendar.planification.Conflit;
 import com.mycalendar.valueobjects.DateEvenement;
 import com.mycalendar.valueobjects.DureeEvenement;
 import com.mycalendar.valueobjects.HeureDebut;
 import com.mycalendar.valueobjects.TitreEvenement;
 
+import java.util.List;
+
 /**
  * Action pour ajouter un rendez-vous personnel
  */
@@ -37,7 +40,7 @@ public class AjouterRendezVousPersonnelAction implements MenuAction {
             DureeEvenement duree = new DureeEvenement(Integer.parseInt(context.getScanner().nextLine()));
             
             // Ajout de l'événement au calendrier
-            context.getCalendarManager().ajouterRendezVousPersonnel(
+            List<Conflit> conflits = context.getCalendarManager().ajouterRendezVousPersonnel(
                 titre, 
                 context.getUtilisateurConnecte(), 
                 date, 
@@ -46,6 +49,9 @@ public class AjouterRendezVousPersonnelAction implements MenuAction {
             );
             
             System.out.println("Rendez-vous personnel ajouté avec succès.");
+            for (Conflit conflit : conflits) {
+                System.out.println("Attention : " + conflit);
+            }
         } catch (NumberFormatException e) {
             System.out.println("Erreur de format de nombre: " + e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -2,6 +2,9 @@ package com.mycalendar.menu.ajouter;
 
 import com.mycalendar.menu.MenuAction;
 import com.mycalendar.menu.MenuContext;
+import com.mycalendar.planification.Conflit;
+import com.mycalendar.planification.CreneauLibre;
+import com.mycalendar.planification.PlanificateurCreneaux;
 import com.mycalendar.valueobjects.DateEvenement;
 import com.mycalendar.valueobjects.DureeEvenement;
 import com.mycalendar.valueobjects.HeureDebut;
@@ -9,10 +12,18 @@ import com.mycalendar.valueobjects.LieuEvenement;
 import com.mycalendar.valueobjects.ParticipantsEvenement;
 import com.mycalendar.valueobjects.TitreEvenement;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
 /**
  * Action pour ajouter une réunion
+ * Si l'horaire saisi n'est pas libre pour tous les participants, les premiers
+ * créneaux libres des trois mois suivants sont proposés à la place
  */
 public class AjouterReunionAction implements MenuAction {
+    private static final int PROPOSITIONS = 5;
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     
     @Override
     public boolean executer(MenuContext context) {
@@ -59,10 +70,16 @@ public class AjouterReunionAction implements MenuAction {
                 }
             }
             
-            ParticipantsEvenement participants = ParticipantsEvenement.fromString(participantsStr);
+            ParticipantsEvenement participants = context.getUserManager().participants(participantsStr);
+            
+            CreneauLibre propose = proposerCreneau(context, participants, date, heureDebut, duree);
+            if (propose != null) {
+                date = DateEvenement.fromLocalDate(propose.getDebut().toLocalDate());
+                heureDebut = HeureDebut.fromLocalTime(propose.getDebut().toLocalTime());
+            }
             
             // Ajout de l'événement au calendrier
-            context.getCalendarManager().ajouterReunion(
+            List<Conflit> conflits = context.getCalendarManager().ajouterReunion(
                 titre, 
                 context.getUtilisateurConnecte(), 
                 date, 
@@ -73,6 +90,9 @@ public class AjouterReunionAction implements MenuAction {
             );
             
             System.out.println("Réunion ajoutée avec succès.");
+            for (Conflit conflit : conflits) {
+                System.out.println("Attention : " + conflit);
+            }
         } catch (NumberFormatException e) {
             System.out.println("Erreur de format de nombre: " + e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -84,6 +104,50 @@ public class AjouterReunionAction implements MenuAction {
         return true;
     }
     
+    /**
+     * Propose d'autres créneaux quand l'horaire saisi n'est pas libre pour tous
+     * 
+     * @return Le créneau choisi, ou null pour garder l'horaire saisi
+     */
+    private CreneauLibre proposerCreneau(MenuContext context, ParticipantsEvenement participants,
+                                         DateEvenement date, HeureDebut heureDebut, DureeEvenement duree) {
+        if (duree.getMinutes() == 0) {
+            return null;
+        }
+        
+        LocalDateTime debut = LocalDateTime.of(date.toLocalDate(), heureDebut.toLocalTime());
+        LocalDateTime fin = debut.plusMinutes(duree.getMinutes());
+        if (!context.getCalendarManager().trouverCreneauxLibres(participants, duree, debut, fin, 1).isEmpty()) {
+            return null;
+        }
+        
+        List<CreneauLibre> creneaux = context.getCalendarManager().trouverCreneauxLibres(
+            participants, duree, debut, debut.plus(PlanificateurCreneaux.HORIZON_DEFAUT),
+            PlanificateurCreneaux.OUVERTURE_DEFAUT, PlanificateurCreneaux.FERMETURE_DEFAUT, PROPOSITIONS);
+        if (creneaux.isEmpty()) {
+            System.out.println("Aucun créneau libre pour tous les participants dans les trois prochains mois.");
+            return null;
+        }
+        
+        System.out.println("Cet horaire n'est pas libre pour tous les participants. Créneaux libres :");
+        for (int i = 0; i < creneaux.size(); i++) {
+            CreneauLibre creneau = creneaux.get(i);
+            System.out.println((i + 1) + ". " + creneau.getDebut().format(FORMAT)
+                + " (libre jusqu'à " + creneau.getFin().format(FORMAT) + ")");
+        }
+        System.out.print("Numéro du créneau choisi (vide pour garder l'horaire saisi) : ");
+        String choix = context.getScanner().nextLine().trim();
+        if (choix.isEmpty()) {
+            return null;
+        }
+        
+        int numero = Integer.parseInt(choix);
+        if (numero < 1 || numero > creneaux.size()) {
+            throw new IllegalArgumentException("Numéro de créneau invalide : " + numero);
+        }
+        return creneaux.get(numero - 1);
+    }
+    
     @Override
     public boolean estDisponible(MenuContext context) {
         return context.estConnecte();
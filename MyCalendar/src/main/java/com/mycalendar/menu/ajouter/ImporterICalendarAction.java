@@ -0,0 +1,51 @@
+package com.mycalendar.menu.ajouter;
+
+import com.mycalendar.ical.ImportateurICalendar;
+import com.mycalendar.ical.RapportImport;
+import com.mycalendar.menu.MenuAction;
+import com.mycalendar.menu.MenuContext;
+
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Action pour importer les événements d'un fichier iCalendar (.ics)
+ */
+public class ImporterICalendarAction implements MenuAction {
+    
+    @Override
+    public boolean executer(MenuContext context) {
+        System.out.print("Chemin du fichier .ics : ");
+        try {
+            Path fichier = Paths.get(context.getScanner().nextLine().trim());
+            
+            RapportImport rapport = new ImportateurICalendar(
+                context.getCalendarManager(),
+                context.getUtilisateurConnecte()
+            ).importer(fichier);
+            
+            System.out.println("Import terminé : " + rapport + ".");
+            for (String avertissement : rapport.getAvertissements()) {
+                System.out.println("Attention : " + avertissement);
+            }
+        } catch (InvalidPathException e) {
+            System.out.println("Chemin invalide: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("Erreur de lecture: " + e.getMessage());
+        }
+        
+        return true;
+    }
+    
+    @Override
+    public boolean estDisponible(MenuContext context) {
+        return context.estConnecte();
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Importer un fichier iCalendar";
+    }
+}
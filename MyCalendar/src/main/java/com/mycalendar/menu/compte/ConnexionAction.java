@@ -2,7 +2,7 @@ package com.mycalendar.menu.compte;
 
 import com.mycalendar.menu.MenuAction;
 import com.mycalendar.menu.MenuContext;
-import com.mycalendar.valueobjects.Utilisateur;
+import com.mycalendar.session.JetonSession;
 
 /**
  * Action pour se connecter à l'application
@@ -16,12 +16,17 @@ public class ConnexionAction implements MenuAction {
         System.out.print("Mot de passe: ");
         String motDePasse = context.getScanner().nextLine();
 
-        if (context.getUserManager().verifierAuthentification(nomUtilisateur, motDePasse)) {
-            Utilisateur utilisateur = context.getUserManager().rechercherUtilisateur(nomUtilisateur);
-            context.setUtilisateurConnecte(utilisateur);
-            System.out.println("Connexion réussie !");
-        } else {
-            System.out.println("Nom d'utilisateur ou mot de passe incorrect.");
+        try {
+            JetonSession session = context.getUserManager().connecter(nomUtilisateur, motDePasse);
+            if (session != null) {
+                context.setSession(session);
+                System.out.println("Connexion réussie !");
+            } else {
+                System.out.println("Nom d'utilisateur ou mot de passe incorrect.");
+            }
+        } catch (IllegalStateException e) {
+            // Vérifications saturées
+            System.out.println(e.getMessage());
         }
         
         return true;
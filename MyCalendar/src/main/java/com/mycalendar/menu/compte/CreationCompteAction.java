@@ -2,7 +2,6 @@ package com.mycalendar.menu.compte;
 
 import com.mycalendar.menu.MenuAction;
 import com.mycalendar.menu.MenuContext;
-import com.mycalendar.valueobjects.Utilisateur;
 
 /**
  * Action pour créer un compte utilisateur
@@ -23,12 +22,16 @@ public class CreationCompteAction implements MenuAction {
             return true;
         }
         
-        if (context.getUserManager().creerCompte(nomUtilisateur, motDePasse)) {
-            System.out.println("Compte créé avec succès !");
-            Utilisateur utilisateur = context.getUserManager().rechercherUtilisateur(nomUtilisateur);
-            context.setUtilisateurConnecte(utilisateur);
-        } else {
-            System.out.println("Impossible de créer le compte.");
+        try {
+            if (context.getUserManager().creerCompte(nomUtilisateur, motDePasse)) {
+                System.out.println("Compte créé avec succès !");
+                context.setSession(context.getUserManager().ouvrirSession(nomUtilisateur));
+            } else {
+                System.out.println("Impossible de créer le compte.");
+            }
+        } catch (IllegalStateException e) {
+            // Calculs d'empreinte saturés
+            System.out.println(e.getMessage());
         }
         
         return true;
@@ -12,7 +12,7 @@ public class DeconnexionAction implements MenuAction {
     public boolean executer(MenuContext context) {
         System.out.println("Déconnexion ! Voulez-vous continuer ? (oui/non)");
         boolean continuer = context.getScanner().nextLine().trim().equalsIgnoreCase("oui");
-        context.setUtilisateurConnecte(null);
+        context.setSession(null);
         return continuer;
     }
     
@@ -0,0 +1,53 @@
+package com.mycalendar.menu.exporter;
+
+import com.mycalendar.ical.ExportateurICalendar;
+import com.mycalendar.menu.MenuAction;
+import com.mycalendar.menu.MenuContext;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Action pour exporter l'agenda personnel de l'utilisateur connecté dans un fichier iCalendar (.ics)
+ */
+public class ExporterICalendarAction implements MenuAction {
+    
+    @Override
+    public boolean executer(MenuContext context) {
+        System.out.print("Chemin du fichier .ics : ");
+        try {
+            Path fichier = Paths.get(context.getScanner().nextLine().trim());
+            
+            int nombre;
+            try (Writer sortie = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+                nombre = new ExportateurICalendar().exporter(
+                    context.getCalendarManager().parcourirAgendaPersonnel(context.getUtilisateurConnecte()),
+                    sortie
+                );
+            }
+            
+            System.out.println(nombre + " événement(s) exporté(s) dans " + fichier + ".");
+        } catch (InvalidPathException e) {
+            System.out.println("Chemin invalide: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erreur d'écriture: " + e.getMessage());
+        }
+        
+        return true;
+    }
+    
+    @Override
+    public boolean estDisponible(MenuContext context) {
+        return context.estConnecte();
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Exporter mon agenda au format iCalendar";
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycalendar.menu.rechercher;
+
+import java.util.List;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.menu.MenuAction;
+import com.mycalendar.menu.MenuContext;
+
+/**
+ * Action pour rechercher des événements par mots-clés
+ * Les mots sont cherchés dans les titres, les lieux et les noms des participants
+ */
+public class RechercherEvenementsAction implements MenuAction {
+    // Nombre maximal de résultats affichés
+    static final int RESULTATS = 20;
+    
+    @Override
+    public boolean executer(MenuContext context) {
+        System.out.println("\n=== Recherche d'Événements ===");
+        System.out.print("Mots-clés : ");
+        String requete = context.getScanner().nextLine().trim();
+        
+        if (requete.isEmpty()) {
+            System.out.println("Aucun mot-clé saisi");
+            return true;
+        }
+        
+        List<Evenement> resultats = context.getCalendarManager().rechercher(requete, RESULTATS);
+        if (resultats.isEmpty()) {
+            System.out.println("Aucun événement ne correspond à « " + requete + " »");
+            return true;
+        }
+        
+        System.out.println(resultats.size() + " résultat(s) pour « " + requete + " », du plus pertinent au moins pertinent :");
+        for (int i = 0; i < resultats.size(); i++) {
+            System.out.println((i + 1) + " - " + resultats.get(i).description());
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean estDisponible(MenuContext context) {
+        return context.estConnecte();
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Rechercher des événements";
+    }
+}
@@ -0,0 +1,412 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodage binaire compact des événements et de leurs value objects
+ *
+ * Chaque événement commence par une étiquette dérivée de son {@link TypeEvenement} ;
+ * seuls les champs propres à son type suivent. Les entiers sont écrits en varint,
+ * et la date et l'heure de début ne forment qu'un seul nombre : l'écart, en minutes,
+ * avec le début de l'événement précédent. Les utilisateurs passent par un
+ * dictionnaire : la première mention écrit l'identifiant, les suivantes un simple
+ * numéro. Un codec porte donc un état ; il encode ou décode une suite d'événements,
+ * et un flux doit être relu par un codec neuf, dans l'ordre d'écriture.
+ *
+ * Les mots de passe ne sont jamais écrits : les utilisateurs sont relus par leur
+ * identifiant, comme les participants saisis par leur nom.
+ */
+public final class CodecEvenement {
+    /**
+     * Version du format, à enregistrer par le conteneur avant les événements
+     */
+    public static final byte VERSION = 1;
+
+    private static final byte ETIQUETTE_RDV_PERSONNEL = 1;
+    private static final byte ETIQUETTE_REUNION = 2;
+    private static final byte ETIQUETTE_PERIODIQUE = 3;
+    private static final byte ETIQUETTE_TACHE = 4;
+
+    private static final byte IDENTIFIANT_UUID = 0;
+    private static final byte IDENTIFIANT_LIBRE = 1;
+
+    // Rang écrit pour chaque priorité, indépendant de l'ordre de déclaration de l'énumération
+    private static final PrioriteTache[] PRIORITES = {PrioriteTache.HAUTE, PrioriteTache.MOYENNE, PrioriteTache.BASSE};
+
+    private static final int TAILLE_MAX_VARINT = 10;
+
+    private final Map<String, Integer> numerosEcrits = new HashMap<>();
+    private final List<Utilisateur> utilisateursLus = new ArrayList<>();
+    private long debutPrecedent;
+    private byte[] octets = new byte[64];
+
+    /**
+     * Vérifie qu'un flux a été écrit dans la version connue du format
+     *
+     * @param version Version lue dans le conteneur
+     * @throws IllegalArgumentException si la version n'est pas prise en charge
+     */
+    public static void verifierVersion(int version) {
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Version du format d'événement non prise en charge : " + version);
+        }
+    }
+
+    /**
+     * Remet le codec dans l'état d'un codec neuf, pour commencer un nouveau flux
+     */
+    public void reinitialiser() {
+        numerosEcrits.clear();
+        utilisateursLus.clear();
+        debutPrecedent = 0;
+    }
+
+    /**
+     * Majore la place nécessaire à l'écriture d'un événement
+     *
+     * @param evenement L'événement à écrire
+     * @return Un nombre d'octets suffisant, quel que soit l'état du dictionnaire
+     */
+    public static int tailleMaximale(Evenement evenement) {
+        int taille = 1 + tailleMaximale(evenement.getId())
+                + tailleMaximale(evenement.getTitre().getValeur())
+                + tailleMaximale(evenement.getProprietaire())
+                + 3 * TAILLE_MAX_VARINT + 1
+                + tailleMaximale(evenement.getLieu().getValeur());
+        for (Utilisateur participant : evenement.getParticipants().getUtilisateurs()) {
+            taille += tailleMaximale(participant);
+        }
+        return taille;
+    }
+
+    /**
+     * Majore la place nécessaire à l'écriture d'un identifiant
+     *
+     * @param eventId L'identifiant à écrire
+     * @return Un nombre d'octets suffisant
+     */
+    public static int tailleMaximale(EventId eventId) {
+        return 1 + (eventId.estUuid() ? 2 * Long.BYTES : tailleMaximale(eventId.getValeur()));
+    }
+
+    /**
+     * Écrit un événement
+     *
+     * @param sortie Destination, avec au moins {@link #tailleMaximale(Evenement)} octets disponibles
+     * @param evenement L'événement à écrire
+     * @throws java.nio.BufferOverflowException si la place manque ; le codec est alors inutilisable
+     *         jusqu'à {@link #reinitialiser()}
+     */
+    public void ecrire(ByteBuffer sortie, Evenement evenement) {
+        sortie.put(etiquette(evenement.getType()));
+        ecrireIdentifiant(sortie, evenement.getId());
+        ecrireChaine(sortie, evenement.getTitre().getValeur());
+        ecrireUtilisateur(sortie, evenement.getProprietaire());
+
+        long debut = evenement.getDebutEpochMinutes();
+        ecrireVarint(sortie, zigzag(debut - debutPrecedent));
+        debutPrecedent = debut;
+
+        switch (evenement.getType()) {
+            case RDV_PERSONNEL:
+                ecrireVarint(sortie, evenement.getDuree().getMinutes());
+                break;
+            case REUNION:
+                ecrireVarint(sortie, evenement.getDuree().getMinutes());
+                ecrireChaine(sortie, evenement.getLieu().getValeur());
+                ecrireParticipants(sortie, evenement.getParticipants());
+                break;
+            case PERIODIQUE:
+                ecrireVarint(sortie, evenement.getFrequence().getJoursEntrePeriodes());
+                break;
+            case TACHE:
+                ecrireVarint(sortie, evenement.getDuree().getMinutes());
+                sortie.put(rang(((Tache) evenement).getPriorite()));
+                break;
+            default:
+                throw new IllegalArgumentException("Type d'événement non pris en charge : " + evenement.getType());
+        }
+    }
+
+    /**
+     * Lit un événement écrit par {@link #ecrire}
+     *
+     * @param entree Source
+     * @return L'événement relu
+     * @throws IllegalArgumentException si les données sont tronquées ou invalides
+     */
+    public Evenement lire(ByteBuffer entree) {
+        try {
+            byte etiquette = entree.get();
+            EventId id = lireIdentifiant(entree);
+            TitreEvenement titre = new TitreEvenement(lireChaine(entree));
+            Utilisateur proprietaire = lireUtilisateur(entree);
+
+            long debut = debutPrecedent + dezigzag(lireVarint(entree));
+            debutPrecedent = debut;
+            long jour = Math.floorDiv(debut, MinutesEpoch.MINUTES_PAR_JOUR);
+            int minuteDuJour = (int) Math.floorMod(debut, MinutesEpoch.MINUTES_PAR_JOUR);
+            DateEvenement date = DateEvenement.fromLocalDate(LocalDate.ofEpochDay(jour));
+            HeureDebut heureDebut = new HeureDebut(minuteDuJour / 60, minuteDuJour % 60);
+
+            switch (etiquette) {
+                case ETIQUETTE_RDV_PERSONNEL:
+                    return new RendezVousPersonnel(id, titre, proprietaire, date, heureDebut, lireDuree(entree));
+                case ETIQUETTE_REUNION:
+                    DureeEvenement duree = lireDuree(entree);
+                    LieuEvenement lieu = new LieuEvenement(lireChaine(entree));
+                    return new Reunion(id, titre, proprietaire, date, heureDebut, duree, lieu, lireParticipants(entree));
+                case ETIQUETTE_PERIODIQUE:
+                    FrequenceEvenement frequence = new FrequenceEvenement(lireEntier(entree));
+                    return new EvenementPeriodique(id, titre, proprietaire, date, heureDebut, frequence);
+                case ETIQUETTE_TACHE:
+                    DureeEvenement dureeTache = lireDuree(entree);
+                    return new Tache(id, titre, proprietaire, date, heureDebut, dureeTache, lirePriorite(entree));
+                default:
+                    throw new IllegalArgumentException("Étiquette d'événement inconnue : " + etiquette);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Données d'événement tronquées", e);
+        }
+    }
+
+    /**
+     * Écrit un identifiant d'événement : deux entiers longs pour un UUID, sa valeur sinon
+     *
+     * @param sortie Destination, avec au moins {@link #tailleMaximale(EventId)} octets disponibles
+     * @param eventId L'identifiant à écrire
+     */
+    public void ecrireIdentifiant(ByteBuffer sortie, EventId eventId) {
+        if (eventId.estUuid()) {
+            sortie.put(IDENTIFIANT_UUID);
+            sortie.putLong(eventId.getPoidsFort());
+            sortie.putLong(eventId.getPoidsFaible());
+        } else {
+            sortie.put(IDENTIFIANT_LIBRE);
+            ecrireChaine(sortie, eventId.getValeur());
+        }
+    }
+
+    /**
+     * Lit un identifiant écrit par {@link #ecrireIdentifiant}
+     *
+     * @param entree Source
+     * @return L'identifiant relu
+     * @throws IllegalArgumentException si les données sont tronquées ou invalides
+     */
+    public EventId lireIdentifiant(ByteBuffer entree) {
+        try {
+            byte forme = entree.get();
+            if (forme == IDENTIFIANT_UUID) {
+                long poidsFort = entree.getLong();
+                return EventId.fromUuid(poidsFort, entree.getLong());
+            }
+            if (forme == IDENTIFIANT_LIBRE) {
+                return new EventId(lireChaine(entree));
+            }
+            throw new IllegalArgumentException("Forme d'identifiant inconnue : " + forme);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Identifiant tronqué", e);
+        }
+    }
+
+    private static byte etiquette(TypeEvenement type) {
+        switch (type) {
+            case RDV_PERSONNEL:
+                return ETIQUETTE_RDV_PERSONNEL;
+            case REUNION:
+                return ETIQUETTE_REUNION;
+            case PERIODIQUE:
+                return ETIQUETTE_PERIODIQUE;
+            case TACHE:
+                return ETIQUETTE_TACHE;
+            default:
+                throw new IllegalArgumentException("Type d'événement non pris en charge : " + type);
+        }
+    }
+
+    private void ecrireParticipants(ByteBuffer sortie, ParticipantsEvenement participants) {
+        List<Utilisateur> utilisateurs = participants.getUtilisateurs();
+        ecrireVarint(sortie, utilisateurs.size());
+        for (Utilisateur utilisateur : utilisateurs) {
+            ecrireUtilisateur(sortie, utilisateur);
+        }
+    }
+
+    private ParticipantsEvenement lireParticipants(ByteBuffer entree) {
+        int nombre = lireEntier(entree);
+        List<Utilisateur> utilisateurs = new ArrayList<>(Math.min(nombre, entree.remaining()));
+        for (int i = 0; i < nombre; i++) {
+            utilisateurs.add(lireUtilisateur(entree));
+        }
+        return ParticipantsEvenement.avecUtilisateurs(utilisateurs);
+    }
+
+    /**
+     * Écrit 0 suivi de l'identifiant à la première mention d'un utilisateur,
+     * son numéro dans le dictionnaire augmenté de 1 ensuite
+     */
+    private void ecrireUtilisateur(ByteBuffer sortie, Utilisateur utilisateur) {
+        String identifiant = utilisateur.getIdentifiant();
+        Integer numero = numerosEcrits.get(identifiant);
+        if (numero != null) {
+            ecrireVarint(sortie, numero + 1L);
+            return;
+        }
+        sortie.put((byte) 0);
+        ecrireChaine(sortie, identifiant);
+        numerosEcrits.put(identifiant, numerosEcrits.size());
+    }
+
+    private Utilisateur lireUtilisateur(ByteBuffer entree) {
+        int reference = lireEntier(entree);
+        if (reference == 0) {
+            Utilisateur utilisateur = new Utilisateur(lireChaine(entree));
+            utilisateursLus.add(utilisateur);
+            return utilisateur;
+        }
+        if (reference > utilisateursLus.size()) {
+            throw new IllegalArgumentException("Référence d'utilisateur inconnue : " + reference);
+        }
+        return utilisateursLus.get(reference - 1);
+    }
+
+    private DureeEvenement lireDuree(ByteBuffer entree) {
+        return new DureeEvenement(lireEntier(entree));
+    }
+
+    private PrioriteTache lirePriorite(ByteBuffer entree) {
+        int rang = entree.get();
+        if (rang < 0 || rang >= PRIORITES.length) {
+            throw new IllegalArgumentException("Priorité inconnue : " + rang);
+        }
+        return PRIORITES[rang];
+    }
+
+    private static byte rang(PrioriteTache priorite) {
+        for (byte rang = 0; rang < PRIORITES.length; rang++) {
+            if (PRIORITES[rang] == priorite) {
+                return rang;
+            }
+        }
+        throw new IllegalArgumentException("Priorité non prise en charge : " + priorite);
+    }
+
+    /**
+     * Écrit une chaîne en UTF-8, précédée de sa longueur en octets, sans tableau intermédiaire
+     */
+    private static void ecrireChaine(ByteBuffer sortie, String chaine) {
+        int longueur = chaine.length();
+        int octetsUtf8 = 0;
+        for (int i = 0; i < longueur; i++) {
+            char c = chaine.charAt(i);
+            if (c < 0x80) {
+                octetsUtf8++;
+            } else if (c < 0x800) {
+                octetsUtf8 += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < longueur
+                    && Character.isLowSurrogate(chaine.charAt(i + 1))) {
+                octetsUtf8 += 4;
+                i++;
+            } else {
+                octetsUtf8 += 3;
+            }
+        }
+
+        ecrireVarint(sortie, octetsUtf8);
+        for (int i = 0; i < longueur; i++) {
+            char c = chaine.charAt(i);
+            if (c < 0x80) {
+                sortie.put((byte) c);
+            } else if (c < 0x800) {
+                sortie.put((byte) (0xC0 | (c >> 6)));
+                sortie.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < longueur
+                    && Character.isLowSurrogate(chaine.charAt(i + 1))) {
+                int point = Character.toCodePoint(c, chaine.charAt(++i));
+                sortie.put((byte) (0xF0 | (point >> 18)));
+                sortie.put((byte) (0x80 | ((point >> 12) & 0x3F)));
+                sortie.put((byte) (0x80 | ((point >> 6) & 0x3F)));
+                sortie.put((byte) (0x80 | (point & 0x3F)));
+            } else {
+                sortie.put((byte) (0xE0 | (c >> 12)));
+                sortie.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                sortie.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private String lireChaine(ByteBuffer entree) {
+        int longueur = lireEntier(entree);
+        if (longueur > entree.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        if (entree.hasArray()) {
+            String chaine = new String(entree.array(), entree.arrayOffset() + entree.position(),
+                longueur, StandardCharsets.UTF_8);
+            entree.position(entree.position() + longueur);
+            return chaine;
+        }
+
+        // Tampon projeté ou direct : copie dans un tableau réutilisé d'un appel à l'autre
+        if (octets.length < longueur) {
+            octets = new byte[Math.max(longueur, 2 * octets.length)];
+        }
+        entree.get(octets, 0, longueur);
+        return new String(octets, 0, longueur, StandardCharsets.UTF_8);
+    }
+
+    private static int tailleMaximale(String chaine) {
+        return TAILLE_MAX_VARINT + 3 * chaine.length();
+    }
+
+    private static int tailleMaximale(Utilisateur utilisateur) {
+        return TAILLE_MAX_VARINT + 1 + tailleMaximale(utilisateur.getIdentifiant());
+    }
+
+    static void ecrireVarint(ByteBuffer sortie, long valeur) {
+        while ((valeur & ~0x7FL) != 0) {
+            sortie.put((byte) ((valeur & 0x7F) | 0x80));
+            valeur >>>= 7;
+        }
+        sortie.put((byte) valeur);
+    }
+
+    static long lireVarint(ByteBuffer entree) {
+        long valeur = 0;
+        for (int decalage = 0; decalage < 64; decalage += 7) {
+            byte octet = entree.get();
+            valeur |= (long) (octet & 0x7F) << decalage;
+            if (octet >= 0) {
+                return valeur;
+            }
+        }
+        throw new IllegalArgumentException("Entier variable trop long");
+    }
+
+    private static int lireEntier(ByteBuffer entree) {
+        long valeur = lireVarint(entree);
+        if (valeur < 0 || valeur > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Entier hors limites : " + valeur);
+        }
+        return (int) valeur;
+    }
+
+    static long zigzag(long valeur) {
+        return (valeur << 1) ^ (valeur >> 63);
+    }
+
+    static long dezigzag(long valeur) {
+        return (valeur >>> 1) ^ -(valeur & 1);
+    }
+}
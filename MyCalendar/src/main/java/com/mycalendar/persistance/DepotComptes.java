@@ -0,0 +1,54 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.securite.Compte;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Conservation des comptes utilisateurs
+ *
+ * Chaque compte créé est ajouté seul, sans réécrire les comptes existants :
+ * la création reste en temps constant quel que soit le nombre de comptes.
+ * Seules les empreintes des mots de passe sont conservées.
+ */
+public interface DepotComptes {
+
+    /**
+     * Nom du fichier des comptes dans le dossier des données
+     */
+    String FICHIER = "comptes.instantane";
+
+    /**
+     * Charge les comptes enregistrés
+     *
+     * @return Les comptes, dans leur ordre de création ; vide si aucun n'a été enregistré
+     */
+    List<Compte> charger();
+
+    /**
+     * Enregistre durablement un compte créé, à la suite des comptes déjà enregistrés
+     *
+     * @param compte Le compte créé
+     */
+    void ajouter(Compte compte);
+
+    /**
+     * Obtient le dépôt qui ne conserve rien : les comptes restent en mémoire
+     *
+     * @return Le dépôt en mémoire
+     */
+    static DepotComptes enMemoire() {
+        return DepotComptesEnMemoire.INSTANCE;
+    }
+
+    /**
+     * Obtient le dépôt du dossier désigné par la propriété système
+     * {@value JournalEvenements#PROPRIETE_DOSSIER}, ou le dépôt en mémoire si elle n'est pas définie
+     *
+     * @return Le dépôt configuré
+     */
+    static DepotComptes depuisConfiguration() {
+        Path dossier = DossierDonnees.depuisConfiguration();
+        return dossier == null ? enMemoire() : new FichierComptes(dossier.resolve(FICHIER));
+    }
+}
@@ -0,0 +1,24 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.securite.Compte;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dépôt qui ne conserve rien : mode par défaut, où les comptes vivent en mémoire
+ */
+final class DepotComptesEnMemoire implements DepotComptes {
+    static final DepotComptesEnMemoire INSTANCE = new DepotComptesEnMemoire();
+
+    private DepotComptesEnMemoire() {
+    }
+
+    @Override
+    public List<Compte> charger() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void ajouter(Compte compte) {
+    }
+}
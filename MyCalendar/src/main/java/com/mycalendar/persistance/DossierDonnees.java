@@ -0,0 +1,26 @@
+package com.mycalendar.persistance;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Dossier où sont conservés le journal, les instantanés et les comptes
+ */
+final class DossierDonnees {
+
+    private DossierDonnees() {
+    }
+
+    /**
+     * Lit la propriété système {@value JournalEvenements#PROPRIETE_DOSSIER}
+     *
+     * @return Le dossier configuré, ou null si les données restent en mémoire
+     */
+    static Path depuisConfiguration() {
+        String dossier = System.getProperty(JournalEvenements.PROPRIETE_DOSSIER);
+        if (dossier == null || dossier.trim().isEmpty()) {
+            return null;
+        }
+        return Paths.get(dossier.trim());
+    }
+}
@@ -0,0 +1,143 @@
+package com.mycalendar.persistance;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Lecture de données binaires directement dans un tampon, par exemple un fichier projeté en mémoire
+ *
+ * Les octets sont décodés sur place, sans copie intermédiaire dans un flux.
+ */
+final class EntreeTampon implements DataInput {
+    private final ByteBuffer tampon;
+
+    /**
+     * @param tampon Tampon à lire à partir de sa position courante
+     */
+    EntreeTampon(ByteBuffer tampon) {
+        this.tampon = tampon;
+    }
+
+    /**
+     * @return Le nombre d'octets restant à lire
+     */
+    int restants() {
+        return tampon.remaining();
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        verifier(len);
+        tampon.get(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int sautes = Math.min(Math.max(n, 0), tampon.remaining());
+        tampon.position(tampon.position() + sautes);
+        return sautes;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        verifier(Byte.BYTES);
+        return tampon.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        verifier(Short.BYTES);
+        return tampon.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        verifier(Character.BYTES);
+        return tampon.getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        verifier(Integer.BYTES);
+        return tampon.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        verifier(Long.BYTES);
+        return tampon.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Lit une ligne d'octets, chacun pris comme un caractère, selon le contrat de {@link DataInput#readLine()}
+     * La fin de ligne (\n, \r ou \r\n) est consommée mais pas rendue
+     *
+     * @return La ligne, ou null si le tampon est épuisé
+     */
+    @Override
+    public String readLine() {
+        if (!tampon.hasRemaining()) {
+            return null;
+        }
+
+        StringBuilder ligne = new StringBuilder();
+        while (tampon.hasRemaining()) {
+            char caractere = (char) (tampon.get() & 0xFF);
+            if (caractere == '\n') {
+                break;
+            }
+            if (caractere == '\r') {
+                if (tampon.hasRemaining() && tampon.get(tampon.position()) == '\n') {
+                    tampon.get();
+                }
+                break;
+            }
+            ligne.append(caractere);
+        }
+        return ligne.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    private void verifier(int octets) throws EOFException {
+        if (tampon.remaining() < octets) {
+            throw new EOFException();
+        }
+    }
+}
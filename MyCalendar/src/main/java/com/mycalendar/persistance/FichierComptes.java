@@ -0,0 +1,232 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.securite.Compte;
+import com.mycalendar.securite.EmpreinteMotDePasse;
+import com.mycalendar.securite.VerificateurMotsDePasse;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Comptes utilisateurs conservés dans un fichier d'instantané suivi d'un journal en ajout seul
+ *
+ * Chaque compte créé est ajouté au journal, encadré par sa longueur et une somme
+ * CRC32, sans réécrire les comptes existants. Au chargement, le journal est relu
+ * jusqu'au premier enregistrement incomplet ; quand il contient plus de comptes
+ * que l'instantané, les deux sont fusionnés dans un nouvel instantané et le journal
+ * est vidé : chaque compte n'est ainsi réécrit qu'un nombre borné de fois.
+ *
+ * Chaque compte est enregistré avec l'empreinte encodée de son mot de passe. Un
+ * fichier écrit avant l'introduction des empreintes contient des mots de passe
+ * en clair : ils sont convertis en empreintes au chargement, et le fichier réécrit.
+ */
+public final class FichierComptes implements DepotComptes {
+    private static final int MAGIQUE = 0x4D594341;
+    private static final byte VERSION = 1;
+    private static final int TAILLE_ENTETE = 5;
+    private static final int TAILLE_MAX_ENREGISTREMENT = 1 << 20;
+
+    private final Path chemin;
+    private final Path cheminJournal;
+
+    /**
+     * @param chemin Chemin du fichier des comptes ; son journal est placé à côté,
+     *               et leur dossier est créé au premier enregistrement
+     */
+    public FichierComptes(Path chemin) {
+        this.chemin = chemin;
+        this.cheminJournal = chemin.resolveSibling(chemin.getFileName() + ".journal");
+    }
+
+    @Override
+    public synchronized List<Compte> charger() {
+        try {
+            List<Compte> comptes = new ArrayList<>();
+            boolean enClair = lireInstantane(comptes);
+            int dansInstantane = comptes.size();
+            lireJournal(comptes);
+
+            if (enClair || comptes.size() - dansInstantane > dansInstantane) {
+                // Ne plus laisser de mot de passe en clair sur le disque, ni de journal plus long que l'instantané
+                compacter(comptes);
+            }
+            return comptes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de charger les comptes " + chemin, e);
+        }
+    }
+
+    @Override
+    public synchronized void ajouter(Compte compte) {
+        try {
+            creerDossier();
+            ByteArrayOutputStream octets = new ByteArrayOutputStream();
+            DataOutputStream contenu = new DataOutputStream(octets);
+            contenu.writeUTF(compte.getUtilisateur().getIdentifiant());
+            contenu.writeUTF(compte.getEmpreinte().encoder());
+            byte[] donnees = octets.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(donnees, 0, donnees.length);
+            ByteBuffer enregistrement = ByteBuffer.allocate(Integer.BYTES + donnees.length + Integer.BYTES)
+                    .putInt(donnees.length)
+                    .put(donnees)
+                    .putInt((int) crc.getValue());
+            enregistrement.flip();
+
+            try (FileChannel canal = FileChannel.open(cheminJournal,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                if (canal.size() == 0) {
+                    ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE).putInt(MAGIQUE).put(VERSION);
+                    entete.flip();
+                    while (entete.hasRemaining()) {
+                        canal.write(entete);
+                    }
+                }
+                while (enregistrement.hasRemaining()) {
+                    canal.write(enregistrement);
+                }
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'enregistrer le compte dans " + cheminJournal, e);
+        }
+    }
+
+    /**
+     * Lit les comptes de l'instantané
+     *
+     * @return true si des mots de passe y étaient encore en clair
+     */
+    private boolean lireInstantane(List<Compte> comptes) throws IOException {
+        ByteBuffer contenu = FichierInstantane.charger(chemin);
+        if (contenu == null) {
+            return false;
+        }
+
+        EntreeTampon entree = new EntreeTampon(contenu);
+        int nombre = entree.readInt();
+        boolean enClair = false;
+        for (int i = 0; i < nombre; i++) {
+            Utilisateur utilisateur = new Utilisateur(entree.readUTF());
+            String secret = entree.readUTF();
+            EmpreinteMotDePasse empreinte;
+            if (EmpreinteMotDePasse.estEncodee(secret)) {
+                empreinte = EmpreinteMotDePasse.decoder(secret);
+            } else {
+                empreinte = EmpreinteMotDePasse.calculer(secret, VerificateurMotsDePasse.iterationsConfigurees());
+                enClair = true;
+            }
+            comptes.add(new Compte(utilisateur, empreinte));
+        }
+        return enClair;
+    }
+
+    /**
+     * Ajoute les comptes du journal à la suite de ceux de l'instantané, puis écarte
+     * une éventuelle fin d'enregistrement interrompue
+     */
+    private void lireJournal(List<Compte> comptes) throws IOException {
+        if (!Files.exists(cheminJournal)) {
+            return;
+        }
+
+        // Un arrêt entre l'écriture de l'instantané et le vidage du journal laisse des comptes en double
+        Set<String> connus = new HashSet<>();
+        for (Compte compte : comptes) {
+            connus.add(compte.getUtilisateur().getIdentifiant());
+        }
+
+        long valide = 0;
+        CRC32 crc = new CRC32();
+        try (InputStream fichier = Files.newInputStream(cheminJournal);
+             DataInputStream entree = new DataInputStream(new BufferedInputStream(fichier, 1 << 16))) {
+            if (Files.size(cheminJournal) >= TAILLE_ENTETE) {
+                if (entree.readInt() != MAGIQUE || entree.readByte() != VERSION) {
+                    throw new IllegalArgumentException("Le fichier " + cheminJournal + " n'est pas un journal de comptes MyCalendar");
+                }
+                valide = TAILLE_ENTETE;
+                while (true) {
+                    byte[] donnees = lireEnregistrement(entree, crc);
+                    if (donnees == null) {
+                        break;
+                    }
+                    DataInputStream contenu = new DataInputStream(new ByteArrayInputStream(donnees));
+                    Utilisateur utilisateur = new Utilisateur(contenu.readUTF());
+                    EmpreinteMotDePasse empreinte = EmpreinteMotDePasse.decoder(contenu.readUTF());
+                    if (connus.add(utilisateur.getIdentifiant())) {
+                        comptes.add(new Compte(utilisateur, empreinte));
+                    }
+                    valide += Integer.BYTES + donnees.length + Integer.BYTES;
+                }
+            }
+        }
+
+        try (FileChannel canal = FileChannel.open(cheminJournal, StandardOpenOption.WRITE)) {
+            canal.truncate(valide);
+        }
+    }
+
+    /**
+     * Remplace l'instantané par l'ensemble des comptes, puis vide le journal
+     */
+    private void compacter(List<Compte> comptes) throws IOException {
+        creerDossier();
+        FichierInstantane.ecrire(chemin, sortie -> {
+            sortie.writeInt(comptes.size());
+            for (Compte compte : comptes) {
+                sortie.writeUTF(compte.getUtilisateur().getIdentifiant());
+                sortie.writeUTF(compte.getEmpreinte().encoder());
+            }
+        });
+        Files.deleteIfExists(cheminJournal);
+    }
+
+    private void creerDossier() throws IOException {
+        Path dossier = chemin.toAbsolutePath().getParent();
+        if (dossier != null) {
+            Files.createDirectories(dossier);
+        }
+    }
+
+    /**
+     * Lit le contenu du prochain enregistrement
+     *
+     * @return Le contenu, ou null en fin de journal ou sur un enregistrement invalide
+     */
+    private static byte[] lireEnregistrement(DataInputStream entree, CRC32 crc) throws IOException {
+        try {
+            int longueur = entree.readInt();
+            if (longueur <= 0 || longueur > TAILLE_MAX_ENREGISTREMENT) {
+                return null;
+            }
+
+            byte[] contenu = new byte[longueur];
+            entree.readFully(contenu);
+            int somme = entree.readInt();
+
+            crc.reset();
+            crc.update(contenu, 0, contenu.length);
+            return (int) crc.getValue() == somme ? contenu : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mycalendar.persistance;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Fichier d'instantané : un contenu binaire complet, remplacé atomiquement
+ *
+ * Le contenu est écrit dans un fichier temporaire, rendu durable, puis renommé :
+ * un lecteur voit l'ancien instantané ou le nouveau, jamais un fichier partiel.
+ * La lecture projette le fichier en mémoire et décode directement dans la projection.
+ */
+final class FichierInstantane {
+    private static final int MAGIQUE = 0x4D594353;
+    private static final byte VERSION = 1;
+    private static final int TAILLE_ENTETE = 5;
+    private static final int TAILLE_SOMME = 4;
+
+    private FichierInstantane() {
+    }
+
+    /**
+     * Remplace le fichier par un nouveau contenu
+     *
+     * @param chemin Chemin de l'instantané
+     * @param contenu Écriture du contenu
+     * @throws IOException si l'écriture échoue ; l'instantané précédent reste alors intact
+     */
+    static void ecrire(Path chemin, Contenu contenu) throws IOException {
+        Path temporaire = chemin.resolveSibling(chemin.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream fichier = Channels.newOutputStream(canal);
+            CheckedOutputStream controle = new CheckedOutputStream(fichier, new CRC32());
+            DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(controle, 1 << 16));
+            sortie.writeInt(MAGIQUE);
+            sortie.writeByte(VERSION);
+            contenu.ecrire(sortie);
+            sortie.flush();
+
+            // La somme couvre l'en-tête et le contenu ; elle n'entre pas dans son propre calcul
+            ByteBuffer somme = ByteBuffer.allocate(TAILLE_SOMME).putInt((int) controle.getChecksum().getValue());
+            somme.flip();
+            while (somme.hasRemaining()) {
+                canal.write(somme);
+            }
+            canal.force(true);
+        }
+
+        Files.move(temporaire, chemin, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        synchroniserDossier(chemin.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Projette un instantané en mémoire après avoir vérifié sa somme de contrôle
+     *
+     * @param chemin Chemin de l'instantané
+     * @return Le contenu, lu directement dans la projection, ou null si l'instantané n'existe pas
+     * @throws IOException si la lecture échoue
+     * @throws IllegalArgumentException si le fichier n'est pas un instantané valide
+     */
+    static ByteBuffer charger(Path chemin) throws IOException {
+        if (!Files.exists(chemin)) {
+            return null;
+        }
+
+        MappedByteBuffer projection;
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < TAILLE_ENTETE + TAILLE_SOMME || taille > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Le fichier " + chemin + " n'est pas un instantané MyCalendar");
+            }
+            // La projection reste valide après la fermeture du canal
+            projection = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+        }
+
+        int finContenu = projection.capacity() - TAILLE_SOMME;
+        ByteBuffer couvert = projection.duplicate();
+        couvert.limit(finContenu);
+        CRC32 crc = new CRC32();
+        crc.update(couvert);
+        if ((int) crc.getValue() != projection.getInt(finContenu)
+                || projection.getInt(0) != MAGIQUE || projection.get(4) != VERSION) {
+            throw new IllegalArgumentException("Le fichier " + chemin + " n'est pas un instantané MyCalendar valide");
+        }
+
+        ByteBuffer contenu = projection.duplicate();
+        contenu.position(TAILLE_ENTETE).limit(finContenu);
+        return contenu;
+    }
+
+    /**
+     * Rend durable le renommage, là où le système de fichiers le permet
+     */
+    private static void synchroniserDossier(Path dossier) {
+        if (dossier == null) {
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(dossier, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Certains systèmes refusent d'ouvrir un dossier ; le renommage reste atomique
+        }
+    }
+
+    @FunctionalInterface
+    interface Contenu {
+        void ecrire(DataOutputStream sortie) throws IOException;
+    }
+}
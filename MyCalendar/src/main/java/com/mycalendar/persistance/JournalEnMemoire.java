@@ -0,0 +1,36 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.EventId;
+import java.util.function.Consumer;
+
+/**
+ * Journal qui ne conserve rien : mode par défaut, où le calendrier vit en mémoire
+ */
+final class JournalEnMemoire implements JournalEvenements {
+    static final JournalEnMemoire INSTANCE = new JournalEnMemoire();
+
+    private JournalEnMemoire() {
+    }
+
+    @Override
+    public int rejouer(Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+        return 0;
+    }
+
+    @Override
+    public void consignerAjout(Evenement evenement) {
+    }
+
+    @Override
+    public void consignerSuppression(EventId eventId) {
+    }
+
+    @Override
+    public void synchroniser() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,170 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.EventId;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Journal des modifications d'un calendrier
+ *
+ * Le gestionnaire consigne chaque ajout et chaque suppression dans l'ordre où il
+ * les applique, puis attend leur durabilité avec {@link #synchroniser()}. Au
+ * démarrage, le journal est rejoué pour reconstruire l'état.
+ *
+ * Un journal peut aussi se compacter : l'état courant est alors écrit dans un
+ * instantané, et la partie du journal qu'il remplace n'est plus rejouée.
+ */
+public interface JournalEvenements extends AutoCloseable {
+
+    /**
+     * Propriété système désignant le dossier des données ; sans elle, le calendrier reste en mémoire
+     */
+    String PROPRIETE_DOSSIER = "mycalendar.donnees";
+
+    /**
+     * Rejoue les opérations consignées, dans leur ordre d'origine
+     * Doit être appelée une seule fois, avant toute nouvelle écriture
+     *
+     * @param ajout Reçoit chaque événement ajouté
+     * @param suppression Reçoit chaque identifiant supprimé
+     * @return Le nombre d'opérations rejouées
+     */
+    int rejouer(Consumer<Evenement> ajout, Consumer<EventId> suppression);
+
+    /**
+     * Rejoue les opérations consignées en livrant l'instantané d'un seul bloc,
+     * pour qu'il soit indexé en une passe ; seules les opérations qui le suivent
+     * sont rejouées une à une
+     * Doit être appelée une seule fois, avant toute nouvelle écriture
+     *
+     * @param chargement Reçoit le contenu de l'instantané, s'il y en a un
+     * @param ajout Reçoit chaque événement ajouté après l'instantané
+     * @param suppression Reçoit chaque identifiant supprimé après l'instantané
+     * @return Le nombre d'opérations rejouées, événements de l'instantané compris
+     */
+    default int rejouer(ChargementInstantane chargement, Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+        return rejouer(ajout, suppression);
+    }
+
+    /**
+     * Vérifie qu'un événement pourra être consigné, avant de modifier l'état
+     *
+     * @param evenement L'événement à ajouter
+     * @throws IllegalArgumentException si l'événement est trop volumineux pour le journal
+     */
+    default void verifierConsignable(Evenement evenement) {
+    }
+
+    /**
+     * Consigne l'ajout d'un événement, sans attendre qu'il soit durable
+     *
+     * @param evenement L'événement ajouté
+     * @throws IllegalArgumentException si l'événement est trop volumineux pour le journal
+     */
+    void consignerAjout(Evenement evenement);
+
+    /**
+     * Consigne la suppression d'un événement, sans attendre qu'elle soit durable
+     *
+     * @param eventId Identifiant de l'événement supprimé
+     */
+    void consignerSuppression(EventId eventId);
+
+    /**
+     * Consigne l'ajout d'un lot d'événements d'un seul tenant : si le journal
+     * refuse l'un d'eux, aucun n'est consigné
+     *
+     * @param evenements Les événements ajoutés
+     * @throws IllegalArgumentException si un événement est trop volumineux pour le journal
+     */
+    default void consignerAjouts(Collection<Evenement> evenements) {
+        for (Evenement evenement : evenements) {
+            verifierConsignable(evenement);
+        }
+        for (Evenement evenement : evenements) {
+            consignerAjout(evenement);
+        }
+    }
+
+    /**
+     * Consigne la suppression d'un lot d'événements d'un seul tenant
+     *
+     * @param identifiants Identifiants des événements supprimés
+     */
+    default void consignerSuppressions(Collection<EventId> identifiants) {
+        for (EventId eventId : identifiants) {
+            consignerSuppression(eventId);
+        }
+    }
+
+    /**
+     * Attend que toutes les opérations déjà consignées soient durables
+     *
+     * @throws java.io.UncheckedIOException si l'une d'elles n'a pas pu être écrite ;
+     *         le journal refuse alors toute nouvelle opération
+     */
+    void synchroniser();
+
+    /**
+     * Indique si assez d'opérations ont été consignées depuis le dernier instantané
+     * pour justifier d'en écrire un nouveau
+     *
+     * @return true si {@link #compacter} devrait être appelée
+     */
+    default boolean compactionNecessaire() {
+        return false;
+    }
+
+    /**
+     * Remplace les opérations déjà consignées par un instantané de l'état
+     * Doit être appelée sans consignation concurrente, alors que l'état reflète
+     * exactement les opérations déjà consignées. Les opérations suivantes peuvent
+     * être consignées dès le retour ; l'instantané est écrit en arrière-plan.
+     *
+     * @param etat Les événements présents ; le journal en prend une copie avant de rendre la main
+     */
+    default void compacter(Collection<Evenement> etat) {
+    }
+
+    /**
+     * Rend durables les opérations en attente et libère le journal
+     */
+    @Override
+    void close();
+
+    /**
+     * Obtient le journal qui ne conserve rien : le calendrier reste en mémoire
+     *
+     * @return Le journal en mémoire
+     */
+    static JournalEvenements enMemoire() {
+        return JournalEnMemoire.INSTANCE;
+    }
+
+    /**
+     * Obtient le journal du dossier désigné par la propriété système {@value #PROPRIETE_DOSSIER},
+     * ou le journal en mémoire si elle n'est pas définie
+     *
+     * @return Le journal configuré
+     */
+    static JournalEvenements depuisConfiguration() {
+        Path dossier = DossierDonnees.depuisConfiguration();
+        return dossier == null ? enMemoire() : new JournalSegmente(dossier);
+    }
+
+    /**
+     * Reçoit en un bloc les événements d'un instantané
+     */
+    @FunctionalInterface
+    interface ChargementInstantane {
+
+        /**
+         * @param parDebut Les événements, triés par minute de début ; à début égal, dans l'ordre d'ajout
+         * @param ordreAjout Position dans parDebut de chaque événement, dans l'ordre d'ajout
+         */
+        void charger(List<Evenement> parDebut, int[] ordreAjout);
+    }
+}
@@ -0,0 +1,482 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.EventId;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Journal en ajout seul dans un fichier, rendu durable par validation groupée
+ *
+ * Les opérations consignées sont mises en file ; un thread écrivain les écrit
+ * par lots et n'appelle fsync qu'une fois par lot. Pendant qu'un fsync est en
+ * cours, les opérations suivantes s'accumulent et partent ensemble au lot suivant.
+ *
+ * Chaque enregistrement est encadré par sa longueur et une somme CRC32. Au rejeu,
+ * un enregistrement interrompu à la fin physique du fichier (écriture coupée par
+ * un arrêt brutal) est écarté et le fichier tronqué à la dernière opération
+ * valide. Un enregistrement invalide suivi d'autres données est une corruption :
+ * le rejeu échoue sans toucher au fichier, plutôt que d'écarter les opérations
+ * valides qui suivent. Le rejeu lit le fichier une seule fois, en temps linéaire.
+ *
+ * Chaque enregistrement est encodé par un {@link CodecEvenement} remis à neuf :
+ * il se relit seul, sans dépendre des enregistrements précédents.
+ *
+ * Une erreur d'écriture est définitive : la partie du lot déjà écrite est retirée
+ * du fichier, et toute écriture ou attente ultérieure échoue.
+ */
+public final class JournalFichier implements JournalEvenements {
+    private static final int MAGIQUE = 0x4D59434A;
+    private static final byte VERSION = 1;
+    static final int TAILLE_ENTETE = 6;
+    private static final int TAILLE_MAX_ENREGISTREMENT = 1 << 20;
+
+    private static final byte AJOUT = 1;
+    private static final byte SUPPRESSION = 2;
+
+    private final Path chemin;
+    private final FileChannel canal;
+
+    private final Object verrou = new Object();
+    private final CodecEvenement codecEcriture = new CodecEvenement();
+    private ByteBuffer tamponEcriture = ByteBuffer.allocate(256);
+    private final List<byte[]> enAttente = new ArrayList<>();
+    private long numeroConsigne;
+    private long numeroDurable;
+    // Propre au thread écrivain, une fois le rejeu terminé
+    private long tailleDurable;
+    private IOException echec;
+    private boolean rejoue;
+    private boolean ferme;
+    private Thread ecrivain;
+
+    /**
+     * Ouvre un journal, en le créant s'il n'existe pas
+     *
+     * @param chemin Chemin du fichier journal
+     * @throws IllegalArgumentException si le fichier existe mais n'est pas un journal
+     * @throws UncheckedIOException si le fichier ne peut pas être ouvert
+     */
+    public JournalFichier(Path chemin) {
+        this.chemin = chemin;
+        try {
+            this.canal = FileChannel.open(chemin,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (canal.size() == 0) {
+                ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE)
+                        .putInt(MAGIQUE).put(VERSION).put(CodecEvenement.VERSION);
+                entete.flip();
+                canal.write(entete, 0);
+                canal.force(true);
+            } else {
+                verifierEntete();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir le journal " + chemin, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException si le journal est corrompu ailleurs qu'en fin de fichier
+     */
+    @Override
+    public int rejouer(Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+        return rejouer(ajout, suppression, true);
+    }
+
+    /**
+     * Rejoue les opérations consignées
+     *
+     * @param ajout Reçoit chaque événement ajouté
+     * @param suppression Reçoit chaque identifiant supprimé
+     * @param finInterrompueToleree Si un enregistrement interrompu en fin de fichier peut être écarté ;
+     *        sinon, il est traité comme une corruption
+     * @return Le nombre d'opérations rejouées
+     * @throws IllegalArgumentException si le journal est corrompu
+     */
+    int rejouer(Consumer<Evenement> ajout, Consumer<EventId> suppression, boolean finInterrompueToleree) {
+        synchronized (verrou) {
+            if (rejoue) {
+                throw new IllegalStateException("Le journal a déjà été rejoué");
+            }
+        }
+
+        int operations = 0;
+        long valide = TAILLE_ENTETE;
+        CRC32 crc = new CRC32();
+        CodecEvenement codec = new CodecEvenement();
+        try (InputStream fichier = Files.newInputStream(chemin);
+             DataInputStream entree = new DataInputStream(new BufferedInputStream(fichier, 1 << 16))) {
+            entree.skipBytes(TAILLE_ENTETE);
+            long taille = canal.size();
+            while (valide < taille) {
+                byte[] contenu = lireEnregistrement(entree, crc, valide, taille);
+                if (contenu == null) {
+                    if (!finInterrompueToleree) {
+                        throw new IllegalArgumentException("Le journal " + chemin
+                            + " se termine par un enregistrement interrompu, à l'octet " + valide);
+                    }
+                    break;
+                }
+                appliquer(contenu, codec, ajout, suppression);
+                operations++;
+                valide += Integer.BYTES + contenu.length + Integer.BYTES;
+            }
+
+            // Écarte une éventuelle fin d'enregistrement interrompue avant d'écrire à la suite
+            canal.truncate(valide);
+            canal.position(valide);
+            tailleDurable = valide;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de rejouer le journal " + chemin, e);
+        } catch (IllegalArgumentException e) {
+            try {
+                canal.close();
+            } catch (IOException fermeture) {
+                e.addSuppressed(fermeture);
+            }
+            throw e;
+        }
+
+        synchronized (verrou) {
+            rejoue = true;
+            ecrivain = new Thread(this::ecrireEnContinu, "journal-" + chemin.getFileName());
+            ecrivain.setDaemon(true);
+            ecrivain.start();
+        }
+        return operations;
+    }
+
+    /**
+     * Refuse un événement dont l'enregistrement pourrait dépasser la taille relue au démarrage :
+     * le rejeu le prendrait pour une fin de journal abîmée et écarterait tout ce qui le suit
+     */
+    @Override
+    public void verifierConsignable(Evenement evenement) {
+        verifierTaille(evenement);
+    }
+
+    static void verifierTaille(Evenement evenement) {
+        int taille = 1 + CodecEvenement.tailleMaximale(evenement);
+        if (taille > TAILLE_MAX_ENREGISTREMENT) {
+            throw new IllegalArgumentException("L'événement est trop volumineux pour être consigné : "
+                + taille + " octets au plus, pour " + TAILLE_MAX_ENREGISTREMENT + " autorisés");
+        }
+    }
+
+    @Override
+    public void consignerAjout(Evenement evenement) {
+        consignerAjouts(List.of(evenement));
+    }
+
+    @Override
+    public void consignerAjouts(Collection<Evenement> evenements) {
+        for (Evenement evenement : evenements) {
+            verifierConsignable(evenement);
+        }
+        synchronized (verrou) {
+            List<byte[]> lot = new ArrayList<>(evenements.size());
+            for (Evenement evenement : evenements) {
+                ByteBuffer tampon = preparerEcriture(1 + CodecEvenement.tailleMaximale(evenement));
+                tampon.put(AJOUT);
+                codecEcriture.ecrire(tampon, evenement);
+                lot.add(encadrer(tampon));
+            }
+            mettreEnFile(lot);
+        }
+    }
+
+    @Override
+    public void consignerSuppression(EventId eventId) {
+        consignerSuppressions(List.of(eventId));
+    }
+
+    @Override
+    public void consignerSuppressions(Collection<EventId> identifiants) {
+        synchronized (verrou) {
+            List<byte[]> lot = new ArrayList<>(identifiants.size());
+            for (EventId eventId : identifiants) {
+                ByteBuffer tampon = preparerEcriture(1 + CodecEvenement.tailleMaximale(eventId));
+                tampon.put(SUPPRESSION);
+                codecEcriture.ecrireIdentifiant(tampon, eventId);
+                lot.add(encadrer(tampon));
+            }
+            mettreEnFile(lot);
+        }
+    }
+
+    /**
+     * Attend que les opérations déjà consignées soient durables
+     * Une erreur d'écriture survenue après elles ne les concerne pas : elle n'est levée
+     * que si l'une d'elles n'a pas pu être écrite
+     *
+     * @throws UncheckedIOException si une opération consignée n'a pas pu être écrite
+     */
+    @Override
+    public void synchroniser() {
+        synchronized (verrou) {
+            long cible = numeroConsigne;
+            while (numeroDurable < cible && echec == null) {
+                try {
+                    verrou.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Attente du journal interrompue", e);
+                }
+            }
+            if (numeroDurable < cible) {
+                verifierSansEchec();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread aAttendre;
+        synchronized (verrou) {
+            if (ferme) {
+                return;
+            }
+            ferme = true;
+            aAttendre = ecrivain;
+            verrou.notifyAll();
+        }
+
+        try {
+            // L'écrivain vide la file avant de s'arrêter
+            if (aAttendre != null) {
+                aAttendre.join();
+            }
+            canal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de fermer le journal " + chemin, e);
+        }
+    }
+
+    /**
+     * Vérifie que le journal accepte une écriture et prépare le tampon d'encodage
+     * Appelée sous le verrou
+     *
+     * @param tailleMaximale Place nécessaire au contenu de l'enregistrement
+     * @return Le tampon vide, d'au moins la taille demandée
+     */
+    private ByteBuffer preparerEcriture(int tailleMaximale) {
+        if (!rejoue) {
+            throw new IllegalStateException("Le journal doit être rejoué avant toute écriture");
+        }
+        verifierSansEchec();
+        if (ferme) {
+            throw new IllegalStateException("Le journal est fermé");
+        }
+
+        if (tamponEcriture.capacity() < tailleMaximale) {
+            tamponEcriture = ByteBuffer.allocate(Math.max(tailleMaximale, 2 * tamponEcriture.capacity()));
+        }
+        tamponEcriture.clear();
+        codecEcriture.reinitialiser();
+        return tamponEcriture;
+    }
+
+    /**
+     * Encadre le contenu encodé par sa longueur et sa somme CRC32
+     *
+     * @param tampon Le contenu encodé
+     * @return L'enregistrement complet
+     */
+    private static byte[] encadrer(ByteBuffer tampon) {
+        tampon.flip();
+        int longueur = tampon.remaining();
+        CRC32 crc = new CRC32();
+        crc.update(tampon.array(), 0, longueur);
+        return ByteBuffer.allocate(Integer.BYTES + longueur + Integer.BYTES)
+                .putInt(longueur)
+                .put(tampon)
+                .putInt((int) crc.getValue())
+                .array();
+    }
+
+    /**
+     * Met des enregistrements en file d'écriture, d'un seul tenant
+     * Appelée sous le verrou
+     *
+     * @param lot Les enregistrements
+     */
+    private void mettreEnFile(List<byte[]> lot) {
+        enAttente.addAll(lot);
+        numeroConsigne += lot.size();
+        verrou.notifyAll();
+    }
+
+    /**
+     * Boucle du thread écrivain : un lot, une écriture, un fsync
+     */
+    private void ecrireEnContinu() {
+        while (true) {
+            List<byte[]> lot;
+            long numero;
+            synchronized (verrou) {
+                while (enAttente.isEmpty() && !ferme) {
+                    try {
+                        verrou.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (enAttente.isEmpty()) {
+                    return;
+                }
+                lot = new ArrayList<>(enAttente);
+                enAttente.clear();
+                numero = numeroConsigne;
+            }
+
+            try {
+                int taille = 0;
+                for (byte[] enregistrement : lot) {
+                    taille += enregistrement.length;
+                }
+                ByteBuffer tampon = ByteBuffer.allocate(taille);
+                for (byte[] enregistrement : lot) {
+                    tampon.put(enregistrement);
+                }
+                tampon.flip();
+                while (tampon.hasRemaining()) {
+                    canal.write(tampon);
+                }
+                canal.force(false);
+                tailleDurable += taille;
+            } catch (IOException e) {
+                // Les opérations du lot vont être annulées : elles ne doivent pas reparaître au rejeu
+                try {
+                    canal.truncate(tailleDurable);
+                    canal.force(false);
+                } catch (IOException retrait) {
+                    e.addSuppressed(retrait);
+                }
+                synchronized (verrou) {
+                    echec = e;
+                    verrou.notifyAll();
+                }
+                return;
+            }
+
+            synchronized (verrou) {
+                numeroDurable = numero;
+                verrou.notifyAll();
+            }
+        }
+    }
+
+    private void verifierSansEchec() {
+        if (echec != null) {
+            throw new UncheckedIOException("L'écriture du journal " + chemin + " a échoué", echec);
+        }
+    }
+
+    private void verifierEntete() throws IOException {
+        ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE);
+        canal.read(entete, 0);
+        entete.flip();
+        if (entete.remaining() < TAILLE_ENTETE || entete.getInt() != MAGIQUE || entete.get() != VERSION) {
+            throw new IllegalArgumentException("Le fichier " + chemin + " n'est pas un journal MyCalendar");
+        }
+        CodecEvenement.verifierVersion(entete.get());
+    }
+
+    /**
+     * Lit le contenu du prochain enregistrement
+     * Un enregistrement invalide n'est pris pour une écriture interrompue que s'il s'étend
+     * jusqu'à la fin du fichier : plus court que son en-tête ou que sa longueur annoncée,
+     * dernier du fichier, ou suivi uniquement de zéros
+     *
+     * @param position Position de l'enregistrement dans le fichier
+     * @param taille Taille du fichier
+     * @return Le contenu, ou null sur un enregistrement interrompu en fin de fichier
+     * @throws IllegalArgumentException si l'enregistrement est corrompu
+     */
+    private byte[] lireEnregistrement(DataInputStream entree, CRC32 crc, long position, long taille)
+            throws IOException {
+        long restant = taille - position;
+        if (restant < Integer.BYTES) {
+            return null;
+        }
+        int longueur = entree.readInt();
+        if (longueur <= 0 || longueur > TAILLE_MAX_ENREGISTREMENT) {
+            if (zerosJusquALaFin(entree, longueur)) {
+                return null;
+            }
+            throw corruption(position);
+        }
+        long tailleEnregistrement = Integer.BYTES + (long) longueur + Integer.BYTES;
+        if (tailleEnregistrement > restant) {
+            return null;
+        }
+
+        byte[] contenu = new byte[longueur];
+        entree.readFully(contenu);
+        int somme = entree.readInt();
+
+        crc.reset();
+        crc.update(contenu, 0, contenu.length);
+        if ((int) crc.getValue() == somme) {
+            return contenu;
+        }
+        if (tailleEnregistrement == restant) {
+            return null;
+        }
+        throw corruption(position);
+    }
+
+    private IllegalArgumentException corruption(long position) {
+        return new IllegalArgumentException("Le journal " + chemin + " est corrompu à l'octet " + position
+            + " : le fichier est laissé en l'état");
+    }
+
+    /**
+     * @param longueur La longueur déjà lue
+     * @return true si la longueur et tous les octets qui la suivent sont nuls
+     */
+    private static boolean zerosJusquALaFin(DataInputStream entree, int longueur) throws IOException {
+        if (longueur != 0) {
+            return false;
+        }
+        int octet;
+        while ((octet = entree.read()) != -1) {
+            if (octet != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appliquer(byte[] contenu, CodecEvenement codec,
+                                  Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+        ByteBuffer entree = ByteBuffer.wrap(contenu);
+        byte operation = entree.get();
+        codec.reinitialiser();
+        if (operation == AJOUT) {
+            ajout.accept(codec.lire(entree));
+        } else if (operation == SUPPRESSION) {
+            suppression.accept(codec.lireIdentifiant(entree));
+        } else {
+            throw new IllegalArgumentException("Opération de journal inconnue : " + operation);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.EventId;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Journal découpé en segments numérotés, compacté par instantanés
+ *
+ * Le dossier contient au plus un instantané et les segments écrits depuis.
+ * Compacter ferme le segment actif, en ouvre un nouveau, puis écrit en
+ * arrière-plan l'instantané de l'état et le numéro du premier segment qu'il ne
+ * couvre pas ; les segments couverts ne sont supprimés qu'une fois l'instantané
+ * durable. Au démarrage, l'instantané est projeté en mémoire et seuls les
+ * segments suivants sont rejoués. Ils doivent se suivre sans lacune, et seul le
+ * dernier segment non vide peut finir par une écriture interrompue : toute autre
+ * anomalie fait échouer le rejeu, sans rien tronquer.
+ *
+ * L'instantané range les événements par date de début, ce qui rend les écarts
+ * entre débuts successifs courts à encoder, puis donne le rang de chacun dans
+ * l'ordre d'insertion : le rejeu restitue les événements dans cet ordre.
+ */
+public final class JournalSegmente implements JournalEvenements {
+    public static final int SEUIL_COMPACTION_DEFAUT = 100_000;
+
+    static final String INSTANTANE = "evenements.instantane";
+    private static final String PREFIXE_SEGMENT = "journal-";
+    private static final String SUFFIXE_SEGMENT = ".log";
+    private static final int TAILLE_TAMPON = 1 << 16;
+
+    private final Path dossier;
+    private final int seuilCompaction;
+    private final ExecutorService arrierePlan;
+
+    private volatile JournalFichier actif;
+    private long numeroActif;
+    private long operationsDepuisInstantane;
+    private volatile IOException echecCompaction;
+
+    /**
+     * Ouvre le journal d'un dossier, en le créant s'il n'existe pas
+     *
+     * @param dossier Dossier du journal
+     */
+    public JournalSegmente(Path dossier) {
+        this(dossier, SEUIL_COMPACTION_DEFAUT);
+    }
+
+    /**
+     * Ouvre le journal d'un dossier, en le créant s'il n'existe pas
+     *
+     * @param dossier Dossier du journal
+     * @param seuilCompaction Nombre d'opérations consignées au-delà duquel compacter
+     * @throws IllegalArgumentException si le seuil n'est pas strictement positif
+     * @throws UncheckedIOException si le dossier ne peut pas être créé
+     */
+    public JournalSegmente(Path dossier, int seuilCompaction) {
+        if (seuilCompaction <= 0) {
+            throw new IllegalArgumentException("Le seuil de compaction doit être strictement positif");
+        }
+
+        try {
+            Files.createDirectories(dossier);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer le dossier " + dossier, e);
+        }
+        this.dossier = dossier;
+        this.seuilCompaction = seuilCompaction;
+        this.arrierePlan = Executors.newSingleThreadExecutor(tache -> {
+            Thread thread = new Thread(tache, "instantane-" + dossier.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int rejouer(Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+        return rejouer((parDebut, ordreAjout) -> {
+            for (int position : ordreAjout) {
+                ajout.accept(parDebut.get(position));
+            }
+        }, ajout, suppression);
+    }
+
+    @Override
+    public int rejouer(ChargementInstantane chargement, Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+        if (actif != null) {
+            throw new IllegalStateException("Le journal a déjà été rejoué");
+        }
+
+        int operations = 0;
+        long premierSegment = 0;
+        try {
+            ByteBuffer instantane = FichierInstantane.charger(dossier.resolve(INSTANTANE));
+            if (instantane != null) {
+                CodecEvenement.verifierVersion(instantane.get());
+                premierSegment = instantane.getLong();
+                int nombre = instantane.getInt();
+                CodecEvenement codec = new CodecEvenement();
+                Evenement[] parDebut = new Evenement[nombre];
+                for (int i = 0; i < nombre; i++) {
+                    parDebut[i] = codec.lire(instantane);
+                }
+                int[] ordreAjout = new int[nombre];
+                int rang = -1;
+                for (int i = 0; i < nombre; i++) {
+                    rang += (int) CodecEvenement.dezigzag(CodecEvenement.lireVarint(instantane)) + 1;
+                    if (rang < 0 || rang >= nombre) {
+                        throw new IllegalArgumentException("Ordre d'insertion invalide dans l'instantané " + dossier);
+                    }
+                    ordreAjout[i] = rang;
+                }
+                chargement.charger(Arrays.asList(parDebut), ordreAjout);
+                operations += nombre;
+            }
+
+            List<Long> aRejouer = new ArrayList<>();
+            for (long numero : segments()) {
+                if (numero < premierSegment) {
+                    // Déjà couvert : la compaction a été interrompue avant de le supprimer
+                    Files.deleteIfExists(segment(numero));
+                } else {
+                    aRejouer.add(numero);
+                }
+            }
+            if (aRejouer.isEmpty()) {
+                aRejouer.add(premierSegment);
+            }
+            // Les segments qui suivent le dernier segment non vide ont été ouverts par une compaction
+            // interrompue : ce segment était alors le segment actif, et peut finir par une écriture coupée
+            int dernierNonVide = 0;
+            for (int i = 0; i < aRejouer.size(); i++) {
+                long numero = aRejouer.get(i);
+                if (numero != premierSegment + i) {
+                    throw new IllegalArgumentException("Le segment " + segment(premierSegment + i)
+                        + " manque au journal " + dossier);
+                }
+                Path chemin = segment(numero);
+                if (Files.exists(chemin) && Files.size(chemin) > JournalFichier.TAILLE_ENTETE) {
+                    dernierNonVide = i;
+                }
+            }
+
+            long operationsJournal = 0;
+            for (int i = 0; i < aRejouer.size(); i++) {
+                long numero = aRejouer.get(i);
+                JournalFichier journal = new JournalFichier(segment(numero));
+                try {
+                    operationsJournal += journal.rejouer(ajout, suppression, i >= dernierNonVide);
+                } catch (RuntimeException e) {
+                    journal.close();
+                    throw e;
+                }
+                if (i < aRejouer.size() - 1) {
+                    journal.close();
+                } else {
+                    numeroActif = numero;
+                    actif = journal;
+                }
+            }
+            operationsDepuisInstantane = operationsJournal;
+            return (int) (operations + operationsJournal);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de rejouer le journal " + dossier, e);
+        }
+    }
+
+    @Override
+    public void verifierConsignable(Evenement evenement) {
+        JournalFichier.verifierTaille(evenement);
+    }
+
+    @Override
+    public void consignerAjout(Evenement evenement) {
+        journalActif().consignerAjout(evenement);
+        operationsDepuisInstantane++;
+    }
+
+    @Override
+    public void consignerSuppression(EventId eventId) {
+        journalActif().consignerSuppression(eventId);
+        operationsDepuisInstantane++;
+    }
+
+    @Override
+    public void consignerAjouts(Collection<Evenement> evenements) {
+        journalActif().consignerAjouts(evenements);
+        operationsDepuisInstantane += evenements.size();
+    }
+
+    @Override
+    public void consignerSuppressions(Collection<EventId> identifiants) {
+        journalActif().consignerSuppressions(identifiants);
+        operationsDepuisInstantane += identifiants.size();
+    }
+
+    @Override
+    public void synchroniser() {
+        journalActif().synchroniser();
+    }
+
+    @Override
+    public boolean compactionNecessaire() {
+        return operationsDepuisInstantane >= seuilCompaction;
+    }
+
+    @Override
+    public void compacter(Collection<Evenement> etat) {
+        JournalFichier ancien = journalActif();
+        long suivant = numeroActif + 1;
+        JournalFichier nouveau = new JournalFichier(segment(suivant));
+        nouveau.rejouer(evenement -> { }, id -> { });
+
+        // L'ancien segment est vidé avant la bascule : une session qui attend la
+        // durabilité de son opération la trouve dans l'un ou l'autre segment
+        ancien.close();
+        try {
+            // Un segment en échec reste actif, pour que les sessions qui l'attendent voient l'erreur
+            ancien.synchroniser();
+        } catch (UncheckedIOException e) {
+            nouveau.close();
+            try {
+                Files.deleteIfExists(segment(suivant));
+            } catch (IOException suppression) {
+                e.addSuppressed(suppression);
+            }
+            throw e;
+        }
+        numeroActif = suivant;
+        actif = nouveau;
+        operationsDepuisInstantane = 0;
+
+        List<Evenement> copie = new ArrayList<>(etat);
+        arrierePlan.execute(() -> ecrireInstantane(suivant, copie));
+    }
+
+    @Override
+    public void close() {
+        arrierePlan.shutdown();
+        try {
+            while (!arrierePlan.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Attend la fin de l'instantané en cours
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (actif != null) {
+            actif.close();
+        }
+        if (echecCompaction != null) {
+            throw new UncheckedIOException("L'écriture de l'instantané " + dossier + " a échoué", echecCompaction);
+        }
+    }
+
+    /**
+     * Écrit l'instantané puis supprime les segments qu'il couvre
+     * En cas d'échec, les segments sont conservés : le rejeu reste complet
+     */
+    private void ecrireInstantane(long premierSegment, List<Evenement> etat) {
+        // Dans l'ordre chronologique, les écarts entre débuts successifs tiennent sur un ou deux octets ;
+        // le tri est stable, et un état inséré chronologiquement garde des rangs consécutifs
+        Integer[] parDebut = new Integer[etat.size()];
+        for (int i = 0; i < parDebut.length; i++) {
+            parDebut[i] = i;
+        }
+        Arrays.sort(parDebut, Comparator.comparingLong(i -> etat.get(i).getDebutEpochMinutes()));
+        int[] rangs = new int[parDebut.length];
+        for (int rang = 0; rang < parDebut.length; rang++) {
+            rangs[parDebut[rang]] = rang;
+        }
+        try {
+            FichierInstantane.ecrire(dossier.resolve(INSTANTANE), sortie -> {
+                sortie.writeByte(CodecEvenement.VERSION);
+                sortie.writeLong(premierSegment);
+                sortie.writeInt(etat.size());
+
+                CodecEvenement codec = new CodecEvenement();
+                ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+                for (int indice : parDebut) {
+                    Evenement evenement = etat.get(indice);
+                    int taille = CodecEvenement.tailleMaximale(evenement);
+                    if (tampon.remaining() < taille) {
+                        sortie.write(tampon.array(), 0, tampon.position());
+                        tampon = tampon.capacity() < taille ? ByteBuffer.allocate(taille) : tampon;
+                        tampon.clear();
+                    }
+                    codec.ecrire(tampon, evenement);
+                }
+
+                // Rang de chaque événement dans l'ordre d'insertion, par écart au précédent
+                int precedent = -1;
+                for (int rang : rangs) {
+                    if (tampon.remaining() < Long.BYTES + 2) {
+                        sortie.write(tampon.array(), 0, tampon.position());
+                        tampon.clear();
+                    }
+                    CodecEvenement.ecrireVarint(tampon, CodecEvenement.zigzag(rang - precedent - 1));
+                    precedent = rang;
+                }
+                sortie.write(tampon.array(), 0, tampon.position());
+            });
+            for (long numero : segments()) {
+                if (numero < premierSegment) {
+                    Files.deleteIfExists(segment(numero));
+                }
+            }
+        } catch (IOException e) {
+            echecCompaction = e;
+        }
+    }
+
+    private JournalFichier journalActif() {
+        JournalFichier journal = actif;
+        if (journal == null) {
+            throw new IllegalStateException("Le journal doit être rejoué avant toute écriture");
+        }
+        return journal;
+    }
+
+    private Path segment(long numero) {
+        return dossier.resolve(String.format("%s%019d%s", PREFIXE_SEGMENT, numero, SUFFIXE_SEGMENT));
+    }
+
+    /**
+     * @return Les numéros des segments présents, dans l'ordre croissant
+     */
+    private List<Long> segments() throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(dossier,
+                PREFIXE_SEGMENT + "*" + SUFFIXE_SEGMENT)) {
+            for (Path fichier : fichiers) {
+                String nom = fichier.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(
+                        nom.substring(PREFIXE_SEGMENT.length(), nom.length() - SUFFIXE_SEGMENT.length())));
+                } catch (NumberFormatException e) {
+                    // Fichier étranger au journal
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+}
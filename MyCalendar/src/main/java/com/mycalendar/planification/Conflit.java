@@ -0,0 +1,85 @@
+package com.mycalendar.planification;
+
+import com.mycalendar.evenements.Evenement;
+import java.util.Objects;
+
+/**
+ * Chevauchement entre deux événements qui bloquent le calendrier
+ * Le premier événement commence au plus tard en même temps que le second
+ */
+public final class Conflit {
+    private final Evenement premier;
+    private final Evenement second;
+
+    /**
+     * Crée un conflit
+     *
+     * @param premier L'événement qui commence le premier
+     * @param second L'événement qui commence le second
+     * @throws IllegalArgumentException si l'un des événements est null
+     */
+    public Conflit(Evenement premier, Evenement second) {
+        if (premier == null || second == null) {
+            throw new IllegalArgumentException("Un conflit concerne deux événements");
+        }
+
+        this.premier = premier;
+        this.second = second;
+    }
+
+    /**
+     * Obtient l'événement qui commence le premier
+     *
+     * @return Premier événement
+     */
+    public Evenement getPremier() {
+        return premier;
+    }
+
+    /**
+     * Obtient l'événement qui commence le second
+     *
+     * @return Second événement
+     */
+    public Evenement getSecond() {
+        return second;
+    }
+
+    /**
+     * Obtient la durée pendant laquelle les deux événements se chevauchent
+     *
+     * @return Durée du chevauchement en minutes
+     */
+    public long getMinutesChevauchement() {
+        return Math.min(premier.getFinEpochMinutes(), second.getFinEpochMinutes())
+                - Math.max(premier.getDebutEpochMinutes(), second.getDebutEpochMinutes());
+    }
+
+    /**
+     * Indique si un événement fait partie du conflit
+     *
+     * @param evenement L'événement recherché
+     * @return true si l'événement est l'un des deux événements en conflit
+     */
+    public boolean concerne(Evenement evenement) {
+        return premier.equals(evenement) || second.equals(evenement);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Conflit that = (Conflit) o;
+        return premier.equals(that.premier) && second.equals(that.second);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(premier, second);
+    }
+
+    @Override
+    public String toString() {
+        return premier.getTitre() + " chevauche " + second.getTitre();
+    }
+}
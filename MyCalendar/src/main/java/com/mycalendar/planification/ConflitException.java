@@ -0,0 +1,39 @@
+package com.mycalendar.planification;
+
+import com.mycalendar.evenements.Evenement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Exception levée lorsqu'un événement est refusé parce qu'il chevauche
+ * des événements existants
+ */
+public class ConflitException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    // Les événements ne sont pas sérialisables : seul le message survit à la sérialisation
+    private final transient List<Conflit> conflits;
+
+    /**
+     * Crée l'exception
+     *
+     * @param evenement L'événement refusé
+     * @param conflits Les conflits qui ont provoqué le refus
+     */
+    public ConflitException(Evenement evenement, List<Conflit> conflits) {
+        super(evenement.getTitre() + " est en conflit avec : " + conflits.stream()
+                .map(conflit -> conflit.getPremier().equals(evenement) ? conflit.getSecond() : conflit.getPremier())
+                .map(autre -> autre.getTitre().getValeur())
+                .collect(Collectors.joining(", ")));
+        this.conflits = List.copyOf(conflits);
+    }
+
+    /**
+     * Obtient les conflits qui ont provoqué le refus
+     *
+     * @return Liste non modifiable des conflits, vide pour une exception désérialisée
+     */
+    public List<Conflit> getConflits() {
+        return conflits == null ? List.of() : conflits;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycalendar.planification;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Plage pendant laquelle aucun des participants recherchés n'est occupé
+ * Une réunion peut commencer à n'importe quel moment de la plage qui lui laisse sa durée
+ */
+public final class CreneauLibre {
+    private final LocalDateTime debut;
+    private final LocalDateTime fin;
+
+    /**
+     * Crée un créneau libre
+     *
+     * @param debut Début de la plage
+     * @param fin Fin de la plage (exclue)
+     * @throws IllegalArgumentException si une borne est null ou si la fin n'est pas après le début
+     */
+    public CreneauLibre(LocalDateTime debut, LocalDateTime fin) {
+        if (debut == null || fin == null) {
+            throw new IllegalArgumentException("Un créneau doit avoir un début et une fin");
+        }
+        if (!fin.isAfter(debut)) {
+            throw new IllegalArgumentException("La fin d'un créneau doit être après son début");
+        }
+
+        this.debut = debut;
+        this.fin = fin;
+    }
+
+    /**
+     * Obtient le début de la plage
+     *
+     * @return Début du créneau
+     */
+    public LocalDateTime getDebut() {
+        return debut;
+    }
+
+    /**
+     * Obtient la fin de la plage, exclue
+     *
+     * @return Fin du créneau
+     */
+    public LocalDateTime getFin() {
+        return fin;
+    }
+
+    /**
+     * Obtient la longueur de la plage
+     *
+     * @return Durée du créneau en minutes
+     */
+    public long getMinutes() {
+        return ChronoUnit.MINUTES.between(debut, fin);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CreneauLibre that = (CreneauLibre) o;
+        return debut.equals(that.debut) && fin.equals(that.fin);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(debut, fin);
+    }
+
+    @Override
+    public String toString() {
+        return "Libre du " + debut + " au " + fin;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycalendar.planification;
+
+import com.mycalendar.evenements.Evenement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Détection de tous les conflits d'un ensemble d'événements en un seul balayage
+ *
+ * Les événements qui bloquent le calendrier sont triés par début, puis parcourus
+ * en maintenant les événements encore en cours dans un tas ordonné par fin.
+ * Chaque nouvel événement est en conflit avec les événements en cours, ce qui
+ * donne un coût en O(n log n + k) pour k conflits, au lieu de comparer toutes
+ * les paires. Les bornes sont des minutes depuis l'époque, sans construire de date.
+ */
+public final class DetecteurConflits {
+
+    private static final Comparator<Intervalle> PAR_DEBUT =
+            Comparator.comparingLong((Intervalle i) -> i.debut).thenComparingLong(i -> i.fin);
+    private static final Comparator<Intervalle> PAR_FIN =
+            Comparator.comparingLong((Intervalle i) -> i.fin);
+
+    private DetecteurConflits() {
+    }
+
+    /**
+     * Trouve toutes les paires d'événements qui se chevauchent
+     * Les événements qui ne bloquent pas le calendrier sont ignorés
+     *
+     * @param evenements Les événements à examiner
+     * @return Les conflits, dans l'ordre de début du second événement
+     */
+    public static List<Conflit> detecter(Collection<? extends Evenement> evenements) {
+        List<Intervalle> intervalles = new ArrayList<>(evenements.size());
+        for (Evenement evenement : evenements) {
+            if (evenement.bloqueLeCalendrier()) {
+                intervalles.add(new Intervalle(evenement));
+            }
+        }
+        intervalles.sort(PAR_DEBUT);
+
+        List<Conflit> conflits = new ArrayList<>();
+        PriorityQueue<Intervalle> enCours = new PriorityQueue<>(PAR_FIN);
+        for (Intervalle courant : intervalles) {
+            while (!enCours.isEmpty() && enCours.peek().fin <= courant.debut) {
+                enCours.poll();
+            }
+
+            for (Intervalle precedent : enCours) {
+                // Un événement de durée nulle ne chevauche pas celui qui commence au même instant
+                if (precedent.debut < courant.fin) {
+                    conflits.add(new Conflit(precedent.evenement, courant.evenement));
+                }
+            }
+            enCours.add(courant);
+        }
+
+        return conflits;
+    }
+
+    /**
+     * Bornes d'un événement, calculées une seule fois
+     */
+    private static final class Intervalle {
+        private final Evenement evenement;
+        private final long debut;
+        private final long fin;
+
+        private Intervalle(Evenement evenement) {
+            this.evenement = evenement;
+            this.debut = evenement.getDebutEpochMinutes();
+            this.fin = evenement.getFinEpochMinutes();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.mycalendar.planification;
+
+/**
+ * Comportement du calendrier lorsqu'un nouvel événement chevauche
+ * un événement de son propriétaire ou de l'un de ses participants
+ */
+public enum ModeConflit {
+    /**
+     * L'événement est ajouté sans vérification
+     */
+    IGNORER,
+
+    /**
+     * L'événement est ajouté et les conflits sont signalés à l'appelant
+     */
+    AVERTIR,
+
+    /**
+     * L'événement est refusé s'il provoque un conflit
+     */
+    REJETER
+}
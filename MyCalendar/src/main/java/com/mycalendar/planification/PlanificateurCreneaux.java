@@ -0,0 +1,151 @@
+package com.mycalendar.planification;
+
+import com.mycalendar.evenements.MinutesEpoch;
+import java.time.LocalTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recherche des plages libres communes à plusieurs agendas dans une fenêtre
+ *
+ * Les périodes occupées de tous les participants sont accumulées sans distinction,
+ * puis triées par début et fusionnées en un seul balayage : un trou entre la fin
+ * de l'union des périodes déjà vues et le début de la suivante est libre pour tous.
+ * Chaque période est rangée dans un seul long, début relatif à la fenêtre sur les
+ * 32 bits de poids fort et fin sur les 32 bits de poids faible, pour trier un
+ * tableau de primitives plutôt que des objets. Le coût est en O(n log n) pour
+ * n périodes, quel que soit le nombre de participants.
+ *
+ * Une période de durée nulle, comme l'occurrence d'un événement périodique,
+ * coupe la plage libre qui la contient : une réunion peut finir ou commencer à
+ * cet instant, pas l'enjamber.
+ */
+public final class PlanificateurCreneaux {
+    // Recherche proposée par défaut aux utilisateurs : trois mois, en journée
+    public static final LocalTime OUVERTURE_DEFAUT = LocalTime.of(8, 0);
+    public static final LocalTime FERMETURE_DEFAUT = LocalTime.of(19, 0);
+    public static final Period HORIZON_DEFAUT = Period.ofMonths(3);
+
+    private static final long MASQUE_FIN = 0xFFFF_FFFFL;
+
+    private final long debut;
+    private final long fin;
+    private long[] occupes;
+    private int taille;
+
+    /**
+     * Crée un planificateur pour une fenêtre
+     *
+     * @param debut Début de la fenêtre, en minutes depuis l'époque
+     * @param fin Fin de la fenêtre (exclue), en minutes depuis l'époque
+     * @throws IllegalArgumentException si la fin n'est pas après le début ou si la fenêtre est trop longue
+     */
+    public PlanificateurCreneaux(long debut, long fin) {
+        if (fin <= debut) {
+            throw new IllegalArgumentException("La fin de la fenêtre doit être après son début");
+        }
+        if (fin - debut > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("La fenêtre de recherche est trop longue");
+        }
+
+        this.debut = debut;
+        this.fin = fin;
+        this.occupes = new long[64];
+        this.taille = 0;
+    }
+
+    /**
+     * Marque une période comme occupée ; la partie hors de la fenêtre est ignorée
+     *
+     * @param debutOccupe Début de la période, en minutes depuis l'époque
+     * @param finOccupe Fin de la période (exclue), en minutes depuis l'époque
+     */
+    public void occuper(long debutOccupe, long finOccupe) {
+        if (finOccupe < debut || debutOccupe > fin || finOccupe < debutOccupe) {
+            return;
+        }
+
+        if (taille == occupes.length) {
+            occupes = Arrays.copyOf(occupes, taille * 2);
+        }
+        long relatifDebut = Math.max(debutOccupe, debut) - debut;
+        long relatifFin = Math.min(finOccupe, fin) - debut;
+        occupes[taille++] = relatifDebut << 32 | relatifFin;
+    }
+
+    /**
+     * Limite la recherche aux heures d'ouverture de chaque jour de la fenêtre
+     *
+     * @param ouverture Heure à partir de laquelle une réunion peut commencer
+     * @param fermeture Heure à laquelle toute réunion doit être finie
+     * @throws IllegalArgumentException si une heure est null ou si la fermeture n'est pas après l'ouverture
+     */
+    public void horaires(LocalTime ouverture, LocalTime fermeture) {
+        if (ouverture == null || fermeture == null) {
+            throw new IllegalArgumentException("Les heures d'ouverture et de fermeture sont obligatoires");
+        }
+        if (!fermeture.isAfter(ouverture)) {
+            throw new IllegalArgumentException("La fermeture doit être après l'ouverture");
+        }
+
+        long minuteOuverture = ouverture.getHour() * 60L + ouverture.getMinute();
+        long minuteFermeture = fermeture.getHour() * 60L + fermeture.getMinute();
+        // Chaque nuit occupe de la fermeture d'un jour à l'ouverture du lendemain
+        long dernierJour = Math.floorDiv(fin, MinutesEpoch.MINUTES_PAR_JOUR);
+        for (long jour = Math.floorDiv(debut, MinutesEpoch.MINUTES_PAR_JOUR) - 1; jour <= dernierJour; jour++) {
+            long minuit = jour * MinutesEpoch.MINUTES_PAR_JOUR;
+            occuper(minuit + minuteFermeture, minuit + MinutesEpoch.MINUTES_PAR_JOUR + minuteOuverture);
+        }
+    }
+
+    /**
+     * Trouve les premières plages libres assez longues pour une réunion
+     *
+     * @param duree Durée de la réunion, en minutes
+     * @param nombre Nombre maximal de plages à retourner
+     * @return Les plages libres, dans l'ordre chronologique
+     * @throws IllegalArgumentException si la durée est négative ou si le nombre n'est pas strictement positif
+     */
+    public List<CreneauLibre> trouver(long duree, int nombre) {
+        if (duree < 0) {
+            throw new IllegalArgumentException("La durée ne peut pas être négative");
+        }
+        if (nombre <= 0) {
+            throw new IllegalArgumentException("Le nombre de créneaux doit être strictement positif");
+        }
+
+        Arrays.sort(occupes, 0, taille);
+        List<CreneauLibre> creneaux = new ArrayList<>(Math.min(nombre, 16));
+        // Fin de l'union des périodes déjà balayées, relative à la fenêtre
+        long libreDepuis = 0;
+        for (int i = 0; i < taille && creneaux.size() < nombre; i++) {
+            long relatifDebut = occupes[i] >>> 32;
+            if (relatifDebut > libreDepuis && relatifDebut - libreDepuis >= duree) {
+                creneaux.add(creneau(libreDepuis, relatifDebut));
+            }
+            libreDepuis = Math.max(libreDepuis, occupes[i] & MASQUE_FIN);
+        }
+
+        long longueur = fin - debut;
+        if (creneaux.size() < nombre && longueur > libreDepuis && longueur - libreDepuis >= duree) {
+            creneaux.add(creneau(libreDepuis, longueur));
+        }
+        return creneaux;
+    }
+
+    /**
+     * Obtient le nombre de périodes occupées accumulées
+     *
+     * @return Nombre de périodes
+     */
+    public int getNombreOccupes() {
+        return taille;
+    }
+
+    private CreneauLibre creneau(long relatifDebut, long relatifFin) {
+        return new CreneauLibre(MinutesEpoch.versDateHeure(debut + relatifDebut),
+                MinutesEpoch.versDateHeure(debut + relatifFin));
+    }
+}
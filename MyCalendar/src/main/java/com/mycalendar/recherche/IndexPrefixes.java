@@ -0,0 +1,89 @@
+package com.mycalendar.recherche;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index de noms interrogeable par leur début, pour compléter une saisie
+ *
+ * Les noms sont rangés dans l'ordre de leur forme normalisée (voir
+ * {@link TexteRecherche#normaliser}) : ceux qui commencent par une saisie
+ * forment une plage contiguë, trouvée en un temps logarithmique puis lue
+ * jusqu'au nombre de propositions voulu. Les accents et les majuscules de
+ * la saisie sont donc indifférents.
+ *
+ * L'index peut être lu pendant qu'un autre fil y ajoute des noms.
+ */
+public class IndexPrefixes {
+    // Sépare la forme normalisée du nom d'origine dans la clé ; précède tout autre caractère
+    private static final char SEPARATEUR = '\u0000';
+
+    // Clé : forme normalisée, séparateur, nom d'origine ; deux noms de même forme restent distincts
+    private final ConcurrentSkipListMap<String, String> noms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Ajoute un nom à l'index
+     *
+     * @param nom Le nom
+     * @throws IllegalArgumentException si le nom est null
+     */
+    public void ajouter(String nom) {
+        if (nom == null) {
+            throw new IllegalArgumentException("Le nom à indexer ne peut pas être null");
+        }
+        noms.put(cle(nom), nom);
+    }
+
+    /**
+     * Retire un nom de l'index
+     *
+     * @param nom Le nom
+     * @return true si le nom était indexé
+     */
+    public boolean retirer(String nom) {
+        return nom != null && noms.remove(cle(nom)) != null;
+    }
+
+    /**
+     * Obtient le nombre de noms indexés
+     *
+     * @return Le nombre de noms
+     */
+    public int getNombreNoms() {
+        return noms.size();
+    }
+
+    /**
+     * Propose les noms commençant par une saisie, dans l'ordre alphabétique
+     * Un nom égal à la saisie, à la casse et aux accents près, vient donc en premier
+     *
+     * @param debut Le début saisi ; les espaces qui l'entourent sont ignorés
+     * @param nombre Nombre maximal de propositions
+     * @return Les noms proposés, aucun si la saisie est vide
+     * @throws IllegalArgumentException si le nombre n'est pas strictement positif
+     */
+    public List<String> completer(String debut, int nombre) {
+        if (nombre <= 0) {
+            throw new IllegalArgumentException("Le nombre de propositions doit être strictement positif");
+        }
+
+        List<String> propositions = new ArrayList<>();
+        if (debut == null || debut.trim().isEmpty()) {
+            return propositions;
+        }
+
+        String prefixe = TexteRecherche.normaliser(debut.trim());
+        for (String nom : noms.subMap(prefixe, prefixe + Character.MAX_VALUE).values()) {
+            propositions.add(nom);
+            if (propositions.size() == nombre) {
+                break;
+            }
+        }
+        return propositions;
+    }
+
+    private static String cle(String nom) {
+        return TexteRecherche.normaliser(nom) + SEPARATEUR + nom;
+    }
+}
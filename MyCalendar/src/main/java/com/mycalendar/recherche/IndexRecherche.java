@@ -0,0 +1,454 @@
+package com.mycalendar.recherche;
+
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.valueobjects.EventId;
+import com.mycalendar.valueobjects.ParticipantsEvenement;
+import com.mycalendar.valueobjects.Utilisateur;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Index inversé des événements, pour la recherche plein texte
+ *
+ * Chaque terme du titre, du lieu, du propriétaire et des participants d'un événement
+ * (voir {@link TexteRecherche}) renvoie à la liste des événements qui le contiennent.
+ * Les événements sont numérotés dans l'ordre d'indexation : une liste ne s'allonge que
+ * par la fin et reste triée, ce qui permet de croiser les listes de plusieurs termes
+ * par recherche dichotomique.
+ *
+ * Un événement retiré laisse ses entrées dans les listes, où elles sont ignorées ;
+ * l'index est reconstruit quand les événements retirés deviennent majoritaires.
+ *
+ * Les méthodes sont synchronisées : l'index peut être interrogé depuis n'importe
+ * quel fil pendant qu'un autre le tient à jour.
+ */
+public class IndexRecherche {
+    // Champs dans lesquels un terme apparaît, cumulés par bits
+    private static final byte TITRE = 1;
+    private static final byte LIEU = 2;
+    private static final byte PERSONNE = 4;
+    private static final float POIDS_TITRE = 4;
+    private static final float POIDS_LIEU = 2;
+    private static final float POIDS_PERSONNE = 1;
+    // Un terme qui ne fait que commencer par le dernier mot saisi compte moitié moins
+    private static final float POIDS_PREFIXE = 0.5f;
+    // En deçà, un préfixe correspondrait à une grande partie du dictionnaire
+    private static final int PREFIXE_MINIMAL = 2;
+    // Un préfixe court ne se développe qu'en ses termes les plus fréquents, pour borner le travail par frappe
+    static final int PREFIXE_TERMES_MAX = 64;
+    private static final int RECONSTRUCTION_MINIMALE = 1024;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Les mêmes listes, triées par terme pour la recherche par préfixe
+    private final TreeMap<String, Postings> dictionnaire = new TreeMap<>();
+    private final Map<EventId, Integer> numeros = new HashMap<>();
+    private Evenement[] documents = new Evenement[16];
+    // Termes de l'identifiant de chaque utilisateur indexé : un même utilisateur revient dans de nombreux événements
+    private final Map<String, List<String>> termesUtilisateurs = new HashMap<>();
+    private int nombreDocuments;
+    private int retires;
+
+    /**
+     * Indexe un événement ; un événement de même identifiant déjà indexé est remplacé
+     *
+     * @param evenement L'événement à indexer
+     * @throws IllegalArgumentException si l'événement est null
+     */
+    public synchronized void ajouter(Evenement evenement) {
+        if (evenement == null) {
+            throw new IllegalArgumentException("L'événement à indexer ne peut pas être null");
+        }
+        retirerSansReconstruire(evenement.getId());
+        indexer(evenement);
+    }
+
+    /**
+     * Indexe plusieurs événements
+     *
+     * @param evenements Les événements à indexer
+     * @throws IllegalArgumentException si un événement est null
+     */
+    public synchronized void ajouterTous(Collection<? extends Evenement> evenements) {
+        for (Evenement evenement : evenements) {
+            ajouter(evenement);
+        }
+    }
+
+    /**
+     * Retire un événement de l'index
+     *
+     * @param evenement L'événement à retirer
+     * @return true si l'événement était indexé
+     */
+    public synchronized boolean retirer(Evenement evenement) {
+        boolean retire = retirerSansReconstruire(evenement.getId());
+        if (retires > RECONSTRUCTION_MINIMALE && retires > nombreDocuments - retires) {
+            reconstruire();
+        }
+        return retire;
+    }
+
+    /**
+     * Applique d'un bloc des retraits puis des ajouts, sans qu'une recherche
+     * ne s'intercale entre les deux
+     *
+     * @param retraits Les événements à retirer
+     * @param ajouts Les événements à indexer
+     */
+    public synchronized void modifier(Collection<? extends Evenement> retraits, Collection<? extends Evenement> ajouts) {
+        for (Evenement evenement : retraits) {
+            retirer(evenement);
+        }
+        ajouterTous(ajouts);
+    }
+
+    /**
+     * Obtient le nombre d'événements indexés
+     *
+     * @return Le nombre d'événements
+     */
+    public synchronized int getNombreEvenements() {
+        return nombreDocuments - retires;
+    }
+
+    /**
+     * Recherche les événements contenant tous les mots d'une requête
+     *
+     * Le dernier mot peut n'être que le début d'un terme, ce qui permet de chercher
+     * pendant la saisie. Chaque mot rapporte davantage s'il est rare, et selon le champ
+     * où il apparaît : titre, puis lieu, puis propriétaire et participants. À score égal,
+     * les événements sont rendus dans l'ordre chronologique.
+     *
+     * @param requete Les mots recherchés, accents et majuscules indifférents
+     * @param nombre Nombre maximal de résultats
+     * @return Les événements trouvés, du plus pertinent au moins pertinent
+     * @throws IllegalArgumentException si la requête est null ou si le nombre n'est pas strictement positif
+     */
+    public synchronized List<Evenement> rechercher(String requete, int nombre) {
+        if (requete == null) {
+            throw new IllegalArgumentException("La requête ne peut pas être null");
+        }
+        if (nombre <= 0) {
+            throw new IllegalArgumentException("Le nombre de résultats doit être strictement positif");
+        }
+
+        List<String> mots = new ArrayList<>(new LinkedHashSet<>(TexteRecherche.termes(requete)));
+        List<Terme> termes = new ArrayList<>();
+        for (int i = 0; i < mots.size(); i++) {
+            Terme terme = resoudre(mots.get(i), i == mots.size() - 1);
+            if (terme.listes.isEmpty()) {
+                return new ArrayList<>();
+            }
+            termes.add(terme);
+        }
+        if (termes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Les candidats viennent du terme le plus rare ; les autres ne font que les filtrer
+        termes.sort(Comparator.comparingLong(terme -> terme.taille));
+        Candidats candidats = termes.get(0).candidats();
+        for (int i = 1; i < termes.size() && candidats.taille > 0; i++) {
+            termes.get(i).filtrer(candidats);
+        }
+        return meilleurs(candidats, nombre);
+    }
+
+    /**
+     * Trouve les listes d'un mot : la sienne, et pour le dernier mot celles des termes
+     * qu'il commence, limitées aux {@value #PREFIXE_TERMES_MAX} plus fréquents
+     */
+    private Terme resoudre(String mot, boolean prefixe) {
+        Terme terme = new Terme();
+        int vivants = Math.max(1, nombreDocuments - retires);
+        Postings exact = postings.get(mot);
+        if (exact != null) {
+            terme.ajouter(exact, idf(vivants, exact.taille));
+        }
+        if (prefixe && mot.length() >= PREFIXE_MINIMAL) {
+            // La liste la moins fréquente en tête, pour être écartée la première
+            PriorityQueue<Postings> plusFrequentes = new PriorityQueue<>(Comparator.comparingInt(liste -> liste.taille));
+            for (Map.Entry<String, Postings> entree : dictionnaire.tailMap(mot, false).entrySet()) {
+                if (!entree.getKey().startsWith(mot)) {
+                    break;
+                }
+                plusFrequentes.add(entree.getValue());
+                if (plusFrequentes.size() > PREFIXE_TERMES_MAX) {
+                    plusFrequentes.poll();
+                }
+            }
+            for (Postings liste : plusFrequentes) {
+                terme.ajouter(liste, idf(vivants, liste.taille) * POIDS_PREFIXE);
+            }
+        }
+        return terme;
+    }
+
+    private static float idf(int vivants, int frequence) {
+        return (float) Math.log(1 + (double) vivants / frequence);
+    }
+
+    private static float poids(byte champs) {
+        float poids = 0;
+        if ((champs & TITRE) != 0) {
+            poids += POIDS_TITRE;
+        }
+        if ((champs & LIEU) != 0) {
+            poids += POIDS_LIEU;
+        }
+        if ((champs & PERSONNE) != 0) {
+            poids += POIDS_PERSONNE;
+        }
+        return poids;
+    }
+
+    /**
+     * Garde les meilleurs candidats dans un tas borné, sans trier tous les candidats
+     */
+    private List<Evenement> meilleurs(Candidats candidats, int nombre) {
+        // Le moins bon en tête du tas
+        Comparator<Integer> moinsBonDabord = (i, j) -> comparer(candidats, i, j);
+        PriorityQueue<Integer> tas = new PriorityQueue<>(Math.min(nombre, candidats.taille) + 1, moinsBonDabord);
+        for (int i = 0; i < candidats.taille; i++) {
+            if (tas.size() < nombre) {
+                tas.add(i);
+            } else if (comparer(candidats, i, tas.peek()) > 0) {
+                tas.poll();
+                tas.add(i);
+            }
+        }
+
+        List<Evenement> resultats = new ArrayList<>(tas.size());
+        while (!tas.isEmpty()) {
+            resultats.add(documents[candidats.documents[tas.poll()]]);
+        }
+        Collections.reverse(resultats);
+        return resultats;
+    }
+
+    /**
+     * Compare deux candidats : positif si le premier est meilleur, c'est-à-dire de score
+     * plus élevé, puis plus tôt, puis indexé plus tôt
+     */
+    private int comparer(Candidats candidats, int i, int j) {
+        int parScore = Float.compare(candidats.scores[i], candidats.scores[j]);
+        if (parScore != 0) {
+            return parScore;
+        }
+        int documentI = candidats.documents[i];
+        int documentJ = candidats.documents[j];
+        int parDebut = Long.compare(documents[documentJ].getDebutEpochMinutes(), documents[documentI].getDebutEpochMinutes());
+        return parDebut != 0 ? parDebut : Integer.compare(documentJ, documentI);
+    }
+
+    private void indexer(Evenement evenement) {
+        int document = nombreDocuments++;
+        if (document == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[document] = evenement;
+        numeros.put(evenement.getId(), document);
+
+        indexerTermes(document, TexteRecherche.termes(evenement.getTitre().getValeur()), TITRE);
+        indexerTermes(document, TexteRecherche.termes(evenement.getLieu().getValeur()), LIEU);
+        ParticipantsEvenement participants = evenement.getParticipants();
+        if (!participants.contientUtilisateur(evenement.getProprietaire())) {
+            indexerTermes(document, termes(evenement.getProprietaire()), PERSONNE);
+        }
+        for (Utilisateur participant : participants.getUtilisateurs()) {
+            indexerTermes(document, termes(participant), PERSONNE);
+        }
+    }
+
+    private List<String> termes(Utilisateur utilisateur) {
+        return termesUtilisateurs.computeIfAbsent(utilisateur.getIdentifiant(), TexteRecherche::termes);
+    }
+
+    private void indexerTermes(int document, List<String> termes, byte champ) {
+        for (String terme : termes) {
+            Postings liste = postings.get(terme);
+            if (liste == null) {
+                liste = new Postings();
+                postings.put(terme, liste);
+                dictionnaire.put(terme, liste);
+            }
+            liste.ajouter(document, champ);
+        }
+    }
+
+    private boolean retirerSansReconstruire(EventId id) {
+        Integer document = numeros.remove(id);
+        if (document == null) {
+            return false;
+        }
+        documents[document] = null;
+        retires++;
+        return true;
+    }
+
+    /**
+     * Renumérote les événements restants et reconstruit les listes sans leurs entrées mortes
+     */
+    private void reconstruire() {
+        Evenement[] anciens = documents;
+        int nombreAnciens = nombreDocuments;
+        postings.clear();
+        dictionnaire.clear();
+        numeros.clear();
+        termesUtilisateurs.clear();
+        documents = new Evenement[Math.max(16, (nombreAnciens - retires) * 2)];
+        nombreDocuments = 0;
+        retires = 0;
+        for (int i = 0; i < nombreAnciens; i++) {
+            if (anciens[i] != null) {
+                indexer(anciens[i]);
+            }
+        }
+    }
+
+    /**
+     * Liste triée des événements contenant un terme, avec les champs où il apparaît
+     */
+    private static final class Postings {
+        private int[] documents = new int[2];
+        private byte[] champs = new byte[2];
+        private int taille;
+
+        void ajouter(int document, byte champ) {
+            // Un terme répété dans l'événement en cours d'indexation ne crée pas de nouvelle entrée
+            if (taille > 0 && documents[taille - 1] == document) {
+                champs[taille - 1] |= champ;
+                return;
+            }
+            if (taille == documents.length) {
+                documents = Arrays.copyOf(documents, taille * 2);
+                champs = Arrays.copyOf(champs, taille * 2);
+            }
+            documents[taille] = document;
+            champs[taille] = champ;
+            taille++;
+        }
+
+        /**
+         * Cherche un événement à partir d'une position, les recherches successives
+         * portant sur des événements croissants
+         *
+         * @return La position de l'événement, ou l'opposé moins un de sa position d'insertion
+         */
+        int chercher(int document, int depuis) {
+            return Arrays.binarySearch(documents, depuis, taille, document);
+        }
+    }
+
+    /**
+     * Événements retenus, triés par numéro, avec leur score cumulé
+     */
+    private static final class Candidats {
+        private int[] documents;
+        private float[] scores;
+        private int taille;
+
+        Candidats(int capacite) {
+            documents = new int[capacite];
+            scores = new float[capacite];
+        }
+    }
+
+    /**
+     * Un mot de la requête : les listes qu'il désigne, chacune avec son poids
+     */
+    private final class Terme {
+        private final List<Postings> listes = new ArrayList<>();
+        private final List<Float> poids = new ArrayList<>();
+        private long taille;
+
+        void ajouter(Postings liste, float poidsListe) {
+            listes.add(liste);
+            poids.add(poidsListe);
+            taille += liste.taille;
+        }
+
+        /**
+         * Rassemble les événements vivants des listes du mot ; un événement présent
+         * dans plusieurs listes garde son meilleur score
+         */
+        Candidats candidats() {
+            if (listes.size() == 1) {
+                Postings liste = listes.get(0);
+                float poidsListe = poids.get(0);
+                Candidats candidats = new Candidats(liste.taille);
+                for (int i = 0; i < liste.taille; i++) {
+                    int document = liste.documents[i];
+                    if (documents[document] != null) {
+                        candidats.documents[candidats.taille] = document;
+                        candidats.scores[candidats.taille++] = poidsListe * poids(liste.champs[i]);
+                    }
+                }
+                return candidats;
+            }
+
+            // Numéro en poids fort, score en poids faible : le tri regroupe chaque événement,
+            // son meilleur score en dernier (un flottant positif se compare comme ses bits)
+            long[] entrees = new long[(int) taille];
+            int nombreEntrees = 0;
+            for (int l = 0; l < listes.size(); l++) {
+                Postings liste = listes.get(l);
+                float poidsListe = poids.get(l);
+                for (int i = 0; i < liste.taille; i++) {
+                    int document = liste.documents[i];
+                    if (documents[document] != null) {
+                        float score = poidsListe * poids(liste.champs[i]);
+                        entrees[nombreEntrees++] = (long) document << 32 | Float.floatToIntBits(score);
+                    }
+                }
+            }
+            Arrays.sort(entrees, 0, nombreEntrees);
+
+            Candidats candidats = new Candidats(nombreEntrees);
+            for (int i = 0; i < nombreEntrees; i++) {
+                if (i + 1 < nombreEntrees && entrees[i + 1] >>> 32 == entrees[i] >>> 32) {
+                    continue;
+                }
+                candidats.documents[candidats.taille] = (int) (entrees[i] >>> 32);
+                candidats.scores[candidats.taille++] = Float.intBitsToFloat((int) entrees[i]);
+            }
+            return candidats;
+        }
+
+        /**
+         * Ne garde que les candidats présents dans une des listes du mot, et ajoute à leur score
+         */
+        void filtrer(Candidats candidats) {
+            int[] depuis = new int[listes.size()];
+            int gardes = 0;
+            for (int c = 0; c < candidats.taille; c++) {
+                int document = candidats.documents[c];
+                float meilleur = 0;
+                for (int l = 0; l < listes.size(); l++) {
+                    Postings liste = listes.get(l);
+                    int position = liste.chercher(document, depuis[l]);
+                    if (position >= 0) {
+                        meilleur = Math.max(meilleur, poids.get(l) * poids(liste.champs[position]));
+                        depuis[l] = position + 1;
+                    } else {
+                        depuis[l] = -position - 1;
+                    }
+                }
+                if (meilleur > 0) {
+                    candidats.documents[gardes] = document;
+                    candidats.scores[gardes++] = candidats.scores[c] + meilleur;
+                }
+            }
+            candidats.taille = gardes;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.mycalendar.recherche;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Découpage d'un texte en termes de recherche
+ *
+ * Un terme est une suite de lettres ou de chiffres, mise en minuscules et
+ * débarrassée de ses accents : « Réunion d'équipe » donne « reunion » et
+ * « equipe ». Les termes d'une lettre et les mots outils les plus courants du
+ * français sont écartés, car presque tous les événements les contiennent.
+ */
+public final class TexteRecherche {
+    // Aucun mot outil ne dépasse cette longueur, ce qui évite de chercher les autres termes
+    private static final int MOT_OUTIL_MAXIMAL = 4;
+    private static final Set<String> MOTS_OUTILS = Set.of(
+        "au", "aux", "avec", "ce", "dans", "de", "des", "du", "en", "et", "la", "le", "les",
+        "par", "pour", "sur", "un", "une");
+    // Forme repliée des caractères latins, calculée une fois : la décomposition Unicode est coûteuse
+    private static final String[] REPLIS = new String[0x250];
+    
+    static {
+        for (char c = 0; c < REPLIS.length; c++) {
+            REPLIS[c] = replier(c);
+        }
+    }
+
+    private TexteRecherche() {
+    }
+
+    /**
+     * Découpe un texte en termes normalisés, dans l'ordre du texte
+     *
+     * @param texte Le texte, éventuellement null
+     * @return Les termes, doublons compris
+     */
+    public static List<String> termes(String texte) {
+        List<String> termes = new ArrayList<>();
+        if (texte == null) {
+            return termes;
+        }
+
+        String normalise = normaliser(texte);
+        int debut = -1;
+        for (int i = 0; i <= normalise.length(); i++) {
+            boolean lettre = i < normalise.length() && Character.isLetterOrDigit(normalise.charAt(i));
+            if (lettre && debut < 0) {
+                debut = i;
+            } else if (!lettre && debut >= 0) {
+                String terme = normalise.substring(debut, i);
+                if (terme.length() > MOT_OUTIL_MAXIMAL || (terme.length() > 1 && !MOTS_OUTILS.contains(terme))) {
+                    termes.add(terme);
+                }
+                debut = -1;
+            }
+        }
+        return termes;
+    }
+
+    /**
+     * Met un texte en minuscules et retire ses accents
+     * Les caractères latins sont repliés par table ; seuls les autres passent par la décomposition Unicode
+     *
+     * @param texte Le texte
+     * @return Le texte normalisé
+     */
+    public static String normaliser(String texte) {
+        StringBuilder normalise = new StringBuilder(texte.length());
+        for (int i = 0; i < texte.length(); i++) {
+            char c = texte.charAt(i);
+            if (c < REPLIS.length) {
+                normalise.append(REPLIS[c]);
+            } else {
+                normalise.append(replier(c));
+            }
+        }
+        return normalise.toString();
+    }
+    
+    private static String replier(char c) {
+        // Les ligatures n'ont pas de décomposition canonique
+        String minuscule = String.valueOf(c).toLowerCase(Locale.ROOT)
+            .replace("œ", "oe").replace("æ", "ae").replace("ß", "ss");
+        String decompose = Normalizer.normalize(minuscule, Normalizer.Form.NFD);
+        StringBuilder sansAccents = new StringBuilder(decompose.length());
+        for (int i = 0; i < decompose.length(); i++) {
+            char d = decompose.charAt(i);
+            if (Character.getType(d) != Character.NON_SPACING_MARK) {
+                sansAccents.append(d);
+            }
+        }
+        return sansAccents.toString();
+    }
+}
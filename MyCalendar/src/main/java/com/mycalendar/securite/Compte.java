@@ -0,0 +1,65 @@
+package com.mycalendar.securite;
+
+import com.mycalendar.valueobjects.Utilisateur;
+import java.util.Objects;
+
+/**
+ * Compte d'un utilisateur : son identité et l'empreinte de son mot de passe
+ */
+public final class Compte {
+    private final Utilisateur utilisateur;
+    private final EmpreinteMotDePasse empreinte;
+
+    /**
+     * Crée un compte
+     *
+     * @param utilisateur Titulaire du compte
+     * @param empreinte Empreinte de son mot de passe
+     * @throws IllegalArgumentException si l'un des arguments est null
+     */
+    public Compte(Utilisateur utilisateur, EmpreinteMotDePasse empreinte) {
+        if (utilisateur == null || empreinte == null) {
+            throw new IllegalArgumentException("Le titulaire et l'empreinte du compte sont obligatoires");
+        }
+        this.utilisateur = utilisateur;
+        this.empreinte = empreinte;
+    }
+
+    /**
+     * Obtient le titulaire du compte
+     *
+     * @return Le titulaire
+     */
+    public Utilisateur getUtilisateur() {
+        return utilisateur;
+    }
+
+    /**
+     * Obtient l'empreinte du mot de passe
+     *
+     * @return L'empreinte
+     */
+    public EmpreinteMotDePasse getEmpreinte() {
+        return empreinte;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        // Un compte est désigné par son titulaire, comme l'utilisateur par son identifiant
+        Compte that = (Compte) o;
+        return Objects.equals(utilisateur, that.utilisateur);
+    }
+
+    @Override
+    public int hashCode() {
+        return utilisateur.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Compte de " + utilisateur.getIdentifiant();
+    }
+}
@@ -0,0 +1,170 @@
+package com.mycalendar.securite;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Value Object représentant l'empreinte d'un mot de passe, dérivée par PBKDF2
+ * (HMAC-SHA256) avec un sel aléatoire propre à chaque empreinte
+ *
+ * Le mot de passe ne peut pas être retrouvé à partir de l'empreinte. La dérivation
+ * est volontairement coûteuse, pour ralentir une attaque par dictionnaire sur des
+ * empreintes dérobées ; le nombre d'itérations est conservé avec l'empreinte, si
+ * bien qu'il peut être relevé sans invalider les comptes existants.
+ */
+public final class EmpreinteMotDePasse {
+    /**
+     * Nombre d'itérations recommandé pour PBKDF2-HMAC-SHA256 (OWASP, 2023)
+     */
+    public static final int ITERATIONS_DEFAUT = 600_000;
+
+    private static final String ALGORITHME = "PBKDF2WithHmacSHA256";
+    private static final String PREFIXE = "$pbkdf2-sha256$";
+    private static final int OCTETS_SEL = 16;
+    private static final int BITS_EMPREINTE = 256;
+    private static final SecureRandom ALEA = new SecureRandom();
+
+    private final int iterations;
+    private final byte[] sel;
+    private final byte[] empreinte;
+
+    private EmpreinteMotDePasse(int iterations, byte[] sel, byte[] empreinte) {
+        this.iterations = iterations;
+        this.sel = sel;
+        this.empreinte = empreinte;
+    }
+
+    /**
+     * Calcule l'empreinte d'un mot de passe avec un nouveau sel
+     *
+     * @param motDePasse Le mot de passe
+     * @param iterations Nombre d'itérations de PBKDF2
+     * @return L'empreinte
+     * @throws IllegalArgumentException si le mot de passe est null ou vide, ou si le nombre d'itérations n'est pas strictement positif
+     */
+    public static EmpreinteMotDePasse calculer(String motDePasse, int iterations) {
+        if (motDePasse == null || motDePasse.isEmpty()) {
+            throw new IllegalArgumentException("Le mot de passe ne peut pas être vide");
+        }
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Le nombre d'itérations doit être strictement positif");
+        }
+
+        byte[] sel = new byte[OCTETS_SEL];
+        ALEA.nextBytes(sel);
+        return new EmpreinteMotDePasse(iterations, sel, deriver(motDePasse, sel, iterations));
+    }
+
+    /**
+     * Vérifie si un mot de passe correspond à l'empreinte
+     * La comparaison se fait en temps constant : sa durée ne révèle pas le nombre d'octets corrects
+     *
+     * @param candidat Mot de passe à vérifier
+     * @return true si le mot de passe correspond, false sinon
+     */
+    public boolean verifier(String candidat) {
+        if (candidat == null || candidat.isEmpty()) {
+            return false;
+        }
+        return MessageDigest.isEqual(empreinte, deriver(candidat, sel, iterations));
+    }
+
+    /**
+     * Obtient le nombre d'itérations avec lequel l'empreinte a été calculée
+     *
+     * @return Le nombre d'itérations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Encode l'empreinte pour l'enregistrement, sous la forme $pbkdf2-sha256$itérations$sel$empreinte
+     *
+     * @return L'empreinte encodée
+     */
+    public String encoder() {
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIXE + iterations + '$' + base64.encodeToString(sel) + '$' + base64.encodeToString(empreinte);
+    }
+
+    /**
+     * Indique si un texte enregistré est une empreinte encodée plutôt qu'un ancien mot de passe en clair
+     *
+     * @param texte Le texte enregistré
+     * @return true si le texte a la forme produite par {@link #encoder()}
+     */
+    public static boolean estEncodee(String texte) {
+        return texte != null && texte.startsWith(PREFIXE);
+    }
+
+    /**
+     * Relit une empreinte encodée par {@link #encoder()}
+     *
+     * @param texte L'empreinte encodée
+     * @return L'empreinte
+     * @throws IllegalArgumentException si le texte n'est pas une empreinte encodée valide
+     */
+    public static EmpreinteMotDePasse decoder(String texte) {
+        if (!estEncodee(texte)) {
+            throw new IllegalArgumentException("Empreinte de mot de passe non reconnue");
+        }
+
+        String[] parties = texte.substring(PREFIXE.length()).split("\\$", -1);
+        if (parties.length != 3) {
+            throw new IllegalArgumentException("Empreinte de mot de passe mal formée");
+        }
+        try {
+            int iterations = Integer.parseInt(parties[0]);
+            byte[] sel = Base64.getDecoder().decode(parties[1]);
+            byte[] empreinte = Base64.getDecoder().decode(parties[2]);
+            if (iterations <= 0 || sel.length == 0 || empreinte.length != BITS_EMPREINTE / 8) {
+                throw new IllegalArgumentException("Empreinte de mot de passe mal formée");
+            }
+            return new EmpreinteMotDePasse(iterations, sel, empreinte);
+        } catch (NumberFormatException e) {
+            // IllegalArgumentException couvre aussi le Base64 invalide
+            throw new IllegalArgumentException("Empreinte de mot de passe mal formée", e);
+        }
+    }
+
+    private static byte[] deriver(String motDePasse, byte[] sel, int iterations) {
+        char[] caracteres = motDePasse.toCharArray();
+        PBEKeySpec specification = new PBEKeySpec(caracteres, sel, iterations, BITS_EMPREINTE);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHME).generateSecret(specification).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            // PBKDF2WithHmacSHA256 fait partie des algorithmes que toute JVM doit fournir
+            throw new IllegalStateException("Dérivation " + ALGORITHME + " indisponible", e);
+        } finally {
+            specification.clearPassword();
+            Arrays.fill(caracteres, '\0');
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        EmpreinteMotDePasse that = (EmpreinteMotDePasse) o;
+        return iterations == that.iterations && Arrays.equals(sel, that.sel) && Arrays.equals(empreinte, that.empreinte);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(empreinte);
+    }
+
+    @Override
+    public String toString() {
+        // Ne pas inclure l'empreinte dans la représentation textuelle
+        return "Empreinte PBKDF2-HMAC-SHA256, " + iterations + " itérations";
+    }
+}
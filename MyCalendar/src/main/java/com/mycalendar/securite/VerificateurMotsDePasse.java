@@ -0,0 +1,241 @@
+package com.mycalendar.securite;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calcule et vérifie les empreintes de mots de passe sur un nombre borné de fils
+ *
+ * Une empreinte coûte volontairement cher : une rafale de connexions ne doit pas
+ * accaparer tous les processeurs au détriment des requêtes sur le calendrier.
+ * Les dérivations passent donc par un exécuteur à nombre de fils fixe et à file
+ * bornée ; une demande qui trouve la file pleine est refusée plutôt que mise en
+ * attente sans limite.
+ *
+ * La latence mesurée va du dépôt de la demande à son résultat : elle inclut l'attente en file.
+ */
+public final class VerificateurMotsDePasse implements AutoCloseable {
+    /**
+     * Propriété système fixant le nombre d'itérations des nouvelles empreintes
+     */
+    public static final String PROPRIETE_ITERATIONS = "mycalendar.motsdepasse.iterations";
+    public static final int CAPACITE_FILE_DEFAUT = 64;
+
+    private static final AtomicInteger NUMERO = new AtomicInteger();
+
+    private final int iterations;
+    private final ThreadPoolExecutor executeur;
+    // Empreinte vérifiée pour un identifiant inconnu : la durée de la réponse ne trahit pas l'existence du compte
+    private volatile EmpreinteMotDePasse leurre;
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder latenceTotale = new LongAdder();
+    private final LongAccumulator latenceMax = new LongAccumulator(Math::max, 0);
+    private final LongAdder refus = new LongAdder();
+
+    /**
+     * Crée un vérificateur
+     *
+     * @param iterations Nombre d'itérations des nouvelles empreintes
+     * @param parallelisme Nombre maximal de dérivations simultanées
+     * @param capaciteFile Nombre maximal de demandes en attente
+     * @throws IllegalArgumentException si un des paramètres n'est pas strictement positif
+     */
+    public VerificateurMotsDePasse(int iterations, int parallelisme, int capaciteFile) {
+        if (iterations <= 0 || parallelisme <= 0 || capaciteFile <= 0) {
+            throw new IllegalArgumentException("Les itérations, le parallélisme et la file doivent être strictement positifs");
+        }
+
+        this.iterations = iterations;
+        int numero = NUMERO.incrementAndGet();
+        ThreadFactory fabrique = tache -> {
+            Thread fil = new Thread(tache, "verification-mots-de-passe-" + numero);
+            fil.setDaemon(true);
+            return fil;
+        };
+        this.executeur = new ThreadPoolExecutor(parallelisme, parallelisme, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(capaciteFile), fabrique);
+        // Les fils inactifs s'arrêtent : un vérificateur sans connexion ne retient aucun fil
+        executeur.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Crée le vérificateur de l'application : la moitié des processeurs au plus, et le
+     * nombre d'itérations de la propriété système {@value #PROPRIETE_ITERATIONS}
+     *
+     * @return Le vérificateur configuré
+     */
+    public static VerificateurMotsDePasse depuisConfiguration() {
+        int parallelisme = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new VerificateurMotsDePasse(iterationsConfigurees(), parallelisme, CAPACITE_FILE_DEFAUT);
+    }
+
+    /**
+     * Lit la propriété système {@value #PROPRIETE_ITERATIONS}
+     *
+     * @return Le nombre d'itérations configuré, ou {@link EmpreinteMotDePasse#ITERATIONS_DEFAUT}
+     *         si la propriété n'est pas définie, illisible ou pas strictement positive
+     */
+    public static int iterationsConfigurees() {
+        int iterations = Integer.getInteger(PROPRIETE_ITERATIONS, EmpreinteMotDePasse.ITERATIONS_DEFAUT);
+        return iterations > 0 ? iterations : EmpreinteMotDePasse.ITERATIONS_DEFAUT;
+    }
+
+    /**
+     * Calcule l'empreinte d'un nouveau mot de passe
+     *
+     * @param motDePasse Le mot de passe
+     * @return L'empreinte
+     * @throws IllegalArgumentException si le mot de passe est null ou vide
+     * @throws IllegalStateException si trop de demandes sont déjà en attente
+     */
+    public EmpreinteMotDePasse calculer(String motDePasse) {
+        return executer(() -> EmpreinteMotDePasse.calculer(motDePasse, iterations));
+    }
+
+    /**
+     * Vérifie un mot de passe ; sans empreinte, la vérification est faite sur un leurre
+     * pour durer autant, et échoue
+     *
+     * @param empreinte L'empreinte du compte, ou null si le compte n'existe pas
+     * @param candidat Mot de passe à vérifier
+     * @return true si le mot de passe correspond à l'empreinte, false sinon
+     * @throws IllegalStateException si trop de demandes sont déjà en attente
+     */
+    public boolean verifier(EmpreinteMotDePasse empreinte, String candidat) {
+        if (empreinte != null) {
+            return executer(() -> empreinte.verifier(candidat));
+        }
+        return executer(() -> {
+            leurre().verifier(candidat);
+            return false;
+        });
+    }
+
+    private EmpreinteMotDePasse leurre() {
+        EmpreinteMotDePasse courant = leurre;
+        if (courant == null) {
+            // Deux fils peuvent calculer chacun un leurre : l'un remplace l'autre sans conséquence
+            courant = EmpreinteMotDePasse.calculer("leurre", iterations);
+            leurre = courant;
+        }
+        return courant;
+    }
+
+    private <T> T executer(Callable<T> derivation) {
+        long debut = System.nanoTime();
+        Future<T> resultat;
+        try {
+            resultat = executeur.submit(derivation);
+        } catch (RejectedExecutionException e) {
+            refus.increment();
+            throw new IllegalStateException("Trop de connexions en cours, réessayez dans un instant", e);
+        }
+
+        try {
+            return resultat.get();
+        } catch (InterruptedException e) {
+            resultat.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Vérification du mot de passe interrompue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Vérification du mot de passe impossible", e.getCause());
+        } finally {
+            long latence = System.nanoTime() - debut;
+            operations.increment();
+            latenceTotale.add(latence);
+            latenceMax.accumulate(latence);
+        }
+    }
+
+    /**
+     * Obtient le nombre d'itérations des nouvelles empreintes
+     *
+     * @return Le nombre d'itérations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Obtient le nombre de demandes en attente d'un fil
+     *
+     * @return La profondeur de la file
+     */
+    public int getFileAttente() {
+        return executeur.getQueue().size();
+    }
+
+    /**
+     * Obtient le nombre de dérivations en cours
+     *
+     * @return Le nombre de fils occupés
+     */
+    public int getEnCours() {
+        return executeur.getActiveCount();
+    }
+
+    /**
+     * Obtient le nombre de demandes traitées, réussies ou non
+     *
+     * @return Le nombre de demandes
+     */
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    /**
+     * Obtient le nombre de demandes refusées parce que la file était pleine
+     *
+     * @return Le nombre de refus
+     */
+    public long getRefus() {
+        return refus.sum();
+    }
+
+    /**
+     * Obtient la latence moyenne d'une demande, attente en file comprise
+     *
+     * @return La latence moyenne en nanosecondes, 0 si aucune demande n'a été traitée
+     */
+    public long getLatenceMoyenneNanos() {
+        long nombre = operations.sum();
+        return nombre == 0 ? 0 : latenceTotale.sum() / nombre;
+    }
+
+    /**
+     * Obtient la plus longue latence observée, attente en file comprise
+     *
+     * @return La latence maximale en nanosecondes
+     */
+    public long getLatenceMaxNanos() {
+        return latenceMax.get();
+    }
+
+    /**
+     * Arrête les fils ; les demandes déjà acceptées sont menées à terme
+     */
+    @Override
+    public void close() {
+        executeur.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d vérification(s), latence moyenne %d ms, max %d ms, %d en file, %d refusée(s)",
+            getOperations(), TimeUnit.NANOSECONDS.toMillis(getLatenceMoyenneNanos()),
+            TimeUnit.NANOSECONDS.toMillis(getLatenceMaxNanos()), getFileAttente(), getRefus());
+    }
+}
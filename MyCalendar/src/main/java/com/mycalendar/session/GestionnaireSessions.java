@@ -0,0 +1,166 @@
+package com.mycalendar.session;
+
+import com.mycalendar.valueobjects.Utilisateur;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sessions ouvertes, reconnues par leur jeton sans nouvelle vérification du mot de passe
+ *
+ * Une session expire après une durée d'inactivité ; chaque accès la prolonge.
+ * Le nombre de sessions est borné : au-delà, la session inutilisée depuis le plus
+ * longtemps est fermée. Les sessions sont rangées de la moins à la plus récemment
+ * utilisée, si bien que les sessions expirées se trouvent en tête et sont purgées
+ * sans parcourir les autres.
+ *
+ * Un même utilisateur peut avoir plusieurs sessions simultanées. Les méthodes
+ * sont synchronisées : le gestionnaire peut être partagé entre plusieurs fils.
+ */
+public final class GestionnaireSessions {
+    public static final int CAPACITE_DEFAUT = 10_000;
+    public static final Duration INACTIVITE_DEFAUT = Duration.ofMinutes(30);
+
+    private final int capacite;
+    private final long inactiviteMillis;
+    private final Clock horloge;
+    private final LinkedHashMap<JetonSession, Session> sessions;
+
+    /**
+     * Crée un gestionnaire de {@value #CAPACITE_DEFAUT} sessions au plus, expirant
+     * après trente minutes d'inactivité
+     */
+    public GestionnaireSessions() {
+        this(CAPACITE_DEFAUT, INACTIVITE_DEFAUT, Clock.systemUTC());
+    }
+
+    /**
+     * Crée un gestionnaire de sessions
+     *
+     * @param capacite Nombre maximal de sessions ouvertes
+     * @param inactivite Durée d'inactivité au-delà de laquelle une session expire
+     * @param horloge Horloge mesurant l'inactivité
+     * @throws IllegalArgumentException si la capacité ou la durée n'est pas strictement positive, ou si l'horloge est null
+     */
+    public GestionnaireSessions(int capacite, Duration inactivite, Clock horloge) {
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive");
+        }
+        if (inactivite == null || inactivite.isNegative() || inactivite.isZero()) {
+            throw new IllegalArgumentException("La durée d'inactivité doit être strictement positive");
+        }
+        if (horloge == null) {
+            throw new IllegalArgumentException("L'horloge ne peut pas être null");
+        }
+
+        this.capacite = capacite;
+        this.inactiviteMillis = inactivite.toMillis();
+        this.horloge = horloge;
+        // Ordre d'accès : la session la moins récemment utilisée est en tête
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<JetonSession, Session> plusAncienne) {
+                return size() > GestionnaireSessions.this.capacite;
+            }
+        };
+    }
+
+    /**
+     * Ouvre une session pour un utilisateur déjà authentifié
+     *
+     * @param utilisateur Le titulaire de la session
+     * @return Le jeton de la nouvelle session
+     * @throws IllegalArgumentException si l'utilisateur est null
+     */
+    public synchronized JetonSession ouvrir(Utilisateur utilisateur) {
+        if (utilisateur == null) {
+            throw new IllegalArgumentException("L'utilisateur ne peut pas être null");
+        }
+
+        long maintenant = horloge.millis();
+        purger(maintenant);
+        JetonSession jeton = JetonSession.generer();
+        sessions.put(jeton, new Session(utilisateur, maintenant));
+        return jeton;
+    }
+
+    /**
+     * Reconnaît le titulaire d'une session et prolonge celle-ci
+     *
+     * @param jeton Le jeton présenté
+     * @return Le titulaire, ou null si la session n'existe pas, a expiré ou a été fermée
+     */
+    public synchronized Utilisateur utilisateur(JetonSession jeton) {
+        if (jeton == null) {
+            return null;
+        }
+
+        Session session = sessions.get(jeton);
+        if (session == null) {
+            return null;
+        }
+        long maintenant = horloge.millis();
+        if (session.estExpiree(maintenant, inactiviteMillis)) {
+            sessions.remove(jeton);
+            return null;
+        }
+        session.derniereActivite = maintenant;
+        return session.utilisateur;
+    }
+
+    /**
+     * Ferme une session ; sans effet si elle n'existe pas
+     *
+     * @param jeton Le jeton de la session
+     */
+    public synchronized void fermer(JetonSession jeton) {
+        if (jeton != null) {
+            sessions.remove(jeton);
+        }
+    }
+
+    /**
+     * Retourne le nombre de sessions ouvertes et non expirées
+     *
+     * @return Nombre de sessions
+     */
+    public synchronized int getNombreSessions() {
+        purger(horloge.millis());
+        return sessions.size();
+    }
+
+    /**
+     * Retourne le nombre maximal de sessions ouvertes
+     *
+     * @return Capacité du gestionnaire
+     */
+    public int getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * Ferme les sessions expirées, toutes en tête de l'ordre d'accès
+     */
+    private void purger(long maintenant) {
+        Iterator<Session> iterateur = sessions.values().iterator();
+        while (iterateur.hasNext() && iterateur.next().estExpiree(maintenant, inactiviteMillis)) {
+            iterateur.remove();
+        }
+    }
+
+    private static final class Session {
+        private final Utilisateur utilisateur;
+        private long derniereActivite;
+
+        private Session(Utilisateur utilisateur, long derniereActivite) {
+            this.utilisateur = utilisateur;
+            this.derniereActivite = derniereActivite;
+        }
+
+        private boolean estExpiree(long maintenant, long inactiviteMillis) {
+            return maintenant - derniereActivite >= inactiviteMillis;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mycalendar.session;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Value Object représentant le jeton d'une session ouverte
+ *
+ * Le jeton est tiré au hasard sur 256 bits : il ne peut pas être deviné, et le
+ * présenter suffit à être reconnu sans fournir de nouveau son mot de passe.
+ */
+public final class JetonSession {
+    private static final int OCTETS = 32;
+    private static final SecureRandom ALEA = new SecureRandom();
+
+    private final String valeur;
+
+    private JetonSession(String valeur) {
+        this.valeur = valeur;
+    }
+
+    /**
+     * Tire un nouveau jeton au hasard
+     *
+     * @return Le jeton
+     */
+    static JetonSession generer() {
+        byte[] octets = new byte[OCTETS];
+        ALEA.nextBytes(octets);
+        return new JetonSession(Base64.getUrlEncoder().withoutPadding().encodeToString(octets));
+    }
+
+    /**
+     * Reconstitue un jeton présenté sous forme de texte
+     *
+     * @param valeur Le texte du jeton, tel que renvoyé par {@link #getValeur()}
+     * @return Le jeton
+     * @throws IllegalArgumentException si le texte est null ou vide
+     */
+    public static JetonSession fromString(String valeur) {
+        if (valeur == null || valeur.trim().isEmpty()) {
+            throw new IllegalArgumentException("Le jeton de session ne peut pas être vide");
+        }
+        return new JetonSession(valeur.trim());
+    }
+
+    /**
+     * Obtient le texte du jeton, à transmettre au titulaire de la session
+     *
+     * @return Le texte du jeton
+     */
+    public String getValeur() {
+        return valeur;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JetonSession that = (JetonSession) o;
+        return valeur.equals(that.valeur);
+    }
+
+    @Override
+    public int hashCode() {
+        return valeur.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        // Le jeton vaut identification : seul son début est affiché
+        return "Session " + valeur.substring(0, Math.min(6, valeur.length())) + "…";
+    }
+}
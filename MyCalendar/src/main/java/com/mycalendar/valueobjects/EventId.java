@@ -5,13 +5,19 @@ import java.util.UUID;
 
 /**
  * Value Object représentant l'identifiant unique d'un événement
+ *
+ * Un identifiant au format UUID est conservé sous forme de deux entiers longs ;
+ * sa forme textuelle n'est reconstruite qu'à l'affichage. Les identifiants
+ * d'un autre format sont conservés tels quels.
  */
 public final class EventId {
-    private final String valeur;
-    
+    private final long poidsFort;
+    private final long poidsFaible;
+    private final String libre;
+
     /**
      * Crée un identifiant avec une valeur spécifique
-     * 
+     *
      * @param valeur La valeur de l'identifiant
      * @throws IllegalArgumentException si la valeur est null ou vide
      */
@@ -19,43 +25,129 @@ public final class EventId {
         if (valeur == null || valeur.trim().isEmpty()) {
             throw new IllegalArgumentException("L'identifiant ne peut pas être vide");
         }
-        
-        this.valeur = valeur;
+
+        if (estUuidCanonique(valeur)) {
+            UUID uuid = UUID.fromString(valeur);
+            this.poidsFort = uuid.getMostSignificantBits();
+            this.poidsFaible = uuid.getLeastSignificantBits();
+            this.libre = null;
+        } else {
+            this.poidsFort = 0L;
+            this.poidsFaible = 0L;
+            this.libre = valeur;
+        }
     }
-    
+
+    /**
+     * Crée un identifiant à partir des deux moitiés d'un UUID
+     *
+     * @param poidsFort Les 64 bits de poids fort
+     * @param poidsFaible Les 64 bits de poids faible
+     */
+    private EventId(long poidsFort, long poidsFaible) {
+        this.poidsFort = poidsFort;
+        this.poidsFaible = poidsFaible;
+        this.libre = null;
+    }
+
     /**
      * Génère un nouvel identifiant unique
-     * 
+     *
      * @return Nouvel identifiant unique
      */
     public static EventId generate() {
-        return new EventId(UUID.randomUUID().toString());
+        UUID uuid = UUID.randomUUID();
+        return new EventId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Recrée un identifiant UUID à partir de ses deux moitiés, par exemple à la relecture
+     *
+     * @param poidsFort Les 64 bits de poids fort
+     * @param poidsFaible Les 64 bits de poids faible
+     * @return L'identifiant correspondant
+     */
+    public static EventId fromUuid(long poidsFort, long poidsFaible) {
+        return new EventId(poidsFort, poidsFaible);
     }
-    
+
+    /**
+     * Indique si l'identifiant est un UUID, conservé sous forme de deux entiers longs
+     *
+     * @return true pour un UUID, false pour un identifiant d'un autre format
+     */
+    public boolean estUuid() {
+        return libre == null;
+    }
+
+    /**
+     * Obtient les 64 bits de poids fort d'un identifiant UUID
+     *
+     * @return Les bits de poids fort, 0 si l'identifiant n'est pas un UUID
+     */
+    public long getPoidsFort() {
+        return poidsFort;
+    }
+
+    /**
+     * Obtient les 64 bits de poids faible d'un identifiant UUID
+     *
+     * @return Les bits de poids faible, 0 si l'identifiant n'est pas un UUID
+     */
+    public long getPoidsFaible() {
+        return poidsFaible;
+    }
+
     /**
      * Obtient la valeur de l'identifiant
-     * 
+     *
      * @return La valeur de l'identifiant
      */
     public String getValeur() {
-        return valeur;
+        return libre != null ? libre : new UUID(poidsFort, poidsFaible).toString();
     }
-    
+
+    /**
+     * Vérifie qu'une chaîne est un UUID dans sa forme canonique (36 caractères,
+     * hexadécimal minuscule), la seule qui puisse être restituée à l'identique
+     *
+     * @param valeur La chaîne à vérifier
+     * @return true si la chaîne est un UUID canonique, false sinon
+     */
+    private static boolean estUuidCanonique(String valeur) {
+        if (valeur.length() != 36) {
+            return false;
+        }
+
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            boolean tiret = i == 8 || i == 13 || i == 18 || i == 23;
+            boolean valide = tiret ? c == '-' : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valide) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         EventId eventId = (EventId) o;
-        return Objects.equals(valeur, eventId.valeur);
+        return poidsFort == eventId.poidsFort
+                && poidsFaible == eventId.poidsFaible
+                && Objects.equals(libre, eventId.libre);
     }
-    
+
     @Override
     public int hashCode() {
-        return Objects.hash(valeur);
+        int hash = Long.hashCode(poidsFort ^ poidsFaible);
+        return libre != null ? 31 * hash + libre.hashCode() : hash;
     }
-    
+
     @Override
     public String toString() {
-        return valeur;
+        return getValeur();
     }
-}
\ No newline at end of file
+}
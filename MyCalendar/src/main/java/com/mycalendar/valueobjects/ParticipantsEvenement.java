@@ -4,14 +4,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * Value Object représentant les participants à un événement
+ *
+ * Outre la liste des participants, dans l'ordre donné, leurs identifiants sont
+ * conservés triés dans un tableau : savoir si un utilisateur participe coûte une
+ * recherche dichotomique, même pour une réunion de plusieurs milliers de personnes.
  */
 public final class ParticipantsEvenement {
     private final List<Utilisateur> utilisateurs;
+    // Identifiants des participants, triés
+    private final String[] identifiants;
     
     /**
      * Constructeur privé pour contrôler la création d'instances
@@ -30,6 +35,11 @@ public final class ParticipantsEvenement {
         }
         
         this.utilisateurs = Collections.unmodifiableList(listeNettoyee);
+        this.identifiants = new String[listeNettoyee.size()];
+        for (int i = 0; i < identifiants.length; i++) {
+            identifiants[i] = listeNettoyee.get(i).getIdentifiant();
+        }
+        Arrays.sort(identifiants);
     }
     
     /**
@@ -50,6 +60,18 @@ public final class ParticipantsEvenement {
      * @return Une nouvelle instance de ParticipantsEvenement
      */
     public static ParticipantsEvenement fromString(String chaineParticipants) {
+        return fromString(chaineParticipants, null);
+    }
+    
+    /**
+     * Crée un objet de participants à partir d'une chaîne délimitée par des virgules,
+     * en résolvant chaque nom par un registre plutôt qu'en créant un nouvel utilisateur
+     * 
+     * @param chaineParticipants Chaîne au format "nom1, nom2, nom3"
+     * @param registre Registre des utilisateurs, ou null pour créer un utilisateur par nom
+     * @return Une nouvelle instance de ParticipantsEvenement
+     */
+    public static ParticipantsEvenement fromString(String chaineParticipants, RegistreUtilisateurs registre) {
         if (chaineParticipants == null || chaineParticipants.trim().isEmpty()) {
             return new ParticipantsEvenement(Collections.emptyList());
         }
@@ -58,7 +80,7 @@ public final class ParticipantsEvenement {
         List<Utilisateur> utilisateurs = Arrays.stream(noms)
                 .map(String::trim)
                 .filter(nom -> !nom.isEmpty())
-                .map(nom -> new Utilisateur(nom, "—PLACEHOLDER—"))  // Mot de passe placeholder pour rétrocompatibilité
+                .map(nom -> registre == null ? new Utilisateur(nom) : registre.resoudre(nom))
                 .collect(Collectors.toList());
         
         return new ParticipantsEvenement(utilisateurs);
@@ -84,8 +106,7 @@ public final class ParticipantsEvenement {
             return false;
         }
         
-        return utilisateurs.stream()
-                .anyMatch(u -> u.equals(utilisateur));
+        return Arrays.binarySearch(identifiants, utilisateur.getIdentifiant()) >= 0;
     }
     
     /**
@@ -99,8 +120,7 @@ public final class ParticipantsEvenement {
             return false;
         }
         
-        return utilisateurs.stream()
-                .anyMatch(u -> u.getIdentifiant().equals(identifiant));
+        return Arrays.binarySearch(identifiants, identifiant.trim()) >= 0;
     }
     
     /**
@@ -138,23 +158,13 @@ public final class ParticipantsEvenement {
         if (o == null || getClass() != o.getClass()) return false;
         ParticipantsEvenement that = (ParticipantsEvenement) o;
         
-        if (this.utilisateurs.size() != that.utilisateurs.size()) {
-            return false;
-        }
-        
-        // Vérifier que chaque utilisateur de l'un est dans l'autre
-        for (Utilisateur utilisateur : this.utilisateurs) {
-            if (!that.contientUtilisateur(utilisateur)) {
-                return false;
-            }
-        }
-        
-        return true;
+        // Les mêmes participants, dans n'importe quel ordre
+        return Arrays.equals(identifiants, that.identifiants);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(utilisateurs);
+        return Arrays.hashCode(identifiants);
     }
     
     @Override
@@ -0,0 +1,120 @@
+package com.mycalendar.valueobjects;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instances partagées des utilisateurs, une par identifiant
+ *
+ * Les participants d'une réunion sont souvent désignés par leur nom : les résoudre
+ * par un registre évite de créer un nouvel objet par nom et par réunion. Le registre
+ * peut être partagé entre plusieurs fils.
+ *
+ * Seuls les titulaires de comptes, enregistrés par {@link #enregistrer}, sont conservés
+ * pour toujours. Les autres participants ne sont retenus que par référence faible :
+ * leur instance reste partagée tant qu'un événement la désigne, puis elle est oubliée,
+ * et un nom saisi une fois ne fait pas grossir le registre indéfiniment.
+ */
+public final class RegistreUtilisateurs {
+    private final ConcurrentHashMap<String, Utilisateur> titulaires = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Participant> participants = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Utilisateur> oublies = new ReferenceQueue<>();
+
+    /**
+     * Obtient l'instance partagée d'un utilisateur, créée à la première demande
+     * Un utilisateur qui n'est pas titulaire d'un compte n'est retenu que tant qu'il est désigné ailleurs
+     *
+     * @param identifiant Identifiant de l'utilisateur
+     * @return L'utilisateur
+     * @throws IllegalArgumentException si l'identifiant est null ou vide
+     */
+    public Utilisateur resoudre(String identifiant) {
+        if (identifiant == null || identifiant.trim().isEmpty()) {
+            throw new IllegalArgumentException("L'identifiant de l'utilisateur ne peut pas être vide");
+        }
+        String cle = identifiant.trim();
+        Utilisateur titulaire = titulaires.get(cle);
+        if (titulaire != null) {
+            return titulaire;
+        }
+
+        purger();
+        while (true) {
+            Participant reference = participants.get(cle);
+            Utilisateur existant = reference == null ? null : reference.get();
+            if (existant != null) {
+                return existant;
+            }
+            Utilisateur nouveau = new Utilisateur(cle);
+            Participant nouvelle = new Participant(nouveau, oublies);
+            boolean publie = reference == null
+                ? participants.putIfAbsent(cle, nouvelle) == null
+                : participants.replace(cle, reference, nouvelle);
+            if (publie) {
+                return nouveau;
+            }
+            // Un autre fil a publié une instance entre-temps : elle est relue
+        }
+    }
+
+    /**
+     * Fait d'un titulaire de compte l'instance partagée de son identifiant, s'il n'y en a pas encore
+     * Un participant déjà résolu sous cet identifiant devient l'instance du titulaire, et reste conservé
+     *
+     * @param utilisateur L'utilisateur
+     * @return L'instance partagée, qui peut être celle déjà enregistrée ou résolue
+     * @throws IllegalArgumentException si l'utilisateur est null
+     */
+    public Utilisateur enregistrer(Utilisateur utilisateur) {
+        if (utilisateur == null) {
+            throw new IllegalArgumentException("L'utilisateur ne peut pas être null");
+        }
+        String cle = utilisateur.getIdentifiant();
+        Utilisateur existant = titulaires.get(cle);
+        if (existant != null) {
+            return existant;
+        }
+
+        Participant reference = participants.get(cle);
+        Utilisateur participant = reference == null ? null : reference.get();
+        Utilisateur partage = participant == null ? utilisateur : participant;
+        existant = titulaires.putIfAbsent(cle, partage);
+        if (reference != null) {
+            participants.remove(cle, reference);
+        }
+        return existant == null ? partage : existant;
+    }
+
+    /**
+     * Retourne le nombre d'utilisateurs du registre : les titulaires, et les participants encore désignés
+     *
+     * @return Nombre d'utilisateurs
+     */
+    public int getNombreUtilisateurs() {
+        purger();
+        return titulaires.size() + participants.size();
+    }
+
+    /**
+     * Retire les participants que plus rien ne désigne
+     */
+    private void purger() {
+        Participant oublie;
+        while ((oublie = (Participant) oublies.poll()) != null) {
+            participants.remove(oublie.identifiant, oublie);
+        }
+    }
+
+    /**
+     * Référence faible vers un participant, qui retient son identifiant pour être purgée
+     */
+    private static final class Participant extends WeakReference<Utilisateur> {
+        private final String identifiant;
+
+        private Participant(Utilisateur utilisateur, ReferenceQueue<Utilisateur> oublies) {
+            super(utilisateur, oublies);
+            this.identifiant = utilisateur.getIdentifiant();
+        }
+    }
+}
@@ -1,32 +1,26 @@
 package com.mycalendar.valueobjects;
 
-import java.util.Objects;
-
 /**
  * Value Object représentant un utilisateur du système
+ *
+ * Pour partager une seule instance par identifiant, voir {@link RegistreUtilisateurs}.
  */
 public final class Utilisateur {
     private final String identifiant;
-    private final String motDePasse;
     
     /**
      * Crée un utilisateur
+     * Le mot de passe n'en fait pas partie : seul le compte en conserve une empreinte
      * 
      * @param identifiant Identifiant de l'utilisateur
-     * @param motDePasse Mot de passe de l'utilisateur
-     * @throws IllegalArgumentException si l'identifiant ou le mot de passe est null ou vide
+     * @throws IllegalArgumentException si l'identifiant est null ou vide
      */
-    public Utilisateur(String identifiant, String motDePasse) {
+    public Utilisateur(String identifiant) {
         if (identifiant == null || identifiant.trim().isEmpty()) {
             throw new IllegalArgumentException("L'identifiant de l'utilisateur ne peut pas être vide");
         }
         
-        if (motDePasse == null || motDePasse.isEmpty()) {
-            throw new IllegalArgumentException("Le mot de passe ne peut pas être vide");
-        }
-        
         this.identifiant = identifiant.trim();
-        this.motDePasse = motDePasse;
     }
     
     /**
@@ -38,36 +32,24 @@ public final class Utilisateur {
         return identifiant;
     }
     
-    /**
-     * Vérifie si le mot de passe fourni correspond
-     * 
-     * @param motDePasseCandidat Mot de passe à vérifier
-     * @return true si le mot de passe correspond, false sinon
-     */
-    public boolean verifierMotDePasse(String motDePasseCandidat) {
-        return this.motDePasse.equals(motDePasseCandidat);
-    }
-    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         
         // Deux utilisateurs sont considérés comme égaux s'ils ont le même identifiant
-        // indépendamment de leur mot de passe
         Utilisateur that = (Utilisateur) o;
-        return Objects.equals(identifiant, that.identifiant);
+        return identifiant.equals(that.identifiant);
     }
     
     @Override
     public int hashCode() {
-        // Le hashCode ne doit dépendre que de l'identifiant, pas du mot de passe
-        return Objects.hash(identifiant);
+        // Le hashCode ne dépend que de l'identifiant ; la chaîne garde le sien en cache
+        return identifiant.hashCode();
     }
     
     @Override
     public String toString() {
-        // Ne pas inclure le mot de passe dans la représentation textuelle
         return "Utilisateur: " + identifiant;
     }
 }
\ No newline at end of file
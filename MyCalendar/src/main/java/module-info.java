@@ -2,26 +2,46 @@ module com.mycalendar {
     requires javafx.base;
     requires javafx.controls;
     requires javafx.fxml;
+    // À la compilation seulement : les benchmarks lisent l'allocation mémoire par thread
+    requires static jdk.management;
     
     // Exporter tous les packages
     exports com.mycalendar;
     exports com.mycalendar.evenements;
+    exports com.mycalendar.ical;
+    exports com.mycalendar.index;
+    exports com.mycalendar.persistance;
+    exports com.mycalendar.planification;
+    exports com.mycalendar.recherche;
+    exports com.mycalendar.securite;
+    exports com.mycalendar.session;
     exports com.mycalendar.valueobjects;
     exports com.mycalendar.menu;
     exports com.mycalendar.menu.afficher;
     exports com.mycalendar.menu.ajouter;
     exports com.mycalendar.menu.compte;
+    exports com.mycalendar.menu.exporter;
+    exports com.mycalendar.menu.rechercher;
     exports com.mycalendar.menu.supprimer;
     exports com.mycalendar.gui;
     
     // Ouvrir tous les packages
     opens com.mycalendar;
     opens com.mycalendar.evenements;
+    opens com.mycalendar.ical;
+    opens com.mycalendar.index;
+    opens com.mycalendar.persistance;
+    opens com.mycalendar.planification;
+    opens com.mycalendar.recherche;
+    opens com.mycalendar.securite;
+    opens com.mycalendar.session;
     opens com.mycalendar.valueobjects;
     opens com.mycalendar.menu;
     opens com.mycalendar.menu.afficher;
     opens com.mycalendar.menu.ajouter;
     opens com.mycalendar.menu.compte;
+    opens com.mycalendar.menu.exporter;
+    opens com.mycalendar.menu.rechercher;
     opens com.mycalendar.menu.supprimer;
     opens com.mycalendar.gui;
 }
\ No newline at end of file
@@ -22,9 +22,9 @@ public class CalendarManagerAgendaTest {
     @BeforeEach
     void setUp() {
         calendarManager = new CalendarManager();
-        roger = new Utilisateur("Roger", "Chat");
-        pierre = new Utilisateur("Pierre", "KiRouhl");
-        sophie = new Utilisateur("Sophie", "Pass123");
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+        sophie = new Utilisateur("Sophie");
 
         RendezVousPersonnel rdvRoger = new RendezVousPersonnel(
             new TitreEvenement("Médecin"),
@@ -129,7 +129,7 @@ public class CalendarManagerAgendaTest {
     @Test
     @DisplayName("L'agenda personnel doit être vide pour un utilisateur sans événements")
     void testAgendaPersonnelVide() {
-        Utilisateur jean = new Utilisateur("Jean", "Pass456");
+        Utilisateur jean = new Utilisateur("Jean");
         
         List<Evenement> agendaJean = calendarManager.agendaPersonnel(jean);
         
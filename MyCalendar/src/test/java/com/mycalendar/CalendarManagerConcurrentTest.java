@@ -0,0 +1,165 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerConcurrentTest {
+
+    private static final int ECRIVAINS = 4;
+    private static final int LECTEURS = 4;
+    private static final int EVENEMENTS_PAR_ECRIVAIN = 300;
+
+    private static final LocalDateTime DEBUT_ANNEE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FIN_ANNEE = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+    private CalendarManagerConcurrent calendarManager;
+    private Utilisateur roger;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManagerConcurrent();
+        roger = new Utilisateur("Roger");
+    }
+
+    @Test
+    @DisplayName("Le gestionnaire concurrent doit se comporter comme le gestionnaire simple")
+    void testComportementSequentiel() {
+        Evenement rdv = rdv(roger, 0);
+        calendarManager.ajouterEvenement(rdv);
+
+        assertEquals(List.of(rdv), calendarManager.getEvenements());
+        assertEquals(List.of(rdv), calendarManager.eventsDansPeriode(DEBUT_ANNEE, FIN_ANNEE));
+        assertEquals(List.of(rdv), calendarManager.evenementsDeLUtilisateur(roger));
+
+        assertTrue(calendarManager.supprimerEvenement(rdv.getId()));
+        assertTrue(calendarManager.getEvenements().isEmpty());
+        assertTrue(calendarManager.agendaPersonnel(roger).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un ajout rejeté ne doit pas modifier l'état publié")
+    void testAjoutRejete() {
+        Evenement rdv = rdv(roger, 0);
+        calendarManager.ajouterEvenement(rdv);
+
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenement(rdv));
+
+        assertEquals(1, calendarManager.getEvenements().size());
+        assertEquals(1, calendarManager.eventsDansPeriode(DEBUT_ANNEE, FIN_ANNEE).size());
+    }
+
+    @Test
+    @DisplayName("Une lecture en cours ne doit pas voir les écritures postérieures")
+    void testIsolationInstantane() {
+        calendarManager.ajouterEvenement(rdv(roger, 0));
+        EtatCalendrier avant = calendarManager.lire();
+
+        calendarManager.ajouterEvenement(rdv(roger, 1));
+        calendarManager.supprimerEvenementsUtilisateur(roger);
+
+        assertEquals(1, avant.valeurs().size());
+        assertEquals(1, avant.rechercher(DEBUT_ANNEE, FIN_ANNEE).size());
+        assertTrue(calendarManager.getEvenements().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les lecteurs concurrents doivent toujours voir un état cohérent")
+    void testLecturesPendantEcritures() throws Exception {
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < ECRIVAINS; i++) {
+            utilisateurs.add(new Utilisateur("Utilisateur" + i));
+        }
+
+        ExecutorService executeur = Executors.newFixedThreadPool(ECRIVAINS + LECTEURS);
+        CountDownLatch depart = new CountDownLatch(1);
+        CountDownLatch ecrituresTerminees = new CountDownLatch(ECRIVAINS);
+        AtomicBoolean enCours = new AtomicBoolean(true);
+        AtomicReference<Throwable> echec = new AtomicReference<>();
+
+        for (Utilisateur utilisateur : utilisateurs) {
+            executeur.execute(() -> {
+                try {
+                    depart.await();
+                    // Ajoute une série numérotée puis supprime un événement sur deux
+                    List<Evenement> ajoutes = new ArrayList<>();
+                    for (int n = 0; n < EVENEMENTS_PAR_ECRIVAIN; n++) {
+                        Evenement evenement = rdv(utilisateur, n);
+                        calendarManager.ajouterEvenement(evenement);
+                        ajoutes.add(evenement);
+                    }
+                    for (int n = 0; n < ajoutes.size(); n += 2) {
+                        assertTrue(calendarManager.supprimerEvenement(ajoutes.get(n).getId()));
+                    }
+                } catch (Throwable t) {
+                    echec.compareAndSet(null, t);
+                } finally {
+                    ecrituresTerminees.countDown();
+                }
+            });
+        }
+
+        for (int i = 0; i < LECTEURS; i++) {
+            executeur.execute(() -> {
+                try {
+                    depart.await();
+                    while (enCours.get()) {
+                        // Les index d'un même instantané décrivent les mêmes événements
+                        EtatCalendrier etat = calendarManager.lire();
+                        assertEquals(etat.valeurs().size(), etat.rechercher(DEBUT_ANNEE, FIN_ANNEE).size());
+
+                        // Les événements d'un utilisateur restent dans l'ordre où il les a ajoutés
+                        for (Utilisateur utilisateur : utilisateurs) {
+                            int precedent = -1;
+                            for (Evenement evenement : calendarManager.evenementsDeLUtilisateur(utilisateur)) {
+                                int numero = Integer.parseInt(evenement.getTitre().getValeur());
+                                assertTrue(numero > precedent, "Ordre d'ajout non respecté");
+                                precedent = numero;
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    echec.compareAndSet(null, t);
+                }
+            });
+        }
+
+        depart.countDown();
+        assertTrue(ecrituresTerminees.await(30, TimeUnit.SECONDS));
+        enCours.set(false);
+        executeur.shutdown();
+        assertTrue(executeur.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertNull(echec.get(), () -> "Échec concurrent : " + echec.get());
+        assertEquals(ECRIVAINS * EVENEMENTS_PAR_ECRIVAIN / 2, calendarManager.getEvenements().size());
+        assertEquals(ECRIVAINS * EVENEMENTS_PAR_ECRIVAIN / 2,
+                calendarManager.eventsDansPeriode(DEBUT_ANNEE, FIN_ANNEE).size());
+        for (Utilisateur utilisateur : utilisateurs) {
+            assertEquals(EVENEMENTS_PAR_ECRIVAIN / 2, calendarManager.evenementsDeLUtilisateur(utilisateur).size());
+        }
+    }
+
+    private Evenement rdv(Utilisateur proprietaire, int numero) {
+        return new RendezVousPersonnel(
+            new TitreEvenement(String.valueOf(numero)),
+            proprietaire,
+            new DateEvenement(2025, 1 + numero % 12, 1 + numero % 28),
+            new HeureDebut(numero % 24, 0),
+            new DureeEvenement(30)
+        );
+    }
+}
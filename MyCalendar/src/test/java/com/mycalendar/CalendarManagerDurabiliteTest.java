@@ -0,0 +1,138 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.persistance.JournalEvenements;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerDurabiliteTest {
+
+    private JournalDefaillant journal;
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private List<ChangementCalendrier> changements;
+
+    @BeforeEach
+    void setUp() {
+        journal = new JournalDefaillant();
+        calendarManager = new CalendarManagerConcurrent(journal);
+        roger = new Utilisateur("Roger");
+        changements = new ArrayList<>();
+        calendarManager.ajouterEcouteur(changements::add);
+    }
+
+    @Test
+    @DisplayName("Un ajout que le journal n'a pas rendu durable doit être annulé et ne pas être signalé")
+    void testAjoutNonDurable() {
+        Evenement durable = rdv(9);
+        calendarManager.ajouterEvenement(durable);
+        journal.echecSynchronisation = true;
+
+        assertThrows(UncheckedIOException.class, () -> calendarManager.ajouterEvenement(rdv(10)));
+        assertThrows(UncheckedIOException.class,
+            () -> calendarManager.ajouterEvenements(List.of(rdv(11), rdv(12))));
+
+        assertEquals(List.of(durable), calendarManager.getEvenements());
+        assertEquals(1, changements.size());
+        assertEquals(List.of(durable), calendarManager.rechercher("Rendez-vous", 10));
+    }
+
+    @Test
+    @DisplayName("Une suppression que le journal n'a pas rendue durable doit être annulée et ne pas être signalée")
+    void testSuppressionNonDurable() {
+        Evenement rdv = rdv(9);
+        calendarManager.ajouterEvenement(rdv);
+        calendarManager.ajouterEvenement(rdv(10));
+        journal.echecSynchronisation = true;
+
+        assertThrows(UncheckedIOException.class, () -> calendarManager.supprimerEvenement(rdv.getId()));
+        assertThrows(UncheckedIOException.class, () -> calendarManager.supprimerEvenementsUtilisateur(roger));
+
+        assertEquals(2, calendarManager.getEvenements().size());
+        assertEquals(2, calendarManager.agendaPersonnel(roger).size());
+        assertEquals(2, changements.size());
+    }
+
+    @Test
+    @DisplayName("Un ajout que le journal refuse de consigner ne doit pas modifier l'état")
+    void testConsignationRefusee() {
+        journal.echecConsignation = true;
+
+        assertThrows(UncheckedIOException.class, () -> calendarManager.ajouterEvenement(rdv(9)));
+        assertThrows(UncheckedIOException.class, () -> calendarManager.ajouterRendezVousPersonnel(
+            new TitreEvenement("RDV"), roger, new DateEvenement(2025, 6, 16), new HeureDebut(11, 0),
+            new DureeEvenement(30)));
+
+        assertTrue(calendarManager.getEvenements().isEmpty());
+        assertTrue(changements.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Le gestionnaire simple doit lui aussi annuler une modification non durable")
+    void testGestionnaireSimple() {
+        CalendarManager simple = new CalendarManager(journal);
+        Evenement rdv = rdv(9);
+        simple.ajouterEvenement(rdv);
+        journal.echecSynchronisation = true;
+
+        assertThrows(UncheckedIOException.class, () -> simple.ajouterEvenement(rdv(10)));
+        assertThrows(UncheckedIOException.class, () -> simple.supprimerEvenement(rdv.getId()));
+
+        assertEquals(List.of(rdv), simple.getEvenements());
+    }
+
+    private Evenement rdv(int heure) {
+        return new RendezVousPersonnel(new TitreEvenement("Rendez-vous"), roger,
+            new DateEvenement(2025, 6, 16), new HeureDebut(heure, 0), new DureeEvenement(30));
+    }
+
+    /**
+     * Journal en mémoire dont la consignation ou la synchronisation échoue sur demande
+     */
+    private static final class JournalDefaillant implements JournalEvenements {
+        private boolean echecConsignation;
+        private boolean echecSynchronisation;
+
+        @Override
+        public int rejouer(Consumer<Evenement> ajout, Consumer<EventId> suppression) {
+            return 0;
+        }
+
+        @Override
+        public void consignerAjout(Evenement evenement) {
+            verifierConsignation();
+        }
+
+        @Override
+        public void consignerSuppression(EventId eventId) {
+            verifierConsignation();
+        }
+
+        @Override
+        public void synchroniser() {
+            if (echecSynchronisation) {
+                throw new UncheckedIOException(new IOException("Disque plein"));
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void verifierConsignation() {
+            if (echecConsignation) {
+                throw new UncheckedIOException(new IOException("Disque plein"));
+            }
+        }
+    }
+}
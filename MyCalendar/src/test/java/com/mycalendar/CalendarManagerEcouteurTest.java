@@ -0,0 +1,145 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.planification.ConflitException;
+import com.mycalendar.planification.ModeConflit;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerEcouteurTest {
+
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private List<ChangementCalendrier> changements;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        roger = new Utilisateur("Roger");
+        changements = new ArrayList<>();
+        calendarManager.ajouterEcouteur(changements::add);
+    }
+
+    @Test
+    @DisplayName("Chaque ajout et chaque suppression doivent être signalés avec leurs événements")
+    void testAjoutEtSuppression() {
+        Evenement rdv = rdv(9);
+        calendarManager.ajouterEvenement(rdv);
+        calendarManager.supprimerEvenement(rdv.getId());
+        calendarManager.supprimerEvenement(rdv.getId());
+
+        assertEquals(2, changements.size());
+        assertEquals(List.of(rdv), changements.get(0).getAjoutes());
+        assertTrue(changements.get(0).getSupprimes().isEmpty());
+        assertEquals(List.of(rdv), changements.get(1).getSupprimes());
+        assertTrue(changements.get(1).getAjoutes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un lot ou une suppression groupée doivent former un seul changement")
+    void testLot() {
+        List<Evenement> lot = List.of(rdv(9), rdv(10), rdv(11));
+        calendarManager.ajouterEvenements(lot);
+        calendarManager.supprimerEvenementsUtilisateur(roger);
+        calendarManager.supprimerEvenementsUtilisateur(roger);
+
+        assertEquals(2, changements.size());
+        assertEquals(lot, changements.get(0).getAjoutes());
+        assertEquals(new HashSet<>(lot), new HashSet<>(changements.get(1).getSupprimes()));
+    }
+
+    @Test
+    @DisplayName("Un ajout rejeté ne doit pas être signalé")
+    void testAjoutRejete() {
+        calendarManager.setModeConflit(ModeConflit.REJETER);
+        calendarManager.ajouterEvenement(rdv(9));
+
+        assertThrows(ConflitException.class, () -> calendarManager.ajouterRendezVousPersonnel(
+            new TitreEvenement("Chevauchement"), roger, new DateEvenement(2025, 6, 16),
+            new HeureDebut(9, 15), new DureeEvenement(60)));
+        assertEquals(1, changements.size());
+    }
+
+    @Test
+    @DisplayName("L'écouteur doit voir le calendrier déjà modifié, et ne plus rien recevoir une fois retiré")
+    void testEtatVisibleEtRetrait() {
+        List<Integer> tailles = new ArrayList<>();
+        EcouteurCalendrier compteur = changement -> tailles.add(calendarManager.getEvenements().size());
+        calendarManager.ajouterEcouteur(compteur);
+
+        calendarManager.ajouterEvenement(rdv(9));
+        assertTrue(calendarManager.retirerEcouteur(compteur));
+        calendarManager.ajouterEvenement(rdv(10));
+
+        assertEquals(List.of(1), tailles);
+        assertEquals(2, changements.size());
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEcouteur(null));
+    }
+
+    @Test
+    @DisplayName("L'exception d'un écouteur ne doit pas priver les autres du changement")
+    void testEcouteurEnErreur() {
+        calendarManager = new CalendarManager();
+        calendarManager.ajouterEcouteur(changement -> {
+            throw new IllegalStateException("Écouteur en panne");
+        });
+        calendarManager.ajouterEcouteur(changements::add);
+
+        assertThrows(IllegalStateException.class, () -> calendarManager.ajouterEvenement(rdv(9)));
+        assertEquals(1, changements.size());
+        assertEquals(1, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Avec plusieurs écrivains, la suppression d'un événement doit être signalée après son ajout")
+    void testOrdreConcurrent() throws Exception {
+        calendarManager = new CalendarManagerConcurrent();
+        List<ChangementCalendrier> recus = Collections.synchronizedList(new ArrayList<>());
+        calendarManager.ajouterEcouteur(recus::add);
+
+        ExecutorService executeur = Executors.newFixedThreadPool(4);
+        List<Future<?>> taches = new ArrayList<>();
+        for (int fil = 0; fil < 4; fil++) {
+            taches.add(executeur.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    Evenement rdv = rdv(i % 24);
+                    calendarManager.ajouterEvenement(rdv);
+                    calendarManager.supprimerEvenement(rdv.getId());
+                }
+            }));
+        }
+        for (Future<?> tache : taches) {
+            tache.get(30, TimeUnit.SECONDS);
+        }
+        executeur.shutdown();
+
+        Set<Evenement> presents = new HashSet<>();
+        for (ChangementCalendrier changement : recus) {
+            presents.addAll(changement.getAjoutes());
+            for (Evenement supprime : changement.getSupprimes()) {
+                assertTrue(presents.remove(supprime), "Suppression signalée avant l'ajout");
+            }
+        }
+        assertEquals(1_600, recus.size());
+        assertTrue(presents.isEmpty());
+    }
+
+    private Evenement rdv(int heure) {
+        return new RendezVousPersonnel(new TitreEvenement("Rendez-vous"), roger,
+            new DateEvenement(2025, 6, 16), new HeureDebut(heure, 0), new DureeEvenement(30));
+    }
+}
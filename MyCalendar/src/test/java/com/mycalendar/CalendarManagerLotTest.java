@@ -0,0 +1,116 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.persistance.JournalSegmente;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerLotTest {
+
+    private Utilisateur roger;
+    private List<Evenement> lot;
+
+    @BeforeEach
+    void setUp() {
+        roger = new Utilisateur("Roger");
+        lot = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lot.add(new RendezVousPersonnel(new TitreEvenement("RDV " + i), roger,
+                new DateEvenement(2025, 4, 1 + i), new HeureDebut(9, 0), new DureeEvenement(30)));
+        }
+    }
+
+    @Test
+    @DisplayName("Un lot est ajouté et indexé en entier")
+    void testAjouterLot() {
+        CalendarManager calendarManager = new CalendarManagerConcurrent();
+        calendarManager.ajouterEvenements(lot);
+
+        assertEquals(10, calendarManager.getEvenements().size());
+        assertEquals(10, calendarManager.evenementsDeLUtilisateur(roger).size());
+        assertEquals(3, calendarManager.eventsDansPeriode(
+            LocalDateTime.of(2025, 4, 1, 0, 0), LocalDateTime.of(2025, 4, 3, 23, 59)).size());
+    }
+
+    @Test
+    @DisplayName("Un lot contenant un identifiant déjà présent est refusé en entier")
+    void testLotRefuse() {
+        CalendarManager calendarManager = new CalendarManager();
+        calendarManager.ajouterEvenement(lot.get(5));
+
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenements(lot));
+        assertEquals(1, calendarManager.getEvenements().size());
+
+        List<Evenement> doublon = List.of(lot.get(0), lot.get(0));
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenements(doublon));
+        assertEquals(1, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Un grand lot validé en parallèle donne les mêmes index que des ajouts successifs")
+    void testGrandLot() {
+        Random random = new Random(42);
+        Utilisateur pierre = new Utilisateur("Pierre");
+        List<Evenement> grandLot = new ArrayList<>();
+        for (int i = 0; i < EtatCalendrier.SEUIL_PARALLELE + 500; i++) {
+            DateEvenement date = new DateEvenement(2025, 1 + random.nextInt(12), 1 + random.nextInt(28));
+            HeureDebut heure = new HeureDebut(random.nextInt(24), 0);
+            grandLot.add(i % 3 == 0
+                ? new Reunion(new TitreEvenement("Réunion " + i), roger, date, heure, new DureeEvenement(60),
+                    new LieuEvenement("Salle"), ParticipantsEvenement.avecUtilisateurs(List.of(pierre)))
+                : new RendezVousPersonnel(new TitreEvenement("RDV " + i), roger, date, heure, new DureeEvenement(30)));
+        }
+        CalendarManager unParUn = new CalendarManager();
+        for (Evenement evenement : grandLot) {
+            unParUn.ajouterEvenement(evenement);
+        }
+
+        CalendarManager enLot = new CalendarManager();
+        enLot.ajouterEvenements(grandLot);
+
+        assertEquals(unParUn.getEvenements(), enLot.getEvenements());
+        assertEquals(unParUn.agendaPersonnel(pierre), enLot.agendaPersonnel(pierre));
+        LocalDateTime debut = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2025, 3, 31, 23, 59);
+        assertEquals(unParUn.eventsDansPeriode(debut, fin), enLot.eventsDansPeriode(debut, fin));
+        assertEquals(unParUn.detecterConflits(pierre), enLot.detecterConflits(pierre));
+
+        List<Evenement> avecDoublon = new ArrayList<>(grandLot.subList(0, EtatCalendrier.SEUIL_PARALLELE));
+        avecDoublon.add(grandLot.get(7));
+        assertThrows(IllegalArgumentException.class, () -> new CalendarManager().ajouterEvenements(avecDoublon));
+    }
+
+    @Test
+    @DisplayName("Un lot contenant null est refusé")
+    void testLotAvecNull() {
+        CalendarManager calendarManager = new CalendarManager();
+        List<Evenement> avecNull = new ArrayList<>(lot);
+        avecNull.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenements(avecNull));
+        assertTrue(calendarManager.getEvenements().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un lot est consigné dans le journal et survit à un redémarrage")
+    void testLotJournalise(@TempDir Path dossier) {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        calendarManager.ajouterEvenements(lot);
+        calendarManager.fermer();
+
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier));
+        assertEquals(10, relu.getEvenements().size());
+        relu.fermer();
+    }
+}
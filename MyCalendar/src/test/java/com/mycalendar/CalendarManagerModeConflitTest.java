@@ -0,0 +1,105 @@
+package com.mycalendar;
+
+import com.mycalendar.planification.Conflit;
+import com.mycalendar.planification.ConflitException;
+import com.mycalendar.planification.ModeConflit;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerModeConflitTest {
+
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+                new DateEvenement(2025, 4, 10), new HeureDebut(14, 0), new DureeEvenement(60));
+    }
+
+    @Test
+    @DisplayName("Par défaut, les conflits ne doivent pas être vérifiés")
+    void testModeIgnorer() {
+        assertEquals(ModeConflit.IGNORER, calendarManager.getModeConflit());
+
+        List<Conflit> conflits = calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+                new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(30));
+
+        assertTrue(conflits.isEmpty());
+        assertEquals(2, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("En mode avertir, l'événement doit être ajouté et ses conflits retournés")
+    void testModeAvertir() {
+        calendarManager.setModeConflit(ModeConflit.AVERTIR);
+
+        List<Conflit> conflits = calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+                new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(30));
+
+        assertEquals(1, conflits.size());
+        assertEquals("Médecin", conflits.get(0).getPremier().getTitre().getValeur());
+        assertEquals("Dentiste", conflits.get(0).getSecond().getTitre().getValeur());
+        assertEquals(2, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("En mode rejeter, une réunion en conflit avec un participant doit être refusée")
+    void testModeRejeterParticipant() {
+        calendarManager.setModeConflit(ModeConflit.REJETER);
+
+        ConflitException exception = assertThrows(ConflitException.class, () ->
+                calendarManager.ajouterReunion(new TitreEvenement("Point"), pierre,
+                        new DateEvenement(2025, 4, 10), new HeureDebut(13, 30), new DureeEvenement(60),
+                        new LieuEvenement("Salle A"), ParticipantsEvenement.avecUtilisateurs(List.of(roger))));
+
+        assertEquals(1, exception.getConflits().size());
+        assertTrue(exception.getMessage().contains("Médecin"));
+        assertEquals(1, calendarManager.getEvenements().size());
+        assertTrue(calendarManager.agendaPersonnel(pierre).isEmpty());
+    }
+
+    @Test
+    @DisplayName("En mode rejeter, un événement sans conflit doit être ajouté")
+    void testModeRejeterSansConflit() {
+        calendarManager.setModeConflit(ModeConflit.REJETER);
+
+        List<Conflit> conflits = calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+                new DateEvenement(2025, 4, 10), new HeureDebut(15, 0), new DureeEvenement(30));
+
+        assertTrue(conflits.isEmpty());
+        assertEquals(2, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Le rejet doit laisser intact l'état du gestionnaire concurrent")
+    void testModeRejeterConcurrent() {
+        CalendarManager concurrent = new CalendarManagerConcurrent();
+        concurrent.setModeConflit(ModeConflit.REJETER);
+        concurrent.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+                new DateEvenement(2025, 4, 10), new HeureDebut(14, 0), new DureeEvenement(60));
+
+        assertThrows(ConflitException.class, () ->
+                concurrent.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+                        new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(30)));
+
+        assertEquals(1, concurrent.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Le mode de gestion des conflits ne peut pas être null")
+    void testModeNull() {
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.setModeConflit(null));
+    }
+}
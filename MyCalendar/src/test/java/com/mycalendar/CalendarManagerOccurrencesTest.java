@@ -0,0 +1,92 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerOccurrencesTest {
+    
+    private CalendarManager calendarManager;
+    private Evenement rdvRoger;
+    private Evenement standUp;
+    
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
+        
+        rdvRoger = new RendezVousPersonnel(
+            new TitreEvenement("Médecin"),
+            roger,
+            new DateEvenement(2025, 4, 10),
+            new HeureDebut(14, 30),
+            new DureeEvenement(60)
+        );
+        
+        standUp = new EvenementPeriodique(
+            new TitreEvenement("Stand-up"),
+            pierre,
+            new DateEvenement(2025, 4, 1),
+            new HeureDebut(9, 0),
+            FrequenceEvenement.quotidienne()
+        );
+        
+        calendarManager.ajouterEvenement(rdvRoger);
+        calendarManager.ajouterEvenement(standUp);
+    }
+    
+    @Test
+    @DisplayName("Un événement périodique doit produire une occurrence par répétition dans la période")
+    void testOccurrencesPeriodiques() {
+        List<Occurrence> occurrences = calendarManager.occurrences(
+            LocalDateTime.of(2025, 4, 7, 0, 0),
+            LocalDateTime.of(2025, 4, 13, 23, 59, 59)
+        ).collect(Collectors.toList());
+        
+        assertEquals(8, occurrences.size());
+        // Les événements sont pris par date de début : le stand-up, commencé le 1er avril, passe en tête
+        assertEquals(new Occurrence(rdvRoger, LocalDateTime.of(2025, 4, 10, 14, 30)), occurrences.get(7));
+        
+        List<LocalDateTime> debutsStandUp = occurrences.stream()
+                .filter(o -> o.getEvenement() == standUp)
+                .map(Occurrence::getDebut)
+                .collect(Collectors.toList());
+        assertEquals(7, debutsStandUp.size());
+        assertEquals(LocalDateTime.of(2025, 4, 7, 9, 0), debutsStandUp.get(0));
+        assertEquals(LocalDateTime.of(2025, 4, 13, 9, 0), debutsStandUp.get(6));
+    }
+    
+    @Test
+    @DisplayName("Une occurrence doit exposer la date et l'heure de son propre début")
+    void testDateEtHeureOccurrence() {
+        Occurrence occurrence = calendarManager.occurrences(
+            LocalDateTime.of(2025, 4, 20, 0, 0),
+            LocalDateTime.of(2025, 4, 20, 23, 59)
+        ).findFirst().orElseThrow();
+        
+        assertSame(standUp, occurrence.getEvenement());
+        assertEquals(new DateEvenement(2025, 4, 20), occurrence.getDate());
+        assertEquals(new HeureDebut(9, 0), occurrence.getHeureDebut());
+    }
+    
+    @Test
+    @DisplayName("Une série supprimée ne doit plus produire d'occurrences, même déjà développées")
+    void testOccurrencesApresSuppression() {
+        LocalDateTime debut = LocalDateTime.of(2025, 4, 7, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2025, 4, 13, 23, 59);
+        assertEquals(8, calendarManager.occurrences(debut, fin).count());
+        
+        calendarManager.supprimerEvenement(standUp.getId());
+        
+        assertEquals(1, calendarManager.occurrences(debut, fin).count());
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycalendar;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.persistance.JournalSegmente;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarManagerRechercheTest {
+    
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+    
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+    }
+    
+    private Evenement reunion(String titre, Utilisateur proprietaire) {
+        return new Reunion(
+            new TitreEvenement(titre),
+            proprietaire,
+            new DateEvenement(2025, 4, 12),
+            new HeureDebut(10, 0),
+            new DureeEvenement(60),
+            new LieuEvenement("Salle Hélène Boucher"),
+            ParticipantsEvenement.fromString(proprietaire.getIdentifiant())
+        );
+    }
+    
+    @Test
+    @DisplayName("L'index de recherche doit suivre les ajouts et les suppressions")
+    void testSuiviDesModifications() {
+        Evenement bilan = reunion("Bilan trimestriel", roger);
+        calendarManager.ajouterEvenement(bilan);
+        calendarManager.ajouterEvenements(List.of(reunion("Bilan annuel", pierre), reunion("Atelier", pierre)));
+        
+        assertEquals(2, calendarManager.rechercher("bilan", 10).size());
+        assertEquals(3, calendarManager.rechercher("helene", 10).size());
+        assertEquals(List.of(bilan), calendarManager.rechercher("bilan roger", 10));
+        
+        calendarManager.supprimerEvenement(bilan.getId());
+        assertTrue(calendarManager.rechercher("trimestriel", 10).isEmpty());
+        
+        calendarManager.supprimerEvenementsUtilisateur(pierre);
+        assertTrue(calendarManager.rechercher("helene", 10).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Les événements rejoués depuis le journal doivent être cherchables")
+    void testRejeuDuJournal(@TempDir Path dossier) {
+        CalendarManager calendrier = new CalendarManager(new JournalSegmente(dossier));
+        calendrier.ajouterEvenement(reunion("Revue de code", roger));
+        calendrier.fermer();
+        
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier));
+        assertEquals(1, relu.rechercher("revue", 10).size());
+        relu.fermer();
+    }
+    
+    @Test
+    @DisplayName("Le gestionnaire concurrent doit aussi tenir l'index à jour")
+    void testGestionnaireConcurrent() {
+        CalendarManager concurrent = new CalendarManagerConcurrent();
+        concurrent.ajouterEvenement(reunion("Rétrospective", roger));
+        
+        assertEquals(1, concurrent.rechercher("retro", 10).size());
+    }
+}
@@ -23,8 +23,8 @@ public class CalendarManagerSuppressionTest {
     @BeforeEach
     void setUp() {
         calendarManager = new CalendarManager();
-        roger = new Utilisateur("Roger", "Chat");
-        pierre = new Utilisateur("Pierre", "KiRouhl");
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
         
         // Créer plusieurs événements avec des IDs
         
@@ -150,4 +150,49 @@ public class CalendarManagerSuppressionTest {
         // Roger est toujours participant à la réunion de Pierre
         assertEquals(1, calendarManager.agendaPersonnel(roger).size());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("La suppression en masse doit conserver l'ordre des événements restants")
+    void testSuppressionEnMasseConserveOrdre() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            calendarManager.ajouterRendezVousPersonnel(
+                new TitreEvenement("RDV " + i),
+                i % 2 == 0 ? roger : pierre,
+                new DateEvenement(2025, 5, 1 + i % 28),
+                new HeureDebut(i % 24, 0),
+                new DureeEvenement(30)
+            );
+        }
+        List<Evenement> avant = calendarManager.getEvenements();
+        
+        // When
+        for (int i = 0; i < avant.size(); i += 3) {
+            assertTrue(calendarManager.supprimerEvenement(avant.get(i).getId()));
+        }
+        
+        // Then
+        List<Evenement> apres = calendarManager.getEvenements();
+        assertEquals(avant.size() - (avant.size() + 2) / 3, apres.size());
+        for (int i = 1; i < apres.size(); i++) {
+            assertTrue(avant.indexOf(apres.get(i - 1)) < avant.indexOf(apres.get(i)));
+        }
+    }
+    
+    @Test
+    @DisplayName("L'ajout d'un événement dont l'identifiant existe déjà doit échouer")
+    void testAjoutIdentifiantExistant() {
+        Evenement doublon = new RendezVousPersonnel(
+            rdvRoger.getId(),
+            new TitreEvenement("Dentiste"),
+            roger,
+            new DateEvenement(2025, 4, 11),
+            new HeureDebut(9, 0),
+            new DureeEvenement(30)
+        );
+        
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenement(doublon));
+        assertEquals(3, calendarManager.getEvenements().size());
+        assertTrue(calendarManager.getEvenements().contains(rdvRoger));
+    }
+}
@@ -1,11 +1,22 @@
 package com.mycalendar;
 
 import com.mycalendar.UserManager;
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.securite.VerificateurMotsDePasse;
+import com.mycalendar.session.JetonSession;
+import com.mycalendar.valueobjects.ParticipantsEvenement;
 import com.mycalendar.valueobjects.Utilisateur;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class UserManagerTest {
@@ -131,4 +142,126 @@ public class UserManagerTest {
         assertFalse(userManager.creerCompte("UserEnTrop", "PassEnTrop"));
         assertEquals(capaciteMaximale, userManager.getNombreUtilisateurs());
     }
+    
+    @Test
+    @DisplayName("La capacité est configurable et peut dépasser largement la valeur par défaut")
+    void testCapaciteConfigurable() {
+        UserManager grand = new UserManager(DepotComptes.enMemoire(), 100_000,
+            new VerificateurMotsDePasse(1, 1, VerificateurMotsDePasse.CAPACITE_FILE_DEFAUT));
+        assertEquals(100_000, grand.getCapacite());
+        
+        for (int i = grand.getNombreUtilisateurs(); i < 100_000; i++) {
+            assertTrue(grand.creerCompte("User" + i, "Pass" + i));
+        }
+        
+        assertFalse(grand.creerCompte("UserEnTrop", "PassEnTrop"));
+        assertTrue(grand.verifierAuthentification("User54321", "Pass54321"));
+        assertEquals("User99999", grand.rechercherUtilisateur("User99999").getIdentifiant());
+        assertThrows(IllegalArgumentException.class, () -> new UserManager(DepotComptes.enMemoire(), 0));
+    }
+    
+    @Test
+    @DisplayName("Une connexion réussie ouvre une session qui identifie l'utilisateur sans mot de passe")
+    void testConnecter() {
+        assertNull(userManager.connecter("Roger", "MotDePasseIncorrect"));
+        assertNull(userManager.connecter("UtilisateurInexistant", "Chat"));
+        
+        JetonSession roger = userManager.connecter("Roger", "Chat");
+        JetonSession pierre = userManager.connecter("Pierre", "KiRouhl");
+        assertEquals("Roger", userManager.utilisateurSession(roger).getIdentifiant());
+        assertEquals("Pierre", userManager.utilisateurSession(pierre).getIdentifiant());
+        assertEquals(2, userManager.getSessions().getNombreSessions());
+        
+        userManager.deconnecter(roger);
+        assertNull(userManager.utilisateurSession(roger));
+        assertNotNull(userManager.utilisateurSession(pierre));
+        assertNull(userManager.ouvrirSession("UtilisateurInexistant"));
+    }
+    
+    @Test
+    @DisplayName("Des créations simultanées du même identifiant ne doivent créer qu'un compte, sans écraser son empreinte")
+    void testCreationsSimultanees() throws Exception {
+        UserManager concurrent = new UserManager(DepotComptes.enMemoire(), 100,
+            new VerificateurMotsDePasse(1_000, 8, VerificateurMotsDePasse.CAPACITE_FILE_DEFAUT));
+        int fils = 8;
+        ExecutorService executeur = Executors.newFixedThreadPool(fils);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Boolean>> creations = new ArrayList<>();
+        for (int i = 0; i < fils; i++) {
+            String motDePasse = "Pass" + i;
+            creations.add(executeur.submit(() -> {
+                depart.await();
+                return concurrent.creerCompte("Sophie", motDePasse);
+            }));
+        }
+        depart.countDown();
+        
+        int reussies = 0;
+        String gagnant = null;
+        for (int i = 0; i < fils; i++) {
+            if (creations.get(i).get()) {
+                reussies++;
+                gagnant = "Pass" + i;
+            }
+        }
+        executeur.shutdown();
+        
+        assertEquals(1, reussies);
+        assertTrue(concurrent.verifierAuthentification("Sophie", gagnant));
+        assertEquals(3, concurrent.getNombreUtilisateurs());
+    }
+    
+    @Test
+    @DisplayName("La connexion doit nettoyer l'identifiant de ses espaces comme la création")
+    void testConnexionAvecEspaces() {
+        assertNotNull(userManager.connecter("  Roger ", "Chat"));
+        assertTrue(userManager.verifierAuthentification("Pierre ", "KiRouhl"));
+        assertNull(userManager.connecter(null, "Chat"));
+    }
+    
+    @Test
+    @DisplayName("Un identifiant entouré d'espaces est un doublon de l'identifiant nettoyé")
+    void testDoublonAvecEspaces() {
+        assertFalse(userManager.creerCompte("  Roger ", "AutreChat"));
+        assertEquals(2, userManager.getNombreUtilisateurs());
+        assertTrue(userManager.verifierAuthentification("Roger", "Chat"));
+    }
+    
+    @Test
+    @DisplayName("Les participants doivent être résolus vers l'instance partagée de chaque utilisateur")
+    void testParticipantsPartages() {
+        ParticipantsEvenement participants = userManager.participants("Roger, Invité");
+        
+        assertSame(userManager.rechercherUtilisateur("Roger"), participants.getUtilisateurs().get(0));
+        assertSame(userManager.resoudre("Invité"), participants.getUtilisateurs().get(1));
+        
+        // Un participant qui ouvre ensuite un compte garde la même instance
+        assertTrue(userManager.creerCompte("Invité", "MotDePasse"));
+        assertSame(participants.getUtilisateurs().get(1), userManager.rechercherUtilisateur("Invité"));
+    }
+    
+    @Test
+    @DisplayName("Les identifiants de comptes doivent être complétés sans tenir compte des accents ni des majuscules")
+    void testCompleter() {
+        assertTrue(userManager.creerCompte("Rogério", "MotDePasse"));
+        assertTrue(userManager.creerCompte("Élodie", "MotDePasse"));
+        
+        assertEquals(List.of("Roger", "Rogério"), userManager.completer("rog", 5));
+        assertEquals(List.of("Roger"), userManager.completer("ROG", 1));
+        assertEquals(List.of("Élodie"), userManager.completer("elo", 5));
+        assertTrue(userManager.completer("Invité", 5).isEmpty());
+        assertTrue(userManager.completer("  ", 5).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Une saisie doit désigner un compte seulement si elle est sans ambiguïté")
+    void testResoudreCompte() {
+        assertTrue(userManager.creerCompte("Rogério", "MotDePasse"));
+        
+        assertSame(userManager.rechercherUtilisateur("Pierre"), userManager.resoudreCompte("pi"));
+        assertSame(userManager.rechercherUtilisateur("Roger"), userManager.resoudreCompte("roger"));
+        assertSame(userManager.rechercherUtilisateur("Rogério"), userManager.resoudreCompte("rogeri"));
+        assertNull(userManager.resoudreCompte("rog"));
+        assertNull(userManager.resoudreCompte("Invité"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.CalendarManagerConcurrent;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Compare le débit de lecture d'un calendrier partagé pendant qu'une session y écrit
+ *
+ * Référence : un CalendarManager protégé par un verrou global, comme le faisaient
+ * les serveurs multi-sessions. Les lecteurs du gestionnaire concurrent lisent un
+ * instantané sans verrou ; ses écritures recréent les O(log n) nœuds modifiés des
+ * structures persistantes, ce que le calendrier de 100 000 événements rend visible.
+ */
+public class CalendarManagerContentionBenchmark {
+
+    private static final int EVENEMENTS = 100_000;
+    private static final int[] LECTEURS = {1, 2, 4, 8};
+    private static final long DUREE_MS = 2_000;
+
+    private static final LocalDateTime DEBUT_JOUR = LocalDateTime.of(2025, 4, 14, 0, 0);
+    private static final LocalDateTime FIN_JOUR = LocalDateTime.of(2025, 4, 14, 23, 59, 59);
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%-10s %-12s %20s %20s%n", "Lecteurs", "Variante", "Lectures/s", "Écritures/s");
+        for (int lecteurs : LECTEURS) {
+            mesurer("verrou", lecteurs, new VerrouGlobal(new CalendarManager()));
+            mesurer("instantané", lecteurs, new SansVerrou(new CalendarManagerConcurrent()));
+        }
+    }
+
+    private static void mesurer(String variante, int lecteurs, Acces acces) throws InterruptedException {
+        Utilisateur proprietaire = new Utilisateur("Roger");
+        for (int i = 0; i < EVENEMENTS; i++) {
+            Evenement evenement = rdv(proprietaire, i);
+            acces.ecrire(() -> {
+                acces.manager.ajouterEvenement(evenement);
+                return null;
+            });
+        }
+
+        AtomicBoolean enCours = new AtomicBoolean(true);
+        CountDownLatch depart = new CountDownLatch(1);
+        LongAdder lectures = new LongAdder();
+        LongAdder ecritures = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < lecteurs; i++) {
+            threads.add(new Thread(() -> {
+                attendre(depart);
+                long accumulateur = 0;
+                while (enCours.get()) {
+                    accumulateur += acces.lire(() -> acces.manager.eventsDansPeriode(DEBUT_JOUR, FIN_JOUR)).size();
+                    lectures.increment();
+                }
+                Mesure.puits = accumulateur;
+            }));
+        }
+        threads.add(new Thread(() -> {
+            attendre(depart);
+            int numero = EVENEMENTS;
+            while (enCours.get()) {
+                Evenement evenement = rdv(proprietaire, numero++);
+                acces.ecrire(() -> {
+                    acces.manager.ajouterEvenement(evenement);
+                    return null;
+                });
+                acces.ecrire(() -> acces.manager.supprimerEvenement(evenement.getId()));
+                ecritures.add(2);
+            }
+        }));
+
+        threads.forEach(Thread::start);
+        depart.countDown();
+        Thread.sleep(DUREE_MS);
+        enCours.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double secondes = DUREE_MS / 1_000.0;
+        System.out.printf("%-10d %-12s %20.0f %20.0f%n",
+                lecteurs, variante, lectures.sum() / secondes, ecritures.sum() / secondes);
+    }
+
+    private static void attendre(CountDownLatch depart) {
+        try {
+            depart.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Evenement rdv(Utilisateur proprietaire, int numero) {
+        return new RendezVousPersonnel(
+            new TitreEvenement("RDV " + numero),
+            proprietaire,
+            new DateEvenement(2025, 1 + numero % 12, 1 + numero % 28),
+            new HeureDebut(numero % 24, 0),
+            new DureeEvenement(30)
+        );
+    }
+
+    /**
+     * Manière d'accéder au gestionnaire partagé
+     */
+    private abstract static class Acces {
+        final CalendarManager manager;
+
+        Acces(CalendarManager manager) {
+            this.manager = manager;
+        }
+
+        abstract <T> T lire(Supplier<T> lecture);
+
+        abstract <T> T ecrire(Supplier<T> ecriture);
+    }
+
+    private static final class VerrouGlobal extends Acces {
+        VerrouGlobal(CalendarManager manager) {
+            super(manager);
+        }
+
+        @Override
+        synchronized <T> T lire(Supplier<T> lecture) {
+            return lecture.get();
+        }
+
+        @Override
+        synchronized <T> T ecrire(Supplier<T> ecriture) {
+            return ecriture.get();
+        }
+    }
+
+    private static final class SansVerrou extends Acces {
+        SansVerrou(CalendarManager manager) {
+            super(manager);
+        }
+
+        @Override
+        <T> T lire(Supplier<T> lecture) {
+            return lecture.get();
+        }
+
+        @Override
+        <T> T ecrire(Supplier<T> ecriture) {
+            return ecriture.get();
+        }
+    }
+}
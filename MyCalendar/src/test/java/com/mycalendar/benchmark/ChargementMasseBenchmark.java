@@ -0,0 +1,99 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compare un million d'appels à ajouterEvenement avec un seul ajouterEvenements
+ *
+ * Les événements, en ordre aléatoire, mêlent rendez-vous, réunions à deux ou trois
+ * participants, événements périodiques et tâches, répartis entre 50 utilisateurs.
+ * Chaque mesure part d'un calendrier vide ; le meilleur de trois essais est retenu.
+ * À lancer avec un tas d'au moins 4 Go (-Xmx4g).
+ */
+public class ChargementMasseBenchmark {
+
+    private static final int EVENEMENTS = 1_000_000;
+    private static final int ESSAIS = 3;
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) {
+        List<Evenement> evenements = generer();
+
+        System.out.printf("%-24s %12s %14s%n", "chargement", "ms", "ns / événement");
+        for (int essai = 0; essai < 2; essai++) {
+            afficher("ajouterEvenement x 1M", mesurer(() -> {
+                CalendarManager calendarManager = new CalendarManager();
+                for (Evenement evenement : evenements) {
+                    calendarManager.ajouterEvenement(evenement);
+                }
+                return calendarManager;
+            }));
+            afficher("ajouterEvenements(1M)", mesurer(() -> {
+                CalendarManager calendarManager = new CalendarManager();
+                calendarManager.ajouterEvenements(evenements);
+                return calendarManager;
+            }));
+        }
+    }
+
+    private interface Chargement {
+        CalendarManager charger();
+    }
+
+    private static long mesurer(Chargement chargement) {
+        long meilleur = Long.MAX_VALUE;
+        for (int i = 0; i < ESSAIS; i++) {
+            System.gc();
+            long debut = System.nanoTime();
+            CalendarManager calendarManager = chargement.charger();
+            meilleur = Math.min(meilleur, System.nanoTime() - debut);
+            Mesure.puits = calendarManager.getEvenements().size();
+        }
+        return meilleur;
+    }
+
+    private static void afficher(String nom, long nanos) {
+        System.out.printf("%-24s %12.0f %14.0f%n", nom, nanos / 1e6, (double) nanos / EVENEMENTS);
+    }
+
+    private static List<Evenement> generer() {
+        Random random = new Random(42);
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            utilisateurs.add(new Utilisateur("Utilisateur" + i));
+        }
+
+        List<Evenement> evenements = new ArrayList<>(EVENEMENTS);
+        for (int i = 0; i < EVENEMENTS; i++) {
+            Utilisateur proprietaire = utilisateurs.get(random.nextInt(utilisateurs.size()));
+            DateEvenement date = DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(3 * 365)));
+            HeureDebut heure = new HeureDebut(random.nextInt(24), random.nextInt(4) * 15);
+            DureeEvenement duree = new DureeEvenement(15 + 15 * random.nextInt(8));
+            int type = random.nextInt(20);
+            if (type < 12) {
+                evenements.add(new RendezVousPersonnel(new TitreEvenement("RDV " + i), proprietaire, date, heure, duree));
+            } else if (type < 18) {
+                List<Utilisateur> participants = new ArrayList<>();
+                for (int p = 0; p < 2 + random.nextInt(2); p++) {
+                    participants.add(utilisateurs.get(random.nextInt(utilisateurs.size())));
+                }
+                evenements.add(new Reunion(new TitreEvenement("Réunion " + i), proprietaire, date, heure, duree,
+                    new LieuEvenement("Salle " + random.nextInt(10)), ParticipantsEvenement.avecUtilisateurs(participants)));
+            } else if (type < 19) {
+                evenements.add(new EvenementPeriodique(new TitreEvenement("Périodique " + i), proprietaire, date, heure,
+                    new FrequenceEvenement(1 + random.nextInt(14))));
+            } else {
+                evenements.add(new Tache(new TitreEvenement("Tâche " + i), proprietaire, date, heure, duree,
+                    PrioriteTache.values()[random.nextInt(3)]));
+            }
+        }
+        return evenements;
+    }
+}
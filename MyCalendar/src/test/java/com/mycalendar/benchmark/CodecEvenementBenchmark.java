@@ -0,0 +1,364 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.persistance.CodecEvenement;
+import com.mycalendar.valueobjects.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Compare le codec binaire à la sérialisation Java et à un encodage JSON
+ *
+ * Les événements ne sont pas sérialisables et le projet n'embarque pas de bibliothèque
+ * JSON : les deux références encodent donc les mêmes champs, extraits dans un objet
+ * plat sérialisable pour l'une et dans un objet JSON écrit et relu à la main pour
+ * l'autre. Chaque aller-retour encode puis décode 10 000 événements triés par début,
+ * répartis entre 20 utilisateurs, et reconstruit les événements.
+ */
+public class CodecEvenementBenchmark {
+
+    private static final int EVENEMENTS = 10_000;
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) {
+        List<Evenement> evenements = generer();
+
+        System.out.printf("%-20s %12s %14s %16s%n", "format", "octets / év.", "ns / év.", "alloués / év.");
+        mesurer("CodecEvenement", evenements, CodecEvenementBenchmark::binaire);
+        mesurer("Sérialisation Java", evenements, CodecEvenementBenchmark::serialisationJava);
+        mesurer("JSON", evenements, CodecEvenementBenchmark::json);
+    }
+
+    /**
+     * Mesure un aller-retour complet ; la fonction rend la taille encodée
+     */
+    private static void mesurer(String format, List<Evenement> evenements, Function<List<Evenement>, Integer> allerRetour) {
+        int octets = allerRetour.apply(evenements);
+        double nanos = Mesure.nanosParOperation(1, () -> allerRetour.apply(evenements));
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long avant = threads.getThreadAllocatedBytes(thread);
+        Mesure.puits = allerRetour.apply(evenements);
+        long alloues = threads.getThreadAllocatedBytes(thread) - avant;
+
+        System.out.printf("%-20s %12.1f %14.0f %16d%n", format,
+            (double) octets / EVENEMENTS, nanos / EVENEMENTS, alloues / EVENEMENTS);
+    }
+
+    private static int binaire(List<Evenement> evenements) {
+        ByteBuffer tampon = ByteBuffer.allocate(EVENEMENTS * 128);
+        CodecEvenement ecriture = new CodecEvenement();
+        for (Evenement evenement : evenements) {
+            ecriture.ecrire(tampon, evenement);
+        }
+        tampon.flip();
+        int octets = tampon.remaining();
+
+        CodecEvenement lecture = new CodecEvenement();
+        for (int i = 0; i < evenements.size(); i++) {
+            verifier(lecture.lire(tampon));
+        }
+        return octets;
+    }
+
+    private static int serialisationJava(List<Evenement> evenements) {
+        try {
+            ByteArrayOutputStream octets = new ByteArrayOutputStream();
+            try (ObjectOutputStream sortie = new ObjectOutputStream(octets)) {
+                ArrayList<EvenementPlat> plats = new ArrayList<>(evenements.size());
+                for (Evenement evenement : evenements) {
+                    plats.add(new EvenementPlat(evenement));
+                }
+                sortie.writeObject(plats);
+            }
+
+            try (ObjectInputStream entree = new ObjectInputStream(new ByteArrayInputStream(octets.toByteArray()))) {
+                @SuppressWarnings("unchecked")
+                List<EvenementPlat> plats = (List<EvenementPlat>) entree.readObject();
+                for (EvenementPlat plat : plats) {
+                    verifier(plat.reconstruire());
+                }
+            }
+            return octets.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int json(List<Evenement> evenements) {
+        StringBuilder texte = new StringBuilder(EVENEMENTS * 256).append('[');
+        for (int i = 0; i < evenements.size(); i++) {
+            if (i > 0) {
+                texte.append(',');
+            }
+            new EvenementPlat(evenements.get(i)).versJson(texte);
+        }
+        String json = texte.append(']').toString();
+        byte[] octets = json.getBytes(StandardCharsets.UTF_8);
+
+        LecteurJson lecteur = new LecteurJson(new String(octets, StandardCharsets.UTF_8));
+        lecteur.attendre('[');
+        while (lecteur.suivant() != ']') {
+            verifier(EvenementPlat.depuisJson(lecteur.lireObjet()).reconstruire());
+            if (lecteur.suivant() == ',') {
+                lecteur.attendre(',');
+            }
+        }
+        return octets.length;
+    }
+
+    private static void verifier(Evenement evenement) {
+        Mesure.puits += evenement.getDebutEpochMinutes();
+    }
+
+    private static List<Evenement> generer() {
+        Random random = new Random(42);
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            utilisateurs.add(new Utilisateur("Utilisateur" + i));
+        }
+
+        List<Evenement> evenements = new ArrayList<>(EVENEMENTS);
+        for (int i = 0; i < EVENEMENTS; i++) {
+            Utilisateur proprietaire = utilisateurs.get(random.nextInt(utilisateurs.size()));
+            DateEvenement date = DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(365)));
+            HeureDebut heure = new HeureDebut(random.nextInt(24), random.nextInt(4) * 15);
+            DureeEvenement duree = new DureeEvenement(15 + 15 * random.nextInt(8));
+            switch (i % 4) {
+                case 0:
+                    evenements.add(new RendezVousPersonnel(new TitreEvenement("Rendez-vous " + i),
+                        proprietaire, date, heure, duree));
+                    break;
+                case 1:
+                    List<Utilisateur> participants = new ArrayList<>();
+                    for (int p = 0; p < 3; p++) {
+                        participants.add(utilisateurs.get(random.nextInt(utilisateurs.size())));
+                    }
+                    evenements.add(new Reunion(new TitreEvenement("Réunion " + i), proprietaire, date, heure,
+                        duree, new LieuEvenement("Salle " + random.nextInt(10)),
+                        ParticipantsEvenement.avecUtilisateurs(participants)));
+                    break;
+                case 2:
+                    evenements.add(new EvenementPeriodique(new TitreEvenement("Périodique " + i),
+                        proprietaire, date, heure, new FrequenceEvenement(1 + random.nextInt(14))));
+                    break;
+                default:
+                    evenements.add(new Tache(new TitreEvenement("Tâche " + i), proprietaire, date, heure,
+                        duree, PrioriteTache.values()[random.nextInt(3)]));
+                    break;
+            }
+        }
+        evenements.sort(Comparator.comparingLong(Evenement::getDebutEpochMinutes));
+        return evenements;
+    }
+
+    /**
+     * Champs d'un événement sous une forme plate, sérialisable et convertible en JSON
+     */
+    private static final class EvenementPlat implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String id;
+        private final String type;
+        private final String titre;
+        private final String proprietaire;
+        private final long debut;
+        private final int duree;
+        private final String lieu;
+        private final String[] participants;
+        private final int frequence;
+        private final String priorite;
+
+        EvenementPlat(Evenement evenement) {
+            this(evenement.getId().getValeur(), evenement.getType().getCode(), evenement.getTitre().getValeur(),
+                evenement.getProprietaire().getIdentifiant(), evenement.getDebutEpochMinutes(),
+                evenement.getDuree().getMinutes(), evenement.getLieu().getValeur(),
+                evenement.getParticipants().getUtilisateurs().stream()
+                    .map(Utilisateur::getIdentifiant).toArray(String[]::new),
+                evenement.getFrequence().getJoursEntrePeriodes(),
+                evenement instanceof Tache ? ((Tache) evenement).getPriorite().getCode() : null);
+        }
+
+        private EvenementPlat(String id, String type, String titre, String proprietaire, long debut, int duree,
+                              String lieu, String[] participants, int frequence, String priorite) {
+            this.id = id;
+            this.type = type;
+            this.titre = titre;
+            this.proprietaire = proprietaire;
+            this.debut = debut;
+            this.duree = duree;
+            this.lieu = lieu;
+            this.participants = participants;
+            this.frequence = frequence;
+            this.priorite = priorite;
+        }
+
+        Evenement reconstruire() {
+            EventId eventId = new EventId(id);
+            TitreEvenement titreEvenement = new TitreEvenement(titre);
+            Utilisateur utilisateur = new Utilisateur(proprietaire);
+            java.time.LocalDateTime dateHeure = MinutesEpoch.versDateHeure(debut);
+            DateEvenement date = DateEvenement.fromLocalDate(dateHeure.toLocalDate());
+            HeureDebut heure = HeureDebut.fromLocalTime(dateHeure.toLocalTime());
+            switch (TypeEvenement.fromString(type)) {
+                case RDV_PERSONNEL:
+                    return new RendezVousPersonnel(eventId, titreEvenement, utilisateur, date, heure,
+                        new DureeEvenement(duree));
+                case REUNION:
+                    List<Utilisateur> invites = new ArrayList<>(participants.length);
+                    for (String participant : participants) {
+                        invites.add(new Utilisateur(participant));
+                    }
+                    return new Reunion(eventId, titreEvenement, utilisateur, date, heure, new DureeEvenement(duree),
+                        new LieuEvenement(lieu), ParticipantsEvenement.avecUtilisateurs(invites));
+                case PERIODIQUE:
+                    return new EvenementPeriodique(eventId, titreEvenement, utilisateur, date, heure,
+                        new FrequenceEvenement(frequence));
+                default:
+                    return new Tache(eventId, titreEvenement, utilisateur, date, heure, new DureeEvenement(duree),
+                        PrioriteTache.fromString(priorite));
+            }
+        }
+
+        void versJson(StringBuilder texte) {
+            texte.append("{\"id\":");
+            chaine(texte, id).append(",\"type\":");
+            chaine(texte, type).append(",\"titre\":");
+            chaine(texte, titre).append(",\"proprietaire\":");
+            chaine(texte, proprietaire).append(",\"debut\":").append(debut)
+                .append(",\"duree\":").append(duree).append(",\"lieu\":");
+            chaine(texte, lieu).append(",\"participants\":[");
+            for (int i = 0; i < participants.length; i++) {
+                if (i > 0) {
+                    texte.append(',');
+                }
+                chaine(texte, participants[i]);
+            }
+            texte.append("],\"frequence\":").append(frequence).append(",\"priorite\":");
+            if (priorite == null) {
+                texte.append("null");
+            } else {
+                chaine(texte, priorite);
+            }
+            texte.append('}');
+        }
+
+        static EvenementPlat depuisJson(Map<String, Object> objet) {
+            @SuppressWarnings("unchecked")
+            List<String> participants = (List<String>) objet.get("participants");
+            return new EvenementPlat((String) objet.get("id"), (String) objet.get("type"),
+                (String) objet.get("titre"), (String) objet.get("proprietaire"), (Long) objet.get("debut"),
+                ((Long) objet.get("duree")).intValue(), (String) objet.get("lieu"),
+                participants.toArray(new String[0]), ((Long) objet.get("frequence")).intValue(),
+                (String) objet.get("priorite"));
+        }
+
+        private static StringBuilder chaine(StringBuilder texte, String valeur) {
+            texte.append('"');
+            for (int i = 0; i < valeur.length(); i++) {
+                char c = valeur.charAt(i);
+                if (c == '"' || c == '\\') {
+                    texte.append('\\');
+                }
+                texte.append(c);
+            }
+            return texte.append('"');
+        }
+    }
+
+    /**
+     * Lecteur JSON réduit aux objets plats produits par {@link EvenementPlat#versJson}
+     */
+    private static final class LecteurJson {
+        private final String texte;
+        private int position;
+
+        LecteurJson(String texte) {
+            this.texte = texte;
+        }
+
+        char suivant() {
+            return texte.charAt(position);
+        }
+
+        void attendre(char attendu) {
+            if (texte.charAt(position++) != attendu) {
+                throw new IllegalArgumentException("« " + attendu + " » attendu en position " + (position - 1));
+            }
+        }
+
+        Map<String, Object> lireObjet() {
+            Map<String, Object> objet = new HashMap<>();
+            attendre('{');
+            while (suivant() != '}') {
+                String cle = lireChaine();
+                attendre(':');
+                objet.put(cle, lireValeur());
+                if (suivant() == ',') {
+                    attendre(',');
+                }
+            }
+            attendre('}');
+            return objet;
+        }
+
+        private Object lireValeur() {
+            char c = suivant();
+            if (c == '"') {
+                return lireChaine();
+            }
+            if (c == '[') {
+                attendre('[');
+                List<Object> valeurs = new ArrayList<>();
+                while (suivant() != ']') {
+                    valeurs.add(lireValeur());
+                    if (suivant() == ',') {
+                        attendre(',');
+                    }
+                }
+                attendre(']');
+                return valeurs;
+            }
+            if (texte.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            int debut = position;
+            while (position < texte.length() && (Character.isDigit(texte.charAt(position)) || texte.charAt(position) == '-')) {
+                position++;
+            }
+            return Long.parseLong(texte.substring(debut, position));
+        }
+
+        private String lireChaine() {
+            attendre('"');
+            StringBuilder valeur = new StringBuilder();
+            char c;
+            while ((c = texte.charAt(position++)) != '"') {
+                valeur.append(c == '\\' ? texte.charAt(position++) : c);
+            }
+            return valeur.toString();
+        }
+    }
+}
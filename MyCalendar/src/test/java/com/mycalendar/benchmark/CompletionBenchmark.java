@@ -0,0 +1,54 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.recherche.IndexPrefixes;
+import com.mycalendar.recherche.TexteRecherche;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Mesure la complétion d'un identifiant, frappe après frappe, parmi un million de comptes
+ * aux identifiants formés d'un prénom français et d'un numéro
+ *
+ * À titre de comparaison, un parcours de tous les identifiants garde ceux qui commencent
+ * par la saisie puis trie les correspondances pour proposer les premières.
+ */
+public class CompletionBenchmark {
+
+    private static final int COMPTES = 1_000_000;
+    private static final int PROPOSITIONS = 8;
+    private static final String[] PRENOMS = {
+        "Hélène", "Élodie", "Jérôme", "François", "Amélie", "Gaëlle", "Noël", "Cécile", "Loïc", "Zoé",
+        "Roger", "Pierre", "Sophie", "Camille", "Léa", "Hugo", "Chloé", "Inès", "Théo", "Maëlys"
+    };
+
+    public static void main(String[] args) {
+        Random aleatoire = new Random(42);
+        List<String> identifiants = new ArrayList<>(COMPTES);
+        for (int i = 0; i < COMPTES; i++) {
+            identifiants.add(PRENOMS[aleatoire.nextInt(PRENOMS.length)] + aleatoire.nextInt(10_000_000));
+        }
+
+        IndexPrefixes index = new IndexPrefixes();
+        long avant = System.nanoTime();
+        identifiants.forEach(index::ajouter);
+        double chargement = System.nanoTime() - avant;
+
+        System.out.printf("%d identifiants indexés en %.0f ms%n", index.getNombreNoms(), chargement / 1_000_000);
+        System.out.printf("%-12s %14s %14s%n", "Saisie", "index (µs)", "parcours (µs)");
+        String saisie = "helene42";
+        for (int longueur = 1; longueur <= saisie.length(); longueur++) {
+            String debut = saisie.substring(0, longueur);
+            double completion = Mesure.nanosParOperation(1_000, () -> index.completer(debut, PROPOSITIONS).size());
+            double parcours = Mesure.nanosParOperation(1, () -> identifiants.stream()
+                .filter(identifiant -> TexteRecherche.normaliser(identifiant).startsWith(debut))
+                .sorted()
+                .limit(PROPOSITIONS)
+                .collect(Collectors.toList())
+                .size());
+            System.out.printf("%-12s %14.2f %14.0f%n", debut, completion / 1_000, parcours / 1_000);
+        }
+    }
+}
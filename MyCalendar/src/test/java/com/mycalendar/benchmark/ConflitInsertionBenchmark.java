@@ -0,0 +1,120 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.planification.Conflit;
+import com.mycalendar.planification.ModeConflit;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mesure la latence d'un ajout avec vérification des conflits,
+ * pour un utilisateur possédant déjà 100 000 événements
+ *
+ * Chaque ajout est chronométré séparément pour obtenir les percentiles ;
+ * l'événement est ensuite supprimé pour garder la taille constante.
+ * Le parcours de tous les événements de l'utilisateur sert de point de comparaison.
+ * La dernière mesure ajoute un congé d'un an en début d'agenda : une recherche
+ * bornée par la plus longue durée parcourrait alors une année d'événements à chaque ajout.
+ */
+public class ConflitInsertionBenchmark {
+
+    private static final int EVENEMENTS = 100_000;
+    private static final int AJOUTS_CHAUFFE = 20_000;
+    private static final int AJOUTS_MESURES = 20_000;
+    private static final int PARCOURS_MESURES = 500;
+    private static final LocalDate ORIGINE = LocalDate.of(2020, 1, 1);
+    private static final TitreEvenement NOUVEAU = new TitreEvenement("Nouveau");
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Utilisateur proprietaire = new Utilisateur("Roger");
+        CalendarManager calendarManager = new CalendarManager();
+        for (int i = 0; i < EVENEMENTS; i++) {
+            calendarManager.ajouterEvenement(rdvAleatoire(random, proprietaire));
+        }
+        calendarManager.setModeConflit(ModeConflit.AVERTIR);
+
+        mesurer(AJOUTS_CHAUFFE, random, proprietaire, calendarManager);
+        long[] index = mesurer(AJOUTS_MESURES, random, proprietaire, calendarManager);
+        long[] parcours = mesurerParcours(random, proprietaire, calendarManager);
+
+        calendarManager.ajouterEvenement(new RendezVousPersonnel(new TitreEvenement("Congé"), proprietaire,
+                DateEvenement.fromLocalDate(ORIGINE), new HeureDebut(0, 0), new DureeEvenement(365 * 24 * 60)));
+        long[] avecConge = mesurer(AJOUTS_MESURES, random, proprietaire, calendarManager);
+
+        System.out.printf("%-22s %12s %12s %12s%n", "Vérification", "p50 (µs)", "p99 (µs)", "max (µs)");
+        afficher("index par utilisateur", index);
+        afficher("parcours complet", parcours);
+        afficher("index, congé d'un an", avecConge);
+    }
+
+    private static long[] mesurer(int ajouts, Random random, Utilisateur proprietaire,
+                                  CalendarManager calendarManager) {
+        long[] durees = new long[ajouts];
+        long accumulateur = 0;
+        for (int i = 0; i < ajouts; i++) {
+            Evenement modele = rdvAleatoire(random, proprietaire);
+
+            long debut = System.nanoTime();
+            List<Conflit> conflits = calendarManager.ajouterRendezVousPersonnel(NOUVEAU, proprietaire,
+                    modele.getDate(), modele.getHeureDebut(), modele.getDuree());
+            durees[i] = System.nanoTime() - debut;
+
+            accumulateur += conflits.size();
+            for (Evenement evenement : calendarManager.eventsDansPeriode(modele.getDateDebut(), modele.getDateDebut())) {
+                if (evenement.getTitre() == NOUVEAU) {
+                    calendarManager.supprimerEvenement(evenement.getId());
+                }
+            }
+        }
+        Mesure.puits = accumulateur;
+        return durees;
+    }
+
+    /**
+     * Ancienne approche : comparer le nouvel événement à tous ceux de l'utilisateur
+     */
+    private static long[] mesurerParcours(Random random, Utilisateur proprietaire,
+                                          CalendarManager calendarManager) {
+        long[] durees = new long[PARCOURS_MESURES];
+        long accumulateur = 0;
+        for (int i = 0; i < PARCOURS_MESURES; i++) {
+            Evenement nouveau = rdvAleatoire(random, proprietaire);
+
+            long debut = System.nanoTime();
+            for (Evenement existant : calendarManager.agendaPersonnel(proprietaire)) {
+                if (nouveau.estEnConflitAvec(existant) && existant.estEnConflitAvec(nouveau)) {
+                    accumulateur++;
+                }
+            }
+            durees[i] = System.nanoTime() - debut;
+        }
+        Mesure.puits = accumulateur;
+        return durees;
+    }
+
+    private static void afficher(String libelle, long[] durees) {
+        long[] triees = durees.clone();
+        Arrays.sort(triees);
+        System.out.printf("%-22s %12.1f %12.1f %12.1f%n", libelle,
+                triees[triees.length / 2] / 1_000.0,
+                triees[(int) (triees.length * 0.99)] / 1_000.0,
+                triees[triees.length - 1] / 1_000.0);
+    }
+
+    private static Evenement rdvAleatoire(Random random, Utilisateur proprietaire) {
+        return new RendezVousPersonnel(
+            new TitreEvenement("RDV"),
+            proprietaire,
+            DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(3_650))),
+            new HeureDebut(random.nextInt(24), random.nextInt(60)),
+            new DureeEvenement(15 + random.nextInt(106))
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.UserManager;
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.securite.VerificateurMotsDePasse;
+import com.mycalendar.valueobjects.Utilisateur;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mesure le coût de la recherche d'un compte selon le nombre de comptes, comparé
+ * au parcours linéaire de l'ancienne liste de comptes
+ *
+ * Les identifiants testés sont tirés dans tout l'intervalle des comptes existants,
+ * si bien que la liste est parcourue à moitié en moyenne. La vérification du mot
+ * de passe, d'un coût fixe, n'est pas mesurée : les empreintes sont calculées
+ * avec une seule itération pour créer rapidement les comptes.
+ */
+public class ConnexionBenchmark {
+
+    private static final int[] COMPTES = {100, 10_000, 1_000_000};
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %20s %20s%n", "comptes", "liste (ns)", "index (ns)");
+        for (int nombre : COMPTES) {
+            UserManager userManager = new UserManager(DepotComptes.enMemoire(), nombre,
+                new VerificateurMotsDePasse(1, 1, VerificateurMotsDePasse.CAPACITE_FILE_DEFAUT));
+            List<Utilisateur> liste = new ArrayList<>(nombre);
+            for (int i = userManager.getNombreUtilisateurs(); i < nombre; i++) {
+                userManager.creerCompte("User" + i, "Pass" + i);
+            }
+            for (int i = 0; i < nombre; i++) {
+                Utilisateur utilisateur = userManager.rechercherUtilisateur("User" + i);
+                if (utilisateur != null) {
+                    liste.add(utilisateur);
+                }
+            }
+
+            String[] identifiants = new String[1024];
+            for (int i = 0; i < identifiants.length; i++) {
+                identifiants[i] = "User" + (2 + (int) ((long) i * (nombre - 2) / identifiants.length));
+            }
+
+            // Le parcours linéaire n'est mesuré que sur un échantillon, il serait trop long sinon
+            int operationsListe = nombre >= 1_000_000 ? 64 : 4096;
+            int[] position = {0};
+            double parListe = Mesure.nanosParOperation(operationsListe, () -> {
+                int i = position[0]++ % identifiants.length;
+                for (Utilisateur utilisateur : liste) {
+                    if (utilisateur.getIdentifiant().equals(identifiants[i])) {
+                        return 1;
+                    }
+                }
+                return 0;
+            });
+            double parIndex = Mesure.nanosParOperation(1_000_000, () -> {
+                int i = position[0]++ % identifiants.length;
+                return userManager.rechercherUtilisateur(identifiants[i]) != null ? 1 : 0;
+            });
+
+            System.out.printf("%-10d %20.1f %20.1f%n", nombre, parListe, parIndex);
+        }
+    }
+}
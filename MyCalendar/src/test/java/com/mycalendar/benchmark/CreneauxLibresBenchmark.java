@@ -0,0 +1,80 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.Reunion;
+import com.mycalendar.planification.PlanificateurCreneaux;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mesure la recherche des créneaux libres d'une réunion de 200 personnes sur trois
+ * mois, dans un calendrier de 2 000 utilisateurs ayant chacun quelques réunions par
+ * jour ouvré et un point quotidien périodique
+ *
+ * À titre de comparaison, un essai manuel vérifie un seul horaire en parcourant les
+ * événements de la période et en cherchant chaque participant parmi leurs invités.
+ */
+public class CreneauxLibresBenchmark {
+
+    private static final int UTILISATEURS = 2_000;
+    private static final int PARTICIPANTS = 200;
+    private static final LocalDate DEBUT = LocalDate.of(2025, 9, 1);
+
+    public static void main(String[] args) {
+        Random aleatoire = new Random(42);
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < UTILISATEURS; i++) {
+            utilisateurs.add(registre.resoudre("Utilisateur" + i));
+        }
+
+        CalendarManager calendarManager = new CalendarManager();
+        List<Evenement> evenements = new ArrayList<>();
+        for (LocalDate jour = DEBUT; jour.isBefore(DEBUT.plusMonths(3)); jour = jour.plusDays(1)) {
+            if (jour.getDayOfWeek().getValue() > 5) {
+                continue;
+            }
+            // Environ trois réunions par personne et par jour, de dix invités chacune
+            for (int r = 0; r < UTILISATEURS * 3 / 10; r++) {
+                List<Utilisateur> invites = new ArrayList<>();
+                for (int p = 0; p < 10; p++) {
+                    invites.add(utilisateurs.get(aleatoire.nextInt(UTILISATEURS)));
+                }
+                evenements.add(new Reunion(new TitreEvenement("Réunion"), invites.get(0),
+                    DateEvenement.fromLocalDate(jour), new HeureDebut(8 + aleatoire.nextInt(10), 15 * aleatoire.nextInt(4)),
+                    new DureeEvenement(30 + 30 * aleatoire.nextInt(3)), new LieuEvenement("Salle"),
+                    ParticipantsEvenement.avecUtilisateurs(invites)));
+            }
+        }
+        calendarManager.ajouterEvenements(evenements);
+        for (int i = 0; i < UTILISATEURS; i += 10) {
+            calendarManager.ajouterEvenementPeriodique(new TitreEvenement("Point quotidien"), utilisateurs.get(i),
+                DateEvenement.fromLocalDate(DEBUT), new HeureDebut(9, 0), FrequenceEvenement.quotidienne());
+        }
+
+        ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(utilisateurs.subList(0, PARTICIPANTS));
+        DureeEvenement duree = new DureeEvenement(60);
+        LocalDateTime debut = DEBUT.atStartOfDay();
+        LocalDateTime fin = debut.plus(PlanificateurCreneaux.HORIZON_DEFAUT);
+
+        double recherche = Mesure.nanosParOperation(5, () -> calendarManager.trouverCreneauxLibres(participants,
+            duree, debut, fin, PlanificateurCreneaux.OUVERTURE_DEFAUT, PlanificateurCreneaux.FERMETURE_DEFAUT, 5).size());
+        double essai = Mesure.nanosParOperation(5, () -> calendarManager.eventsDansPeriode(debut.withHour(10), debut.withHour(11))
+            .stream()
+            .filter(e -> e.getParticipants().getUtilisateurs().stream().anyMatch(participants::contientUtilisateur))
+            .count());
+
+        System.out.printf("%d événements, réunion de %d personnes sur trois mois%n", evenements.size(), PARTICIPANTS);
+        System.out.println(calendarManager.trouverCreneauxLibres(participants, duree, debut, fin,
+            PlanificateurCreneaux.OUVERTURE_DEFAUT, PlanificateurCreneaux.FERMETURE_DEFAUT, 5));
+        System.out.printf("%-34s %12s%n", "Opération", "ms");
+        System.out.printf("%-34s %12.2f%n", "recherche des 5 premiers créneaux", recherche / 1_000_000);
+        System.out.printf("%-34s %12.2f%n", "un essai manuel d'horaire", essai / 1_000_000);
+    }
+}
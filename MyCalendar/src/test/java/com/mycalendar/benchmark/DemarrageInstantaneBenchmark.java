@@ -0,0 +1,94 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.persistance.JournalSegmente;
+import com.mycalendar.valueobjects.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Compare le démarrage à froid depuis le seul journal et depuis un instantané
+ *
+ * Le journal est écrit directement, sans attendre la durabilité de chaque ajout,
+ * pour que la préparation reste rapide. Le même dossier est ensuite compacté et
+ * rouvert : seul l'instantané projeté en mémoire est alors décodé.
+ */
+public class DemarrageInstantaneBenchmark {
+
+    private static final int[] TAILLES = {50_000, 200_000};
+    private static final int REPETITIONS = 5;
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%10s %18s %18s %16s %16s%n",
+            "événements", "journal (ms)", "instantané (ms)", "journal (o)", "instantané (o)");
+
+        for (int taille : TAILLES) {
+            Path dossier = Files.createTempDirectory("demarrage-benchmark");
+            ecrireJournal(dossier, taille);
+            long octetsJournal = taille(dossier);
+            double depuisJournal = demarrer(dossier);
+
+            CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier, Integer.MAX_VALUE));
+            calendarManager.compacter();
+            calendarManager.fermer();
+            long octetsInstantane = taille(dossier);
+            double depuisInstantane = demarrer(dossier);
+
+            System.out.printf("%10d %18.1f %18.1f %16d %16d%n",
+                taille, depuisJournal, depuisInstantane, octetsJournal, octetsInstantane);
+            supprimer(dossier);
+        }
+    }
+
+    private static void ecrireJournal(Path dossier, int taille) {
+        Random random = new Random(42);
+        Utilisateur proprietaire = new Utilisateur("Roger");
+        JournalSegmente journal = new JournalSegmente(dossier, Integer.MAX_VALUE);
+        journal.rejouer(evenement -> { }, id -> { });
+        for (int i = 0; i < taille; i++) {
+            journal.consignerAjout(new RendezVousPersonnel(
+                new TitreEvenement("RDV " + i),
+                proprietaire,
+                DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(365))),
+                new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                new DureeEvenement(30)
+            ));
+        }
+        journal.close();
+    }
+
+    /**
+     * @return Le meilleur temps d'ouverture du calendrier, en millisecondes
+     */
+    private static double demarrer(Path dossier) {
+        long meilleur = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long debut = System.nanoTime();
+            CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier, Integer.MAX_VALUE));
+            meilleur = Math.min(meilleur, System.nanoTime() - debut);
+            Mesure.puits = calendarManager.getEvenements().size();
+            calendarManager.fermer();
+        }
+        return meilleur / 1e6;
+    }
+
+    private static long taille(Path dossier) throws IOException {
+        try (Stream<Path> fichiers = Files.list(dossier)) {
+            return fichiers.mapToLong(fichier -> fichier.toFile().length()).sum();
+        }
+    }
+
+    private static void supprimer(Path dossier) throws IOException {
+        try (Stream<Path> fichiers = Files.walk(dossier)) {
+            fichiers.sorted(Comparator.reverseOrder()).forEach(fichier -> fichier.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.evenements.EvenementPeriodique;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Mesure le coût de aLieuPendant selon l'ancienneté d'un événement quotidien
+ * 
+ * Le calcul direct doit rester constant quel que soit l'âge de l'événement,
+ * alors que le parcours pas à pas croît linéairement avec le nombre d'occurrences passées.
+ */
+public class EvenementPeriodiqueBenchmark {
+    
+    private static final int OPERATIONS = 20_000;
+    private static final int[] ANCIENNETES_JOURS = {1, 30, 365, 3_650, 36_500};
+    
+    public static void main(String[] args) {
+        LocalDateTime debut = LocalDateTime.of(2025, 4, 14, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2025, 4, 14, 23, 59, 59);
+        Utilisateur proprietaire = new Utilisateur("Pierre");
+        
+        System.out.printf("%-16s %18s %18s%n", "Ancienneté (j)", "Calcul direct (ns)", "Parcours (ns)");
+        for (int anciennete : ANCIENNETES_JOURS) {
+            EvenementPeriodique evenement = new EvenementPeriodique(
+                new TitreEvenement("Stand-up"),
+                proprietaire,
+                DateEvenement.fromLocalDate(LocalDate.of(2025, 4, 14).minusDays(anciennete)),
+                new HeureDebut(9, 0),
+                FrequenceEvenement.quotidienne()
+            );
+            
+            double direct = Mesure.nanosParOperation(OPERATIONS,
+                () -> evenement.aLieuPendant(debut, fin) ? 1 : 0);
+            double parcours = Mesure.nanosParOperation(OPERATIONS,
+                () -> aLieuPendantParParcours(evenement, debut, fin) ? 1 : 0);
+            
+            System.out.printf("%-16d %18.1f %18.1f%n", anciennete, direct, parcours);
+        }
+    }
+    
+    /**
+     * Ancienne implémentation, conservée comme point de comparaison
+     */
+    private static boolean aLieuPendantParParcours(EvenementPeriodique evenement,
+                                                   LocalDateTime debut, LocalDateTime fin) {
+        LocalDateTime occurrence = evenement.getDateDebut();
+        while (occurrence.isBefore(fin)) {
+            if (!occurrence.isBefore(debut)) {
+                return true;
+            }
+            occurrence = occurrence.plusDays(evenement.getFrequence().getJoursEntrePeriodes());
+        }
+        return false;
+    }
+}
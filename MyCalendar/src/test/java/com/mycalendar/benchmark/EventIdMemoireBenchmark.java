@@ -0,0 +1,78 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.valueobjects.EventId;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Compare l'empreinte mémoire et le coût de recherche de 1 000 000 d'identifiants
+ * entre l'ancienne représentation (UUID sous forme de chaîne) et EventId compact
+ * 
+ * L'empreinte est estimée par différence de mémoire utilisée après ramasse-miettes :
+ * lancer avec un tas fixe (par exemple -Xms2g -Xmx2g) pour des mesures stables.
+ */
+public class EventIdMemoireBenchmark {
+    
+    private static final int NOMBRE = 1_000_000;
+    
+    public static void main(String[] args) {
+        System.out.printf("%-22s %16s %20s%n", "Représentation", "Octets / id", "Recherche (ns)");
+        mesurer("UUID en chaîne (avant)", i -> new IdentifiantTexte(UUID.randomUUID().toString()));
+        mesurer("EventId compact", i -> EventId.generate());
+    }
+    
+    private static void mesurer(String libelle, IntFunction<Object> fabrique) {
+        // Le tableau de références est alloué avant la mesure : il n'appartient pas à l'identifiant
+        Object[] identifiants = new Object[NOMBRE];
+        long avant = memoireUtilisee();
+        for (int i = 0; i < NOMBRE; i++) {
+            identifiants[i] = fabrique.apply(i);
+        }
+        long apres = memoireUtilisee();
+        long octetsParId = (apres - avant) / NOMBRE;
+        
+        Map<Object, Integer> index = new HashMap<>();
+        for (int i = 0; i < NOMBRE; i++) {
+            index.put(identifiants[i], i);
+        }
+        int[] position = {0};
+        double recherche = Mesure.nanosParOperation(NOMBRE, () -> {
+            int i = position[0]++ % NOMBRE;
+            return index.get(identifiants[i]);
+        });
+        
+        System.out.printf("%-22s %16d %20.1f%n", libelle, octetsParId, recherche);
+    }
+    
+    private static long memoireUtilisee() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    /**
+     * Reproduction de l'ancien EventId, adossé à une chaîne
+     */
+    private static final class IdentifiantTexte {
+        private final String valeur;
+        
+        private IdentifiantTexte(String valeur) {
+            this.valeur = valeur;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentifiantTexte && valeur.equals(((IdentifiantTexte) o).valeur);
+        }
+        
+        @Override
+        public int hashCode() {
+            return java.util.Objects.hash(valeur);
+        }
+    }
+}
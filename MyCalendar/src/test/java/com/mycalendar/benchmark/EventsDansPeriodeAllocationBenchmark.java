@@ -0,0 +1,70 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.EvenementPeriodique;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.valueobjects.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Mesure la mémoire allouée et le temps d'un appel à eventsDansPeriode
+ *
+ * L'allocation est lue par l'extension HotSpot de ThreadMXBean, qui compte les octets
+ * alloués par le thread courant. Le calendrier contient 10 000 rendez-vous et 500
+ * événements périodiques répartis sur une année ; la requête porte sur une semaine.
+ */
+public class EventsDansPeriodeAllocationBenchmark {
+
+    private static final int RENDEZ_VOUS = 10_000;
+    private static final int PERIODIQUES = 500;
+    private static final int APPELS = 20_000;
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Utilisateur proprietaire = new Utilisateur("Roger");
+        CalendarManager calendarManager = new CalendarManager();
+        for (int i = 0; i < RENDEZ_VOUS; i++) {
+            calendarManager.ajouterEvenement(new RendezVousPersonnel(
+                new TitreEvenement("RDV"),
+                proprietaire,
+                DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(365))),
+                new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                new DureeEvenement(30)
+            ));
+        }
+        for (int i = 0; i < PERIODIQUES; i++) {
+            calendarManager.ajouterEvenement(new EvenementPeriodique(
+                new TitreEvenement("Périodique"),
+                proprietaire,
+                DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(365))),
+                new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                new FrequenceEvenement(1 + random.nextInt(30))
+            ));
+        }
+
+        LocalDateTime debut = LocalDateTime.of(2025, 6, 2, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2025, 6, 8, 23, 59, 59);
+
+        double nanos = Mesure.nanosParOperation(APPELS, () -> calendarManager.eventsDansPeriode(debut, fin).size());
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long accumulateur = 0;
+        long avant = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < APPELS; i++) {
+            accumulateur += calendarManager.eventsDansPeriode(debut, fin).size();
+        }
+        long octets = threads.getThreadAllocatedBytes(thread) - avant;
+        Mesure.puits = accumulateur;
+
+        System.out.printf("Événements trouvés par appel : %d%n", accumulateur / APPELS);
+        System.out.printf("Temps par appel              : %.1f µs%n", nanos / 1_000.0);
+        System.out.printf("Octets alloués par appel     : %d%n", octets / APPELS);
+    }
+}
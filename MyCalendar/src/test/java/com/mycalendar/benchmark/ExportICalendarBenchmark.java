@@ -0,0 +1,66 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.ical.ExportateurICalendar;
+import com.mycalendar.valueobjects.*;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Mesure l'export iCalendar d'un million d'événements vers une sortie qui ne garde rien
+ *
+ * Compare le parcours paresseux du calendrier à la copie préalable de
+ * {@link CalendarManager#getEvenements()}. Les octets alloués par l'export
+ * sont tous éphémères : lancé avec un tas à peine plus grand que le calendrier
+ * (-Xmx1g), l'export paresseux aboutit sans erreur de mémoire.
+ */
+public class ExportICalendarBenchmark {
+
+    private static final int EVENEMENTS = 1_000_000;
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) {
+        CalendarManager calendarManager = new CalendarManager();
+        Random random = new Random(42);
+        Utilisateur roger = new Utilisateur("Roger");
+        List<Evenement> lot = new ArrayList<>();
+        for (int i = 0; i < EVENEMENTS; i++) {
+            lot.add(new RendezVousPersonnel(new TitreEvenement("RDV " + i), roger,
+                DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(365))),
+                new HeureDebut(random.nextInt(24), random.nextInt(60)), new DureeEvenement(30)));
+            if (lot.size() == 10_000) {
+                calendarManager.ajouterEvenements(lot);
+                lot.clear();
+            }
+        }
+
+        System.out.printf("%-22s %10s %14s%n", "parcours", "ms", "alloués / év.");
+        for (int r = 0; r < 3; r++) {
+            mesurer("parcourirEvenements", calendarManager::parcourirEvenements);
+            mesurer("getEvenements().stream", () -> calendarManager.getEvenements().stream());
+        }
+    }
+
+    private static void mesurer(String nom, Supplier<Stream<Evenement>> evenements) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long avant = threads.getThreadAllocatedBytes(thread);
+        long debut = System.nanoTime();
+        Mesure.puits = new ExportateurICalendar().exporter(evenements.get(), Writer.nullWriter());
+        long duree = System.nanoTime() - debut;
+        long alloues = threads.getThreadAllocatedBytes(thread) - avant;
+
+        System.out.printf("%-22s %10.0f %14d%n", nom, duree / 1e6, alloues / EVENEMENTS);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManagerConcurrent;
+import com.mycalendar.ical.ImportateurICalendar;
+import com.mycalendar.valueobjects.Utilisateur;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Compare l'import d'un fichier .ics événement par événement et par lots
+ *
+ * Le calendrier concurrent copie ses index à chaque modification : ajouter les
+ * événements un à un rend l'import quadratique, un lot ne paie qu'une copie.
+ */
+public class ImportICalendarBenchmark {
+
+    private static final int[] TAILLES = {2_000, 8_000};
+    private static final int[] LOTS = {1, ImportateurICalendar.TAILLE_LOT_DEFAUT};
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    public static void main(String[] args) throws IOException {
+        Utilisateur roger = new Utilisateur("Roger");
+        System.out.printf("%10s %10s %14s%n", "événements", "lot", "import (ms)");
+
+        for (int taille : TAILLES) {
+            Path fichier = Files.createTempFile("import-benchmark", ".ics");
+            ecrire(fichier, taille);
+            for (int lot : LOTS) {
+                long meilleur = Long.MAX_VALUE;
+                for (int r = 0; r < 3; r++) {
+                    CalendarManagerConcurrent calendarManager = new CalendarManagerConcurrent();
+                    long debut = System.nanoTime();
+                    Mesure.puits = new ImportateurICalendar(calendarManager, roger, ZoneId.of("UTC"), lot)
+                        .importer(fichier).getImportes();
+                    meilleur = Math.min(meilleur, System.nanoTime() - debut);
+                }
+                System.out.printf("%10d %10d %14.1f%n", taille, lot, meilleur / 1e6);
+            }
+            Files.delete(fichier);
+        }
+    }
+
+    private static void ecrire(Path fichier, int taille) throws IOException {
+        Random random = new Random(42);
+        LocalDateTime origine = LocalDateTime.of(2025, 1, 1, 0, 0);
+        try (BufferedWriter sortie = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            sortie.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+            for (int i = 0; i < taille; i++) {
+                sortie.write("BEGIN:VEVENT\r\nUID:evenement-" + i + "\r\nSUMMARY:RDV " + i + "\r\nDTSTART:"
+                    + FORMAT.format(origine.plusMinutes(15L * random.nextInt(35_000))) + "\r\nDURATION:PT30M\r\n");
+                if (i % 3 == 0) {
+                    sortie.write("ATTENDEE;CN=Pierre:mailto:pierre@example.org\r\n");
+                }
+                sortie.write("END:VEVENT\r\n");
+            }
+            sortie.write("END:VCALENDAR\r\n");
+        }
+    }
+}
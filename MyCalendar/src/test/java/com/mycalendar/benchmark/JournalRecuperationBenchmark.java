@@ -0,0 +1,88 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.persistance.JournalFichier;
+import com.mycalendar.valueobjects.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mesure le débit d'écriture du journal et le temps de récupération au démarrage
+ *
+ * Chaque journal contient des ajouts et environ un dixième de suppressions. Le temps
+ * de récupération par opération doit rester à peu près constant quand le journal
+ * grandit : le rejeu est linéaire.
+ */
+public class JournalRecuperationBenchmark {
+
+    private static final int[] TAILLES = {10_000, 20_000, 40_000, 80_000};
+    private static final int REPETITIONS = 5;
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) throws IOException {
+        Path dossier = Files.createTempDirectory("journal-benchmark");
+        System.out.printf("%10s %14s %16s %16s %12s%n",
+            "opérations", "écriture (ms)", "récupération (ms)", "µs / opération", "octets");
+
+        for (int taille : TAILLES) {
+            Path chemin = dossier.resolve("journal-" + taille);
+            long debutEcriture = System.nanoTime();
+            ecrire(chemin, taille);
+            long ecriture = System.nanoTime() - debutEcriture;
+
+            long meilleure = Long.MAX_VALUE;
+            int evenements = 0;
+            for (int r = 0; r < REPETITIONS; r++) {
+                long debut = System.nanoTime();
+                CalendarManager calendarManager = new CalendarManager(new JournalFichier(chemin));
+                meilleure = Math.min(meilleure, System.nanoTime() - debut);
+                evenements = calendarManager.getEvenements().size();
+                calendarManager.fermer();
+            }
+            Mesure.puits = evenements;
+
+            System.out.printf("%10d %14.1f %16.1f %16.2f %12d%n",
+                taille, ecriture / 1e6, meilleure / 1e6, meilleure / 1e3 / taille, Files.size(chemin));
+            Files.delete(chemin);
+        }
+        Files.delete(dossier);
+    }
+
+    /**
+     * Écrit un journal d'environ {@code operations} opérations, par lots d'ajouts
+     * suivis d'une synchronisation, comme une session qui saisit des événements
+     */
+    private static void ecrire(Path chemin, int operations) {
+        Random random = new Random(42);
+        Utilisateur proprietaire = new Utilisateur("Roger");
+        CalendarManager calendarManager = new CalendarManager(new JournalFichier(chemin));
+        List<Evenement> ajoutes = new ArrayList<>();
+        int faites = 0;
+        while (faites < operations) {
+            if (faites % 10 == 9 && !ajoutes.isEmpty()) {
+                Evenement evenement = ajoutes.remove(random.nextInt(ajoutes.size()));
+                calendarManager.supprimerEvenement(evenement.getId());
+            } else {
+                Evenement evenement = new RendezVousPersonnel(
+                    new TitreEvenement("RDV " + faites),
+                    proprietaire,
+                    DateEvenement.fromLocalDate(ORIGINE.plusDays(random.nextInt(365))),
+                    new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                    new DureeEvenement(30)
+                );
+                calendarManager.ajouterEvenement(evenement);
+                ajoutes.add(evenement);
+            }
+            faites++;
+        }
+        calendarManager.fermer();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mycalendar.benchmark;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Outil de mesure minimal partagé par les benchmarks du projet
+ * 
+ * Les benchmarks ne sont pas exécutés par les tests unitaires. Pour les lancer :
+ * mvn test-compile puis
+ * java -cp target/classes:target/test-classes com.mycalendar.benchmark.NomDuBenchmark
+ */
+final class Mesure {
+    
+    private static final int ITERATIONS_CHAUFFE = 5;
+    private static final int ITERATIONS_MESURE = 10;
+    
+    /**
+     * Puits empêchant le JIT d'éliminer les opérations mesurées
+     */
+    static volatile long puits;
+    
+    private Mesure() {
+    }
+    
+    /**
+     * Mesure le temps moyen d'une opération
+     * 
+     * @param operations Nombre d'opérations par itération
+     * @param operation L'opération à mesurer, dont le résultat est consommé
+     * @return Temps moyen par opération en nanosecondes
+     */
+    static double nanosParOperation(int operations, LongSupplier operation) {
+        for (int i = 0; i < ITERATIONS_CHAUFFE; i++) {
+            executer(operations, operation);
+        }
+        
+        long meilleur = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS_MESURE; i++) {
+            long debut = System.nanoTime();
+            executer(operations, operation);
+            meilleur = Math.min(meilleur, System.nanoTime() - debut);
+        }
+        return (double) meilleur / operations;
+    }
+    
+    private static void executer(int operations, LongSupplier operation) {
+        long accumulateur = 0;
+        for (int i = 0; i < operations; i++) {
+            accumulateur += operation.getAsLong();
+        }
+        puits = accumulateur;
+    }
+}
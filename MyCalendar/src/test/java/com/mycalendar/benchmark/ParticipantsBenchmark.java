@@ -0,0 +1,43 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.valueobjects.ParticipantsEvenement;
+import com.mycalendar.valueobjects.RegistreUtilisateurs;
+import com.mycalendar.valueobjects.Utilisateur;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compare, pour des réunions de taille croissante, la recherche d'un participant par
+ * parcours de la liste avec la recherche dichotomique dans les identifiants triés
+ *
+ * Les réunions sont créées par un registre, comme celles saisies dans l'application.
+ */
+public class ParticipantsBenchmark {
+
+    public static void main(String[] args) {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        System.out.printf("%-14s %18s %18s%n", "Participants", "ns parcours", "ns identifiants");
+        for (int taille : new int[] {10, 100, 1_000, 10_000}) {
+            StringBuilder chaine = new StringBuilder();
+            for (int i = 0; i < taille; i++) {
+                chaine.append(i == 0 ? "" : ", ").append("Participant").append(i);
+            }
+            ParticipantsEvenement participants = ParticipantsEvenement.fromString(chaine.toString(), registre);
+            List<Utilisateur> liste = new ArrayList<>(participants.getUtilisateurs());
+            // Une moitié de présents, une moitié d'absents
+            Utilisateur[] cherches = new Utilisateur[64];
+            for (int i = 0; i < cherches.length; i++) {
+                cherches[i] = registre.resoudre("Participant" + (i % 2 == 0 ? i * taille / 64 : taille + i));
+            }
+
+            int[] position = {0};
+            double parcours = Mesure.nanosParOperation(2_000_000 / taille + 1_000, () ->
+                liste.contains(cherches[position[0]++ & 63]) ? 1 : 0);
+            double identifiants = Mesure.nanosParOperation(1_000_000, () ->
+                participants.contientUtilisateur(cherches[position[0]++ & 63]) ? 1 : 0);
+            System.out.printf("%-14d %18.1f %18.1f%n", taille, parcours, identifiants);
+        }
+        System.out.printf("%d instances d'utilisateurs pour toutes les réunions%n", registre.getNombreUtilisateurs());
+    }
+}
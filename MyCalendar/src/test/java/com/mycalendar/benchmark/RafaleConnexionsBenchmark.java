@@ -0,0 +1,106 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.UserManager;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.securite.VerificateurMotsDePasse;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure le débit des lectures du calendrier pendant une rafale de connexions
+ *
+ * Référence : un vérificateur dont le parallélisme égale le nombre de connexions
+ * simultanées, comme lorsque chaque connexion dérivait son empreinte sur son propre
+ * fil. Le vérificateur borné de l'application laisse des processeurs aux lectures ;
+ * les connexions en excès attendent en file ou sont refusées.
+ */
+public class RafaleConnexionsBenchmark {
+
+    private static final int EVENEMENTS = 5_000;
+    private static final int CONNEXIONS = 32;
+    private static final int ITERATIONS = 100_000;
+    private static final long DUREE_MS = 5_000;
+
+    private static final LocalDateTime DEBUT_JOUR = LocalDateTime.of(2025, 4, 14, 0, 0);
+    private static final LocalDateTime FIN_JOUR = LocalDateTime.of(2025, 4, 14, 23, 59, 59);
+
+    public static void main(String[] args) throws InterruptedException {
+        CalendarManager calendarManager = new CalendarManager();
+        Utilisateur roger = new Utilisateur("Roger");
+        for (int i = 0; i < EVENEMENTS; i++) {
+            calendarManager.ajouterEvenement(new RendezVousPersonnel(new TitreEvenement("RDV " + i), roger,
+                new DateEvenement(2025, 1 + i % 12, 1 + i % 28), new HeureDebut(i % 24, 0), new DureeEvenement(30)));
+        }
+
+        System.out.printf("%-12s %14s %14s %16s %12s %10s%n",
+            "Vérificateur", "Lectures/s", "Connexions/s", "Latence moy (ms)", "File max", "Refus");
+        mesurer("sans borne", calendarManager, new VerificateurMotsDePasse(ITERATIONS, CONNEXIONS, CONNEXIONS));
+        int parallelisme = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        mesurer("borné", calendarManager,
+            new VerificateurMotsDePasse(ITERATIONS, parallelisme, VerificateurMotsDePasse.CAPACITE_FILE_DEFAUT));
+    }
+
+    private static void mesurer(String variante, CalendarManager calendarManager,
+                                VerificateurMotsDePasse verificateur) throws InterruptedException {
+        UserManager userManager = new UserManager(DepotComptes.enMemoire(), UserManager.CAPACITE_MAX, verificateur);
+        AtomicBoolean enCours = new AtomicBoolean(true);
+        CountDownLatch depart = new CountDownLatch(1);
+        LongAdder lectures = new LongAdder();
+        LongAccumulator fileMax = new LongAccumulator(Math::max, 0);
+        List<Thread> threads = new ArrayList<>();
+
+        threads.add(new Thread(() -> {
+            attendre(depart);
+            long accumulateur = 0;
+            while (enCours.get()) {
+                accumulateur += calendarManager.eventsDansPeriode(DEBUT_JOUR, FIN_JOUR).size();
+                lectures.increment();
+                fileMax.accumulate(verificateur.getFileAttente());
+            }
+            Mesure.puits = accumulateur;
+        }));
+        for (int i = 0; i < CONNEXIONS; i++) {
+            threads.add(new Thread(() -> {
+                attendre(depart);
+                while (enCours.get()) {
+                    try {
+                        userManager.verifierAuthentification("Roger", "Chat");
+                    } catch (IllegalStateException e) {
+                        // Refus compté par le vérificateur
+                    }
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        depart.countDown();
+        Thread.sleep(DUREE_MS);
+        enCours.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        verificateur.close();
+
+        double secondes = DUREE_MS / 1_000.0;
+        System.out.printf("%-12s %14.0f %14.1f %16.1f %12d %10d%n", variante, lectures.sum() / secondes,
+            verificateur.getOperations() / secondes, verificateur.getLatenceMoyenneNanos() / 1e6,
+            fileMax.get(), verificateur.getRefus());
+    }
+
+    private static void attendre(CountDownLatch depart) {
+        try {
+            depart.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
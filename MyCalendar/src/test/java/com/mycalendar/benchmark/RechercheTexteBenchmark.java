@@ -0,0 +1,88 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.evenements.Reunion;
+import com.mycalendar.recherche.IndexRecherche;
+import com.mycalendar.recherche.TexteRecherche;
+import com.mycalendar.valueobjects.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mesure la recherche plein texte dans un calendrier d'un million de réunions, aux
+ * titres et lieux tirés d'un vocabulaire français, de trois participants chacune
+ *
+ * À titre de comparaison, un parcours de tous les événements cherche le mot dans
+ * le titre normalisé, comme on le ferait en filtrant la liste des événements.
+ */
+public class RechercheTexteBenchmark {
+
+    private static final int EVENEMENTS = 1_000_000;
+    private static final int UTILISATEURS = 5_000;
+    private static final String[] SUJETS = {
+        "Réunion", "Point", "Revue", "Atelier", "Formation", "Comité", "Entretien", "Démonstration",
+        "Séminaire", "Rétrospective", "Planification", "Déjeuner", "Présentation", "Bilan", "Séance"
+    };
+    private static final String[] OBJETS = {
+        "équipe", "projet", "budget", "sécurité", "qualité", "client", "fournisseur", "stratégie",
+        "recrutement", "déploiement", "architecture", "données", "marketing", "ventes", "juridique"
+    };
+    private static final String[] LIEUX = {
+        "Salle Hélène Boucher", "Salle Curie", "Amphithéâtre", "Cafétéria", "Visioconférence",
+        "Bureau 214", "Salle Pasteur", "Espace détente", "Salle Molière", "Siège social"
+    };
+
+    public static void main(String[] args) {
+        Random aleatoire = new Random(42);
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < UTILISATEURS; i++) {
+            utilisateurs.add(registre.resoudre("Utilisateur" + i));
+        }
+
+        List<Evenement> evenements = new ArrayList<>(EVENEMENTS);
+        LocalDate debut = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < EVENEMENTS; i++) {
+            List<Utilisateur> invites = List.of(utilisateurs.get(aleatoire.nextInt(UTILISATEURS)),
+                utilisateurs.get(aleatoire.nextInt(UTILISATEURS)), utilisateurs.get(aleatoire.nextInt(UTILISATEURS)));
+            String titre = SUJETS[aleatoire.nextInt(SUJETS.length)] + " " + OBJETS[aleatoire.nextInt(OBJETS.length)]
+                + " n°" + aleatoire.nextInt(10_000);
+            evenements.add(new Reunion(new TitreEvenement(titre), invites.get(0),
+                DateEvenement.fromLocalDate(debut.plusDays(aleatoire.nextInt(3 * 365))),
+                new HeureDebut(8 + aleatoire.nextInt(10), 15 * aleatoire.nextInt(4)), new DureeEvenement(60),
+                new LieuEvenement(LIEUX[aleatoire.nextInt(LIEUX.length)]), ParticipantsEvenement.avecUtilisateurs(invites)));
+        }
+
+        long avant = System.nanoTime();
+        new IndexRecherche().ajouterTous(evenements);
+        double indexation = System.nanoTime() - avant;
+
+        CalendarManager calendarManager = new CalendarManager();
+        avant = System.nanoTime();
+        calendarManager.ajouterEvenements(evenements);
+        double chargement = System.nanoTime() - avant;
+
+        String[] requetes = {"securite", "retrospective securite", "seance budget curie", "utilisateur42", "deploi"};
+        System.out.printf("%d événements, indexation seule en %.0f ms, chargement complet en %.0f ms%n",
+            EVENEMENTS, indexation / 1_000_000, chargement / 1_000_000);
+        System.out.printf("%-34s %12s%n", "Requête (20 premiers résultats)", "ms");
+        for (String requete : requetes) {
+            double recherche = Mesure.nanosParOperation(1, () -> calendarManager.rechercher(requete, 20).size());
+            System.out.printf("%-34s %12.3f%n", requete, recherche / 1_000_000);
+        }
+
+        double parcours = Mesure.nanosParOperation(1, () -> calendarManager.parcourirEvenements()
+            .filter(e -> TexteRecherche.normaliser(e.getTitre().getValeur()).contains("securite"))
+            .limit(20)
+            .count());
+        double parcoursRare = Mesure.nanosParOperation(1, () -> calendarManager.parcourirEvenements()
+            .filter(e -> TexteRecherche.normaliser(e.getTitre().getValeur()).contains("retrospective securite"))
+            .count());
+        System.out.printf("%-34s %12.3f%n", "parcours, 20 premiers « securite »", parcours / 1_000_000);
+        System.out.printf("%-34s %12.3f%n", "parcours complet", parcoursRare / 1_000_000);
+    }
+}
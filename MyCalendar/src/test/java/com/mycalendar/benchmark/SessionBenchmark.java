@@ -0,0 +1,39 @@
+package com.mycalendar.benchmark;
+
+import com.mycalendar.UserManager;
+import com.mycalendar.persistance.DepotComptes;
+import com.mycalendar.securite.EmpreinteMotDePasse;
+import com.mycalendar.securite.VerificateurMotsDePasse;
+import com.mycalendar.session.JetonSession;
+
+/**
+ * Compare une requête identifiée par son jeton de session avec une requête qui
+ * vérifie de nouveau le mot de passe puis recherche le compte
+ *
+ * Les empreintes sont calculées avec le nombre d'itérations par défaut de l'application.
+ */
+public class SessionBenchmark {
+
+    private static final int SESSIONS = 10_000;
+
+    public static void main(String[] args) {
+        UserManager userManager = new UserManager(DepotComptes.enMemoire(), UserManager.CAPACITE_MAX,
+            new VerificateurMotsDePasse(EmpreinteMotDePasse.ITERATIONS_DEFAUT, 1, VerificateurMotsDePasse.CAPACITE_FILE_DEFAUT));
+        JetonSession[] jetons = new JetonSession[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            jetons[i] = userManager.ouvrirSession(i % 2 == 0 ? "Roger" : "Pierre");
+        }
+
+        double parAuthentification = Mesure.nanosParOperation(2, () ->
+            userManager.verifierAuthentification("Roger", "Chat")
+                ? userManager.rechercherUtilisateur("Roger").hashCode() : 0);
+        int[] position = {0};
+        double parSession = Mesure.nanosParOperation(1_000_000, () ->
+            userManager.utilisateurSession(jetons[position[0]++ % SESSIONS]).hashCode());
+
+        System.out.printf("%-28s %16s%n", "Requête", "µs / requête");
+        System.out.printf("%-28s %16.1f%n", "mot de passe + recherche", parAuthentification / 1_000);
+        System.out.printf("%-28s %16.3f%n", "jeton de session", parSession / 1_000);
+        userManager.getVerificateur().close();
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,7 +18,7 @@ public class EvenementPeriodiqueTest {
     @DisplayName("La création d'un événement périodique valide doit fonctionner")
     void testCreationEvenementPeriodique() {
         TitreEvenement titre = new TitreEvenement("Stand-up quotidien");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 1);
         HeureDebut heureDebut = new HeureDebut(9, 0);
         FrequenceEvenement frequence = FrequenceEvenement.quotidienne();
@@ -40,7 +43,7 @@ public class EvenementPeriodiqueTest {
     @DisplayName("Les événements périodiques ne sont jamais en conflit")
     void testPasDeConclit() {
         TitreEvenement titre = new TitreEvenement("Stand-up quotidien");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 1);
         HeureDebut heureDebut = new HeureDebut(9, 0);
         FrequenceEvenement frequence = FrequenceEvenement.quotidienne();
@@ -55,7 +58,7 @@ public class EvenementPeriodiqueTest {
     @DisplayName("La méthode aLieuPendant doit détecter correctement les occurrences")
     void testALieuPendant() {
         TitreEvenement titre = new TitreEvenement("Stand-up hebdomadaire");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 7); // Premier lundi d'avril
         HeureDebut heureDebut = new HeureDebut(9, 0);
         FrequenceEvenement frequence = FrequenceEvenement.hebdomadaire();
@@ -85,11 +88,98 @@ public class EvenementPeriodiqueTest {
         ));
     }
     
+    @Test
+    @DisplayName("La méthode aLieuPendant doit trouver l'occurrence d'un événement très ancien")
+    void testALieuPendantEvenementAncien() {
+        EvenementPeriodique evenement = new EvenementPeriodique(
+            new TitreEvenement("Stand-up"),
+            new Utilisateur("Pierre"),
+            new DateEvenement(1970, 1, 1),
+            new HeureDebut(9, 0),
+            FrequenceEvenement.quotidienne()
+        );
+        
+        assertTrue(evenement.aLieuPendant(
+            LocalDateTime.of(2025, 4, 8, 0, 0),
+            LocalDateTime.of(2025, 4, 8, 23, 59)
+        ));
+        
+        // La fin de période est exclue, le début inclus
+        assertFalse(evenement.aLieuPendant(
+            LocalDateTime.of(2025, 4, 8, 9, 0, 1),
+            LocalDateTime.of(2025, 4, 9, 9, 0)
+        ));
+        assertTrue(evenement.aLieuPendant(
+            LocalDateTime.of(2025, 4, 8, 9, 0),
+            LocalDateTime.of(2025, 4, 8, 9, 0, 0, 1)
+        ));
+    }
+    
+    @Test
+    @DisplayName("Le calcul direct des occurrences doit correspondre au parcours pas à pas")
+    void testALieuPendantEquivalentAuParcours() {
+        Random random = new Random(7);
+        Utilisateur proprietaire = new Utilisateur("Pierre");
+        
+        for (int i = 0; i < 2000; i++) {
+            int jours = 1 + random.nextInt(45);
+            EvenementPeriodique evenement = new EvenementPeriodique(
+                new TitreEvenement("Périodique"),
+                proprietaire,
+                new DateEvenement(2024, 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                new FrequenceEvenement(jours)
+            );
+            LocalDateTime debut = LocalDateTime.of(2024, 1, 1, 0, 0)
+                    .plusMinutes(random.nextInt(2 * 366 * 24 * 60))
+                    .plusSeconds(random.nextInt(2));
+            LocalDateTime fin = debut.plusMinutes(random.nextInt(60 * 24 * 60));
+            
+            assertEquals(aLieuPendantParParcours(evenement, debut, fin), evenement.aLieuPendant(debut, fin));
+        }
+    }
+    
+    @Test
+    @DisplayName("Les occurrences pendant une période doivent suivre la fréquence")
+    void testOccurrencesPendant() {
+        EvenementPeriodique evenement = new EvenementPeriodique(
+            new TitreEvenement("Revue"),
+            new Utilisateur("Pierre"),
+            new DateEvenement(2025, 4, 7),
+            new HeureDebut(9, 0),
+            FrequenceEvenement.hebdomadaire()
+        );
+        
+        List<LocalDateTime> occurrences = evenement.occurrencesPendant(
+            LocalDateTime.of(2025, 4, 10, 0, 0),
+            LocalDateTime.of(2025, 4, 28, 9, 0)
+        ).collect(Collectors.toList());
+        
+        assertEquals(List.of(
+            LocalDateTime.of(2025, 4, 14, 9, 0),
+            LocalDateTime.of(2025, 4, 21, 9, 0)
+        ), occurrences);
+    }
+    
+    /**
+     * Implémentation de référence parcourant les occurrences une à une
+     */
+    private boolean aLieuPendantParParcours(EvenementPeriodique evenement, LocalDateTime debut, LocalDateTime fin) {
+        LocalDateTime occurrence = evenement.getDateDebut();
+        while (occurrence.isBefore(fin)) {
+            if (!occurrence.isBefore(debut)) {
+                return true;
+            }
+            occurrence = occurrence.plusDays(evenement.getFrequence().getJoursEntrePeriodes());
+        }
+        return false;
+    }
+    
     @Test
     @DisplayName("La création avec une fréquence non périodique doit échouer")
     void testCreationAvecFrequenceNonPeriodique() {
         TitreEvenement titre = new TitreEvenement("Stand-up");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 1);
         HeureDebut heureDebut = new HeureDebut(9, 0);
         FrequenceEvenement frequence = FrequenceEvenement.NON_PERIODIQUE;
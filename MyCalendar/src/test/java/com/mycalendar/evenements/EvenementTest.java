@@ -15,7 +15,7 @@ public class EvenementTest {
     @DisplayName("RendezVousPersonnel doit avoir le bon type et comportement")
     void testRendezVousPersonnel() {
         TitreEvenement titre = new TitreEvenement("Rendez-vous médecin");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 4, 15);
         HeureDebut heureDebut = new HeureDebut(14, 30);
         DureeEvenement duree = new DureeEvenement(60);
@@ -43,7 +43,7 @@ public class EvenementTest {
     @DisplayName("Reunion doit avoir le bon type et comportement")
     void testReunion() {
         TitreEvenement titre = new TitreEvenement("Réunion d'équipe");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 16);
         HeureDebut heureDebut = new HeureDebut(10, 0);
         DureeEvenement duree = new DureeEvenement(120);
@@ -72,7 +72,7 @@ public class EvenementTest {
     @DisplayName("EvenementPeriodique doit avoir le bon type et comportement")
     void testEvenementPeriodique() {
         TitreEvenement titre = new TitreEvenement("Stand-up quotidien");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 4, 17);
         HeureDebut heureDebut = new HeureDebut(9, 0);
         FrequenceEvenement frequence = FrequenceEvenement.quotidienne();
@@ -98,7 +98,7 @@ public class EvenementTest {
     @DisplayName("La création d'un EvenementPeriodique avec une fréquence non périodique doit échouer")
     void testEvenementPeriodiqueAvecFrequenceNonPeriodique() {
         TitreEvenement titre = new TitreEvenement("Événement");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 4, 17);
         HeureDebut heureDebut = new HeureDebut(9, 0);
         FrequenceEvenement frequenceNonPeriodique = FrequenceEvenement.NON_PERIODIQUE;
@@ -111,7 +111,7 @@ public class EvenementTest {
     @Test
     @DisplayName("Les événements normaux doivent détecter correctement les conflits")
     void testConflitEvenementsNormaux() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
+        Utilisateur roger = new Utilisateur("Roger");
         
         RendezVousPersonnel rdv1 = new RendezVousPersonnel(
             new TitreEvenement("Rendez-vous 1"),
@@ -146,8 +146,8 @@ public class EvenementTest {
     @Test
     @DisplayName("Les événements périodiques ne doivent jamais être en conflit")
     void testConflitEvenementsPeriodiques() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
         
         RendezVousPersonnel rdv = new RendezVousPersonnel(
             new TitreEvenement("Rendez-vous"),
@@ -172,7 +172,7 @@ public class EvenementTest {
     @Test
     @DisplayName("La détection d'événements pendant une période doit fonctionner pour les événements normaux")
     void testALieuPendantEvenementsNormaux() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
+        Utilisateur roger = new Utilisateur("Roger");
         
         RendezVousPersonnel rdv = new RendezVousPersonnel(
             new TitreEvenement("Rendez-vous"),
@@ -196,7 +196,7 @@ public class EvenementTest {
     @Test
     @DisplayName("La détection d'événements pendant une période doit fonctionner pour les événements périodiques")
     void testALieuPendantEvenementsPeriodiques() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
+        Utilisateur roger = new Utilisateur("Roger");
         
         EvenementPeriodique periodique = new EvenementPeriodique(
             new TitreEvenement("Hebdomadaire"),
@@ -0,0 +1,43 @@
+package com.mycalendar.evenements;
+
+import com.mycalendar.valueobjects.DateEvenement;
+import com.mycalendar.valueobjects.HeureDebut;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinutesEpochTest {
+
+    @Test
+    @DisplayName("Une minute entière doit être son propre plafond et son propre plancher")
+    void testMinuteEntiere() {
+        LocalDateTime dateHeure = LocalDateTime.of(2025, 4, 10, 14, 30);
+        long minutes = MinutesEpoch.depuis(new DateEvenement(2025, 4, 10), new HeureDebut(14, 30));
+
+        assertEquals(minutes, MinutesEpoch.plafond(dateHeure));
+        assertEquals(minutes, MinutesEpoch.plancher(dateHeure));
+        assertEquals(dateHeure, MinutesEpoch.versDateHeure(minutes));
+    }
+
+    @Test
+    @DisplayName("Les secondes et nanosecondes doivent arrondir le plafond à la minute suivante")
+    void testArrondis() {
+        long minutes = MinutesEpoch.plancher(LocalDateTime.of(2025, 4, 10, 14, 30));
+
+        assertEquals(minutes + 1, MinutesEpoch.plafond(LocalDateTime.of(2025, 4, 10, 14, 30, 59)));
+        assertEquals(minutes + 1, MinutesEpoch.plafond(LocalDateTime.of(2025, 4, 10, 14, 30, 0, 1)));
+        assertEquals(minutes, MinutesEpoch.plancher(LocalDateTime.of(2025, 4, 10, 14, 30, 59, 999_999_999)));
+    }
+
+    @Test
+    @DisplayName("Les dates antérieures à 1970 doivent être arrondies dans le bon sens")
+    void testAvantEpoque() {
+        LocalDateTime dateHeure = LocalDateTime.of(1969, 12, 31, 23, 59, 30);
+
+        assertEquals(-1, MinutesEpoch.plancher(dateHeure));
+        assertEquals(0, MinutesEpoch.plafond(dateHeure));
+    }
+}
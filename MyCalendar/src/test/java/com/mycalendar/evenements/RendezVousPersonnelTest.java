@@ -15,7 +15,7 @@ public class RendezVousPersonnelTest {
     @DisplayName("La création d'un rendez-vous personnel valide doit fonctionner")
     void testCreationRendezVousPersonnel() {
         TitreEvenement titre = new TitreEvenement("Rendez-vous médecin");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 5, 15);
         HeureDebut heureDebut = new HeureDebut(14, 30);
         DureeEvenement duree = new DureeEvenement(60);
@@ -41,7 +41,7 @@ public class RendezVousPersonnelTest {
     @DisplayName("La description d'un rendez-vous personnel doit être correcte")
     void testDescriptionRendezVousPersonnel() {
         TitreEvenement titre = new TitreEvenement("Rendez-vous dentiste");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 6, 20);
         HeureDebut heureDebut = new HeureDebut(10, 15);
         DureeEvenement duree = new DureeEvenement(45);
@@ -58,7 +58,7 @@ public class RendezVousPersonnelTest {
     @Test
     @DisplayName("Les rendez-vous personnels doivent détecter correctement les conflits")
     void testConflitRendezVousPersonnel() {
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 5, 15);
         
         RendezVousPersonnel rdv1 = new RendezVousPersonnel(
@@ -102,7 +102,7 @@ public class RendezVousPersonnelTest {
     @DisplayName("La méthode aLieuPendant doit fonctionner correctement")
     void testALieuPendant() {
         TitreEvenement titre = new TitreEvenement("Rendez-vous");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 5, 15);
         HeureDebut heureDebut = new HeureDebut(14, 30);
         DureeEvenement duree = new DureeEvenement(60);
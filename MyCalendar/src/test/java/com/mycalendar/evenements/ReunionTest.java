@@ -15,14 +15,14 @@ public class ReunionTest {
     @DisplayName("La création d'une réunion avec des participants Utilisateur doit fonctionner")
     void testCreationReunionAvecParticipantsUtilisateur() {
         TitreEvenement titre = new TitreEvenement("Réunion d'équipe");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 16);
         HeureDebut heureDebut = new HeureDebut(10, 0);
         DureeEvenement duree = new DureeEvenement(120);
         LieuEvenement lieu = new LieuEvenement("Salle de conférence A");
         
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur sophie = new Utilisateur("Sophie");
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(
             Arrays.asList(proprietaire, roger, sophie)
         );
@@ -47,14 +47,14 @@ public class ReunionTest {
     @DisplayName("Le propriétaire doit automatiquement être inclus dans les participants")
     void testProprietaireInclutDansParticipants() {
         TitreEvenement titre = new TitreEvenement("Réunion d'équipe");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 16);
         HeureDebut heureDebut = new HeureDebut(10, 0);
         DureeEvenement duree = new DureeEvenement(120);
         LieuEvenement lieu = new LieuEvenement("Salle de conférence A");
         
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur sophie = new Utilisateur("Sophie");
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(
             Arrays.asList(roger, sophie)
         );
@@ -68,14 +68,14 @@ public class ReunionTest {
     @DisplayName("La description doit contenir les identifiants des participants")
     void testDescription() {
         TitreEvenement titre = new TitreEvenement("Réunion d'équipe");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 16);
         HeureDebut heureDebut = new HeureDebut(10, 0);
         DureeEvenement duree = new DureeEvenement(120);
         LieuEvenement lieu = new LieuEvenement("Salle de conférence A");
         
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur sophie = new Utilisateur("Sophie");
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(
             Arrays.asList(proprietaire, roger, sophie)
         );
@@ -94,7 +94,7 @@ public class ReunionTest {
     @DisplayName("La compatibilité avec l'ancienne méthode de création doit fonctionner")
     void testCompatibiliteAncienneMethode() {
         TitreEvenement titre = new TitreEvenement("Réunion d'équipe");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 16);
         HeureDebut heureDebut = new HeureDebut(10, 0);
         DureeEvenement duree = new DureeEvenement(120);
@@ -114,15 +114,15 @@ public class ReunionTest {
     @DisplayName("Un utilisateur participant à une réunion doit pouvoir vérifier sa participation")
     void testVerifierParticipation() {
         TitreEvenement titre = new TitreEvenement("Réunion d'équipe");
-        Utilisateur proprietaire = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur proprietaire = new Utilisateur("Pierre");
         DateEvenement date = new DateEvenement(2025, 4, 16);
         HeureDebut heureDebut = new HeureDebut(10, 0);
         DureeEvenement duree = new DureeEvenement(120);
         LieuEvenement lieu = new LieuEvenement("Salle de conférence A");
         
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
-        Utilisateur jean = new Utilisateur("Jean", "Pass456");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur sophie = new Utilisateur("Sophie");
+        Utilisateur jean = new Utilisateur("Jean");
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(
             Arrays.asList(proprietaire, roger, sophie)
         );
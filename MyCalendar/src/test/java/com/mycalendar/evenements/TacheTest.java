@@ -13,7 +13,7 @@ public class TacheTest {
     @DisplayName("Tache doit avoir le bon type et comportement")
     void testTache() {
         TitreEvenement titre = new TitreEvenement("Rédiger rapport");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 4, 15);
         HeureDebut heureDebut = new HeureDebut(14, 30);
         DureeEvenement duree = new DureeEvenement(120);
@@ -39,7 +39,7 @@ public class TacheTest {
     @DisplayName("Tache doit gérer correctement les conflits")
     void testConflitTache() {
         TitreEvenement titre = new TitreEvenement("Tâche test");
-        Utilisateur proprietaire = new Utilisateur("Roger", "Chat");
+        Utilisateur proprietaire = new Utilisateur("Roger");
         DateEvenement date = new DateEvenement(2025, 4, 15);
         HeureDebut heureDebut = new HeureDebut(14, 30);
         DureeEvenement duree = new DureeEvenement(60);
@@ -0,0 +1,106 @@
+package com.mycalendar.gui;
+
+import com.mycalendar.evenements.Occurrence;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.valueobjects.*;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListeOccurrencesTest {
+
+    private ListeOccurrences liste;
+    private List<Occurrence> occurrences;
+    private int notifications;
+    private int ajouts;
+    private int retraits;
+
+    @BeforeEach
+    void setUp() {
+        liste = new ListeOccurrences();
+        occurrences = new ArrayList<>();
+        Utilisateur roger = new Utilisateur("Roger");
+        for (int heure = 8; heure < 18; heure++) {
+            occurrences.add(Occurrence.premiere(new RendezVousPersonnel(new TitreEvenement("Rendez-vous " + heure),
+                roger, new DateEvenement(2025, 6, 16), new HeureDebut(heure, 0), new DureeEvenement(30))));
+        }
+        liste.addListener((ListChangeListener<Occurrence>) changement -> {
+            notifications++;
+            while (changement.next()) {
+                ajouts += changement.getAddedSize();
+                retraits += changement.getRemovedSize();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Un nouveau résultat doit être signalé en une seule notification ne portant que les différences")
+    void testDifferences() {
+        liste.appliquer(occurrences.subList(0, 6));
+        notifications = 0;
+        ajouts = 0;
+        retraits = 0;
+
+        int modifications = liste.appliquer(occurrences.subList(3, 10));
+
+        assertEquals(occurrences.subList(3, 10), liste);
+        assertEquals(1, notifications);
+        assertEquals(3, retraits);
+        assertEquals(4, ajouts);
+        assertEquals(7, modifications);
+    }
+
+    @Test
+    @DisplayName("Un résultat identique ne doit rien modifier")
+    void testResultatIdentique() {
+        liste.appliquer(occurrences);
+        ajouts = 0;
+        retraits = 0;
+
+        assertEquals(0, liste.appliquer(new ArrayList<>(occurrences)));
+        assertEquals(0, ajouts + retraits);
+    }
+
+    @Test
+    @DisplayName("Les lignes retirées et ajoutées peuvent être entrelacées")
+    void testEntrelacement() {
+        List<Occurrence> paires = new ArrayList<>();
+        List<Occurrence> impaires = new ArrayList<>();
+        for (int i = 0; i < occurrences.size(); i++) {
+            (i % 2 == 0 ? paires : impaires).add(occurrences.get(i));
+        }
+        liste.appliquer(paires);
+
+        liste.appliquer(impaires);
+        assertEquals(impaires, liste);
+
+        liste.appliquer(List.of());
+        assertTrue(liste.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un changement du calendrier doit retirer et insérer les seules lignes concernées")
+    void testModifier() {
+        liste.appliquer(occurrences.subList(0, 5));
+        notifications = 0;
+        ajouts = 0;
+        retraits = 0;
+
+        liste.modifier(List.of(occurrences.get(1).getEvenement()), List.of(occurrences.get(6), occurrences.get(8)));
+
+        List<Occurrence> attendues = new ArrayList<>(occurrences.subList(0, 5));
+        attendues.remove(1);
+        attendues.add(occurrences.get(6));
+        attendues.add(occurrences.get(8));
+        assertEquals(attendues, liste);
+        assertEquals(1, notifications);
+        assertEquals(1, retraits);
+        assertEquals(2, ajouts);
+    }
+}
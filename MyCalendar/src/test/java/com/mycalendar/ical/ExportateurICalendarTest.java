@@ -0,0 +1,134 @@
+package com.mycalendar.ical;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportateurICalendarTest {
+
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+    private Evenement rdv;
+    private Evenement reunion;
+    private Evenement periodique;
+    private Evenement tache;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+        rdv = new RendezVousPersonnel(new TitreEvenement("Médecin; cabinet, 2e"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        reunion = new Reunion(new TitreEvenement("Réunion"), pierre,
+            new DateEvenement(2025, 4, 12), new HeureDebut(10, 0), new DureeEvenement(120),
+            new LieuEvenement("Salle A"), ParticipantsEvenement.fromString("Pierre, Roger"));
+        periodique = new EvenementPeriodique(new TitreEvenement("Revue"), roger,
+            new DateEvenement(2025, 4, 7), new HeureDebut(16, 0), FrequenceEvenement.bihebdomadaire());
+        tache = new Tache(new TitreEvenement("Rapport"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(9, 0), new DureeEvenement(45), PrioriteTache.HAUTE);
+        for (Evenement evenement : List.of(rdv, reunion, periodique, tache)) {
+            calendarManager.ajouterEvenement(evenement);
+        }
+    }
+
+    @Test
+    @DisplayName("L'agenda exporté puis réimporté redonne les mêmes événements")
+    void testAllerRetour() {
+        StringWriter sortie = new StringWriter();
+        int nombre = new ExportateurICalendar().exporter(calendarManager.parcourirAgendaPersonnel(roger), sortie);
+        assertEquals(4, nombre);
+
+        CalendarManager relu = new CalendarManager();
+        RapportImport rapport = new ImportateurICalendar(relu, roger).importer(new StringReader(sortie.toString()));
+
+        // La tâche est un VTODO, que l'import ne reprend pas mais signale
+        assertEquals(3, rapport.getImportes());
+        assertEquals(1, rapport.getIgnores());
+        assertTrue(rapport.getAvertissements().get(0).contains("VTODO"));
+        for (Evenement evenement : List.of(rdv, reunion, periodique)) {
+            Evenement copie = relu.getEvenements().stream()
+                .filter(e -> e.getId().equals(evenement.getId())).findFirst().orElseThrow();
+            assertEquals(evenement.getType(), copie.getType());
+            assertEquals(evenement.getTitre(), copie.getTitre());
+            assertEquals(evenement.getDate(), copie.getDate());
+            assertEquals(evenement.getHeureDebut(), copie.getHeureDebut());
+            assertEquals(evenement.getDuree(), copie.getDuree());
+            assertEquals(evenement.getLieu(), copie.getLieu());
+            assertEquals(evenement.getFrequence(), copie.getFrequence());
+            assertEquals(evenement.getParticipants().toStringDelimite(), copie.getParticipants().toStringDelimite());
+        }
+    }
+
+    @Test
+    @DisplayName("Un événement périodique est écrit une fois avec sa règle, une tâche avec sa priorité")
+    void testRegleEtPriorite() {
+        StringWriter sortie = new StringWriter();
+        new ExportateurICalendar().exporter(calendarManager.parcourirEvenements(), sortie);
+        String ics = sortie.toString();
+
+        assertTrue(ics.contains("RRULE:FREQ=WEEKLY;INTERVAL=2\r\n"));
+        assertEquals(1, ics.split("RRULE", -1).length - 1);
+        assertTrue(ics.contains("BEGIN:VTODO\r\n"));
+        assertTrue(ics.contains("PRIORITY:1\r\n"));
+        assertTrue(ics.contains("SUMMARY:Médecin\\; cabinet\\, 2e\r\n"));
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+    }
+
+    @Test
+    @DisplayName("Seuls les événements de la période sont exportés")
+    void testPeriode() {
+        StringWriter sortie = new StringWriter();
+        int nombre = new ExportateurICalendar().exporter(calendarManager.parcourirPeriode(
+            LocalDateTime.of(2025, 4, 10, 0, 0), LocalDateTime.of(2025, 4, 11, 23, 59)), sortie);
+
+        // Le rendez-vous et la tâche ; la revue n'a pas d'occurrence ces jours-là
+        assertEquals(2, nombre);
+        assertFalse(sortie.toString().contains("Réunion"));
+    }
+
+    @Test
+    @DisplayName("Les lignes longues sont pliées à 75 octets sans couper un caractère")
+    void testPliage() {
+        CalendarManager calendrierLong = new CalendarManager();
+        calendrierLong.ajouterEvenement(new RendezVousPersonnel(new TitreEvenement("é".repeat(100)), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60)));
+        StringWriter sortie = new StringWriter();
+        new ExportateurICalendar().exporter(calendrierLong.parcourirEvenements(), sortie);
+
+        for (String ligne : sortie.toString().split("\r\n")) {
+            assertTrue(ligne.getBytes(StandardCharsets.UTF_8).length <= 75, ligne);
+        }
+        RapportImport rapport = new ImportateurICalendar(new CalendarManager(), roger)
+            .importer(new StringReader(sortie.toString()));
+        assertEquals(1, rapport.getImportes());
+    }
+
+    @Test
+    @DisplayName("Avec un fuseau, les heures sont écrites en UTC dans un canal")
+    void testUtcDansUnCanal() {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        new ExportateurICalendar(ZoneId.of("Europe/Paris"))
+            .exporter(calendarManager.parcourirAgendaPersonnel(pierre), Channels.newChannel(octets));
+
+        // 10 h à Paris en avril correspond à 8 h UTC
+        assertTrue(octets.toString(StandardCharsets.UTF_8).contains("DTSTART:20250412T080000Z\r\n"));
+        assertThrows(IllegalArgumentException.class, () -> new ExportateurICalendar(null));
+    }
+}
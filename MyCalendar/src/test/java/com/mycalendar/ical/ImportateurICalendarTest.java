@@ -0,0 +1,188 @@
+package com.mycalendar.ical;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportateurICalendarTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private ImportateurICalendar importateur;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        roger = new Utilisateur("Roger");
+        importateur = new ImportateurICalendar(calendarManager, roger, PARIS, 2);
+    }
+
+    private static String calendrier(String... evenements) {
+        StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Test//FR\r\n");
+        for (String evenement : evenements) {
+            ics.append("BEGIN:VEVENT\r\n").append(evenement).append("END:VEVENT\r\n");
+        }
+        return ics.append("END:VCALENDAR\r\n").toString();
+    }
+
+    private Evenement seul() {
+        List<Evenement> evenements = calendarManager.getEvenements();
+        assertEquals(1, evenements.size());
+        return evenements.get(0);
+    }
+
+    @Test
+    @DisplayName("Un VEVENT simple devient un rendez-vous personnel")
+    void testRendezVous() {
+        RapportImport rapport = importateur.importer(new StringReader(calendrier(
+            "UID:medecin-1\r\nSUMMARY:Médecin\r\nDTSTART:20250410T143000\r\nDTEND:20250410T153000\r\n")));
+
+        assertEquals(1, rapport.getImportes());
+        assertEquals(0, rapport.getIgnores());
+        Evenement rdv = seul();
+        assertTrue(rdv instanceof RendezVousPersonnel);
+        assertEquals(new EventId("medecin-1"), rdv.getId());
+        assertEquals(new TitreEvenement("Médecin"), rdv.getTitre());
+        assertEquals(roger, rdv.getProprietaire());
+        assertEquals(new DateEvenement(2025, 4, 10), rdv.getDate());
+        assertEquals(new HeureDebut(14, 30), rdv.getHeureDebut());
+        assertEquals(new DureeEvenement(60), rdv.getDuree());
+    }
+
+    @Test
+    @DisplayName("Un VEVENT avec des participants devient une réunion")
+    void testReunion() {
+        importateur.importer(new StringReader(calendrier(
+            "SUMMARY:Point d'équipe\r\nDTSTART:20250412T080000Z\r\nDURATION:PT1H30M\r\n"
+                + "LOCATION:Salle A\\, 2e étage\r\n"
+                + "ATTENDEE;CN=\"Dupont, Jean\";ROLE=REQ-PARTICIPANT:mailto:jean@example.org\r\n"
+                + "ATTENDEE:mailto:pierre@example.org\r\n")));
+
+        Evenement reunion = seul();
+        assertTrue(reunion instanceof Reunion);
+        // 8 h UTC correspond à 10 h à Paris en avril
+        assertEquals(new HeureDebut(10, 0), reunion.getHeureDebut());
+        assertEquals(new DureeEvenement(90), reunion.getDuree());
+        assertEquals(new LieuEvenement("Salle A, 2e étage"), reunion.getLieu());
+        assertTrue(reunion.getParticipants().contientUtilisateurParIdentifiant("Dupont, Jean"));
+        assertTrue(reunion.getParticipants().contientUtilisateurParIdentifiant("pierre@example.org"));
+    }
+
+    @Test
+    @DisplayName("Une règle quotidienne ou hebdomadaire devient un événement périodique")
+    void testPeriodique() {
+        RapportImport rapport = importateur.importer(new StringReader(calendrier(
+            "SUMMARY:Stand-up\r\nDTSTART;TZID=America/New_York:20250407T040000\r\nRRULE:FREQ=DAILY\r\n",
+            "SUMMARY:Revue\r\nDTSTART:20250407T160000\r\nRRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=MO\r\n")));
+
+        assertEquals(2, rapport.getImportes());
+        List<Evenement> evenements = calendarManager.getEvenements();
+        assertEquals(FrequenceEvenement.quotidienne(), evenements.get(0).getFrequence());
+        assertEquals(new HeureDebut(10, 0), evenements.get(0).getHeureDebut());
+        assertEquals(FrequenceEvenement.bihebdomadaire(), evenements.get(1).getFrequence());
+    }
+
+    @Test
+    @DisplayName("Les lignes pliées sont dépliées et les composants imbriqués ignorés")
+    void testLignesPliees() {
+        importateur.importer(new StringReader(calendrier(
+            "SUMMARY:Un titre très\r\n  long sur deux lignes\r\nDTSTART;VALUE=DATE:20250501\r\n"
+                + "BEGIN:VALARM\r\nTRIGGER:-PT15M\r\nDESCRIPTION:Rappel\r\nEND:VALARM\r\n")));
+
+        Evenement journee = seul();
+        assertEquals(new TitreEvenement("Un titre très long sur deux lignes"), journee.getTitre());
+        assertEquals(new HeureDebut(0, 0), journee.getHeureDebut());
+        assertEquals(new DureeEvenement(24 * 60), journee.getDuree());
+    }
+
+    @Test
+    @DisplayName("Les VEVENT non représentables sont ignorés avec leur raison")
+    void testEvenementsIgnores() {
+        RapportImport rapport = importateur.importer(new StringReader(calendrier(
+            "SUMMARY:Mensuel\r\nDTSTART:20250401T090000\r\nRRULE:FREQ=MONTHLY\r\n",
+            "SUMMARY:Borné\r\nDTSTART:20250401T090000\r\nRRULE:FREQ=DAILY;COUNT=5\r\n",
+            "SUMMARY:Sans début\r\n",
+            "SUMMARY:Date illisible\r\nDTSTART:2025-04-01\r\n",
+            "SUMMARY:Valide\r\nDTSTART:20250401T090000\r\n")));
+
+        assertEquals(1, rapport.getImportes());
+        assertEquals(4, rapport.getIgnores());
+        assertEquals(4, rapport.getAvertissements().size());
+        assertTrue(rapport.getAvertissements().get(0).startsWith("Ligne 4 : "));
+        assertEquals(new TitreEvenement("Valide"), seul().getTitre());
+    }
+
+    @Test
+    @DisplayName("Un BYDAY hebdomadaire doit désigner le jour du début, quel que soit l'ordre de la règle")
+    void testJourDeRepetition() {
+        RapportImport rapport = importateur.importer(new StringReader(calendrier(
+            "SUMMARY:Avant FREQ\r\nDTSTART:20250407T160000\r\nRRULE:BYDAY=MO;FREQ=WEEKLY\r\n",
+            "SUMMARY:Autre jour\r\nDTSTART:20250407T160000\r\nRRULE:FREQ=WEEKLY;BYDAY=TU\r\n",
+            "SUMMARY:Autre jour avant FREQ\r\nDTSTART:20250407T160000\r\nRRULE:BYDAY=FR;FREQ=WEEKLY\r\n",
+            "SUMMARY:Quotidien\r\nDTSTART:20250407T160000\r\nRRULE:BYDAY=MO;FREQ=DAILY\r\n",
+            "SUMMARY:UTC\r\nDTSTART:20250407T230000Z\r\nRRULE:FREQ=WEEKLY;BYDAY=MO\r\n")));
+
+        assertEquals(2, rapport.getImportes());
+        assertEquals(3, rapport.getIgnores());
+        assertTrue(rapport.getAvertissements().get(0).contains("BYDAY=TU"));
+        // Le jour de DTSTART est celui de son propre fuseau, avant conversion
+        Evenement utc = calendarManager.getEvenements().stream()
+            .filter(e -> e.getTitre().equals(new TitreEvenement("UTC"))).findFirst().orElseThrow();
+        assertEquals(new DateEvenement(2025, 4, 8), utc.getDate());
+        assertEquals(FrequenceEvenement.hebdomadaire(), utc.getFrequence());
+    }
+
+    @Test
+    @DisplayName("Les VTODO sont comptés parmi les éléments ignorés")
+    void testTachesIgnorees() {
+        RapportImport rapport = importateur.importer(new StringReader(
+            "BEGIN:VCALENDAR\r\nBEGIN:VTODO\r\nSUMMARY:Rapport\r\nEND:VTODO\r\n"
+                + "BEGIN:VEVENT\r\nSUMMARY:Valide\r\nDTSTART:20250401T090000\r\nEND:VEVENT\r\nEND:VCALENDAR\r\n"));
+
+        assertEquals(1, rapport.getImportes());
+        assertEquals(1, rapport.getIgnores());
+        assertEquals("Ligne 2 : Tâche (VTODO) non prise en charge", rapport.getAvertissements().get(0));
+    }
+
+    @Test
+    @DisplayName("Un second import du même fichier n'ajoute rien")
+    void testReimport(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("agenda.ics");
+        Files.write(fichier, calendrier(
+            "UID:a\r\nDTSTART:20250401T090000\r\n",
+            "UID:b\r\nDTSTART:20250402T090000\r\n",
+            "UID:c\r\nDTSTART:20250403T090000\r\n").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, importateur.importer(fichier).getImportes());
+        RapportImport second = importateur.importer(fichier);
+
+        assertEquals(0, second.getImportes());
+        assertEquals(3, second.getIgnores());
+        assertEquals(3, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Les paramètres de l'importateur sont validés")
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new ImportateurICalendar(null, roger));
+        assertThrows(IllegalArgumentException.class, () -> new ImportateurICalendar(calendarManager, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ImportateurICalendar(calendarManager, roger, PARIS, 0));
+    }
+}
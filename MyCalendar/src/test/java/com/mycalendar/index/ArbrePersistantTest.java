@@ -0,0 +1,162 @@
+package com.mycalendar.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArbrePersistantTest {
+
+    @Test
+    @DisplayName("Une modification ne doit pas affecter les versions précédentes de l'arbre")
+    void testVersionsIndependantes() {
+        ArbrePersistant<String> v1 = ArbrePersistant.<String>vide().ajouter(10, 0, "a").ajouter(20, 0, "b");
+        ArbrePersistant<String> v2 = v1.ajouter(15, 0, "c");
+        ArbrePersistant<String> v3 = v2.retirer(10, 0);
+
+        assertEquals(List.of("a", "b"), valeurs(v1));
+        assertEquals(List.of("a", "c", "b"), valeurs(v2));
+        assertEquals(List.of("c", "b"), valeurs(v3));
+        assertSame(v3, v3.retirer(10, 0));
+    }
+
+    @Test
+    @DisplayName("Le rang doit ranger les entrées de même clé")
+    void testRangDepartage() {
+        ArbrePersistant<String> arbre = ArbrePersistant.<String>vide()
+            .ajouter(5, 2, "troisième").ajouter(5, 0, "premier").ajouter(5, 1, "deuxième").ajouter(4, 9, "avant");
+
+        List<String> parcourus = new ArrayList<>();
+        arbre.parcourir(5, 5, parcourus::add);
+        assertEquals(List.of("premier", "deuxième", "troisième"), parcourus);
+        assertEquals(5, arbre.cleMaximale());
+    }
+
+    @Test
+    @DisplayName("L'arbre doit se comporter comme une TreeMap sous des opérations aléatoires")
+    void testEquivalenceTreeMap() {
+        Random random = new Random(3);
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+        ArbrePersistant<Integer> arbre = ArbrePersistant.vide();
+
+        for (int i = 0; i < 5_000; i++) {
+            long cle = random.nextInt(1_000);
+            if (random.nextInt(3) == 0) {
+                reference.remove(cle);
+                arbre = arbre.retirer(cle, 0);
+            } else {
+                reference.put(cle, i);
+                arbre = arbre.ajouter(cle, 0, i);
+            }
+        }
+
+        assertEquals(reference.size(), arbre.taille());
+        assertEquals(new ArrayList<>(reference.values()), valeurs(arbre));
+        for (int i = 0; i < 200; i++) {
+            long min = random.nextInt(1_000);
+            long max = min + random.nextInt(200);
+            List<Integer> attendues = new ArrayList<>(reference.subMap(min, true, max, true).values());
+            List<Integer> parcourues = new ArrayList<>();
+            arbre.parcourir(min, max, parcourues::add);
+            assertEquals(attendues, parcourues);
+
+            List<Integer> iterees = new ArrayList<>();
+            arbre.iterateur(min, max).forEachRemaining(iterees::add);
+            assertEquals(attendues, iterees);
+        }
+    }
+
+    @Test
+    @DisplayName("Un lot fusionné doit donner le même arbre que des ajouts successifs")
+    void testAjouterTous() {
+        Random random = new Random(8);
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+        ArbrePersistant<Integer> arbre = ArbrePersistant.vide();
+        for (int i = 0; i < 100; i++) {
+            long cle = random.nextInt(500);
+            reference.put(cle, i);
+            arbre = arbre.ajouter(cle, 0, i);
+        }
+
+        // Un grand lot est fusionné, un petit inséré entrée par entrée
+        for (int taille : new int[] {400, 3}) {
+            TreeMap<Long, Integer> lot = new TreeMap<>();
+            for (int i = 0; i < taille; i++) {
+                lot.put((long) random.nextInt(500), -i);
+            }
+            long[] cles = new long[lot.size()];
+            List<Integer> valeurs = new ArrayList<>();
+            int position = 0;
+            for (Map.Entry<Long, Integer> entree : lot.entrySet()) {
+                cles[position++] = entree.getKey();
+                valeurs.add(entree.getValue());
+            }
+
+            ArbrePersistant<Integer> avant = arbre;
+            arbre = arbre.ajouterTous(cles, new long[cles.length], valeurs);
+            int tailleAvant = reference.size();
+            reference.putAll(lot);
+
+            assertEquals(new ArrayList<>(reference.values()), valeurs(arbre));
+            assertEquals(tailleAvant, avant.taille());
+        }
+    }
+
+    @Test
+    @DisplayName("La recherche d'intervalles doit trouver les mêmes chevauchements qu'un parcours complet")
+    void testChevauchants() {
+        Random random = new Random(13);
+        List<long[]> intervalles = new ArrayList<>();
+        ArbrePersistant<long[]> arbre = ArbrePersistant.vide();
+        for (int i = 0; i < 2_000; i++) {
+            long debut = random.nextInt(100_000);
+            // Quelques intervalles très longs au milieu d'intervalles courts
+            long fin = debut + (i % 100 == 0 ? 50_000 : 1 + random.nextInt(100));
+            long[] intervalle = {debut, fin};
+            intervalles.add(intervalle);
+            arbre = arbre.ajouter(debut, i, fin, intervalle);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            arbre = arbre.retirer(intervalles.get(i)[0], i);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            long debut = random.nextInt(110_000);
+            long fin = debut + 1 + random.nextInt(500);
+            List<long[]> attendus = new ArrayList<>();
+            arbre.forEach(intervalle -> {
+                if (intervalle[0] < fin && intervalle[1] > debut) {
+                    attendus.add(intervalle);
+                }
+            });
+            List<long[]> trouves = new ArrayList<>();
+            arbre.parcourirChevauchant(debut, fin, trouves::add);
+            assertEquals(attendus, trouves);
+        }
+    }
+
+    @Test
+    @DisplayName("Un parcours en cours ne doit pas voir les modifications suivantes")
+    void testParcoursFige() {
+        ArbrePersistant<String> arbre = ArbrePersistant.<String>vide().ajouter(1, 0, "a").ajouter(2, 0, "b");
+        Iterator<String> iterateur = arbre.iterator();
+        arbre = arbre.retirer(2, 0).ajouter(3, 0, "c");
+
+        List<String> parcourus = new ArrayList<>();
+        iterateur.forEachRemaining(parcourus::add);
+        assertEquals(List.of("a", "b"), parcourus);
+    }
+
+    private static <V> List<V> valeurs(ArbrePersistant<V> arbre) {
+        List<V> valeurs = new ArrayList<>();
+        arbre.forEach(valeurs::add);
+        return valeurs;
+    }
+}
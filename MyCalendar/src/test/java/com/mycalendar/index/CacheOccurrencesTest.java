@@ -0,0 +1,117 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheOccurrencesTest {
+    
+    private static final LocalDateTime DEBUT = LocalDateTime.of(2025, 4, 7, 0, 0);
+    private static final LocalDateTime FIN = LocalDateTime.of(2025, 4, 13, 23, 59);
+    
+    private Utilisateur pierre;
+    
+    @BeforeEach
+    void setUp() {
+        pierre = new Utilisateur("Pierre");
+    }
+    
+    @Test
+    @DisplayName("Le cache doit retourner les mêmes occurrences que le développement direct")
+    void testOccurrencesIdentiques() {
+        CacheOccurrences cache = new CacheOccurrences();
+        Evenement serie = serie();
+        
+        List<LocalDateTime> attendues = serie.occurrencesPendant(DEBUT, FIN).collect(Collectors.toList());
+        
+        assertEquals(attendues, cache.occurrences(serie, DEBUT, FIN).collect(Collectors.toList()));
+        assertEquals(attendues, cache.occurrences(serie, DEBUT, FIN).collect(Collectors.toList()));
+        assertEquals(1, cache.getTaille());
+    }
+    
+    @Test
+    @DisplayName("Les événements non périodiques ne doivent pas occuper le cache")
+    void testEvenementNonPeriodique() {
+        CacheOccurrences cache = new CacheOccurrences();
+        Evenement rdv = new RendezVousPersonnel(
+            new TitreEvenement("Médecin"),
+            pierre,
+            new DateEvenement(2025, 4, 10),
+            new HeureDebut(14, 30),
+            new DureeEvenement(60)
+        );
+        
+        assertEquals(1, cache.occurrences(rdv, DEBUT, FIN).count());
+        assertEquals(0, cache.getTaille());
+    }
+    
+    @Test
+    @DisplayName("Le cache ne doit pas dépasser sa capacité")
+    void testCapacite() {
+        CacheOccurrences cache = new CacheOccurrences(2);
+        
+        cache.occurrences(serie(), DEBUT, FIN).count();
+        cache.occurrences(serie(), DEBUT, FIN).count();
+        cache.occurrences(serie(), DEBUT, FIN).count();
+        
+        assertEquals(2, cache.getTaille());
+        assertThrows(IllegalArgumentException.class, () -> new CacheOccurrences(0));
+    }
+    
+    @Test
+    @DisplayName("Le cache doit borner le nombre total d'occurrences retenues")
+    void testOccurrencesMax() {
+        CacheOccurrences cache = new CacheOccurrences(100, 10);
+        Evenement serie = serie();
+        
+        // Une semaine quotidienne : 7 occurrences, puis 14 au total, ce qui évince la première
+        cache.occurrences(serie, DEBUT, FIN).count();
+        cache.occurrences(serie(), DEBUT, FIN).count();
+        assertEquals(1, cache.getTaille());
+        assertEquals(7, cache.getNombreOccurrences());
+        
+        // Trois semaines dépassent la borne : rendues en entier, mais pas conservées
+        List<LocalDateTime> attendues = serie.occurrencesPendant(DEBUT, FIN.plusDays(14)).collect(Collectors.toList());
+        assertEquals(21, attendues.size());
+        assertEquals(attendues, cache.occurrences(serie, DEBUT, FIN.plusDays(14)).collect(Collectors.toList()));
+        assertEquals(1, cache.getTaille());
+        assertEquals(7, cache.getNombreOccurrences());
+        
+        assertThrows(IllegalArgumentException.class, () -> new CacheOccurrences(1, 0));
+    }
+    
+    @Test
+    @DisplayName("L'invalidation doit retirer toutes les périodes d'une série")
+    void testInvalider() {
+        CacheOccurrences cache = new CacheOccurrences();
+        Evenement serie = serie();
+        Evenement autre = serie();
+        
+        cache.occurrences(serie, DEBUT, FIN).count();
+        cache.occurrences(serie, DEBUT.plusDays(7), FIN.plusDays(7)).count();
+        cache.occurrences(autre, DEBUT, FIN).count();
+        
+        cache.invalider(serie.getId());
+        
+        assertEquals(1, cache.getTaille());
+        assertEquals(7, cache.getNombreOccurrences());
+    }
+    
+    private Evenement serie() {
+        return new EvenementPeriodique(
+            new TitreEvenement("Stand-up"),
+            pierre,
+            new DateEvenement(2025, 4, 1),
+            new HeureDebut(9, 0),
+            FrequenceEvenement.quotidienne()
+        );
+    }
+}
@@ -0,0 +1,167 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexCreneauxTest {
+
+    private IndexCreneaux index;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+
+    @BeforeEach
+    void setUp() {
+        index = new IndexCreneaux();
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+    }
+
+    @Test
+    @DisplayName("Un événement long commencé avant le créneau doit être trouvé")
+    void testChevauchementParLaGauche() {
+        Evenement journee = rdv(roger, 8, 0, 600);
+        Evenement court = rdv(roger, 12, 0, 15);
+        index.ajouter(journee, 0);
+        index.ajouter(court, 1);
+
+        Evenement requete = rdv(roger, 15, 0, 60);
+        assertEquals(List.of(journee), index.chevauchant(roger,
+                requete.getDebutEpochMinutes(), requete.getFinEpochMinutes()));
+    }
+
+    @Test
+    @DisplayName("Un événement long retiré ne doit plus être trouvé")
+    void testRetraitEvenementLong() {
+        Evenement journee = rdv(roger, 8, 0, 600);
+        Evenement court = rdv(roger, 12, 0, 15);
+        Evenement memeDuree = rdv(roger, 14, 0, 15);
+        index.ajouter(journee, 0);
+        index.ajouter(court, 1);
+        index.ajouter(memeDuree, 2);
+        assertEquals(List.of(journee, memeDuree), index.chevauchant(roger,
+                memeDuree.getDebutEpochMinutes(), memeDuree.getFinEpochMinutes()));
+
+        index.retirer(journee, 0);
+        index.retirer(court, 1);
+        assertEquals(List.of(memeDuree), index.chevauchant(roger,
+                memeDuree.getDebutEpochMinutes(), memeDuree.getFinEpochMinutes()));
+
+        // Un ajout en double remplace l'entrée au lieu de la dupliquer
+        index.ajouter(memeDuree, 2);
+        index.retirer(memeDuree, 2);
+        assertTrue(index.chevauchant(roger, memeDuree.getDebutEpochMinutes(), memeDuree.getFinEpochMinutes()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un événement très long ne doit pas fausser les recherches qui suivent sa fin")
+    void testEvenementTresLong() {
+        List<Evenement> evenements = new ArrayList<>();
+        Evenement annee = new RendezVousPersonnel(new TitreEvenement("Congé"), roger,
+                new DateEvenement(2025, 1, 1), new HeureDebut(0, 0), new DureeEvenement(365 * 24 * 60));
+        evenements.add(annee);
+        index.ajouter(annee, 0);
+        Random random = new Random(5);
+        for (int i = 1; i <= 1_000; i++) {
+            Evenement evenement = new RendezVousPersonnel(new TitreEvenement("RDV"), roger,
+                    new DateEvenement(2025 + random.nextInt(2), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    new HeureDebut(random.nextInt(24), 0), new DureeEvenement(30));
+            evenements.add(evenement);
+            index.ajouter(evenement, i);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Evenement requete = new RendezVousPersonnel(new TitreEvenement("Requête"), roger,
+                    new DateEvenement(2025 + random.nextInt(2), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    new HeureDebut(random.nextInt(24), 0), new DureeEvenement(60));
+            HashSet<Evenement> attendus = evenements.stream()
+                    .filter(e -> e.estEnConflitAvec(requete) && requete.estEnConflitAvec(e))
+                    .collect(Collectors.toCollection(HashSet::new));
+
+            List<Evenement> trouves = index.chevauchant(roger, requete.getDebutEpochMinutes(), requete.getFinEpochMinutes());
+            assertEquals(attendus, new HashSet<>(trouves));
+            assertEquals(requete.getDate().getAnnee() == 2025, trouves.contains(annee));
+        }
+    }
+
+    @Test
+    @DisplayName("Une réunion doit occuper l'agenda de chacun de ses participants")
+    void testParticipants() {
+        Reunion reunion = new Reunion(new TitreEvenement("Point"), pierre,
+                new DateEvenement(2025, 4, 10), new HeureDebut(10, 0), new DureeEvenement(60),
+                new LieuEvenement("Salle A"), ParticipantsEvenement.avecUtilisateurs(List.of(roger)));
+        index.ajouter(reunion, 0);
+
+        long debut = reunion.getDebutEpochMinutes();
+        assertEquals(List.of(reunion), index.chevauchant(roger, debut, debut + 1));
+        assertEquals(List.of(reunion), index.chevauchant(pierre, debut, debut + 1));
+
+        index.retirer(reunion, 0);
+        assertTrue(index.chevauchant(roger, debut, debut + 1).isEmpty());
+        assertTrue(index.chevauchant(pierre, debut, debut + 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les événements qui ne bloquent pas le calendrier ne doivent pas être indexés")
+    void testEvenementsNonBloquants() {
+        Tache basse = new Tache(new TitreEvenement("Ranger"), roger, new DateEvenement(2025, 4, 10),
+                new HeureDebut(10, 0), new DureeEvenement(60), PrioriteTache.BASSE);
+        index.ajouter(basse, 0);
+
+        assertTrue(index.chevauchant(roger, basse.getDebutEpochMinutes(), basse.getFinEpochMinutes()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les copies doivent être indépendantes de l'original")
+    void testCopier() {
+        Evenement rdv = rdv(roger, 10, 0, 60);
+        index.ajouter(rdv, 0);
+        IndexCreneaux copie = index.copier();
+        copie.retirer(rdv, 0);
+
+        assertEquals(List.of(rdv), index.chevauchant(roger, rdv.getDebutEpochMinutes(), rdv.getFinEpochMinutes()));
+        assertTrue(copie.chevauchant(roger, rdv.getDebutEpochMinutes(), rdv.getFinEpochMinutes()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("L'index doit trouver les mêmes chevauchements que estEnConflitAvec")
+    void testEquivalenceEstEnConflitAvec() {
+        Random random = new Random(11);
+        List<Evenement> evenements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Evenement evenement = rdv(roger, random.nextInt(24), random.nextInt(60), random.nextInt(300));
+            index.ajouter(evenement, evenements.size());
+            evenements.add(evenement);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Evenement requete = rdv(roger, random.nextInt(24), random.nextInt(60), random.nextInt(120));
+            HashSet<Evenement> attendus = evenements.stream()
+                    .filter(e -> e.estEnConflitAvec(requete) && requete.estEnConflitAvec(e))
+                    .collect(Collectors.toCollection(HashSet::new));
+
+            assertEquals(attendus, new HashSet<>(index.chevauchant(roger,
+                    requete.getDebutEpochMinutes(), requete.getFinEpochMinutes())));
+        }
+    }
+
+    private Evenement rdv(Utilisateur proprietaire, int heure, int minute, int duree) {
+        return new RendezVousPersonnel(
+            new TitreEvenement("RDV"),
+            proprietaire,
+            new DateEvenement(2025, 4, 10),
+            new HeureDebut(heure, minute),
+            new DureeEvenement(duree)
+        );
+    }
+}
@@ -0,0 +1,200 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexTemporelTest {
+
+    private IndexTemporel index;
+    private Utilisateur roger;
+
+    @BeforeEach
+    void setUp() {
+        index = new IndexTemporel();
+        roger = new Utilisateur("Roger");
+    }
+
+    @Test
+    @DisplayName("La recherche doit retourner les événements dont le début est dans la période")
+    void testRechercherPonctuels() {
+        Evenement avant = rdv(2025, 4, 9, 23, 59);
+        Evenement dedans = rdv(2025, 4, 10, 0, 0);
+        Evenement fin = rdv(2025, 4, 10, 23, 59);
+        Evenement apres = rdv(2025, 4, 11, 0, 0);
+        index.ajouter(avant, 0);
+        index.ajouter(dedans, 1);
+        index.ajouter(fin, 2);
+        index.ajouter(apres, 3);
+
+        List<Evenement> resultat = index.rechercher(
+            LocalDateTime.of(2025, 4, 10, 0, 0),
+            LocalDateTime.of(2025, 4, 10, 23, 59, 59)
+        );
+
+        assertEquals(List.of(dedans, fin), resultat);
+    }
+
+    @Test
+    @DisplayName("Les événements périodiques doivent être trouvés par leurs occurrences")
+    void testRechercherPeriodiques() {
+        EvenementPeriodique hebdo = new EvenementPeriodique(
+            new TitreEvenement("Stand-up"),
+            roger,
+            new DateEvenement(2025, 4, 7),
+            new HeureDebut(9, 0),
+            FrequenceEvenement.hebdomadaire()
+        );
+        index.ajouter(hebdo, 0);
+
+        assertEquals(List.of(hebdo), index.rechercher(
+            LocalDateTime.of(2025, 4, 14, 0, 0),
+            LocalDateTime.of(2025, 4, 14, 23, 59)
+        ));
+        assertTrue(index.rechercher(
+            LocalDateTime.of(2025, 4, 15, 0, 0),
+            LocalDateTime.of(2025, 4, 15, 23, 59)
+        ).isEmpty());
+        assertTrue(index.rechercher(
+            LocalDateTime.of(2025, 3, 1, 0, 0),
+            LocalDateTime.of(2025, 3, 31, 23, 59)
+        ).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un événement retiré ne doit plus être trouvé")
+    void testRetirer() {
+        Evenement premier = rdv(2025, 4, 10, 14, 30);
+        Evenement second = rdv(2025, 4, 10, 14, 30);
+        index.ajouter(premier, 0);
+        index.ajouter(second, 1);
+
+        assertTrue(index.retirer(premier, 0));
+        assertFalse(index.retirer(premier, 0));
+        assertEquals(1, index.getTaille());
+
+        assertEquals(List.of(second), index.rechercher(
+            LocalDateTime.of(2025, 4, 10, 0, 0),
+            LocalDateTime.of(2025, 4, 10, 23, 59)
+        ));
+    }
+
+    @Test
+    @DisplayName("Une période inversée ne doit retourner aucun événement")
+    void testPeriodeInversee() {
+        index.ajouter(rdv(2025, 4, 10, 14, 30), 0);
+
+        assertTrue(index.rechercher(
+            LocalDateTime.of(2025, 4, 11, 0, 0),
+            LocalDateTime.of(2025, 4, 10, 0, 0)
+        ).isEmpty());
+    }
+
+    @Test
+    @DisplayName("L'index doit donner les mêmes résultats qu'un parcours complet")
+    void testEquivalenceParcoursComplet() {
+        Random random = new Random(42);
+        List<Evenement> evenements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Evenement evenement = i % 10 == 0
+                ? new EvenementPeriodique(
+                    new TitreEvenement("Périodique " + i),
+                    roger,
+                    new DateEvenement(2025, 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                    new FrequenceEvenement(1 + random.nextInt(30)))
+                : rdv(2025, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                      random.nextInt(24), random.nextInt(60));
+            index.ajouter(evenement, evenements.size());
+            evenements.add(evenement);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime debut = LocalDateTime.of(2025, 1 + random.nextInt(12), 1 + random.nextInt(28), 0, 0);
+            LocalDateTime fin = debut.plusDays(random.nextInt(40)).plusHours(random.nextInt(24));
+
+            HashSet<Evenement> attendus = evenements.stream()
+                    .filter(e -> e.aLieuPendant(debut, fin))
+                    .collect(Collectors.toCollection(HashSet::new));
+
+            List<Evenement> trouves = index.rechercher(debut, fin);
+            assertEquals(attendus, new HashSet<>(trouves));
+            for (int j = 1; j < trouves.size(); j++) {
+                assertTrue(trouves.get(j - 1).getDebutEpochMinutes() <= trouves.get(j).getDebutEpochMinutes());
+            }
+            // Le parcours paresseux rend les mêmes événements, dans le même ordre
+            assertEquals(index.rechercher(debut, fin), index.parcourir(debut, fin).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Les séries périodiques doivent être trouvées par leur phase, y compris à cheval sur deux périodes")
+    void testPhasesPeriodiques() {
+        // Série tous les 10 jours à 23h30, interrogée sur une fenêtre qui franchit minuit
+        EvenementPeriodique decade = new EvenementPeriodique(new TitreEvenement("Relevé"), roger,
+            new DateEvenement(2025, 1, 1), new HeureDebut(23, 30), new FrequenceEvenement(10));
+        Evenement rdv = rdv(2025, 3, 13, 0, 15);
+        index.ajouter(decade, 0);
+        index.ajouter(rdv, 1);
+
+        // Occurrences le 1er, 11, 21 janvier... : le 12 mars à 23h30 en est une
+        assertEquals(List.of(decade, rdv), index.rechercher(
+            LocalDateTime.of(2025, 3, 12, 23, 0), LocalDateTime.of(2025, 3, 13, 1, 0)));
+        assertEquals(List.of(rdv), index.rechercher(
+            LocalDateTime.of(2025, 3, 12, 23, 31), LocalDateTime.of(2025, 3, 13, 1, 0)));
+        assertTrue(index.periodiquesPendant(
+            LocalDateTime.of(2025, 3, 13, 0, 0), LocalDateTime.of(2025, 3, 21, 23, 0)).isEmpty());
+        // Une fenêtre plus longue que la période contient toujours une occurrence
+        assertEquals(List.of(decade), index.periodiquesPendant(
+            LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 11, 0, 0)));
+        // Avant la première occurrence, la série n'a pas lieu
+        assertTrue(index.periodiquesPendant(
+            LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 23, 30)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un lot trié donne le même index que des ajouts successifs")
+    void testAjouterTous() {
+        List<Evenement> tries = new ArrayList<>();
+        for (int jour = 1; jour <= 5; jour++) {
+            tries.add(rdv(2025, 4, jour, 9, 0));
+            tries.add(rdv(2025, 4, jour, 9, 0));
+            tries.add(new EvenementPeriodique(new TitreEvenement("Stand-up"), roger,
+                new DateEvenement(2025, 4, jour), new HeureDebut(10, 0), FrequenceEvenement.hebdomadaire()));
+        }
+        long[] numeros = new long[tries.size()];
+        IndexTemporel unParUn = new IndexTemporel();
+        for (int i = 0; i < tries.size(); i++) {
+            numeros[i] = i;
+            unParUn.ajouter(tries.get(i), i);
+        }
+
+        index.ajouterTous(tries, numeros);
+
+        assertEquals(15, index.getTaille());
+        LocalDateTime debut = LocalDateTime.of(2025, 4, 1, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2025, 4, 30, 23, 59);
+        assertEquals(unParUn.rechercher(debut, fin), index.rechercher(debut, fin));
+    }
+
+    private Evenement rdv(int annee, int mois, int jour, int heure, int minute) {
+        return new RendezVousPersonnel(
+            new TitreEvenement("RDV"),
+            roger,
+            new DateEvenement(annee, mois, jour),
+            new HeureDebut(heure, minute),
+            new DureeEvenement(30)
+        );
+    }
+}
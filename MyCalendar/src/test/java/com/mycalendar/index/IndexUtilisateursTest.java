@@ -0,0 +1,102 @@
+package com.mycalendar.index;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexUtilisateursTest {
+    
+    private IndexUtilisateurs index;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+    private Utilisateur sophie;
+    private Evenement rdvRoger;
+    private Evenement reunionPierre;
+    
+    @BeforeEach
+    void setUp() {
+        index = new IndexUtilisateurs();
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+        sophie = new Utilisateur("Sophie");
+        
+        rdvRoger = new RendezVousPersonnel(
+            new TitreEvenement("Médecin"),
+            roger,
+            new DateEvenement(2025, 4, 10),
+            new HeureDebut(14, 30),
+            new DureeEvenement(60)
+        );
+        
+        reunionPierre = new Reunion(
+            new TitreEvenement("Réunion d'équipe"),
+            pierre,
+            new DateEvenement(2025, 4, 12),
+            new HeureDebut(10, 0),
+            new DureeEvenement(120),
+            new LieuEvenement("Salle A"),
+            ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, sophie))
+        );
+        
+        index.ajouter(rdvRoger, 0);
+        index.ajouter(reunionPierre, 1);
+    }
+    
+    @Test
+    @DisplayName("L'index doit distinguer les événements possédés et ceux où l'utilisateur participe")
+    void testProprietaireEtImplique() {
+        assertEquals(Set.of(rdvRoger), index.proprietaireDe(roger));
+        assertEquals(List.of(rdvRoger, reunionPierre), List.copyOf(index.impliquant(roger)));
+        
+        assertTrue(index.proprietaireDe(sophie).isEmpty());
+        assertEquals(Set.of(reunionPierre), index.impliquant(sophie));
+        
+        // Le propriétaire d'une réunion en est aussi participant, sans doublon
+        assertEquals(Set.of(reunionPierre), index.impliquant(pierre));
+    }
+    
+    @Test
+    @DisplayName("Un événement retiré doit disparaître de l'index de tous ses participants")
+    void testRetirer() {
+        index.retirer(reunionPierre, 1);
+        
+        assertTrue(index.impliquant(pierre).isEmpty());
+        assertTrue(index.impliquant(sophie).isEmpty());
+        assertEquals(Set.of(rdvRoger), index.impliquant(roger));
+    }
+    
+    @Test
+    @DisplayName("Un utilisateur inconnu doit avoir un index vide et non modifiable")
+    void testUtilisateurInconnu() {
+        Set<Evenement> evenements = index.impliquant(new Utilisateur("Jean"));
+        
+        assertTrue(evenements.isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> index.impliquant(roger).clear());
+    }
+
+    @Test
+    @DisplayName("Les événements périodiques doivent être trouvés par utilisateur")
+    void testPeriodiquesParUtilisateur() {
+        EvenementPeriodique standUp = new EvenementPeriodique(new TitreEvenement("Stand-up"), pierre,
+            new DateEvenement(2025, 4, 7), new HeureDebut(9, 0), FrequenceEvenement.hebdomadaire());
+        index.ajouter(standUp, 2);
+        LocalDateTime lundi = LocalDateTime.of(2025, 4, 14, 0, 0);
+        LocalDateTime mardi = LocalDateTime.of(2025, 4, 15, 0, 0);
+
+        assertEquals(List.of(standUp), index.periodiquesPendant(pierre, lundi, mardi));
+        assertTrue(index.periodiquesPendant(pierre, mardi, mardi.plusDays(5)).isEmpty());
+        assertTrue(index.periodiquesPendant(roger, lundi, mardi).isEmpty());
+
+        index.retirer(standUp, 2);
+        assertTrue(index.periodiquesPendant(pierre, lundi, mardi).isEmpty());
+    }
+}
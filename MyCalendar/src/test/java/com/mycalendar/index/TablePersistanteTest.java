@@ -0,0 +1,42 @@
+package com.mycalendar.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablePersistanteTest {
+
+    @Test
+    @DisplayName("Une modification ne doit pas affecter les versions précédentes de la table")
+    void testVersionsIndependantes() {
+        TablePersistante<String, Integer> v1 = TablePersistante.<String, Integer>vide().ajouter("un", 1);
+        TablePersistante<String, Integer> v2 = v1.ajouter("deux", 2).ajouter("un", 10);
+        TablePersistante<String, Integer> v3 = v2.retirer("un");
+
+        assertEquals(1, v1.valeur("un"));
+        assertNull(v1.valeur("deux"));
+        assertEquals(10, v2.valeur("un"));
+        assertEquals(2, v2.taille());
+        assertNull(v3.valeur("un"));
+        assertEquals(1, v3.taille());
+        assertSame(v3, v3.retirer("un"));
+    }
+
+    @Test
+    @DisplayName("Les clés de même code de hachage doivent rester distinctes")
+    void testCollisions() {
+        // "Aa" et "BB" ont le même code de hachage
+        TablePersistante<String, Integer> table = TablePersistante.<String, Integer>vide()
+            .ajouter("Aa", 1).ajouter("BB", 2);
+
+        assertEquals(1, table.valeur("Aa"));
+        assertEquals(2, table.valeur("BB"));
+        assertEquals(2, table.taille());
+
+        TablePersistante<String, Integer> sansAa = table.retirer("Aa");
+        assertNull(sansAa.valeur("Aa"));
+        assertEquals(2, sansAa.valeur("BB"));
+        assertEquals(1, table.valeur("Aa"));
+    }
+}
@@ -29,7 +29,7 @@ public class AfficherEvenementsActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
         
         // Ajouter un événement pour le test
         RendezVousPersonnel rdv = new RendezVousPersonnel(
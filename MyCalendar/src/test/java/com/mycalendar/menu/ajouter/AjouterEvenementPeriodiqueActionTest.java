@@ -28,7 +28,7 @@ public class AjouterEvenementPeriodiqueActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
         
         // Simule les entrées pour créer un événement périodique
         String input = "Stand-up hebdomadaire\n2025\n6\n1\n9\n0\n7\n";
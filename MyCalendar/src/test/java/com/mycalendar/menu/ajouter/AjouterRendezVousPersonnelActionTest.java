@@ -28,7 +28,7 @@ public class AjouterRendezVousPersonnelActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
         
         // Simule les entrées pour créer un rendez-vous personnel
         String input = "Rendez-vous test\n2025\n6\n15\n14\n30\n60\n";
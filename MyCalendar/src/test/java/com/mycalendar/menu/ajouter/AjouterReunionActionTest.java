@@ -28,7 +28,7 @@ public class AjouterReunionActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
         
         // Simule les entrées pour créer une réunion
         String input = "Réunion test\n2025\n6\n15\n14\n30\n90\nSalle A\nnon\n";
@@ -125,4 +125,25 @@ public class AjouterReunionActionTest {
         assertTrue(participants.contientUtilisateurParIdentifiant("Participant2"));
         assertEquals(3, participants.getNombreParticipants());
     }
+    
+    @Test
+    @DisplayName("Un horaire occupé doit faire proposer les créneaux libres des participants")
+    void testPropositionCreneauLibre() {
+        // Participant1 est occupé de 14h à 16h le jour demandé
+        calendarManager.ajouterReunion(new TitreEvenement("Occupé"), new Utilisateur("Participant1"),
+            new DateEvenement(2025, 6, 15), new HeureDebut(14, 0), new DureeEvenement(120),
+            new LieuEvenement("Salle B"), ParticipantsEvenement.fromString("Participant1"));
+        String input = "Réunion test\n2025\n6\n15\n14\n30\n90\nSalle A\noui\nParticipant1\nnon\n1\n";
+        context = new MenuContext(calendarManager, userManager, new Scanner(new ByteArrayInputStream(input.getBytes())));
+        context.setUtilisateurConnecte(utilisateur);
+        
+        assertTrue(new AjouterReunionAction().executer(context));
+        
+        Evenement reunion = calendarManager.getEvenements().stream()
+            .filter(e -> e.getTitre().getValeur().equals("Réunion test"))
+            .findFirst().orElseThrow();
+        assertEquals(15, reunion.getDate().getJour());
+        assertEquals(16, reunion.getHeureDebut().getHeure());
+        assertEquals(0, reunion.getHeureDebut().getMinute());
+    }
 }
\ No newline at end of file
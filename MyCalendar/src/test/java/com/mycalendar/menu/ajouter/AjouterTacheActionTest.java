@@ -28,7 +28,7 @@ public class AjouterTacheActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
         
         // Simuler les entrées pour créer une tâche (avec priorité haute = 1)
         String input = "Rédiger rapport\n2025\n6\n15\n14\n30\n120\n1\n";
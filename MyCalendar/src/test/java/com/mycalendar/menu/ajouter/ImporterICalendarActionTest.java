@@ -0,0 +1,73 @@
+package com.mycalendar.menu.ajouter;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.UserManager;
+import com.mycalendar.menu.MenuContext;
+import com.mycalendar.valueobjects.Utilisateur;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImporterICalendarActionTest {
+
+    private MenuContext contexte(CalendarManager calendarManager, String entree) {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(entree.getBytes(StandardCharsets.UTF_8)));
+        MenuContext context = new MenuContext(calendarManager, new UserManager(), scanner);
+        context.setUtilisateurConnecte(new Utilisateur("TestUser"));
+        return context;
+    }
+
+    @Test
+    @DisplayName("L'action doit être disponible pour un utilisateur connecté")
+    void testEstDisponible() {
+        MenuContext context = contexte(new CalendarManager(), "");
+        ImporterICalendarAction action = new ImporterICalendarAction();
+
+        assertTrue(action.estDisponible(context));
+
+        context.setUtilisateurConnecte(null);
+        assertFalse(action.estDisponible(context));
+    }
+
+    @Test
+    @DisplayName("L'action doit avoir une description appropriée")
+    void testGetDescription() {
+        assertEquals("Importer un fichier iCalendar", new ImporterICalendarAction().getDescription());
+    }
+
+    @Test
+    @DisplayName("L'exécution de l'action doit importer les événements du fichier")
+    void testExecuter(@TempDir Path dossier) throws IOException {
+        Path fichier = dossier.resolve("agenda.ics");
+        Files.write(fichier, ("BEGIN:VCALENDAR\r\nBEGIN:VEVENT\r\nSUMMARY:Médecin\r\n"
+            + "DTSTART:20250410T143000\r\nDURATION:PT1H\r\nEND:VEVENT\r\nEND:VCALENDAR\r\n")
+            .getBytes(StandardCharsets.UTF_8));
+        CalendarManager calendarManager = new CalendarManager();
+
+        boolean resultat = new ImporterICalendarAction().executer(contexte(calendarManager, fichier + "\n"));
+
+        assertTrue(resultat);
+        assertEquals(1, calendarManager.getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Un fichier introuvable ne doit pas interrompre l'application")
+    void testFichierIntrouvable(@TempDir Path dossier) {
+        CalendarManager calendarManager = new CalendarManager();
+
+        boolean resultat = new ImporterICalendarAction().executer(
+            contexte(calendarManager, dossier.resolve("absent.ics") + "\n"));
+
+        assertTrue(resultat);
+        assertTrue(calendarManager.getEvenements().isEmpty());
+    }
+}
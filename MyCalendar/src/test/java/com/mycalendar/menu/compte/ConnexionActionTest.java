@@ -39,7 +39,7 @@ public class ConnexionActionTest {
         assertTrue(action.estDisponible(context));
         
         // Connecter un utilisateur
-        context.setUtilisateurConnecte(new Utilisateur("TestUser", "TestPass"));
+        context.setUtilisateurConnecte(new Utilisateur("TestUser"));
         assertFalse(action.estDisponible(context));
     }
     
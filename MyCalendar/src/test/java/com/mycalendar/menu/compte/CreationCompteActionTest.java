@@ -35,7 +35,7 @@ public class CreationCompteActionTest {
         assertTrue(action.estDisponible(context));
         
         // Connecter un utilisateur
-        context.setUtilisateurConnecte(new com.mycalendar.valueobjects.Utilisateur("TestUser", "TestPass"));
+        context.setUtilisateurConnecte(new com.mycalendar.valueobjects.Utilisateur("TestUser"));
         assertFalse(action.estDisponible(context));
     }
     
@@ -25,7 +25,7 @@ public class DeconnexionActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
     }
     
     @Test
@@ -71,8 +71,9 @@ public class DeconnexionActionTest {
         // Vérifier que l'application doit continuer
         assertTrue(resultat);
         
-        // Vérifier que l'utilisateur est déconnecté
+        // Vérifier que l'utilisateur est déconnecté et que sa session est fermée
         assertNull(context.getUtilisateurConnecte());
+        assertEquals(0, userManager.getSessions().getNombreSessions());
     }
     
     @Test
@@ -0,0 +1,66 @@
+package com.mycalendar.menu.exporter;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.UserManager;
+import com.mycalendar.menu.MenuContext;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExporterICalendarActionTest {
+
+    private MenuContext contexte(CalendarManager calendarManager, Utilisateur utilisateur, String entree) {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(entree.getBytes(StandardCharsets.UTF_8)));
+        MenuContext context = new MenuContext(calendarManager, new UserManager(), scanner);
+        context.setUtilisateurConnecte(utilisateur);
+        return context;
+    }
+
+    @Test
+    @DisplayName("L'action doit être disponible pour un utilisateur connecté")
+    void testEstDisponible() {
+        MenuContext context = contexte(new CalendarManager(), new Utilisateur("TestUser"), "");
+        ExporterICalendarAction action = new ExporterICalendarAction();
+
+        assertTrue(action.estDisponible(context));
+
+        context.setUtilisateurConnecte(null);
+        assertFalse(action.estDisponible(context));
+    }
+
+    @Test
+    @DisplayName("L'action doit avoir une description appropriée")
+    void testGetDescription() {
+        assertEquals("Exporter mon agenda au format iCalendar", new ExporterICalendarAction().getDescription());
+    }
+
+    @Test
+    @DisplayName("L'exécution de l'action doit écrire l'agenda de l'utilisateur dans le fichier")
+    void testExecuter(@TempDir Path dossier) throws IOException {
+        Utilisateur utilisateur = new Utilisateur("TestUser");
+        CalendarManager calendarManager = new CalendarManager();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Rendez-vous test"), utilisateur,
+            new DateEvenement(2025, 6, 15), new HeureDebut(14, 30), new DureeEvenement(60));
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Autre agenda"),
+            new Utilisateur("Autre"),
+            new DateEvenement(2025, 6, 15), new HeureDebut(9, 0), new DureeEvenement(60));
+        Path fichier = dossier.resolve("agenda.ics");
+
+        boolean resultat = new ExporterICalendarAction().executer(contexte(calendarManager, utilisateur, fichier + "\n"));
+
+        assertTrue(resultat);
+        String ics = Files.readString(fichier);
+        assertTrue(ics.contains("SUMMARY:Rendez-vous test"));
+        assertFalse(ics.contains("Autre agenda"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.mycalendar.menu.rechercher;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.UserManager;
+import com.mycalendar.evenements.RendezVousPersonnel;
+import com.mycalendar.menu.MenuContext;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RechercherEvenementsActionTest {
+    
+    private CalendarManager calendarManager;
+    private UserManager userManager;
+    private Utilisateur utilisateur;
+    private ByteArrayOutputStream outContent;
+    private final PrintStream originalOut = System.out;
+    
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        userManager = new UserManager();
+        utilisateur = new Utilisateur("TestUser");
+        
+        calendarManager.ajouterEvenement(new RendezVousPersonnel(
+            new TitreEvenement("Dîner chez Éloïse"),
+            utilisateur,
+            new DateEvenement(2025, 6, 15),
+            new HeureDebut(20, 0),
+            new DureeEvenement(120)
+        ));
+        
+        outContent = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outContent));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+    
+    private MenuContext contexte(String input) {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(input.getBytes()));
+        MenuContext context = new MenuContext(calendarManager, userManager, scanner);
+        context.setUtilisateurConnecte(utilisateur);
+        return context;
+    }
+    
+    @Test
+    @DisplayName("L'action doit être disponible pour un utilisateur connecté")
+    void testEstDisponible() {
+        RechercherEvenementsAction action = new RechercherEvenementsAction();
+        MenuContext context = contexte("");
+        
+        assertTrue(action.estDisponible(context));
+        context.setUtilisateurConnecte(null);
+        assertFalse(action.estDisponible(context));
+        assertEquals("Rechercher des événements", action.getDescription());
+    }
+    
+    @Test
+    @DisplayName("L'exécution doit afficher les événements trouvés")
+    void testExecuter() {
+        assertTrue(new RechercherEvenementsAction().executer(contexte("diner eloise\n")));
+        
+        String output = outContent.toString();
+        assertTrue(output.contains("1 résultat(s) pour « diner eloise »"));
+        assertTrue(output.contains("1 - "));
+        assertTrue(output.contains("Dîner chez Éloïse"));
+    }
+    
+    @Test
+    @DisplayName("L'exécution doit signaler une recherche sans résultat")
+    void testAucunResultat() {
+        assertTrue(new RechercherEvenementsAction().executer(contexte("piscine\n")));
+        
+        assertTrue(outContent.toString().contains("Aucun événement ne correspond à « piscine »"));
+    }
+}
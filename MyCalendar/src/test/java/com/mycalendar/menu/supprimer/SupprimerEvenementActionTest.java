@@ -27,7 +27,7 @@ public class SupprimerEvenementActionTest {
     void setUp() {
         calendarManager = new CalendarManager();
         userManager = new UserManager();
-        utilisateur = new Utilisateur("TestUser", "TestPass");
+        utilisateur = new Utilisateur("TestUser");
         
         // Créer un événement pour les tests
         RendezVousPersonnel rdv = new RendezVousPersonnel(
@@ -88,7 +88,7 @@ public class SupprimerEvenementActionTest {
     @DisplayName("L'action doit gérer le cas où l'utilisateur n'a pas d'événements")
     void testExecuterSansEvenements() {
         // Créer un contexte avec un utilisateur qui n'a pas d'événements
-        Utilisateur utilisateurSansEvenements = new Utilisateur("UserSansEvenement", "pass");
+        Utilisateur utilisateurSansEvenements = new Utilisateur("UserSansEvenement");
         context.setUtilisateurConnecte(utilisateurSansEvenements);
         
         SupprimerEvenementAction action = new SupprimerEvenementAction();
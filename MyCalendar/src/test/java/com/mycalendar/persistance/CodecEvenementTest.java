@@ -0,0 +1,156 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodecEvenementTest {
+
+    private Utilisateur roger;
+    private Utilisateur pierre;
+    private Evenement rdv;
+    private Evenement reunion;
+    private Evenement periodique;
+    private Evenement tache;
+
+    @BeforeEach
+    void setUp() {
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+        rdv = new RendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        reunion = new Reunion(new EventId("reunion-equipe"), new TitreEvenement("Réunion d'équipe 🚀"), pierre,
+            new DateEvenement(2025, 4, 12), new HeureDebut(10, 0), new DureeEvenement(120),
+            new LieuEvenement("Salle Ω"), ParticipantsEvenement.fromString("Pierre, Roger, Zoé"));
+        periodique = new EvenementPeriodique(new TitreEvenement("Stand-up"), pierre,
+            new DateEvenement(1969, 12, 31), new HeureDebut(23, 59), FrequenceEvenement.hebdomadaire());
+        tache = new Tache(new TitreEvenement("Rapport"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(0, 0), new DureeEvenement(45), PrioriteTache.BASSE);
+    }
+
+    private void assertMemeEvenement(Evenement attendu, Evenement relu) {
+        assertEquals(attendu.getClass(), relu.getClass());
+        assertEquals(attendu.getId(), relu.getId());
+        assertEquals(attendu.getType(), relu.getType());
+        assertEquals(attendu.getTitre(), relu.getTitre());
+        assertEquals(attendu.getProprietaire(), relu.getProprietaire());
+        assertEquals(attendu.getDate(), relu.getDate());
+        assertEquals(attendu.getHeureDebut(), relu.getHeureDebut());
+        assertEquals(attendu.getDuree(), relu.getDuree());
+        assertEquals(attendu.getLieu(), relu.getLieu());
+        assertEquals(attendu.getParticipants().getUtilisateurs(), relu.getParticipants().getUtilisateurs());
+        assertEquals(attendu.getFrequence(), relu.getFrequence());
+        if (attendu instanceof Tache) {
+            assertEquals(((Tache) attendu).getPriorite(), ((Tache) relu).getPriorite());
+        }
+    }
+
+    @Test
+    @DisplayName("Les quatre types d'événements font l'aller-retour à l'identique")
+    void testAllerRetour() {
+        List<Evenement> evenements = List.of(rdv, reunion, periodique, tache);
+        ByteBuffer tampon = ByteBuffer.allocate(4096);
+        CodecEvenement ecriture = new CodecEvenement();
+        for (Evenement evenement : evenements) {
+            ecriture.ecrire(tampon, evenement);
+        }
+        tampon.flip();
+
+        CodecEvenement lecture = new CodecEvenement();
+        for (Evenement evenement : evenements) {
+            assertMemeEvenement(evenement, lecture.lire(tampon));
+        }
+        assertFalse(tampon.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("La lecture fonctionne aussi depuis un tampon hors tas")
+    void testTamponDirect() {
+        ByteBuffer tampon = ByteBuffer.allocateDirect(CodecEvenement.tailleMaximale(reunion));
+        new CodecEvenement().ecrire(tampon, reunion);
+        tampon.flip();
+
+        assertMemeEvenement(reunion, new CodecEvenement().lire(tampon));
+    }
+
+    @Test
+    @DisplayName("La taille maximale annoncée suffit toujours")
+    void testTailleMaximale() {
+        for (Evenement evenement : List.of(rdv, reunion, periodique, tache)) {
+            ByteBuffer tampon = ByteBuffer.allocate(CodecEvenement.tailleMaximale(evenement));
+            assertDoesNotThrow(() -> new CodecEvenement().ecrire(tampon, evenement));
+        }
+    }
+
+    @Test
+    @DisplayName("Un utilisateur déjà écrit n'est plus qu'une référence")
+    void testDictionnaireUtilisateurs() {
+        ByteBuffer tampon = ByteBuffer.allocate(4096);
+        CodecEvenement codec = new CodecEvenement();
+        codec.ecrire(tampon, reunion);
+        int premier = tampon.position();
+        codec.ecrire(tampon, reunion);
+        int second = tampon.position() - premier;
+
+        // Propriétaire et trois participants : chaque identifiant n'est écrit qu'une fois
+        assertTrue(second < premier - "PierreRogerZoé".length());
+
+        tampon.flip();
+        CodecEvenement lecture = new CodecEvenement();
+        Evenement relu = lecture.lire(tampon);
+        Evenement reluEncore = lecture.lire(tampon);
+        assertSame(relu.getProprietaire(), reluEncore.getProprietaire());
+    }
+
+    @Test
+    @DisplayName("Un rendez-vous proche du précédent s'écrit en peu d'octets")
+    void testDebutEnEcart() {
+        ByteBuffer tampon = ByteBuffer.allocate(4096);
+        CodecEvenement codec = new CodecEvenement();
+        codec.ecrire(tampon, rdv);
+        int premier = tampon.position();
+        codec.ecrire(tampon, new RendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(15, 30), new DureeEvenement(60)));
+
+        // Étiquette, UUID, titre, référence au propriétaire, écart d'une heure, durée
+        int attendu = 1 + 17 + 1 + "Médecin".getBytes(java.nio.charset.StandardCharsets.UTF_8).length + 1 + 1 + 1;
+        assertEquals(attendu, tampon.position() - premier);
+    }
+
+    @Test
+    @DisplayName("Un identifiant seul fait l'aller-retour")
+    void testIdentifiant() {
+        ByteBuffer tampon = ByteBuffer.allocate(128);
+        CodecEvenement codec = new CodecEvenement();
+        EventId uuid = EventId.generate();
+        EventId libre = new EventId("événement-42");
+        codec.ecrireIdentifiant(tampon, uuid);
+        codec.ecrireIdentifiant(tampon, libre);
+        tampon.flip();
+
+        assertEquals(uuid, codec.lireIdentifiant(tampon));
+        assertEquals(libre, codec.lireIdentifiant(tampon));
+    }
+
+    @Test
+    @DisplayName("Des données tronquées ou inconnues sont refusées")
+    void testDonneesInvalides() {
+        ByteBuffer tampon = ByteBuffer.allocate(4096);
+        new CodecEvenement().ecrire(tampon, reunion);
+        tampon.flip();
+        tampon.limit(tampon.limit() - 3);
+        assertThrows(IllegalArgumentException.class, () -> new CodecEvenement().lire(tampon));
+
+        ByteBuffer etiquetteInconnue = ByteBuffer.wrap(new byte[] {42, 1, 1, 'x', 0, 1, 'R', 0, 0});
+        assertThrows(IllegalArgumentException.class, () -> new CodecEvenement().lire(etiquetteInconnue));
+
+        assertThrows(IllegalArgumentException.class, () -> CodecEvenement.verifierVersion(CodecEvenement.VERSION + 1));
+    }
+}
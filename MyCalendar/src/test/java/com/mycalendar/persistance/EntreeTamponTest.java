@@ -0,0 +1,48 @@
+package com.mycalendar.persistance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntreeTamponTest {
+
+    @Test
+    @DisplayName("Les valeurs écrites par un DataOutputStream sont relues dans le tampon")
+    void testRelecture() throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        DataOutputStream sortie = new DataOutputStream(octets);
+        sortie.writeInt(42);
+        sortie.writeUTF("Réunion à l'étage");
+        sortie.writeLong(-7L);
+        sortie.writeBoolean(true);
+
+        EntreeTampon entree = new EntreeTampon(ByteBuffer.wrap(octets.toByteArray()));
+        assertEquals(42, entree.readInt());
+        assertEquals("Réunion à l'étage", entree.readUTF());
+        assertEquals(-7L, entree.readLong());
+        assertTrue(entree.readBoolean());
+        assertEquals(0, entree.restants());
+        assertThrows(EOFException.class, entree::readByte);
+    }
+
+    @Test
+    @DisplayName("La lecture par ligne reconnaît les trois fins de ligne")
+    void testLectureParLigne() {
+        byte[] octets = "un\ndeux\r\ntrois\rquatre".getBytes(StandardCharsets.ISO_8859_1);
+        EntreeTampon entree = new EntreeTampon(ByteBuffer.wrap(octets));
+
+        assertEquals("un", entree.readLine());
+        assertEquals("deux", entree.readLine());
+        assertEquals("trois", entree.readLine());
+        assertEquals("quatre", entree.readLine());
+        assertNull(entree.readLine());
+    }
+}
@@ -0,0 +1,284 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.CalendarManagerConcurrent;
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalFichierTest {
+
+    @TempDir
+    Path dossier;
+
+    private Path chemin;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+
+    @BeforeEach
+    void setUp() {
+        chemin = dossier.resolve("calendrier.journal");
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+    }
+
+    private CalendarManager ouvrir() {
+        return new CalendarManager(new JournalFichier(chemin));
+    }
+
+    private Evenement trouver(List<Evenement> evenements, EventId id) {
+        for (Evenement evenement : evenements) {
+            if (evenement.getId().equals(id)) {
+                return evenement;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    @DisplayName("Les quatre types d'événements survivent à une réouverture")
+    void testRelectureDesQuatreTypes() {
+        Evenement rdv = new RendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        Evenement reunion = new Reunion(new TitreEvenement("Réunion d'équipe"), pierre,
+            new DateEvenement(2025, 4, 12), new HeureDebut(10, 0), new DureeEvenement(120),
+            new LieuEvenement("Salle A"), ParticipantsEvenement.fromString("Pierre, Roger"));
+        Evenement periodique = new EvenementPeriodique(new TitreEvenement("Stand-up"), pierre,
+            new DateEvenement(2025, 4, 1), new HeureDebut(9, 0), FrequenceEvenement.quotidienne());
+        Evenement tache = new Tache(new TitreEvenement("Rapport"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(8, 15), new DureeEvenement(45),
+            PrioriteTache.HAUTE);
+
+        CalendarManager calendarManager = ouvrir();
+        calendarManager.ajouterEvenement(rdv);
+        calendarManager.ajouterEvenement(reunion);
+        calendarManager.ajouterEvenement(periodique);
+        calendarManager.ajouterEvenement(tache);
+        calendarManager.fermer();
+
+        List<Evenement> relus = ouvrir().getEvenements();
+        assertEquals(4, relus.size());
+        for (Evenement attendu : List.of(rdv, reunion, periodique, tache)) {
+            Evenement relu = trouver(relus, attendu.getId());
+            assertNotNull(relu, "Événement perdu : " + attendu.getTitre().getValeur());
+            assertEquals(attendu.getType(), relu.getType());
+            assertEquals(attendu.getTitre(), relu.getTitre());
+            assertEquals(attendu.getProprietaire(), relu.getProprietaire());
+            assertEquals(attendu.getDateDebut(), relu.getDateDebut());
+            assertEquals(attendu.getDuree(), relu.getDuree());
+            assertEquals(attendu.getLieu(), relu.getLieu());
+            assertEquals(attendu.getParticipants(), relu.getParticipants());
+            assertEquals(attendu.getFrequence(), relu.getFrequence());
+        }
+        assertEquals(PrioriteTache.HAUTE, ((Tache) trouver(relus, tache.getId())).getPriorite());
+    }
+
+    @Test
+    @DisplayName("Les suppressions sont rejouées dans l'ordre")
+    void testRejeuDesSuppressions() {
+        CalendarManager calendarManager = ouvrir();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), pierre,
+            new DateEvenement(2025, 4, 10), new HeureDebut(16, 0), new DureeEvenement(30));
+        calendarManager.ajouterTache(new TitreEvenement("Courses"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(18, 0), new DureeEvenement(30),
+            PrioriteTache.BASSE);
+        EventId aSupprimer = calendarManager.evenementsDeLUtilisateur(pierre).get(0).getId();
+        assertTrue(calendarManager.supprimerEvenement(aSupprimer));
+        assertEquals(2, calendarManager.supprimerEvenementsUtilisateur(roger));
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Coiffeur"), pierre,
+            new DateEvenement(2025, 4, 12), new HeureDebut(11, 0), new DureeEvenement(30));
+        calendarManager.fermer();
+
+        List<Evenement> relus = ouvrir().getEvenements();
+        assertEquals(1, relus.size());
+        assertEquals("Coiffeur", relus.get(0).getTitre().getValeur());
+    }
+
+    @Test
+    @DisplayName("Une fin d'enregistrement interrompue est écartée et l'écriture reprend à la suite")
+    void testFinInterrompueTronquee() throws IOException {
+        CalendarManager calendarManager = ouvrir();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        calendarManager.fermer();
+        long tailleValide = Files.size(chemin);
+
+        // Simule un arrêt brutal au milieu d'une écriture
+        Files.write(chemin, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        calendarManager = ouvrir();
+        assertEquals(1, calendarManager.getEvenements().size());
+        assertEquals(tailleValide, Files.size(chemin));
+
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(9, 0), new DureeEvenement(30));
+        calendarManager.fermer();
+
+        assertEquals(2, ouvrir().getEvenements().size());
+    }
+
+    @Test
+    @DisplayName("Un enregistrement corrompu arrête le rejeu à la dernière opération valide")
+    void testEnregistrementCorrompu() throws IOException {
+        CalendarManager calendarManager = ouvrir();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        calendarManager.fermer();
+        long tailleValide = Files.size(chemin);
+
+        calendarManager = ouvrir();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(9, 0), new DureeEvenement(30));
+        calendarManager.fermer();
+
+        // Altère un octet du second enregistrement : sa somme de contrôle ne correspond plus
+        byte[] octets = Files.readAllBytes(chemin);
+        octets[(int) tailleValide + 10] ^= 0x55;
+        Files.write(chemin, octets);
+
+        List<Evenement> relus = ouvrir().getEvenements();
+        assertEquals(1, relus.size());
+        assertEquals("Médecin", relus.get(0).getTitre().getValeur());
+    }
+
+    @Test
+    @DisplayName("Un enregistrement corrompu suivi d'autres opérations fait échouer le rejeu sans toucher au fichier")
+    void testCorruptionAuMilieu() throws IOException {
+        CalendarManager calendarManager = ouvrir();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Dentiste"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(9, 0), new DureeEvenement(30));
+        calendarManager.fermer();
+
+        // Altère un octet du premier enregistrement : le second reste valide
+        byte[] octets = Files.readAllBytes(chemin);
+        octets[20] ^= 0x55;
+        Files.write(chemin, octets);
+        assertThrows(IllegalArgumentException.class, this::ouvrir);
+        assertArrayEquals(octets, Files.readAllBytes(chemin));
+    }
+
+    @Test
+    @DisplayName("Une fin de fichier remplie de zéros est écartée comme une écriture interrompue")
+    void testFinRemplieDeZeros() throws IOException {
+        CalendarManager calendarManager = ouvrir();
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        calendarManager.fermer();
+        long tailleValide = Files.size(chemin);
+
+        Files.write(chemin, new byte[64], StandardOpenOption.APPEND);
+
+        calendarManager = ouvrir();
+        assertEquals(1, calendarManager.getEvenements().size());
+        calendarManager.fermer();
+        assertEquals(tailleValide, Files.size(chemin));
+    }
+
+    @Test
+    @DisplayName("Un événement trop volumineux est refusé sans toucher l'état ni les opérations suivantes")
+    void testEnregistrementTropVolumineux() {
+        CalendarManager calendarManager = ouvrir();
+        StringBuilder noms = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            noms.append(i == 0 ? "" : ", ").append("Participant au nom particulièrement long ").append(i);
+        }
+        Evenement enorme = new Reunion(new TitreEvenement("Assemblée générale"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 0), new DureeEvenement(60),
+            new LieuEvenement("Stade"), ParticipantsEvenement.fromString(noms.toString()));
+        Evenement suivant = new RendezVousPersonnel(new TitreEvenement("Médecin"), roger,
+            new DateEvenement(2025, 4, 11), new HeureDebut(9, 0), new DureeEvenement(30));
+
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenement(enorme));
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.ajouterEvenements(List.of(suivant, enorme)));
+        assertTrue(calendarManager.getEvenements().isEmpty());
+        calendarManager.ajouterEvenement(suivant);
+        calendarManager.fermer();
+
+        CalendarManager relu = ouvrir();
+        assertEquals(List.of(suivant.getId()), List.of(relu.getEvenements().get(0).getId()));
+        assertEquals(1, relu.getEvenements().size());
+        relu.fermer();
+    }
+
+    @Test
+    @DisplayName("Un fichier qui n'est pas un journal est refusé")
+    void testFichierEtranger() throws IOException {
+        Files.write(chemin, "BEGIN:VCALENDAR".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> new JournalFichier(chemin));
+    }
+
+    @Test
+    @DisplayName("Écrire avant le rejeu ou après la fermeture est refusé")
+    void testEtatsInvalides() {
+        JournalFichier journal = new JournalFichier(chemin);
+        assertThrows(IllegalStateException.class, () -> journal.consignerSuppression(EventId.generate()));
+
+        journal.rejouer(evenement -> { }, id -> { });
+        assertThrows(IllegalStateException.class, () -> journal.rejouer(evenement -> { }, id -> { }));
+
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.consignerSuppression(EventId.generate()));
+    }
+
+    @Test
+    @DisplayName("Les écritures concurrentes de plusieurs sessions sont toutes durables")
+    void testEcrituresConcurrentes() throws InterruptedException {
+        int sessions = 4;
+        int ajoutsParSession = 200;
+        CalendarManagerConcurrent calendarManager = new CalendarManagerConcurrent(new JournalFichier(chemin));
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < sessions; s++) {
+            Utilisateur utilisateur = new Utilisateur("Session" + s);
+            Thread thread = new Thread(() -> {
+                try {
+                    depart.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < ajoutsParSession; i++) {
+                    calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("RDV " + i), utilisateur,
+                        new DateEvenement(2025, 5, 1 + i % 28), new HeureDebut(i % 24, 0), new DureeEvenement(30));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        depart.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        calendarManager.fermer();
+
+        CalendarManagerConcurrent relu = new CalendarManagerConcurrent(new JournalFichier(chemin));
+        assertEquals(sessions * ajoutsParSession, relu.getEvenements().size());
+        for (int s = 0; s < sessions; s++) {
+            assertEquals(ajoutsParSession, relu.evenementsDeLUtilisateur(new Utilisateur("Session" + s)).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Le journal en mémoire est le mode par défaut")
+    void testJournalParDefaut() {
+        System.clearProperty(JournalEvenements.PROPRIETE_DOSSIER);
+        assertSame(JournalEvenements.enMemoire(), JournalEvenements.depuisConfiguration());
+        assertThrows(IllegalArgumentException.class, () -> new CalendarManager(null));
+    }
+}
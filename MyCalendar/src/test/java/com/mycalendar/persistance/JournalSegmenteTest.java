@@ -0,0 +1,380 @@
+package com.mycalendar.persistance;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.CalendarManagerConcurrent;
+import com.mycalendar.UserManager;
+import com.mycalendar.evenements.Evenement;
+import com.mycalendar.securite.Compte;
+import com.mycalendar.securite.EmpreinteMotDePasse;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalSegmenteTest {
+
+    @TempDir
+    Path dossier;
+
+    private Utilisateur roger;
+
+    @BeforeEach
+    void setUp() {
+        roger = new Utilisateur("Roger");
+    }
+
+    private void ajouterRendezVous(CalendarManager calendarManager, int numero) {
+        calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("RDV " + numero), roger,
+            new DateEvenement(2025, 5, 1 + numero % 28), new HeureDebut(numero % 24, 0), new DureeEvenement(30));
+    }
+
+    private List<String> titres(CalendarManager calendarManager) {
+        return calendarManager.getEvenements().stream()
+            .map(evenement -> evenement.getTitre().getValeur())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> fichiers = Files.list(dossier)) {
+            return fichiers
+                .filter(fichier -> fichier.getFileName().toString().endsWith(".log"))
+                .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Après compaction, l'état est relu depuis l'instantané et les segments suivants")
+    void testCompactionExplicite() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        for (int i = 0; i < 20; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        calendarManager.compacter();
+        for (int i = 20; i < 25; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        calendarManager.supprimerEvenement(calendarManager.getEvenements().get(0).getId());
+        List<String> attendus = titres(calendarManager);
+        calendarManager.fermer();
+
+        assertTrue(Files.exists(dossier.resolve(JournalSegmente.INSTANTANE)));
+        assertEquals(1, segments().size(), "Le segment couvert par l'instantané doit être supprimé");
+
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier));
+        assertEquals(attendus, titres(relu));
+        relu.fermer();
+    }
+
+    @Test
+    @DisplayName("L'instantané restitue les événements dans leur ordre d'insertion")
+    void testOrdreInsertionConserve() {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        // Débuts dans le désordre, et deux événements au même instant
+        for (int numero : new int[] {7, 3, 12, 0, 5, 31, 3 + 28}) {
+            ajouterRendezVous(calendarManager, numero);
+        }
+        List<String> attendus = calendarManager.getEvenements().stream()
+            .map(evenement -> evenement.getTitre().getValeur())
+            .collect(Collectors.toList());
+        calendarManager.compacter();
+        calendarManager.fermer();
+
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier));
+        assertEquals(attendus, relu.getEvenements().stream()
+            .map(evenement -> evenement.getTitre().getValeur())
+            .collect(Collectors.toList()));
+        relu.fermer();
+    }
+
+    @Test
+    @DisplayName("L'instantané est livré d'un bloc trié par début, seule la fin du journal est rejouée une à une")
+    void testInstantaneLivreEnBloc() {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        for (int numero : new int[] {7, 3, 12, 0, 5}) {
+            ajouterRendezVous(calendarManager, numero);
+        }
+        calendarManager.compacter();
+        ajouterRendezVous(calendarManager, 20);
+        ajouterRendezVous(calendarManager, 21);
+        calendarManager.fermer();
+
+        List<List<Evenement>> blocs = new ArrayList<>();
+        List<String> ordreAjout = new ArrayList<>();
+        List<String> fin = new ArrayList<>();
+        JournalSegmente journal = new JournalSegmente(dossier);
+        int operations = journal.rejouer((parDebut, ordre) -> {
+            blocs.add(parDebut);
+            for (int position : ordre) {
+                ordreAjout.add(parDebut.get(position).getTitre().getValeur());
+            }
+        }, evenement -> fin.add(evenement.getTitre().getValeur()), id -> fail("Aucune suppression consignée"));
+        journal.close();
+
+        assertEquals(7, operations);
+        assertEquals(1, blocs.size());
+        List<Evenement> parDebut = blocs.get(0);
+        for (int i = 1; i < parDebut.size(); i++) {
+            assertFalse(parDebut.get(i).getDebutEpochMinutes() < parDebut.get(i - 1).getDebutEpochMinutes());
+        }
+        assertEquals(List.of("RDV 7", "RDV 3", "RDV 12", "RDV 0", "RDV 5"), ordreAjout);
+        assertEquals(List.of("RDV 20", "RDV 21"), fin);
+    }
+
+    @Test
+    @DisplayName("Le journal se compacte de lui-même au-delà du seuil")
+    void testCompactionAutomatique() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier, 10));
+        for (int i = 0; i < 35; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        calendarManager.supprimerEvenementsUtilisateur(roger);
+        for (int i = 35; i < 42; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        List<String> attendus = titres(calendarManager);
+        calendarManager.fermer();
+
+        assertEquals(1, segments().size());
+        long tailleSegment = Files.size(segments().get(0));
+
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier, 10));
+        assertEquals(7, relu.getEvenements().size());
+        assertEquals(attendus, titres(relu));
+        relu.fermer();
+        assertTrue(tailleSegment < 10 * 200, "Le segment actif ne garde que les opérations récentes");
+    }
+
+    @Test
+    @DisplayName("Un segment déjà couvert par l'instantané n'est pas rejoué")
+    void testSegmentCouvertIgnore() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        for (int i = 0; i < 5; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        Path ancien = segments().get(0);
+        byte[] contenuAncien = Files.readAllBytes(ancien);
+        calendarManager.compacter();
+        calendarManager.fermer();
+
+        // Simule un arrêt après l'instantané mais avant la suppression du segment
+        Files.write(ancien, contenuAncien);
+        assertEquals(2, segments().size());
+
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier));
+        assertEquals(5, relu.getEvenements().size());
+        relu.fermer();
+        assertFalse(Files.exists(ancien));
+    }
+
+    @Test
+    @DisplayName("Un segment corrompu suivi d'un autre segment fait échouer le rejeu sans rien tronquer")
+    void testSegmentCorrompuAuMilieu() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        for (int i = 0; i < 3; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        Path ancien = segments().get(0);
+        byte[] contenuAncien = Files.readAllBytes(ancien);
+        calendarManager.compacter();
+        ajouterRendezVous(calendarManager, 3);
+        calendarManager.fermer();
+
+        // Sans instantané, les deux segments sont rejoués ; le premier finit par un enregistrement altéré
+        Files.delete(dossier.resolve(JournalSegmente.INSTANTANE));
+        contenuAncien[contenuAncien.length - 6] ^= 0x55;
+        Files.write(ancien, contenuAncien);
+
+        assertThrows(IllegalArgumentException.class, () -> new JournalSegmente(dossier).rejouer(e -> { }, id -> { }));
+        assertArrayEquals(contenuAncien, Files.readAllBytes(ancien));
+        assertEquals(2, segments().size());
+    }
+
+    @Test
+    @DisplayName("Une écriture interrompue n'est tolérée qu'à la fin du dernier segment non vide")
+    void testFinInterrompueAvantSegmentVide() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        for (int i = 0; i < 3; i++) {
+            ajouterRendezVous(calendarManager, i);
+        }
+        Path ancien = segments().get(0);
+        byte[] contenuAncien = Files.readAllBytes(ancien);
+        calendarManager.compacter();
+        calendarManager.fermer();
+
+        // Simule un arrêt pendant la compaction : l'ancien segment finit par une écriture coupée,
+        // le nouveau vient d'être ouvert et l'instantané n'a pas été écrit
+        Files.delete(dossier.resolve(JournalSegmente.INSTANTANE));
+        Files.write(ancien, contenuAncien);
+        Files.write(ancien, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        CalendarManager relu = new CalendarManager(new JournalSegmente(dossier));
+        assertEquals(3, relu.getEvenements().size());
+        relu.fermer();
+        assertEquals(contenuAncien.length, Files.size(ancien));
+    }
+
+    @Test
+    @DisplayName("Un segment manquant fait échouer le rejeu")
+    void testSegmentManquant() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        ajouterRendezVous(calendarManager, 0);
+        calendarManager.compacter();
+        ajouterRendezVous(calendarManager, 1);
+        calendarManager.compacter();
+        ajouterRendezVous(calendarManager, 2);
+        calendarManager.fermer();
+
+        List<Path> restants = segments();
+        assertEquals(1, restants.size());
+        Files.move(restants.get(0), dossier.resolve(restants.get(0).getFileName().toString()
+            .replace("0000000002.log", "0000000003.log")));
+
+        assertThrows(IllegalArgumentException.class, () -> new JournalSegmente(dossier).rejouer(e -> { }, id -> { }));
+    }
+
+    @Test
+    @DisplayName("Un instantané altéré est refusé")
+    void testInstantaneAltere() throws IOException {
+        CalendarManager calendarManager = new CalendarManager(new JournalSegmente(dossier));
+        ajouterRendezVous(calendarManager, 1);
+        calendarManager.compacter();
+        calendarManager.fermer();
+
+        Path instantane = dossier.resolve(JournalSegmente.INSTANTANE);
+        byte[] octets = Files.readAllBytes(instantane);
+        octets[octets.length / 2] ^= 0x55;
+        Files.write(instantane, octets);
+
+        assertThrows(IllegalArgumentException.class, () -> new CalendarManager(new JournalSegmente(dossier)));
+    }
+
+    @Test
+    @DisplayName("Les écritures concurrentes survivent aux compactions")
+    void testCompactionsConcurrentes() throws InterruptedException {
+        CalendarManagerConcurrent calendarManager = new CalendarManagerConcurrent(new JournalSegmente(dossier, 50));
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < 4; s++) {
+            Utilisateur utilisateur = new Utilisateur("Session" + s);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    calendarManager.ajouterRendezVousPersonnel(new TitreEvenement("RDV " + i), utilisateur,
+                        new DateEvenement(2025, 5, 1 + i % 28), new HeureDebut(i % 24, 0), new DureeEvenement(30));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        calendarManager.fermer();
+
+        CalendarManagerConcurrent relu = new CalendarManagerConcurrent(new JournalSegmente(dossier, 50));
+        assertEquals(400, relu.getEvenements().size());
+        relu.fermer();
+    }
+
+    @Test
+    @DisplayName("Le seuil de compaction doit être strictement positif")
+    void testSeuilInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new JournalSegmente(dossier, 0));
+    }
+
+    @Test
+    @DisplayName("Les comptes créés survivent à un redémarrage")
+    void testComptesConserves() {
+        Path fichier = dossier.resolve(DepotComptes.FICHIER);
+        UserManager userManager = new UserManager(new FichierComptes(fichier));
+        assertTrue(userManager.creerCompte("Alice", "Lapin"));
+
+        UserManager relu = new UserManager(new FichierComptes(fichier));
+        assertEquals(3, relu.getNombreUtilisateurs());
+        assertTrue(relu.verifierAuthentification("Alice", "Lapin"));
+        assertTrue(relu.verifierAuthentification("Roger", "Chat"));
+        assertFalse(relu.verifierAuthentification("Alice", "Chat"));
+    }
+
+    @Test
+    @DisplayName("Un compte créé est ajouté au journal sans réécrire l'instantané")
+    void testComptesAjoutesAuJournal() throws IOException {
+        Path fichier = dossier.resolve(DepotComptes.FICHIER);
+        Path journalComptes = dossier.resolve(DepotComptes.FICHIER + ".journal");
+        UserManager userManager = new UserManager(new FichierComptes(fichier));
+        assertFalse(Files.exists(fichier));
+
+        long taille = Files.size(journalComptes);
+        assertTrue(userManager.creerCompte("Alice", "Lapin"));
+        assertTrue(Files.size(journalComptes) > taille);
+        assertFalse(Files.exists(fichier));
+
+        // Le journal plus long que l'instantané est fusionné au chargement
+        UserManager relu = new UserManager(new FichierComptes(fichier));
+        assertTrue(Files.exists(fichier));
+        assertFalse(Files.exists(journalComptes));
+        assertTrue(relu.verifierAuthentification("Alice", "Lapin"));
+
+        assertTrue(relu.creerCompte("Bob", "Renard"));
+        UserManager troisieme = new UserManager(new FichierComptes(fichier));
+        assertEquals(4, troisieme.getNombreUtilisateurs());
+        assertTrue(troisieme.verifierAuthentification("Bob", "Renard"));
+        assertTrue(Files.exists(journalComptes));
+    }
+
+    @Test
+    @DisplayName("Une fin de journal de comptes interrompue est écartée")
+    void testJournalComptesTronque() throws IOException {
+        Path fichier = dossier.resolve(DepotComptes.FICHIER);
+        Path journalComptes = dossier.resolve(DepotComptes.FICHIER + ".journal");
+        new UserManager(new FichierComptes(fichier));
+        Files.write(journalComptes, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        UserManager relu = new UserManager(new FichierComptes(fichier));
+        assertEquals(2, relu.getNombreUtilisateurs());
+        assertTrue(relu.verifierAuthentification("Pierre", "KiRouhl"));
+        assertTrue(relu.creerCompte("Alice", "Lapin"));
+        UserManager troisieme = new UserManager(new FichierComptes(fichier));
+        assertEquals(3, troisieme.getNombreUtilisateurs());
+        assertTrue(troisieme.verifierAuthentification("Alice", "Lapin"));
+    }
+
+    @Test
+    @DisplayName("Les mots de passe en clair d'un ancien fichier de comptes sont remplacés par leur empreinte")
+    void testComptesEnClairConvertis() throws IOException {
+        Path fichier = dossier.resolve(DepotComptes.FICHIER);
+        FichierInstantane.ecrire(fichier, sortie -> {
+            sortie.writeInt(1);
+            sortie.writeUTF("Roger");
+            sortie.writeUTF("Chat");
+        });
+
+        UserManager userManager = new UserManager(new FichierComptes(fichier));
+        assertTrue(userManager.verifierAuthentification("Roger", "Chat"));
+
+        String contenu = new String(Files.readAllBytes(fichier), StandardCharsets.UTF_8);
+        assertFalse(contenu.contains("Chat"));
+        assertTrue(contenu.contains("$pbkdf2-sha256$"));
+    }
+
+    @Test
+    @DisplayName("Le dépôt en mémoire ne conserve rien")
+    void testComptesEnMemoire() {
+        DepotComptes depot = DepotComptes.enMemoire();
+        depot.ajouter(new Compte(roger, EmpreinteMotDePasse.calculer("Chat", 1)));
+        assertTrue(depot.charger().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new UserManager(null));
+    }
+}
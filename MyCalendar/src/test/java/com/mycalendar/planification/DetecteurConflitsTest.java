@@ -0,0 +1,134 @@
+package com.mycalendar.planification;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DetecteurConflitsTest {
+
+    private Utilisateur roger;
+
+    @BeforeEach
+    void setUp() {
+        roger = new Utilisateur("Roger");
+    }
+
+    @Test
+    @DisplayName("Deux événements qui se chevauchent doivent former un conflit")
+    void testChevauchement() {
+        Evenement matin = rdv(9, 0, 90);
+        Evenement reunion = rdv(10, 0, 60);
+        Evenement apresMidi = rdv(14, 0, 30);
+
+        List<Conflit> conflits = DetecteurConflits.detecter(List.of(apresMidi, reunion, matin));
+
+        assertEquals(List.of(new Conflit(matin, reunion)), conflits);
+        assertEquals(30, conflits.get(0).getMinutesChevauchement());
+    }
+
+    @Test
+    @DisplayName("Des événements qui se touchent ne doivent pas être en conflit")
+    void testEvenementsContigus() {
+        Evenement premier = rdv(9, 0, 60);
+        Evenement second = rdv(10, 0, 60);
+
+        assertTrue(DetecteurConflits.detecter(List.of(premier, second)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les événements qui ne bloquent pas le calendrier doivent être ignorés")
+    void testEvenementsNonBloquants() {
+        Evenement rdv = rdv(9, 0, 60);
+        Tache basse = new Tache(new TitreEvenement("Ranger"), roger, new DateEvenement(2025, 4, 10),
+                new HeureDebut(9, 0), new DureeEvenement(60), PrioriteTache.BASSE);
+        EvenementPeriodique periodique = new EvenementPeriodique(new TitreEvenement("Stand-up"), roger,
+                new DateEvenement(2025, 4, 10), new HeureDebut(9, 0), FrequenceEvenement.quotidienne());
+
+        assertTrue(DetecteurConflits.detecter(List.of(rdv, basse, periodique)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Le détecteur doit trouver les mêmes conflits que la comparaison de toutes les paires")
+    void testEquivalenceToutesLesPaires() {
+        Random random = new Random(7);
+        List<Evenement> evenements = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Evenement evenement = i % 7 == 0
+                ? new Tache(new TitreEvenement("Tâche " + i), roger,
+                    new DateEvenement(2025, 4, 1 + random.nextInt(5)),
+                    new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                    new DureeEvenement(random.nextInt(120)),
+                    PrioriteTache.values()[random.nextInt(PrioriteTache.values().length)])
+                : new RendezVousPersonnel(new TitreEvenement("RDV " + i), roger,
+                    new DateEvenement(2025, 4, 1 + random.nextInt(5)),
+                    new HeureDebut(random.nextInt(24), random.nextInt(60)),
+                    new DureeEvenement(random.nextInt(180)));
+            evenements.add(evenement);
+        }
+
+        Set<Set<Evenement>> attendus = new HashSet<>();
+        for (int i = 0; i < evenements.size(); i++) {
+            for (int j = i + 1; j < evenements.size(); j++) {
+                Evenement a = evenements.get(i);
+                Evenement b = evenements.get(j);
+                if (a.estEnConflitAvec(b) && b.estEnConflitAvec(a)) {
+                    attendus.add(Set.of(a, b));
+                }
+            }
+        }
+
+        List<Conflit> conflits = DetecteurConflits.detecter(evenements);
+        Set<Set<Evenement>> trouves = new HashSet<>();
+        for (Conflit conflit : conflits) {
+            assertTrue(conflit.getPremier().getDebutEpochMinutes() <= conflit.getSecond().getDebutEpochMinutes());
+            trouves.add(Set.of(conflit.getPremier(), conflit.getSecond()));
+        }
+
+        assertEquals(attendus.size(), conflits.size());
+        assertEquals(attendus, trouves);
+    }
+
+    @Test
+    @DisplayName("Le gestionnaire doit détecter les conflits de l'agenda d'un participant")
+    void testConflitsAgendaUtilisateur() {
+        Utilisateur pierre = new Utilisateur("Pierre");
+        Evenement rdvRoger = rdv(10, 30, 60);
+        Evenement reunionPierre = new Reunion(new TitreEvenement("Point"), pierre,
+                new DateEvenement(2025, 4, 10), new HeureDebut(10, 0), new DureeEvenement(60),
+                new LieuEvenement("Salle A"), ParticipantsEvenement.avecUtilisateurs(List.of(roger)));
+        Evenement rdvPierre = new RendezVousPersonnel(new TitreEvenement("Dentiste"), pierre,
+                new DateEvenement(2025, 4, 10), new HeureDebut(10, 45), new DureeEvenement(30));
+
+        CalendarManager calendarManager = new CalendarManager();
+        calendarManager.ajouterEvenement(rdvRoger);
+        calendarManager.ajouterEvenement(reunionPierre);
+        calendarManager.ajouterEvenement(rdvPierre);
+
+        assertEquals(List.of(new Conflit(reunionPierre, rdvRoger)), calendarManager.detecterConflits(roger));
+        assertEquals(List.of(new Conflit(reunionPierre, rdvPierre)), calendarManager.detecterConflits(pierre));
+        assertEquals(3, calendarManager.detecterConflits(
+                LocalDateTime.of(2025, 4, 10, 0, 0), LocalDateTime.of(2025, 4, 10, 23, 59)).size());
+    }
+
+    private Evenement rdv(int heure, int minute, int duree) {
+        return new RendezVousPersonnel(
+            new TitreEvenement("RDV"),
+            roger,
+            new DateEvenement(2025, 4, 10),
+            new HeureDebut(heure, minute),
+            new DureeEvenement(duree)
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package com.mycalendar.planification;
+
+import com.mycalendar.CalendarManager;
+import com.mycalendar.evenements.MinutesEpoch;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanificateurCreneauxTest {
+
+    private static final LocalDateTime LUNDI = LocalDateTime.of(2025, 6, 16, 0, 0);
+
+    private CalendarManager calendarManager;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+
+    @BeforeEach
+    void setUp() {
+        calendarManager = new CalendarManager();
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+    }
+
+    @Test
+    @DisplayName("Les périodes occupées qui se chevauchent doivent être fusionnées")
+    void testFusion() {
+        PlanificateurCreneaux planificateur = new PlanificateurCreneaux(minute(8, 0), minute(18, 0));
+        planificateur.occuper(minute(9, 0), minute(10, 30));
+        planificateur.occuper(minute(10, 0), minute(11, 0));
+        planificateur.occuper(minute(9, 30), minute(9, 45));
+        planificateur.occuper(minute(14, 0), minute(15, 0));
+
+        List<CreneauLibre> creneaux = planificateur.trouver(60, 10);
+
+        assertEquals(List.of(creneau(8, 0, 9, 0), creneau(11, 0, 14, 0), creneau(15, 0, 18, 0)), creneaux);
+    }
+
+    @Test
+    @DisplayName("Seules les plages assez longues doivent être retenues, dans la limite demandée")
+    void testDureeEtNombre() {
+        PlanificateurCreneaux planificateur = new PlanificateurCreneaux(minute(8, 0), minute(18, 0));
+        planificateur.occuper(minute(8, 30), minute(12, 0));
+        planificateur.occuper(minute(13, 0), minute(15, 0));
+
+        assertEquals(List.of(creneau(12, 0, 13, 0)), planificateur.trouver(45, 1));
+        assertEquals(List.of(creneau(15, 0, 18, 0)), planificateur.trouver(90, 5));
+    }
+
+    @Test
+    @DisplayName("Une période de durée nulle doit couper la plage libre qui la contient")
+    void testPeriodeDeDureeNulle() {
+        PlanificateurCreneaux planificateur = new PlanificateurCreneaux(minute(8, 0), minute(12, 0));
+        planificateur.occuper(minute(10, 0), minute(10, 0));
+
+        assertEquals(List.of(creneau(8, 0, 10, 0), creneau(10, 0, 12, 0)), planificateur.trouver(60, 5));
+        assertTrue(planificateur.trouver(150, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les heures d'ouverture doivent limiter chaque jour de la fenêtre")
+    void testHoraires() {
+        PlanificateurCreneaux planificateur = new PlanificateurCreneaux(minute(0, 0),
+                minute(0, 0) + 2 * MinutesEpoch.MINUTES_PAR_JOUR);
+        planificateur.horaires(LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        List<CreneauLibre> creneaux = planificateur.trouver(60, 5);
+
+        assertEquals(2, creneaux.size());
+        assertEquals(creneau(9, 0, 17, 0), creneaux.get(0));
+        assertEquals(LUNDI.plusDays(1).withHour(9), creneaux.get(1).getDebut());
+    }
+
+    @Test
+    @DisplayName("Le calendrier doit croiser les agendas de tous les participants")
+    void testCalendrier() {
+        reunion(roger, 9, 0, 120, roger);
+        reunion(pierre, 13, 0, 60, pierre);
+        reunion(new Utilisateur("Sophie"), 11, 0, 60, new Utilisateur("Sophie"));
+        ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(List.of(roger, pierre));
+
+        List<CreneauLibre> creneaux = calendarManager.trouverCreneauxLibres(participants, new DureeEvenement(60),
+                LUNDI, LUNDI.plusDays(1), LocalTime.of(8, 0), LocalTime.of(18, 0), 3);
+
+        assertEquals(List.of(creneau(8, 0, 9, 0), creneau(11, 0, 13, 0), creneau(14, 0, 18, 0)), creneaux);
+    }
+
+    @Test
+    @DisplayName("Les occurrences des événements périodiques des participants doivent être prises en compte")
+    void testEvenementsPeriodiques() {
+        calendarManager.ajouterEvenementPeriodique(new TitreEvenement("Point quotidien"), roger,
+                new DateEvenement(2025, 6, 1), new HeureDebut(10, 0), FrequenceEvenement.quotidienne());
+        ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(List.of(roger));
+
+        List<CreneauLibre> creneaux = calendarManager.trouverCreneauxLibres(participants, new DureeEvenement(60),
+                LUNDI.withHour(8), LUNDI.withHour(12), 5);
+
+        assertEquals(List.of(creneau(8, 0, 10, 0), creneau(10, 0, 12, 0)), creneaux);
+    }
+
+    @Test
+    @DisplayName("Les données invalides doivent être rejetées")
+    void testDonneesInvalides() {
+        ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(List.of(roger));
+        DureeEvenement heure = new DureeEvenement(60);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> calendarManager.trouverCreneauxLibres(null, heure, LUNDI, LUNDI.plusDays(1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendarManager.trouverCreneauxLibres(participants, heure, LUNDI, LUNDI, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> calendarManager.trouverCreneauxLibres(participants, heure, LUNDI, LUNDI.plusDays(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> calendarManager.trouverCreneauxLibres(participants,
+                heure, LUNDI, LUNDI.plusDays(1), LocalTime.of(18, 0), LocalTime.of(8, 0), 1));
+    }
+
+    private void reunion(Utilisateur proprietaire, int heure, int minute, int duree, Utilisateur participant) {
+        calendarManager.ajouterReunion(new TitreEvenement("Réunion"), proprietaire,
+                DateEvenement.fromLocalDate(LUNDI.toLocalDate()), new HeureDebut(heure, minute),
+                new DureeEvenement(duree), new LieuEvenement("Salle"),
+                ParticipantsEvenement.avecUtilisateurs(List.of(participant)));
+    }
+
+    private static long minute(int heure, int minute) {
+        return MinutesEpoch.plancher(LUNDI.withHour(heure).withMinute(minute));
+    }
+
+    private static CreneauLibre creneau(int heureDebut, int minuteDebut, int heureFin, int minuteFin) {
+        return new CreneauLibre(LUNDI.withHour(heureDebut).withMinute(minuteDebut),
+                LUNDI.withHour(heureFin).withMinute(minuteFin));
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycalendar.recherche;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexPrefixesTest {
+    
+    private IndexPrefixes index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new IndexPrefixes();
+        for (String nom : List.of("Roger", "rogerio", "Rodrigue", "Hélène", "helene", "Pierre")) {
+            index.ajouter(nom);
+        }
+    }
+    
+    @Test
+    @DisplayName("Les propositions doivent suivre l'ordre alphabétique, nom exact en tête")
+    void testOrdre() {
+        assertEquals(List.of("Rodrigue", "Roger", "rogerio"), index.completer("ro", 10));
+        assertEquals(List.of("Roger", "rogerio"), index.completer("roger", 10));
+        assertEquals(List.of("Rodrigue"), index.completer("ro", 1));
+    }
+    
+    @Test
+    @DisplayName("Deux noms de même forme normalisée doivent rester distincts")
+    void testFormesIdentiques() {
+        assertEquals(2, index.completer("HELE", 10).size());
+        assertTrue(index.completer("hél", 10).containsAll(List.of("Hélène", "helene")));
+        assertEquals(6, index.getNombreNoms());
+    }
+    
+    @Test
+    @DisplayName("Un nom retiré ne doit plus être proposé")
+    void testRetirer() {
+        assertTrue(index.retirer("Roger"));
+        assertFalse(index.retirer("Roger"));
+        assertEquals(List.of("rogerio"), index.completer("rog", 10));
+    }
+    
+    @Test
+    @DisplayName("Une saisie vide ne propose rien et un nombre invalide est refusé")
+    void testLimites() {
+        assertTrue(index.completer("", 10).isEmpty());
+        assertTrue(index.completer(null, 10).isEmpty());
+        assertTrue(index.completer("xyz", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.completer("ro", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.ajouter(null));
+    }
+}
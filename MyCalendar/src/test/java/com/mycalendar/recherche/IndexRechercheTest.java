@@ -0,0 +1,154 @@
+package com.mycalendar.recherche;
+
+import com.mycalendar.evenements.*;
+import com.mycalendar.valueobjects.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexRechercheTest {
+    
+    private IndexRecherche index;
+    private Utilisateur roger;
+    private Utilisateur sophie;
+    private Evenement medecin;
+    private Evenement reunionEquipe;
+    private Evenement pointEquipe;
+    
+    @BeforeEach
+    void setUp() {
+        index = new IndexRecherche();
+        roger = new Utilisateur("Roger");
+        sophie = new Utilisateur("Sophie");
+        
+        medecin = new RendezVousPersonnel(
+            new TitreEvenement("Médecin"),
+            roger,
+            new DateEvenement(2025, 4, 10),
+            new HeureDebut(14, 30),
+            new DureeEvenement(60)
+        );
+        reunionEquipe = reunion("Réunion d'équipe", 12, "Salle Médicis");
+        pointEquipe = reunion("Point hebdomadaire", 11, "Équipe projet");
+        
+        index.ajouterTous(List.of(medecin, reunionEquipe, pointEquipe));
+    }
+    
+    private Evenement reunion(String titre, int jour, String lieu) {
+        return new Reunion(
+            new TitreEvenement(titre),
+            roger,
+            new DateEvenement(2025, 4, jour),
+            new HeureDebut(10, 0),
+            new DureeEvenement(60),
+            new LieuEvenement(lieu),
+            ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, sophie))
+        );
+    }
+    
+    @Test
+    @DisplayName("La recherche doit ignorer les accents et les majuscules")
+    void testAccents() {
+        assertEquals(List.of(medecin), index.rechercher("MEDECIN", 10));
+        assertEquals(List.of(reunionEquipe), index.rechercher("réunion", 10));
+    }
+    
+    @Test
+    @DisplayName("Un terme du titre doit passer avant le même terme dans le lieu")
+    void testClassementParChamp() {
+        // Le point d'équipe est plus tôt, mais « équipe » n'est que son lieu
+        assertEquals(List.of(reunionEquipe, pointEquipe), index.rechercher("equipe", 10));
+    }
+    
+    @Test
+    @DisplayName("Tous les mots de la requête doivent être présents, le dernier pouvant être un début de terme")
+    void testIntersectionEtPrefixe() {
+        assertEquals(List.of(reunionEquipe), index.rechercher("equipe salle", 10));
+        assertEquals(List.of(reunionEquipe), index.rechercher("equipe medi", 10));
+        // Le préfixe « med » désigne aussi « medecin » ; le titre l'emporte sur le lieu
+        assertEquals(List.of(medecin, reunionEquipe), index.rechercher("med", 10));
+        assertTrue(index.rechercher("equipe piscine", 10).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Un début de mot ne se développe qu'en ses termes les plus fréquents")
+    void testPrefixeBorne() {
+        List<Evenement> frequents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Evenement marche = reunion("Marché", 1 + i, "Place");
+            frequents.add(marche);
+            index.ajouter(marche);
+        }
+        List<Evenement> rares = new ArrayList<>();
+        for (int i = 0; i < IndexRecherche.PREFIXE_TERMES_MAX + 10; i++) {
+            Evenement rare = reunion("Marche" + i, 20, "Place");
+            rares.add(rare);
+            index.ajouter(rare);
+        }
+        
+        List<Evenement> trouves = index.rechercher("mar", 1000);
+        // Le terme fréquent et les termes rares retenus pour compléter la limite
+        assertEquals(3 + IndexRecherche.PREFIXE_TERMES_MAX - 1, trouves.size());
+        assertTrue(trouves.containsAll(frequents));
+        // Un terme écarté du développement reste trouvé, en tête, par son mot entier
+        for (int i = 0; i < rares.size(); i++) {
+            assertEquals(List.of(rares.get(i)), index.rechercher("marche" + i, 1));
+        }
+    }
+    
+    @Test
+    @DisplayName("Les participants et le propriétaire doivent être cherchables")
+    void testParticipants() {
+        assertEquals(List.of(pointEquipe, reunionEquipe), index.rechercher("sophie", 10));
+        assertEquals(3, index.rechercher("roger", 10).size());
+        assertEquals(1, index.rechercher("roger", 1).size());
+    }
+    
+    @Test
+    @DisplayName("Un événement retiré ne doit plus être trouvé, un événement remplacé doit l'être sous sa nouvelle forme")
+    void testRetraitEtRemplacement() {
+        assertTrue(index.retirer(reunionEquipe));
+        assertFalse(index.retirer(reunionEquipe));
+        assertEquals(List.of(pointEquipe), index.rechercher("equipe", 10));
+        assertEquals(2, index.getNombreEvenements());
+        
+        Evenement renomme = new RendezVousPersonnel(medecin.getId(), new TitreEvenement("Dentiste"), roger,
+            new DateEvenement(2025, 4, 10), new HeureDebut(14, 30), new DureeEvenement(60));
+        index.ajouter(renomme);
+        assertTrue(index.rechercher("medecin", 10).isEmpty());
+        assertEquals(List.of(renomme), index.rechercher("dentiste", 10));
+        assertEquals(2, index.getNombreEvenements());
+    }
+    
+    @Test
+    @DisplayName("La reconstruction après de nombreux retraits doit conserver les événements restants")
+    void testReconstruction() {
+        List<Evenement> evenements = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            evenements.add(new RendezVousPersonnel(new TitreEvenement("Séance " + i), sophie,
+                new DateEvenement(2025, 5, 1 + i % 28), new HeureDebut(8, 0), new DureeEvenement(30)));
+        }
+        index.ajouterTous(evenements);
+        index.modifier(evenements.subList(0, 4990), List.of());
+        
+        assertEquals(13, index.getNombreEvenements());
+        assertEquals(10, index.rechercher("seance", 100).size());
+        assertEquals(List.of(evenements.get(4995)), index.rechercher("seance 4995", 100));
+        assertEquals(List.of(medecin), index.rechercher("medecin", 10));
+    }
+    
+    @Test
+    @DisplayName("Une requête sans terme ne trouve rien, une requête invalide est refusée")
+    void testRequetesLimites() {
+        assertTrue(index.rechercher("de la", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.rechercher(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.rechercher("equipe", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.ajouter(null));
+    }
+}
@@ -0,0 +1,28 @@
+package com.mycalendar.recherche;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TexteRechercheTest {
+    
+    @Test
+    @DisplayName("Les termes doivent être en minuscules et sans accents")
+    void testNormalisation() {
+        assertEquals(List.of("reunion", "equipe"), TexteRecherche.termes("Réunion d'équipe"));
+        assertEquals(List.of("noel", "foret", "coeur"), TexteRecherche.termes("NOËL en Forêt, Cœur"));
+        assertEquals("ecole", TexteRecherche.normaliser("École"));
+    }
+    
+    @Test
+    @DisplayName("Les mots outils et les termes d'une lettre doivent être écartés")
+    void testMotsOutils() {
+        assertEquals(List.of("salle", "12"), TexteRecherche.termes("Salle A de la 12"));
+        assertEquals(List.of("jean", "pierre"), TexteRecherche.termes("Jean-Pierre"));
+        assertTrue(TexteRecherche.termes("  ... ").isEmpty());
+        assertTrue(TexteRecherche.termes(null).isEmpty());
+    }
+}
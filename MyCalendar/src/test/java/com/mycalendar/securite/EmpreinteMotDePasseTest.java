@@ -0,0 +1,68 @@
+package com.mycalendar.securite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmpreinteMotDePasseTest {
+
+    private static final int ITERATIONS = 1000;
+
+    @Test
+    @DisplayName("Seul le bon mot de passe correspond à l'empreinte")
+    void testVerification() {
+        EmpreinteMotDePasse empreinte = EmpreinteMotDePasse.calculer("Chat", ITERATIONS);
+
+        assertTrue(empreinte.verifier("Chat"));
+        assertFalse(empreinte.verifier("chat"));
+        assertFalse(empreinte.verifier("Chat "));
+        assertFalse(empreinte.verifier(""));
+        assertFalse(empreinte.verifier(null));
+    }
+
+    @Test
+    @DisplayName("Deux empreintes du même mot de passe diffèrent par leur sel")
+    void testSel() {
+        EmpreinteMotDePasse premiere = EmpreinteMotDePasse.calculer("Chat", ITERATIONS);
+        EmpreinteMotDePasse seconde = EmpreinteMotDePasse.calculer("Chat", ITERATIONS);
+
+        assertNotEquals(premiere, seconde);
+        assertNotEquals(premiere.encoder(), seconde.encoder());
+        assertTrue(seconde.verifier("Chat"));
+    }
+
+    @Test
+    @DisplayName("L'empreinte encodée se relit à l'identique, sans révéler le mot de passe")
+    void testEncodage() {
+        EmpreinteMotDePasse empreinte = EmpreinteMotDePasse.calculer("MotDePasseSecret", ITERATIONS);
+        String encodee = empreinte.encoder();
+
+        assertTrue(EmpreinteMotDePasse.estEncodee(encodee));
+        assertFalse(encodee.contains("MotDePasseSecret"));
+        assertFalse(empreinte.toString().contains(encodee));
+
+        EmpreinteMotDePasse relue = EmpreinteMotDePasse.decoder(encodee);
+        assertEquals(empreinte, relue);
+        assertEquals(ITERATIONS, relue.getIterations());
+        assertTrue(relue.verifier("MotDePasseSecret"));
+    }
+
+    @Test
+    @DisplayName("Un texte qui n'est pas une empreinte est refusé")
+    void testDecodageInvalide() {
+        assertFalse(EmpreinteMotDePasse.estEncodee("Chat"));
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.decoder("Chat"));
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.decoder("$pbkdf2-sha256$1000$AAAA"));
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.decoder("$pbkdf2-sha256$x$AAAA$AAAA"));
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.decoder("$pbkdf2-sha256$1000$@@$AAAA"));
+    }
+
+    @Test
+    @DisplayName("Le mot de passe et le nombre d'itérations sont validés")
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.calculer(null, ITERATIONS));
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.calculer("", ITERATIONS));
+        assertThrows(IllegalArgumentException.class, () -> EmpreinteMotDePasse.calculer("Chat", 0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycalendar.securite;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerificateurMotsDePasseTest {
+
+    private VerificateurMotsDePasse verificateur;
+
+    @AfterEach
+    void tearDown() {
+        verificateur.close();
+    }
+
+    @Test
+    @DisplayName("Les empreintes calculées par le vérificateur se vérifient et sont comptées")
+    void testCalculerEtVerifier() {
+        verificateur = new VerificateurMotsDePasse(1000, 1, 4);
+        EmpreinteMotDePasse empreinte = verificateur.calculer("Chat");
+
+        assertEquals(1000, empreinte.getIterations());
+        assertTrue(verificateur.verifier(empreinte, "Chat"));
+        assertFalse(verificateur.verifier(empreinte, "Chien"));
+        assertEquals(3, verificateur.getOperations());
+        assertTrue(verificateur.getLatenceMaxNanos() >= verificateur.getLatenceMoyenneNanos());
+        assertTrue(verificateur.getLatenceMoyenneNanos() > 0);
+        assertEquals(0, verificateur.getFileAttente());
+    }
+
+    @Test
+    @DisplayName("Sans empreinte, la vérification échoue après un calcul sur un leurre")
+    void testCompteInconnu() {
+        verificateur = new VerificateurMotsDePasse(1000, 1, 4);
+
+        assertFalse(verificateur.verifier(null, "leurre"));
+        assertFalse(verificateur.verifier(null, "Chat"));
+        assertEquals(2, verificateur.getOperations());
+    }
+
+    @Test
+    @DisplayName("Au-delà du parallélisme et de la file, les demandes sont refusées")
+    void testFileBornee() throws InterruptedException {
+        // Un calcul long occupe l'unique fil pendant que d'autres demandes arrivent
+        verificateur = new VerificateurMotsDePasse(500_000, 1, 2);
+        int demandes = 8;
+        CountDownLatch depart = new CountDownLatch(1);
+        AtomicInteger refusees = new AtomicInteger();
+        List<Thread> fils = new ArrayList<>();
+        for (int i = 0; i < demandes; i++) {
+            Thread fil = new Thread(() -> {
+                try {
+                    depart.await();
+                    verificateur.calculer("Chat");
+                } catch (IllegalStateException e) {
+                    refusees.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            fil.start();
+            fils.add(fil);
+        }
+
+        depart.countDown();
+        for (Thread fil : fils) {
+            fil.join();
+        }
+
+        // Un calcul en cours et deux en file au plus à un instant donné
+        assertTrue(refusees.get() >= 1, "refus : " + refusees.get());
+        assertEquals(refusees.get(), verificateur.getRefus());
+        assertEquals(demandes - refusees.get(), verificateur.getOperations());
+    }
+
+    @Test
+    @DisplayName("Les paramètres du vérificateur sont validés")
+    void testParametresInvalides() {
+        verificateur = new VerificateurMotsDePasse(1, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> new VerificateurMotsDePasse(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VerificateurMotsDePasse(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VerificateurMotsDePasse(1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> verificateur.calculer(""));
+    }
+}
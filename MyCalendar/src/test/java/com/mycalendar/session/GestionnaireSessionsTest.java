@@ -0,0 +1,142 @@
+package com.mycalendar.session;
+
+import com.mycalendar.valueobjects.Utilisateur;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GestionnaireSessionsTest {
+
+    private HorlogeReglable horloge;
+    private GestionnaireSessions sessions;
+    private Utilisateur roger;
+    private Utilisateur pierre;
+
+    @BeforeEach
+    void setUp() {
+        horloge = new HorlogeReglable();
+        sessions = new GestionnaireSessions(3, Duration.ofMinutes(30), horloge);
+        roger = new Utilisateur("Roger");
+        pierre = new Utilisateur("Pierre");
+    }
+
+    @Test
+    @DisplayName("Le jeton d'une session ouverte reconnaît son titulaire jusqu'à sa fermeture")
+    void testOuvrirEtFermer() {
+        JetonSession jeton = sessions.ouvrir(roger);
+
+        assertEquals(roger, sessions.utilisateur(jeton));
+        assertEquals(roger, sessions.utilisateur(JetonSession.fromString(jeton.getValeur())));
+
+        sessions.fermer(jeton);
+        assertNull(sessions.utilisateur(jeton));
+        assertEquals(0, sessions.getNombreSessions());
+    }
+
+    @Test
+    @DisplayName("Un utilisateur peut ouvrir plusieurs sessions simultanées")
+    void testSessionsSimultanees() {
+        JetonSession premiere = sessions.ouvrir(roger);
+        JetonSession seconde = sessions.ouvrir(roger);
+        JetonSession autre = sessions.ouvrir(pierre);
+
+        assertNotEquals(premiere, seconde);
+        assertEquals(3, sessions.getNombreSessions());
+
+        sessions.fermer(premiere);
+        assertEquals(roger, sessions.utilisateur(seconde));
+        assertEquals(pierre, sessions.utilisateur(autre));
+    }
+
+    @Test
+    @DisplayName("Une session expire après la durée d'inactivité, chaque accès la prolongeant")
+    void testExpiration() {
+        JetonSession active = sessions.ouvrir(roger);
+        JetonSession oubliee = sessions.ouvrir(pierre);
+
+        horloge.avancer(Duration.ofMinutes(20));
+        assertEquals(roger, sessions.utilisateur(active));
+
+        horloge.avancer(Duration.ofMinutes(20));
+        assertEquals(roger, sessions.utilisateur(active));
+        assertNull(sessions.utilisateur(oubliee));
+        assertEquals(1, sessions.getNombreSessions());
+
+        horloge.avancer(Duration.ofMinutes(30));
+        assertEquals(0, sessions.getNombreSessions());
+        assertNull(sessions.utilisateur(active));
+    }
+
+    @Test
+    @DisplayName("Au-delà de la capacité, la session utilisée le moins récemment est fermée")
+    void testCapacite() {
+        JetonSession premiere = sessions.ouvrir(roger);
+        JetonSession deuxieme = sessions.ouvrir(pierre);
+        JetonSession troisieme = sessions.ouvrir(roger);
+
+        // La première session redevient la plus récemment utilisée
+        sessions.utilisateur(premiere);
+        JetonSession quatrieme = sessions.ouvrir(pierre);
+
+        assertEquals(3, sessions.getNombreSessions());
+        assertNull(sessions.utilisateur(deuxieme));
+        assertNotNull(sessions.utilisateur(premiere));
+        assertNotNull(sessions.utilisateur(troisieme));
+        assertNotNull(sessions.utilisateur(quatrieme));
+    }
+
+    @Test
+    @DisplayName("Un jeton inconnu, null ou mal formé n'identifie personne")
+    void testJetonsInvalides() {
+        sessions.ouvrir(roger);
+
+        assertNull(sessions.utilisateur(null));
+        assertNull(sessions.utilisateur(JetonSession.fromString("inconnu")));
+        assertThrows(IllegalArgumentException.class, () -> JetonSession.fromString(" "));
+        JetonSession jeton = sessions.ouvrir(pierre);
+        assertFalse(jeton.toString().contains(jeton.getValeur()));
+    }
+
+    @Test
+    @DisplayName("Les paramètres du gestionnaire sont validés")
+    void testParametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> new GestionnaireSessions(0, Duration.ofMinutes(1), horloge));
+        assertThrows(IllegalArgumentException.class, () -> new GestionnaireSessions(1, Duration.ZERO, horloge));
+        assertThrows(IllegalArgumentException.class, () -> new GestionnaireSessions(1, Duration.ofMinutes(1), null));
+        assertThrows(IllegalArgumentException.class, () -> sessions.ouvrir(null));
+    }
+
+    /**
+     * Horloge avancée à la main par les tests
+     */
+    private static final class HorlogeReglable extends Clock {
+        private Instant maintenant = Instant.parse("2025-04-14T08:00:00Z");
+
+        void avancer(Duration duree) {
+            maintenant = maintenant.plus(duree);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return maintenant;
+        }
+    }
+}
@@ -64,4 +64,39 @@ public class EventIdTest {
         
         assertEquals(valeur, id.toString());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Un identifiant généré doit être retrouvé à partir de sa forme textuelle")
+    void testAllerRetourFormeTextuelle() {
+        EventId genere = EventId.generate();
+        
+        EventId relu = new EventId(genere.getValeur());
+        
+        assertEquals(genere, relu);
+        assertEquals(genere.hashCode(), relu.hashCode());
+        assertEquals(36, genere.getValeur().length());
+    }
+    
+    @Test
+    @DisplayName("Une valeur au format UUID doit être restituée à l'identique")
+    void testValeurUuid() {
+        String minuscule = "123e4567-e89b-12d3-a456-426614174000";
+        String majuscule = "123E4567-E89B-12D3-A456-426614174000";
+        
+        assertEquals(minuscule, new EventId(minuscule).getValeur());
+        assertEquals(majuscule, new EventId(majuscule).getValeur());
+        assertNotEquals(new EventId(minuscule), new EventId(majuscule));
+    }
+
+    @Test
+    @DisplayName("Un UUID doit être recréé à l'identique à partir de ses deux moitiés")
+    void testFromUuid() {
+        EventId genere = EventId.generate();
+        assertTrue(genere.estUuid());
+
+        EventId recree = EventId.fromUuid(genere.getPoidsFort(), genere.getPoidsFaible());
+        assertEquals(genere, recree);
+        assertEquals(genere.getValeur(), recree.getValeur());
+        assertFalse(new EventId("evenement-42").estUuid());
+    }
+}
@@ -19,9 +19,9 @@ public class ParticipantsEvenementTest {
     @Test
     @DisplayName("La création à partir d'une liste d'Utilisateurs doit fonctionner")
     void testCreationListeUtilisateurs() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
+        Utilisateur sophie = new Utilisateur("Sophie");
         List<Utilisateur> listeUtilisateurs = Arrays.asList(roger, pierre, sophie);
         
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(listeUtilisateurs);
@@ -44,8 +44,8 @@ public class ParticipantsEvenementTest {
     @Test
     @DisplayName("La création avec une liste contenant des valeurs null doit les filtrer")
     void testFiltreUtilisateursNull() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
         List<Utilisateur> listeAvecNull = new ArrayList<>();
         listeAvecNull.add(roger);
         listeAvecNull.add(null);
@@ -61,8 +61,8 @@ public class ParticipantsEvenementTest {
     @Test
     @DisplayName("Deux instances avec les mêmes utilisateurs doivent être égales")
     void testEgalite() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
         
         ParticipantsEvenement participants1 = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, pierre));
         ParticipantsEvenement participants2 = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, pierre));
@@ -74,9 +74,9 @@ public class ParticipantsEvenementTest {
     @Test
     @DisplayName("Deux instances avec des utilisateurs différents ne doivent pas être égales")
     void testNonEgalite() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
+        Utilisateur sophie = new Utilisateur("Sophie");
         
         ParticipantsEvenement participants1 = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, pierre));
         ParticipantsEvenement participants2 = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, sophie));
@@ -87,28 +87,28 @@ public class ParticipantsEvenementTest {
     @Test
     @DisplayName("La méthode getUtilisateurs doit retourner une liste immuable")
     void testGetUtilisateursImmuable() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
         List<Utilisateur> liste = new ArrayList<>(Arrays.asList(roger, pierre));
         
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(liste);
         
-        liste.add(new Utilisateur("Sophie", "Pass123"));
+        liste.add(new Utilisateur("Sophie"));
         
         assertEquals(2, participants.getNombreParticipants());
         
         List<Utilisateur> listeRetournee = participants.getUtilisateurs();
         assertThrows(UnsupportedOperationException.class, () -> {
-            listeRetournee.add(new Utilisateur("Sophie", "Pass123"));
+            listeRetournee.add(new Utilisateur("Sophie"));
         });
     }
     
     @Test
     @DisplayName("La méthode contientUtilisateur doit détecter correctement la présence d'un utilisateur")
     void testContientUtilisateur() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
-        Utilisateur sophie = new Utilisateur("Sophie", "Pass123");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
+        Utilisateur sophie = new Utilisateur("Sophie");
         
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, pierre));
         
@@ -117,15 +117,15 @@ public class ParticipantsEvenementTest {
         assertFalse(participants.contientUtilisateur(sophie));
         assertFalse(participants.contientUtilisateur(null));
         
-        Utilisateur autrePierre = new Utilisateur("Pierre", "AutreMotDePasse");
+        Utilisateur autrePierre = new Utilisateur("Pierre");
         assertTrue(participants.contientUtilisateur(autrePierre));
     }
     
     @Test
     @DisplayName("La méthode contientUtilisateurParIdentifiant doit fonctionner")
     void testContientUtilisateurParIdentifiant() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
         
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, pierre));
         
@@ -139,8 +139,8 @@ public class ParticipantsEvenementTest {
     @Test
     @DisplayName("La méthode toString doit retourner les identifiants des utilisateurs")
     void testToString() {
-        Utilisateur roger = new Utilisateur("Roger", "Chat");
-        Utilisateur pierre = new Utilisateur("Pierre", "KiRouhl");
+        Utilisateur roger = new Utilisateur("Roger");
+        Utilisateur pierre = new Utilisateur("Pierre");
         
         ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(Arrays.asList(roger, pierre));
         
@@ -161,4 +161,46 @@ public class ParticipantsEvenementTest {
         assertTrue(participants.contientUtilisateurParIdentifiant("Pierre"));
         assertTrue(participants.contientUtilisateurParIdentifiant("Sophie"));
     }
+    
+    @Test
+    @DisplayName("L'appartenance et l'égalité ne doivent pas dépendre de l'ordre ni de l'instance")
+    void testAppartenanceParIdentifiant() {
+        ParticipantsEvenement participants = ParticipantsEvenement.fromString("Sophie, Roger, Pierre");
+        
+        assertTrue(participants.contientUtilisateur(new Utilisateur(" Roger ")));
+        assertFalse(participants.contientUtilisateurParIdentifiant("IdentifiantJamaisUtilise"));
+        assertEquals(ParticipantsEvenement.fromString("Pierre, Sophie, Roger"), participants);
+        assertEquals(ParticipantsEvenement.fromString("Pierre, Sophie, Roger").hashCode(), participants.hashCode());
+        assertNotEquals(ParticipantsEvenement.fromString("Pierre, Sophie, Sophie"), participants);
+        
+        // L'ordre de saisie est conservé
+        assertEquals("Sophie", participants.getUtilisateurs().get(0).getIdentifiant());
+    }
+    
+    @Test
+    @DisplayName("La création par un registre doit partager les instances des utilisateurs")
+    void testCreationAvecRegistre() {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        
+        ParticipantsEvenement premiere = ParticipantsEvenement.fromString("Roger, Pierre", registre);
+        ParticipantsEvenement seconde = ParticipantsEvenement.fromString("Pierre, Sophie", registre);
+        
+        assertSame(premiere.getUtilisateurs().get(1), seconde.getUtilisateurs().get(0));
+        assertEquals(3, registre.getNombreUtilisateurs());
+    }
+    
+    @Test
+    @DisplayName("Une grande réunion doit reconnaître chacun de ses participants")
+    void testGrandeReunion() {
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            utilisateurs.add(new Utilisateur("Participant" + i));
+        }
+        ParticipantsEvenement participants = ParticipantsEvenement.avecUtilisateurs(utilisateurs);
+        
+        for (Utilisateur utilisateur : utilisateurs) {
+            assertTrue(participants.contientUtilisateur(utilisateur));
+        }
+        assertFalse(participants.contientUtilisateur(new Utilisateur("Participant5000")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.mycalendar.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistreUtilisateursTest {
+    
+    @Test
+    @DisplayName("La résolution doit retourner une seule instance par identifiant")
+    void testResoudre() {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        
+        Utilisateur roger = registre.resoudre("Roger");
+        Utilisateur pierre = registre.resoudre("Pierre");
+        
+        assertSame(roger, registre.resoudre(" Roger "));
+        assertNotSame(roger, pierre);
+        assertEquals(2, registre.getNombreUtilisateurs());
+    }
+    
+    @Test
+    @DisplayName("L'enregistrement doit conserver la première instance")
+    void testEnregistrer() {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        Utilisateur roger = new Utilisateur("Roger");
+        
+        assertSame(roger, registre.enregistrer(roger));
+        assertSame(roger, registre.enregistrer(new Utilisateur("Roger")));
+        assertSame(roger, registre.resoudre("Roger"));
+    }
+    
+    @Test
+    @DisplayName("Un participant résolu avant l'enregistrement de son compte doit rester la même instance")
+    void testParticipantDevenuTitulaire() {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        Utilisateur sophie = registre.resoudre("Sophie");
+        
+        assertSame(sophie, registre.enregistrer(new Utilisateur("Sophie")));
+        assertSame(sophie, registre.resoudre("Sophie"));
+        assertEquals(1, registre.getNombreUtilisateurs());
+    }
+    
+    @Test
+    @DisplayName("Les participants que plus rien ne désigne doivent être oubliés, pas les titulaires")
+    void testParticipantsOublies() throws InterruptedException {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        Utilisateur roger = registre.enregistrer(new Utilisateur("Roger"));
+        Utilisateur pierre = registre.resoudre("Pierre");
+        for (int i = 0; i < 10_000; i++) {
+            registre.resoudre("Participant" + i);
+        }
+        
+        for (int essai = 0; essai < 50 && registre.getNombreUtilisateurs() > 2; essai++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        
+        assertEquals(2, registre.getNombreUtilisateurs());
+        assertSame(roger, registre.resoudre("Roger"));
+        assertSame(pierre, registre.resoudre("Pierre"));
+    }
+    
+    @Test
+    @DisplayName("Les instances de deux registres doivent être égales pour un même identifiant")
+    void testRegistresDistincts() {
+        Utilisateur premier = new RegistreUtilisateurs().resoudre("Sophie");
+        Utilisateur second = new RegistreUtilisateurs().resoudre("Sophie");
+        
+        assertNotSame(premier, second);
+        assertEquals(premier.hashCode(), second.hashCode());
+        assertEquals(premier, second);
+    }
+    
+    @Test
+    @DisplayName("Les données invalides doivent être rejetées")
+    void testDonneesInvalides() {
+        RegistreUtilisateurs registre = new RegistreUtilisateurs();
+        
+        assertThrows(IllegalArgumentException.class, () -> registre.resoudre(null));
+        assertThrows(IllegalArgumentException.class, () -> registre.resoudre("  "));
+        assertThrows(IllegalArgumentException.class, () -> registre.enregistrer(null));
+    }
+}